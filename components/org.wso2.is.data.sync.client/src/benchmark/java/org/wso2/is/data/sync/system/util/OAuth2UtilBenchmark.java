@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.util;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.wso2.is.data.sync.system.util.Constant.PROPERTY_NAME_ALGORITHM;
+import static org.wso2.is.data.sync.system.util.Constant.PROPERTY_NAME_HASH;
+
+/**
+ * Measures the migration of the hash column values to JSON encoded hashes by {@link OAuth2Util}, compared to parsing
+ * and writing them with {@link JSONObject}. The values are a mix of legacy hex hashes and already migrated JSON
+ * encoded hashes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class OAuth2UtilBenchmark {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final int HASH_COUNT = 4096;
+
+    /**
+     * Percentage of the hash column values which are already JSON encoded.
+     */
+    @Param({"0", "50", "100"})
+    public int migratedPercentage;
+
+    private String[] hashes = new String[HASH_COUNT];
+    private int next;
+
+    @Setup
+    public void setUp() throws NoSuchAlgorithmException {
+
+        Random random = new Random(HASH_COUNT);
+        MessageDigest messageDigest = MessageDigest.getInstance(HASH_ALGORITHM);
+        for (int i = 0; i < HASH_COUNT; i++) {
+            byte[] digest = messageDigest.digest(String.valueOf(random.nextLong()).getBytes(UTF_8));
+            StringBuilder hash = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hash.append(String.format("%02x", b));
+            }
+            hashes[i] = random.nextInt(100) < migratedPercentage ?
+                    OAuth2Util.toJsonEncodedHash(HASH_ALGORITHM, hash.toString()) : hash.toString();
+        }
+    }
+
+    @Benchmark
+    public String migrateHash() {
+
+        String hash = hashes[nextIndex()];
+        return OAuth2Util.isJsonEncodedHash(hash) ? hash : OAuth2Util.toJsonEncodedHash(HASH_ALGORITHM, hash);
+    }
+
+    @Benchmark
+    public String migrateHashWithJsonObject() {
+
+        String hash = hashes[nextIndex()];
+        try {
+            new JSONObject(hash);
+            return hash;
+        } catch (JSONException e) {
+            return new JSONObject().put(PROPERTY_NAME_ALGORITHM, HASH_ALGORITHM).put(PROPERTY_NAME_HASH, hash)
+                                   .toString();
+        }
+    }
+
+    private int nextIndex() {
+
+        next = (next + 1) % HASH_COUNT;
+        return next;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.is.data.sync.system.exception.SyncClientException;
+import org.wso2.is.data.sync.system.pipeline.transform.model.AuthorizationCodeInfo;
+import org.wso2.is.data.sync.system.pipeline.transform.model.TokenInfo;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per token cost of hashing tokens and authorization codes before and after sharing a
+ * {@link TransformationCryptoContext} across the tokens of a pipeline. The baseline uses the {@link OAuth2Util}
+ * methods without a crypto context, which resolve the crypto util and create a hashing persistence processor for
+ * each token as the transformers did before.
+ *
+ * The hashing persistence processor reads the hash algorithm from the identity configuration of the server, hence the
+ * benchmark is run against an Identity Server distribution:
+ * mvn -Pbenchmarks test-compile exec:exec -Djmh.args="-f 1 -jvmArgs -Dcarbon.home=<IS_HOME> TransformationCrypto"
+ * Decrypting and encrypting tokens needs the key store of a running server, hence they are not measured here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TransformationCryptoContextBenchmark {
+
+    private static final int TOKEN_COUNT = 4096;
+
+    private TransformationCryptoContext cryptoContext;
+    private String[] tokens = new String[TOKEN_COUNT];
+    private int next;
+
+    @Setup
+    public void setUp() {
+
+        if (System.getProperty("carbon.home") == null) {
+            throw new IllegalStateException("Set carbon.home to an Identity Server distribution to run the benchmark.");
+        }
+        cryptoContext = new TransformationCryptoContext();
+        for (int i = 0; i < TOKEN_COUNT; i++) {
+            tokens[i] = UUID.randomUUID().toString();
+        }
+    }
+
+    @Benchmark
+    public TokenInfo hashTokensBaseline() throws SyncClientException {
+
+        return OAuth2Util.hashTokens(nextTokenInfo());
+    }
+
+    @Benchmark
+    public TokenInfo hashTokensWithContext() throws SyncClientException {
+
+        return OAuth2Util.hashTokens(nextTokenInfo(), cryptoContext);
+    }
+
+    @Benchmark
+    public AuthorizationCodeInfo hashAuthorizationCodeBaseline() throws SyncClientException {
+
+        return OAuth2Util.hashAuthorizationCode(new AuthorizationCodeInfo(tokens[nextIndex()]));
+    }
+
+    @Benchmark
+    public AuthorizationCodeInfo hashAuthorizationCodeWithContext() throws SyncClientException {
+
+        return OAuth2Util.hashAuthorizationCode(new AuthorizationCodeInfo(tokens[nextIndex()]), cryptoContext);
+    }
+
+    private TokenInfo nextTokenInfo() {
+
+        int index = nextIndex();
+        return new TokenInfo(tokens[index], tokens[(index + 1) % TOKEN_COUNT]);
+    }
+
+    private int nextIndex() {
+
+        next = (next + 1) % TOKEN_COUNT;
+        return next;
+    }
+}
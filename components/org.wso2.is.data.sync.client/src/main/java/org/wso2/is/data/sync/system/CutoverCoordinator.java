@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.is.data.sync.system.database.dialect.DDLGenerator;
+import org.wso2.is.data.sync.system.exception.SyncClientException;
+import org.wso2.is.data.sync.system.pipeline.DataSyncPipeline;
+import org.wso2.is.data.sync.system.pipeline.SyncProgress;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is an implementation of {@link Runnable} which tracks the sync lag of the synced tables and coordinates the
+ * switch over to the target.
+ *
+ * The backlog and the apply rate of each table are logged periodically with an estimate of the time to catch up. On
+ * request, the coordinator places a barrier at the current end of each journal and waits until every table is synced
+ * up to its barrier. The barriers are placed in foreign key order, children before parents, hence the target holds a
+ * consistent state of the source as of the barrier once it is reached. A cutover is requested by creating the cutover
+ * request file, after the traffic to the source is stopped. The journal triggers are only dropped if no journal has
+ * moved past its barrier, since entries journaled after the barrier would otherwise be lost.
+ *
+ * With lease coordination, tables leased by other instances do not advance the local sync progress. Hence the
+ * barrier is checked against the SYNC_ID committed in the sync version table of the target instead.
+ */
+public class CutoverCoordinator implements Runnable {
+
+    private static final Log log = LogFactory.getLog(CutoverCoordinator.class);
+    private static final long POLL_INTERVAL = 1000;
+    private static final double RATE_SMOOTHING_FACTOR = 0.3;
+
+    private List<DataSyncPipeline> dataSyncPipelines;
+    private DDLGenerator ddlGenerator;
+    private long reportInterval;
+    private long cutoverTimeout;
+    private Path cutoverRequestFile;
+    private boolean dropTriggers;
+    private boolean leaseCoordination;
+    private Map<String, Double> applyRates = new HashMap<>();
+    private Map<String, Long> appliedEntries = new HashMap<>();
+    private long lastReportTime;
+    private volatile boolean active = true;
+
+    /**
+     * Constructor for {@link CutoverCoordinator}.
+     *
+     * @param dataSyncPipelines Pipelines of the synced tables, ordered from parent to child tables.
+     * @param ddlGenerator DDL generator used to drop the journal triggers.
+     * @param reportInterval Interval in milliseconds between lag reports.
+     * @param cutoverTimeout Time in milliseconds to wait for the tables to reach the cutover barrier.
+     * @param cutoverRequestFile File requesting a cutover once created.
+     * @param dropTriggers Drop the journal triggers in the source once the cutover barrier is reached.
+     * @param leaseCoordination Tables are synced by multiple instances coordinated through leases.
+     */
+    public CutoverCoordinator(List<DataSyncPipeline> dataSyncPipelines, DDLGenerator ddlGenerator,
+                              long reportInterval, long cutoverTimeout, String cutoverRequestFile,
+                              boolean dropTriggers, boolean leaseCoordination) {
+
+        this.dataSyncPipelines = dataSyncPipelines;
+        this.ddlGenerator = ddlGenerator;
+        this.reportInterval = reportInterval;
+        this.cutoverTimeout = cutoverTimeout;
+        this.cutoverRequestFile = Paths.get(cutoverRequestFile);
+        this.dropTriggers = dropTriggers;
+        this.leaseCoordination = leaseCoordination;
+    }
+
+    @Override
+    public void run() {
+
+        log.info("Cutover coordinator started. Create file: " + cutoverRequestFile.toAbsolutePath() + " to request " +
+                 "a cutover.");
+        lastReportTime = System.currentTimeMillis();
+        while (active) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(POLL_INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (System.currentTimeMillis() - lastReportTime >= reportInterval) {
+                reportLag();
+            }
+            if (Files.exists(cutoverRequestFile)) {
+                try {
+                    Files.delete(cutoverRequestFile);
+                    cutover();
+                } catch (IOException e) {
+                    log.error("Error while deleting cutover request file: " + cutoverRequestFile.toAbsolutePath(), e);
+                } catch (SyncClientException e) {
+                    log.error("Cutover failed.", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Logs the backlog and the apply rate of the synced tables, and estimates the time to catch up.
+     */
+    public synchronized void reportLag() {
+
+        long now = System.currentTimeMillis();
+        double elapsedSeconds = Math.max(1, now - lastReportTime) / 1000.0;
+        lastReportTime = now;
+
+        long totalBacklog = 0;
+        double totalRate = 0;
+        double catchUpSeconds = 0;
+        for (DataSyncPipeline dataSyncPipeline : dataSyncPipelines) {
+            SyncProgress syncProgress = dataSyncPipeline.getSyncProgress();
+            String tableName = syncProgress.getTableName();
+            long applied = syncProgress.getAppliedEntries();
+            double rate = (applied - appliedEntries.getOrDefault(tableName, 0L)) / elapsedSeconds;
+            appliedEntries.put(tableName, applied);
+            Double previousRate = applyRates.get(tableName);
+            if (previousRate != null) {
+                rate = RATE_SMOOTHING_FACTOR * rate + (1 - RATE_SMOOTHING_FACTOR) * previousRate;
+            }
+            applyRates.put(tableName, rate);
+
+            long backlog = syncProgress.getBacklog();
+            totalBacklog += backlog;
+            totalRate += rate;
+            // Tables are synced in parallel, hence the slowest table determines the time to catch up.
+            if (backlog > 0) {
+                catchUpSeconds = Math.max(catchUpSeconds, rate > 0 ? backlog / rate : Double.POSITIVE_INFINITY);
+            }
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Table: %s, backlog: %d entries, apply rate: %.1f entries/s.", tableName,
+                                        backlog, rate));
+            }
+        }
+        log.info(String.format("Sync backlog: %d entries, apply rate: %.1f entries/s, estimated catch up time: %s.",
+                               totalBacklog, totalRate, formatSeconds(catchUpSeconds)));
+    }
+
+    /**
+     * Places a barrier at the current end of each journal and waits until every table is synced up to its barrier.
+     * Drops the journal triggers in the source afterwards if configured, provided that the source is quiesced.
+     *
+     * @return True if the barrier was reached within the cutover timeout, and the source was quiesced if the triggers
+     * were to be dropped.
+     * @throws SyncClientException If error occurs while reading the journals or dropping the triggers.
+     */
+    public boolean cutover() throws SyncClientException {
+
+        long startTime = System.currentTimeMillis();
+        Map<String, Long> barriers = new LinkedHashMap<>();
+        // Journals of child tables are read before those of their parents, as in a round of a table group.
+        ListIterator<DataSyncPipeline> iterator = dataSyncPipelines.listIterator(dataSyncPipelines.size());
+        while (iterator.hasPrevious()) {
+            DataSyncPipeline dataSyncPipeline = iterator.previous();
+            // The pinned connection of the sync task may be in use by a batch. Hence a pooled connection is used.
+            barriers.put(dataSyncPipeline.getTableName(), dataSyncPipeline.readSourceMaxSyncId());
+        }
+        log.info("Cutover requested. Waiting for the tables to sync up to SYNC_IDs: " + barriers);
+
+        while (true) {
+            Map<String, Long> pending = new LinkedHashMap<>();
+            for (DataSyncPipeline dataSyncPipeline : dataSyncPipelines) {
+                String tableName = dataSyncPipeline.getTableName();
+                long barrier = barriers.get(tableName);
+                long syncedSyncId = getSyncedSyncId(dataSyncPipeline);
+                if (syncedSyncId < barrier) {
+                    pending.put(tableName, barrier - syncedSyncId);
+                }
+            }
+            if (pending.isEmpty()) {
+                break;
+            }
+            if (!active || System.currentTimeMillis() - startTime > cutoverTimeout) {
+                log.error("Cutover barrier not reached within " + cutoverTimeout + " ms. Remaining entries: " +
+                          pending);
+                return false;
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(POLL_INTERVAL);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SyncClientException("Interrupted while waiting for the cutover barrier.", e);
+            }
+        }
+        log.info("Cutover barrier reached in " + (System.currentTimeMillis() - startTime) + " ms. All entries " +
+                 "journaled before the cutover request are synced.");
+
+        if (dropTriggers) {
+            Map<String, Long> movingTables = new LinkedHashMap<>();
+            for (DataSyncPipeline dataSyncPipeline : dataSyncPipelines) {
+                String tableName = dataSyncPipeline.getTableName();
+                long sourceMaxSyncId = dataSyncPipeline.readSourceMaxSyncId();
+                if (sourceMaxSyncId != barriers.get(tableName)) {
+                    movingTables.put(tableName, sourceMaxSyncId - barriers.get(tableName));
+                }
+            }
+            if (!movingTables.isEmpty()) {
+                log.error("Journal triggers are not dropped since the source is still being written. Entries " +
+                          "journaled after the cutover barrier: " + movingTables + ". Stop the traffic to the " +
+                          "source and request the cutover again.");
+                return false;
+            }
+            ddlGenerator.dropSyncTriggers();
+            log.info("Dropped the journal triggers of the synced tables in the source.");
+        }
+        return true;
+    }
+
+    private long getSyncedSyncId(DataSyncPipeline dataSyncPipeline) throws SyncClientException {
+
+        if (leaseCoordination) {
+            // The table may be synced by another instance, which only shares the committed SYNC_ID.
+            return dataSyncPipeline.readTargetSyncId();
+        }
+        return dataSyncPipeline.getSyncProgress().getSyncedSyncId();
+    }
+
+    public void shutdown() {
+
+        log.info("Shutting down cutover coordinator.");
+        this.active = false;
+    }
+
+    private String formatSeconds(double seconds) {
+
+        if (Double.isInfinite(seconds)) {
+            return "unknown";
+        }
+        return Math.round(seconds) + " s";
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.is.data.sync.system.database.JournalPartitionManager;
+import org.wso2.is.data.sync.system.exception.SyncClientException;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is an implementation of {@link Runnable} which periodically maintains the partitions of the journal tables of
+ * the synced tables. A failure on a table is logged and retried in the next run.
+ */
+public class JournalMaintenanceTask implements Runnable {
+
+    private JournalPartitionManager journalPartitionManager;
+    private List<String> tables;
+    private long maintenanceInterval;
+    private volatile boolean active;
+    private static final Log log = LogFactory.getLog(JournalMaintenanceTask.class);
+
+    public JournalMaintenanceTask(JournalPartitionManager journalPartitionManager, List<String> tables,
+                                  long maintenanceInterval) {
+
+        this.journalPartitionManager = journalPartitionManager;
+        this.tables = tables;
+        this.maintenanceInterval = maintenanceInterval;
+        this.active = true;
+    }
+
+    @Override
+    public void run() {
+
+        log.info("Journal maintenance task started for tables: " + tables);
+        while (active) {
+            for (String table : tables) {
+                try {
+                    journalPartitionManager.maintainPartitions(table);
+                } catch (SyncClientException e) {
+                    log.error("Error occurred while maintaining journal partitions of table: " + table, e);
+                }
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(maintenanceInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    public void shutdown() {
+
+        log.info("Shutting down journal maintenance task.");
+        this.active = false;
+    }
+}
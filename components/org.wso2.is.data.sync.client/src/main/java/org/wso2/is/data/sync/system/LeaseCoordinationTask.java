@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.is.data.sync.system.database.Lease;
+import org.wso2.is.data.sync.system.database.LeaseManager;
+import org.wso2.is.data.sync.system.exception.SyncClientException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.wso2.is.data.sync.system.util.Constant.NODE_LEASE_PREFIX;
+
+/**
+ * This is an implementation of {@link Runnable} which shares the sync tasks among several sync client instances
+ * through the lease tables of the target databases.
+ *
+ * Each instance holds a node lease, renewed on every heartbeat, which makes it visible to the other instances. A
+ * task is synced by the instance holding its lease. On every heartbeat an instance renews its leases, releases the
+ * leases above its fair share of the tasks and acquires free or expired leases up to its fair share. Hence the tasks
+ * are rebalanced when an instance joins, and taken over once the leases of a dead instance expire. The last synced
+ * SYNC_ID of each table is kept in its sync version table, hence the new owner of a task resumes from there.
+ *
+ * A task stops starting batches once one heartbeat interval before its lease expires has passed since the lease was
+ * last renewed, even if the heartbeat fails, and its batches are committed only while the lease row is still held by
+ * this instance according to the clock of the target database.
+ */
+public class LeaseCoordinationTask implements Runnable {
+
+    private static final Log log = LogFactory.getLog(LeaseCoordinationTask.class);
+    private static final int HEARTBEATS_PER_LEASE_TIMEOUT = 3;
+
+    private LeaseManager leaseManager;
+    private List<SyncDataTask> syncDataTasks;
+    private long heartbeatInterval;
+    private Set<String> schemas = new LinkedHashSet<>();
+    private Set<String> leaseTablesCreated = new HashSet<>();
+    private volatile boolean active = true;
+
+    public LeaseCoordinationTask(LeaseManager leaseManager, List<SyncDataTask> syncDataTasks, long leaseTimeout) {
+
+        this.leaseManager = leaseManager;
+        this.syncDataTasks = syncDataTasks;
+        this.heartbeatInterval = Math.max(1, leaseTimeout / HEARTBEATS_PER_LEASE_TIMEOUT);
+        for (SyncDataTask syncDataTask : syncDataTasks) {
+            schemas.add(syncDataTask.getSchema());
+            syncDataTask.setLease(new Lease(leaseManager, syncDataTask.getSchema(), syncDataTask.getLeaseName(),
+                                            leaseTimeout - heartbeatInterval));
+        }
+    }
+
+    @Override
+    public void run() {
+
+        log.info("Lease coordination started for sync client instance: " + leaseManager.getOwner());
+        while (active) {
+            try {
+                heartbeat();
+            } catch (SyncClientException e) {
+                log.error("Error occurred while coordinating leases of sync client instance: " +
+                          leaseManager.getOwner(), e);
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(heartbeatInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private synchronized void heartbeat() throws SyncClientException {
+
+        if (!active) {
+            return;
+        }
+        String nodeLeaseName = NODE_LEASE_PREFIX + leaseManager.getOwner();
+        Map<String, String> leaseOwners = new HashMap<>();
+        for (String schema : schemas) {
+            if (leaseTablesCreated.add(schema)) {
+                try {
+                    leaseManager.createLeaseTable(schema);
+                } catch (SyncClientException e) {
+                    leaseTablesCreated.remove(schema);
+                    throw e;
+                }
+            }
+            leaseManager.acquire(schema, nodeLeaseName);
+            leaseOwners.putAll(leaseManager.getLeaseOwners(schema));
+        }
+
+        List<SyncDataTask> ownedTasks = new ArrayList<>();
+        for (SyncDataTask syncDataTask : syncDataTasks) {
+            if (syncDataTask.isOwned()) {
+                long renewStartTime = System.nanoTime();
+                if (leaseManager.renew(syncDataTask.getSchema(), syncDataTask.getLeaseName())) {
+                    syncDataTask.getLease().renewed(renewStartTime);
+                    ownedTasks.add(syncDataTask);
+                } else {
+                    log.warn("Lost the lease of table: " + syncDataTask.getTable());
+                    syncDataTask.setOwned(false);
+                }
+            }
+        }
+
+        Set<String> nodes = new HashSet<>(leaseOwners.values());
+        nodes.add(leaseManager.getOwner());
+        int fairShare = (syncDataTasks.size() + nodes.size() - 1) / nodes.size();
+
+        while (ownedTasks.size() > fairShare) {
+            SyncDataTask syncDataTask = ownedTasks.remove(ownedTasks.size() - 1);
+            log.info("Releasing the lease of table: " + syncDataTask.getTable() + " to rebalance among " +
+                     nodes.size() + " sync client instances.");
+            syncDataTask.setOwned(false);
+            leaseManager.release(syncDataTask.getSchema(), syncDataTask.getLeaseName());
+        }
+        for (SyncDataTask syncDataTask : syncDataTasks) {
+            if (ownedTasks.size() >= fairShare) {
+                break;
+            }
+            if (syncDataTask.isOwned() || leaseOwners.containsKey(syncDataTask.getLeaseName())) {
+                continue;
+            }
+            long acquireStartTime = System.nanoTime();
+            if (leaseManager.acquire(syncDataTask.getSchema(), syncDataTask.getLeaseName())) {
+                log.info("Acquired the lease of table: " + syncDataTask.getTable());
+                syncDataTask.getLease().renewed(acquireStartTime);
+                syncDataTask.setOwned(true);
+                ownedTasks.add(syncDataTask);
+            }
+        }
+    }
+
+    /**
+     * Stops coordinating and releases the leases held by this instance.
+     */
+    public synchronized void shutdown() {
+
+        log.info("Shutting down lease coordination.");
+        this.active = false;
+        for (SyncDataTask syncDataTask : syncDataTasks) {
+            if (syncDataTask.isOwned()) {
+                syncDataTask.setOwned(false);
+                try {
+                    leaseManager.release(syncDataTask.getSchema(), syncDataTask.getLeaseName());
+                } catch (SyncClientException e) {
+                    log.warn("Error while releasing the lease of table: " + syncDataTask.getTable(), e);
+                }
+            }
+        }
+        for (String schema : leaseTablesCreated) {
+            try {
+                leaseManager.release(schema, NODE_LEASE_PREFIX + leaseManager.getOwner());
+            } catch (SyncClientException e) {
+                log.warn("Error while releasing the node lease of schema: " + schema, e);
+            }
+        }
+    }
+}
@@ -18,28 +18,60 @@ package org.wso2.is.data.sync.system;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.is.data.sync.system.database.Lease;
 import org.wso2.is.data.sync.system.exception.SyncClientException;
 import org.wso2.is.data.sync.system.pipeline.DataSyncPipeline;
 
-import java.util.concurrent.TimeUnit;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
- * This is an implementation of {@link Runnable} which executes batch processing. Each task will be executed
- * parallel and process data for a particular table
+ * This is an implementation of {@link Runnable} which processes a batch of journal entries of a particular table, or
+ * of a group of tables related by foreign keys. The tasks of all the tables are executed by a {@link SyncExecutor},
+ * which runs a task again right away while its tables have a backlog and after the sync interval otherwise.
+ *
+ * The tables of a group are synced in rounds. At the start of a round the largest SYNC_ID of each journal is read,
+ * children before parents. Hence the parent rows referenced by the journal entries of a child up to its SYNC_ID are
+ * committed in the source, and are covered by the parent journal up to its SYNC_ID. A table is then synced up to its
+ * SYNC_ID only once its parent tables are synced up to theirs, so that child rows are not applied before their
+ * parents.
  */
 public class SyncDataTask implements Runnable {
 
-    private DataSyncPipeline dataSyncPipeline;
+    private List<DataSyncPipeline> dataSyncPipelines;
+    private Map<String, Set<String>> parentTables;
     private String table;
     private String schema;
     private long syncInterval;
     private volatile boolean active;
+    private volatile boolean backlog;
+    private volatile boolean owned = true;
+    private Lease lease;
+    private Map<String, Long> roundMaxSyncIds = new HashMap<>();
+    private Set<String> roundCompletedTables = new HashSet<>();
+    private int roundBatches;
     private static final Log log = LogFactory.getLog(SyncDataTask.class);
 
-    public SyncDataTask(DataSyncPipeline dataSyncPipeline, String table, String schema, long syncInterval) {
+    /**
+     * Constructor for a task syncing a table or a group of tables related by foreign keys.
+     *
+     * @param dataSyncPipelines Pipelines of the tables, ordered from parents to children.
+     * @param parentTables Synced parent tables of each table of the group.
+     * @param schema Schema of the tables.
+     * @param syncInterval Interval between batches once the tables are synced.
+     */
+    public SyncDataTask(List<DataSyncPipeline> dataSyncPipelines, Map<String, Set<String>> parentTables,
+                        String schema, long syncInterval) {
 
-        this.dataSyncPipeline = dataSyncPipeline;
-        this.table = table;
+        this.dataSyncPipelines = dataSyncPipelines;
+        this.parentTables = parentTables;
+        this.table = dataSyncPipelines.stream().map(DataSyncPipeline::getTableName).collect(Collectors.joining(","));
         this.schema = schema;
         this.syncInterval = syncInterval;
         this.active = true;
@@ -48,31 +80,173 @@ public class SyncDataTask implements Runnable {
     @Override
     public void run() {
 
+        if (!owned || (lease != null && !lease.isValid())) {
+            // The tables are synced by another sync client instance, or the lease may expire before a batch commits
+            // since it has not been renewed in time.
+            backlog = false;
+            resetRound();
+            return;
+        }
+        if (isPaused()) {
+            // Tables of a group are applied in foreign key order, hence pausing a table pauses its group.
+            backlog = false;
+            resetRound();
+            return;
+        }
         try {
-            log.info("Sync task started for table: " + table);
-            while (active) {
-                dataSyncPipeline.process();
-                try {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Batch processing for table: " + table + " completed. Sleeping the thread " +
-                                "for: " + syncInterval + "ms.");
-                    }
-                    TimeUnit.MILLISECONDS.sleep(syncInterval);
-                } catch (InterruptedException e) {
-                    throw new RuntimeException("Error occurred while attempting to sleep the thread: " +
-                            Thread.currentThread().getName());
-                }
+            if (dataSyncPipelines.size() == 1) {
+                backlog = !dataSyncPipelines.get(0).processBatch();
+            } else {
+                backlog = processGroupBatch();
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Batch processing for table: " + table + " completed. Backlog remaining: " + backlog);
             }
         } catch (SyncClientException e) {
-            throw new RuntimeException("Error occurred while data syncing on table: " + table + ", schema: " + schema
-                    , e);
+            // The batch is retried after the sync interval.
+            backlog = false;
+            resetRound();
+            log.error("Error occurred while data syncing on table: " + table + ", schema: " + schema, e);
         }
     }
 
+    private boolean processGroupBatch() throws SyncClientException {
+
+        if (roundMaxSyncIds.isEmpty()) {
+            ListIterator<DataSyncPipeline> iterator = dataSyncPipelines.listIterator(dataSyncPipelines.size());
+            while (iterator.hasPrevious()) {
+                DataSyncPipeline dataSyncPipeline = iterator.previous();
+                roundMaxSyncIds.put(dataSyncPipeline.getTableName(), dataSyncPipeline.getSourceMaxSyncId());
+            }
+        }
+        roundBatches++;
+
+        for (DataSyncPipeline dataSyncPipeline : dataSyncPipelines) {
+            String tableName = dataSyncPipeline.getTableName();
+            if (roundCompletedTables.contains(tableName) || !roundCompletedTables.containsAll(
+                    parentTables.getOrDefault(tableName, Collections.emptySet()))) {
+                continue;
+            }
+            boolean complete = dataSyncPipeline.processBatch(roundMaxSyncIds.get(tableName));
+            if (!dataSyncPipeline.isLastBatchSuccessful()) {
+                // Children of the table can not be synced until the batch succeeds. Retry after the sync interval.
+                resetRound();
+                return false;
+            }
+            if (complete) {
+                roundCompletedTables.add(tableName);
+            }
+        }
+
+        if (roundCompletedTables.size() < dataSyncPipelines.size()) {
+            return true;
+        }
+        // Entries may have been added to the journals while syncing a round of several batches.
+        boolean moreEntries = roundBatches > 1;
+        resetRound();
+        return moreEntries;
+    }
+
+    private void resetRound() {
+
+        roundMaxSyncIds.clear();
+        roundCompletedTables.clear();
+        roundBatches = 0;
+    }
+
+    public String getTable() {
+
+        return table;
+    }
+
+    public String getSchema() {
+
+        return schema;
+    }
+
+    public long getSyncInterval() {
+
+        return syncInterval;
+    }
+
+    public boolean isActive() {
+
+        return active;
+    }
+
+    /**
+     * @return Name of the lease to be held to sync the tables of the task when coordinating with other sync client
+     * instances.
+     */
+    public String getLeaseName() {
+
+        return dataSyncPipelines.get(0).getTableName();
+    }
+
+    /**
+     * @return True if syncing any of the tables of the task is paused.
+     */
+    public boolean isPaused() {
+
+        for (DataSyncPipeline dataSyncPipeline : dataSyncPipelines) {
+            if (dataSyncPipeline.isPaused()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isOwned() {
+
+        return owned;
+    }
+
+    /**
+     * Sets whether this sync client instance holds the lease of the task. Batches are only processed while the lease
+     * is held.
+     *
+     * @param owned True if the lease is held.
+     */
+    public void setOwned(boolean owned) {
+
+        this.owned = owned;
+        if (!owned && lease != null) {
+            lease.lost();
+        }
+    }
+
+    public Lease getLease() {
+
+        return lease;
+    }
+
+    /**
+     * Sets the lease to be held to sync the tables of the task. The batches of the tables are fenced by the lease.
+     *
+     * @param lease Lease of the task.
+     */
+    public void setLease(Lease lease) {
+
+        this.lease = lease;
+        for (DataSyncPipeline dataSyncPipeline : dataSyncPipelines) {
+            dataSyncPipeline.setLease(lease);
+        }
+    }
+
+    /**
+     * @return True if the last batch was full, hence the journal of the table may have more entries to be synced.
+     */
+    public boolean hasBacklog() {
+
+        return backlog;
+    }
+
     public void shutdown() {
 
         log.info("Shutting down sync task for table: " + table);
         this.active = false;
-        dataSyncPipeline.exit();
+        for (DataSyncPipeline dataSyncPipeline : dataSyncPipelines) {
+            dataSyncPipeline.exit();
+        }
     }
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system;
+
+/**
+ * Executes the {@link SyncDataTask}s of the synced tables until they are shut down.
+ */
+public interface SyncExecutor {
+
+    /**
+     * Limits the number of tasks of a schema executed at once.
+     *
+     * @param schema Schema type.
+     * @param concurrencyLimit Maximum number of tasks of the schema executed at once.
+     */
+    void setSchemaConcurrencyLimit(String schema, int concurrencyLimit);
+
+    /**
+     * Starts executing a task, repeatedly, within the limits of its schema.
+     *
+     * @param task Sync task of a table.
+     */
+    void schedule(SyncDataTask task);
+
+    /**
+     * Stops executing tasks. Batches in progress are completed.
+     */
+    void shutdown();
+}
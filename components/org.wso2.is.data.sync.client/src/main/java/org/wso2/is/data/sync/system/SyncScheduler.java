@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Schedules the {@link SyncDataTask}s of the synced tables on a fixed pool of worker threads.
+ *
+ * Ready tasks are executed in the order they became ready. A task whose table still has a backlog after a batch is
+ * queued behind the other ready tasks, so that tables with large backlogs are synced continuously without starving
+ * the others. A task whose table is caught up is queued again after its sync interval. The number of tasks executed
+ * at once is limited by the number of workers, and per schema by the given concurrency limit, since each task holds a
+ * source and a target connection of its schema.
+ */
+public class SyncScheduler implements SyncExecutor {
+
+    private static final Log log = LogFactory.getLog(SyncScheduler.class);
+
+    private int workerCount;
+    private ExecutorService workers;
+    private ScheduledExecutorService timer;
+    private Map<String, Integer> schemaConcurrencyLimits = new HashMap<>();
+    private Map<String, Integer> runningTasksPerSchema = new HashMap<>();
+    private Deque<SyncDataTask> readyTasks = new ArrayDeque<>();
+    private int runningTasks;
+    private boolean active = true;
+
+    public SyncScheduler(int workerCount) {
+
+        this.workerCount = workerCount;
+        this.workers = Executors.newFixedThreadPool(workerCount, new SyncThreadFactory("sync-worker-"));
+        this.timer = Executors.newSingleThreadScheduledExecutor(new SyncThreadFactory("sync-timer-"));
+    }
+
+    @Override
+    public synchronized void setSchemaConcurrencyLimit(String schema, int concurrencyLimit) {
+
+        schemaConcurrencyLimits.put(schema, Math.max(1, concurrencyLimit));
+    }
+
+    @Override
+    public synchronized void schedule(SyncDataTask task) {
+
+        if (!active || !task.isActive()) {
+            return;
+        }
+        readyTasks.addLast(task);
+        dispatch();
+    }
+
+    @Override
+    public synchronized void shutdown() {
+
+        active = false;
+        readyTasks.clear();
+        timer.shutdownNow();
+        workers.shutdown();
+    }
+
+    private void dispatch() {
+
+        Iterator<SyncDataTask> iterator = readyTasks.iterator();
+        while (runningTasks < workerCount && iterator.hasNext()) {
+            SyncDataTask task = iterator.next();
+            if (!task.isActive()) {
+                iterator.remove();
+                continue;
+            }
+            String schema = task.getSchema();
+            int schemaRunningTasks = runningTasksPerSchema.getOrDefault(schema, 0);
+            if (schemaRunningTasks >= schemaConcurrencyLimits.getOrDefault(schema, workerCount)) {
+                continue;
+            }
+            iterator.remove();
+            runningTasks++;
+            runningTasksPerSchema.put(schema, schemaRunningTasks + 1);
+            workers.execute(() -> execute(task));
+        }
+    }
+
+    private void execute(SyncDataTask task) {
+
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            log.error("Unexpected error occurred while data syncing on table: " + task.getTable(), e);
+        } finally {
+            complete(task);
+        }
+    }
+
+    private synchronized void complete(SyncDataTask task) {
+
+        runningTasks--;
+        runningTasksPerSchema.merge(task.getSchema(), -1, Integer::sum);
+        if (active && task.isActive()) {
+            if (task.hasBacklog()) {
+                readyTasks.addLast(task);
+            } else {
+                timer.schedule(() -> schedule(task), task.getSyncInterval(), TimeUnit.MILLISECONDS);
+            }
+        }
+        dispatch();
+    }
+
+    /**
+     * Creates named daemon threads.
+     */
+    private static class SyncThreadFactory implements ThreadFactory {
+
+        private String prefix;
+        private AtomicInteger count = new AtomicInteger();
+
+        SyncThreadFactory(String prefix) {
+
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
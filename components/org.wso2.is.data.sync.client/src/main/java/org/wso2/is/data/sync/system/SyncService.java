@@ -20,34 +20,71 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.is.data.sync.system.config.Configuration;
 import org.wso2.is.data.sync.system.database.DataSourceManager;
+import org.wso2.is.data.sync.system.database.JournalPartitionManager;
+import org.wso2.is.data.sync.system.database.KeyRange;
+import org.wso2.is.data.sync.system.database.LeaseManager;
+import org.wso2.is.data.sync.system.database.SchemaCatalog;
+import org.wso2.is.data.sync.system.database.TableDependencyGraph;
 import org.wso2.is.data.sync.system.database.dialect.DDLGenerator;
+import org.wso2.is.data.sync.system.database.dialect.DatabaseDialect;
+import org.wso2.is.data.sync.system.database.dialect.DatabaseDialectFactory;
 import org.wso2.is.data.sync.system.exception.SyncClientException;
+import org.wso2.is.data.sync.system.monitor.OpenMetricsExporter;
+import org.wso2.is.data.sync.system.monitor.SyncPipelineMonitor;
 import org.wso2.is.data.sync.system.pipeline.DataSyncPipeline;
 import org.wso2.is.data.sync.system.pipeline.PipelineConfiguration;
+import org.wso2.is.data.sync.system.pipeline.repair.DataRepairer;
+import org.wso2.is.data.sync.system.pipeline.repair.RepairRequest;
+import org.wso2.is.data.sync.system.pipeline.snapshot.SnapshotChunk;
+import org.wso2.is.data.sync.system.pipeline.snapshot.SnapshotProcessor;
 import org.wso2.is.data.sync.system.pipeline.transform.DataTransformer;
 import org.wso2.is.data.sync.system.pipeline.transform.DataTransformerFactory;
 import org.wso2.is.data.sync.system.pipeline.transform.v550.AuthorizationCodeDataTransformerV550;
 import org.wso2.is.data.sync.system.pipeline.transform.v550.OAuthTokenDataTransformerV550;
 import org.wso2.is.data.sync.system.pipeline.transform.v570.AuthorizationCodeDataTransformerV570;
 import org.wso2.is.data.sync.system.pipeline.transform.v570.OAuthTokenDataTransformerV570;
+import org.wso2.is.data.sync.system.pipeline.verify.ConsistencyVerifier;
+import org.wso2.is.data.sync.system.pipeline.verify.VerificationReport;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import javax.sql.DataSource;
 
+import static org.wso2.is.data.sync.system.util.Constant.SYNC_EXECUTOR_VIRTUAL;
+
 public class SyncService {
 
     private Configuration configuration;
     private DataSourceManager dataSourceManager;
     private List<DataTransformer> dataTransformers = new ArrayList<>();
     private DDLGenerator ddlGenerator;
+    private SchemaCatalog schemaCatalog;
     private List<String> syncTables;
     private List<SyncDataTask> syncDataTaskList = new ArrayList<>();
+    private List<SyncPipelineMonitor> syncPipelineMonitors = new ArrayList<>();
+    private JournalMaintenanceTask journalMaintenanceTask;
+    private CutoverCoordinator cutoverCoordinator;
+    private LeaseCoordinationTask leaseCoordinationTask;
+    private OpenMetricsExporter openMetricsExporter;
+    private volatile SyncExecutor syncExecutor;
+    private volatile ExecutorService snapshotExecutor;
+    private volatile ExecutorService verifierExecutor;
+    private volatile ExecutorService repairExecutor;
+    private volatile ExecutorService transformExecutor;
 
     private Log log = LogFactory.getLog(SyncService.class);
 
@@ -57,7 +94,8 @@ public class SyncService {
         this.dataSourceManager = new DataSourceManager(configuration);
         initiateDataTransformers();
         syncTables = configuration.getSyncTables();
-        this.ddlGenerator = new DDLGenerator(syncTables, dataSourceManager);
+        this.schemaCatalog = new SchemaCatalog(dataSourceManager, syncTables, configuration.getSchemaCatalogFile());
+        this.ddlGenerator = new DDLGenerator(configuration, dataSourceManager, schemaCatalog);
     }
 
     public List<SyncDataTask> getSyncDataTaskList() {
@@ -65,27 +103,371 @@ public class SyncService {
         return syncDataTaskList;
     }
 
-    public void run() throws SyncClientException {
+    /**
+     * Copies the initial data of the synced tables from the source to the target. The tables are split into chunks
+     * which are copied in parallel. Completed chunks are checkpointed on the target, hence an interrupted snapshot
+     * resumes from the pending chunks when invoked again.
+     *
+     * @throws SyncClientException If error occurs while copying the data.
+     */
+    public void snapshot() throws SyncClientException {
+
+        SnapshotProcessor snapshotProcessor = new SnapshotProcessor(configuration.getSnapshotChunkSize());
+        DataTransformerFactory factory = buildTransformerFactory();
+        snapshotExecutor = Executors.newFixedThreadPool(configuration.getSnapshotThreads());
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (String table : syncTables) {
+                PipelineConfiguration pipelineConfiguration = buildPipelineConfiguration(table);
+                List<SnapshotChunk> chunks = snapshotProcessor.prepare(pipelineConfiguration);
+                for (SnapshotChunk chunk : chunks) {
+                    futures.add(snapshotExecutor.submit(() -> {
+                        DataTransformer dataTransformer = factory.buildTransformer(table,
+                                configuration.getSourceVersion(), configuration.getTargetVersion());
+                        snapshotProcessor.copy(chunk, pipelineConfiguration, dataTransformer);
+                        return null;
+                    }));
+                }
+            }
+
+            int failedChunks = 0;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failedChunks++;
+                    log.error("Error while copying snapshot chunk.", e.getCause());
+                }
+            }
+            if (failedChunks > 0) {
+                throw new SyncClientException("Failed to copy " + failedChunks + " snapshot chunks. Restart the " +
+                                              "snapshot to resume from the pending chunks.");
+            }
+            log.info("Snapshot of " + syncTables.size() + " tables completed.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SyncClientException("Snapshot interrupted. Restart the snapshot to resume from the pending " +
+                                          "chunks.", e);
+        } finally {
+            snapshotExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Verifies that the targets of the synced tables hold the same rows as the sources. The ranges of the tables are
+     * verified in parallel and the differing keys are written to the verification report file.
+     *
+     * @return Verification report.
+     * @throws SyncClientException If error occurs while verifying the tables.
+     */
+    public VerificationReport verify() throws SyncClientException {
+
+        int threads = configuration.getVerifierThreads();
+        ConsistencyVerifier verifier = new ConsistencyVerifier(configuration.getVerifierRangeSize(), threads);
+        DataTransformerFactory factory = buildTransformerFactory();
+        VerificationReport report = new VerificationReport();
+        verifierExecutor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (String table : syncTables) {
+                PipelineConfiguration pipelineConfiguration = buildPipelineConfiguration(table);
+                for (KeyRange range : verifier.planRanges(pipelineConfiguration)) {
+                    futures.add(verifierExecutor.submit(() -> {
+                        DataTransformer dataTransformer = factory.buildTransformer(table,
+                                configuration.getSourceVersion(), configuration.getTargetVersion());
+                        verifier.verify(range, pipelineConfiguration, dataTransformer, report);
+                        return null;
+                    }));
+                }
+            }
+
+            int failedRanges = 0;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failedRanges++;
+                    log.error("Error while verifying range.", e.getCause());
+                }
+            }
+            if (failedRanges > 0) {
+                throw new SyncClientException("Failed to verify " + failedRanges + " ranges.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SyncClientException("Verification interrupted.", e);
+        } finally {
+            verifierExecutor.shutdownNow();
+            verifier.shutdown();
+        }
 
         for (String table : syncTables) {
+            log.info("Verified " + report.getVerifiedRows(table) + " matching rows and found " +
+                     report.getDifferences(table).size() + " differences in table: " + table);
+        }
+        report.write(configuration.getVerificationReportFile());
+        log.info("Verification report written to: " + configuration.getVerificationReportFile());
+        return report;
+    }
+
+    /**
+     * Starts repairing the rows and the ranges listed in the repair file on the targets of the synced tables. Rows of
+     * a table are repaired in batches and ranges one by one, in parallel on the repair threads. Repairs can run while
+     * the data is being synced.
+     *
+     * @return Future of the number of repaired rows, completed exceptionally if any of the repairs failed.
+     * @throws SyncClientException If error occurs while reading the repair file.
+     */
+    public CompletableFuture<Long> repair() throws SyncClientException {
+
+        List<RepairRequest> requests = RepairRequest.read(configuration.getRepairFile());
+        DataRepairer repairer = new DataRepairer();
+        DataTransformerFactory factory = buildTransformerFactory();
+        int batchSize = configuration.getBatchSize();
+        repairExecutor = Executors.newFixedThreadPool(configuration.getRepairThreads());
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        try {
+            for (String table : syncTables) {
+                PipelineConfiguration pipelineConfiguration = buildPipelineConfiguration(table);
+                List<Map<String, String>> keys = new ArrayList<>();
+                for (RepairRequest request : requests) {
+                    if (!table.equals(request.getTableName())) {
+                        continue;
+                    }
+                    if (request.getRange() != null) {
+                        futures.add(submitRepair(() -> repairer.repair(request.getRange(), pipelineConfiguration,
+                                factory.buildTransformer(table, configuration.getSourceVersion(),
+                                                         configuration.getTargetVersion()))));
+                    } else {
+                        keys.add(request.getKey());
+                    }
+                }
+                for (int i = 0; i < keys.size(); i += batchSize) {
+                    List<Map<String, String>> batch = keys.subList(i, Math.min(i + batchSize, keys.size()));
+                    futures.add(submitRepair(() -> (long) repairer.repair(batch, pipelineConfiguration,
+                            factory.buildTransformer(table, configuration.getSourceVersion(),
+                                                     configuration.getTargetVersion()))));
+                }
+            }
+        } catch (SyncClientException e) {
+            repairExecutor.shutdownNow();
+            throw e;
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).handle((result, throwable) -> {
+            repairExecutor.shutdown();
+            long repairedRows = 0;
+            int failedRepairs = 0;
+            for (CompletableFuture<Long> future : futures) {
+                try {
+                    repairedRows += future.join();
+                } catch (CompletionException | CancellationException e) {
+                    failedRepairs++;
+                    log.error("Error while repairing data.", e.getCause() != null ? e.getCause() : e);
+                }
+            }
+            if (failedRepairs > 0) {
+                throw new CompletionException(new SyncClientException("Failed " + failedRepairs + " of " +
+                                                                      futures.size() + " repairs."));
+            }
+            log.info("Repaired " + repairedRows + " rows from " + requests.size() + " repair requests.");
+            return repairedRows;
+        });
+    }
 
-            String schema = dataSourceManager.getSchema(table);
-            DataSource sourceDataSource = dataSourceManager.getSourceDataSource(schema);
-            DataSource targetDataSource = dataSourceManager.getTargetDataSource(schema);
+    private CompletableFuture<Long> submitRepair(Callable<Long> repair) {
 
-            DataTransformerFactory factory = new DataTransformerFactory(dataTransformers);
-            PipelineConfiguration pipelineConfiguration = new PipelineConfiguration(configuration, table, schema,
-                                                                                    sourceDataSource, targetDataSource);
-            DataSyncPipeline dataSyncPipeline = new DataSyncPipeline(factory, pipelineConfiguration);
-            dataSyncPipeline.build();
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        repairExecutor.execute(() -> {
+            try {
+                future.complete(repair.call());
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Starts syncing the tables. The sync tasks of the tables are executed by a bounded pool of workers, limited per
+     * schema so that the tasks leave connections of the schema's pools to the server itself.
+     *
+     * @throws SyncClientException If error occurs while building the sync pipelines.
+     */
+    public void run() throws SyncClientException {
+
+        syncExecutor = buildSyncExecutor();
+        // Tables related by foreign keys are synced by a single task, applying parent rows before child rows.
+        TableDependencyGraph dependencyGraph = TableDependencyGraph.build(dataSourceManager, syncTables);
+        List<DataSyncPipeline> allDataSyncPipelines = new ArrayList<>();
+        for (List<String> tableGroup : dependencyGraph.getGroups()) {
+
+            List<DataSyncPipeline> dataSyncPipelines = new ArrayList<>();
+            Map<String, Set<String>> parentTables = new HashMap<>();
+            for (String table : tableGroup) {
+                PipelineConfiguration pipelineConfiguration = buildPipelineConfiguration(table);
+                DataTransformerFactory factory = buildTransformerFactory();
+                DataSyncPipeline dataSyncPipeline = new DataSyncPipeline(factory, pipelineConfiguration);
+                dataSyncPipeline.build();
+                dataSyncPipelines.add(dataSyncPipeline);
+                SyncPipelineMonitor syncPipelineMonitor = new SyncPipelineMonitor(dataSyncPipeline);
+                syncPipelineMonitor.register();
+                syncPipelineMonitors.add(syncPipelineMonitor);
+                parentTables.put(table, dependencyGraph.getParentTables(table));
+            }
+            allDataSyncPipelines.addAll(dataSyncPipelines);
+            if (tableGroup.size() > 1) {
+                log.info("Syncing tables: " + String.join(", ", tableGroup) + " together in foreign key order.");
+            }
             long syncInterval = configuration.getSyncInterval();
 
-            SyncDataTask syncDataTask = new SyncDataTask(dataSyncPipeline, table, schema, syncInterval);
-            String threadName = table + "-table-sync-thread";
-            Thread thread = new Thread(syncDataTask, threadName);
-            thread.start();
+            SyncDataTask syncDataTask = new SyncDataTask(dataSyncPipelines, parentTables,
+                                                         dataSourceManager.getSchema(tableGroup.get(0)),
+                                                         syncInterval);
             syncDataTaskList.add(syncDataTask);
         }
+        if (configuration.isLeaseCoordination()) {
+            // Tables are only synced once their leases are acquired.
+            for (SyncDataTask syncDataTask : syncDataTaskList) {
+                syncDataTask.setOwned(false);
+            }
+            LeaseManager leaseManager = new LeaseManager(dataSourceManager, configuration.getSyncNodeId(),
+                                                         configuration.getLeaseTimeout());
+            leaseCoordinationTask = new LeaseCoordinationTask(leaseManager, syncDataTaskList,
+                                                              configuration.getLeaseTimeout());
+            Thread thread = new Thread(leaseCoordinationTask, "lease-coordination-thread");
+            thread.start();
+        }
+        Set<String> schemas = new HashSet<>();
+        for (SyncDataTask syncDataTask : syncDataTaskList) {
+            if (schemas.add(syncDataTask.getSchema())) {
+                syncExecutor.setSchemaConcurrencyLimit(syncDataTask.getSchema(),
+                        getSchemaConcurrencyLimit(syncDataTask.getSchema()));
+            }
+            syncExecutor.schedule(syncDataTask);
+        }
+
+        cutoverCoordinator = new CutoverCoordinator(allDataSyncPipelines, ddlGenerator,
+                                                    configuration.getLagReportInterval(),
+                                                    configuration.getCutoverTimeout(),
+                                                    configuration.getCutoverRequestFile(),
+                                                    configuration.isDropTriggersOnCutover(),
+                                                    configuration.isLeaseCoordination());
+        Thread cutoverThread = new Thread(cutoverCoordinator, "cutover-coordinator-thread");
+        cutoverThread.start();
+
+        JournalPartitionManager journalPartitionManager = null;
+        if (configuration.isPartitionedJournal()) {
+            journalPartitionManager = new JournalPartitionManager(dataSourceManager,
+                    configuration.getJournalPartitionSize());
+            journalMaintenanceTask = new JournalMaintenanceTask(journalPartitionManager, syncTables,
+                    configuration.getJournalMaintenanceInterval());
+            Thread thread = new Thread(journalMaintenanceTask, "journal-maintenance-thread");
+            thread.start();
+        }
+
+        if (configuration.getMetricsFile() != null || configuration.getMetricsPort() > 0) {
+            openMetricsExporter = new OpenMetricsExporter(allDataSyncPipelines, journalPartitionManager,
+                                                          configuration.getMetricsFile(),
+                                                          configuration.getMetricsPort(),
+                                                          configuration.getMetricsHost(),
+                                                          configuration.getMetricsInterval());
+            Thread thread = new Thread(openMetricsExporter, "metrics-exporter-thread");
+            thread.start();
+        }
+    }
+
+    /**
+     * Stops the snapshot, the verification, the repair, the sync tasks, the journal maintenance task, the cutover
+     * coordinator, the lease coordination, the parallel transformers and the metrics exporter, and unregisters the
+     * MBeans of the tables.
+     */
+    public void shutdown() {
+
+        if (snapshotExecutor != null) {
+            snapshotExecutor.shutdownNow();
+        }
+        if (verifierExecutor != null) {
+            verifierExecutor.shutdownNow();
+        }
+        if (repairExecutor != null) {
+            repairExecutor.shutdownNow();
+        }
+        for (SyncDataTask syncDataTask : syncDataTaskList) {
+            syncDataTask.shutdown();
+        }
+        if (syncExecutor != null) {
+            syncExecutor.shutdown();
+        }
+        if (journalMaintenanceTask != null) {
+            journalMaintenanceTask.shutdown();
+        }
+        if (cutoverCoordinator != null) {
+            cutoverCoordinator.shutdown();
+        }
+        if (leaseCoordinationTask != null) {
+            leaseCoordinationTask.shutdown();
+        }
+        if (transformExecutor != null) {
+            transformExecutor.shutdownNow();
+        }
+        if (openMetricsExporter != null) {
+            openMetricsExporter.shutdown();
+        }
+        for (SyncPipelineMonitor syncPipelineMonitor : syncPipelineMonitors) {
+            syncPipelineMonitor.unregister();
+        }
+    }
+
+    private synchronized DataTransformerFactory buildTransformerFactory() {
+
+        int transformThreads = configuration.getTransformThreads();
+        if (transformThreads < 2) {
+            return new DataTransformerFactory(dataTransformers);
+        }
+        if (transformExecutor == null) {
+            // Shared by all the pipelines so that the crypto work of the transformers is bounded to these threads.
+            transformExecutor = new ForkJoinPool(transformThreads);
+        }
+        return new DataTransformerFactory(dataTransformers, transformExecutor, transformThreads);
+    }
+
+    private SyncExecutor buildSyncExecutor() throws SyncClientException {
+
+        if (SYNC_EXECUTOR_VIRTUAL.equals(configuration.getSyncExecutor())) {
+            if (VirtualThreadSyncExecutor.isSupported()) {
+                log.info("Running sync tasks on virtual threads.");
+                return new VirtualThreadSyncExecutor(configuration.getSyncThreads());
+            }
+            log.warn("Virtual threads are not supported by the running JVM. Running sync tasks on platform threads.");
+        }
+        return new SyncScheduler(configuration.getSyncThreads());
+    }
+
+    private int getSchemaConcurrencyLimit(String schema) {
+
+        int concurrencyLimit = configuration.getSyncThreadsPerSchema();
+        int maxConnections = dataSourceManager.getMaxConnections(schema);
+        if (maxConnections > 0) {
+            // Each running task holds a connection of the pool, half of which is left to the server.
+            concurrencyLimit = Math.min(concurrencyLimit, Math.max(1, maxConnections / 2));
+        }
+        log.info("Syncing at most " + concurrencyLimit + " tables of schema: " + schema + " at once.");
+        return concurrencyLimit;
+    }
+
+    private PipelineConfiguration buildPipelineConfiguration(String table) throws SyncClientException {
+
+        String schema = dataSourceManager.getSchema(table);
+        DataSource sourceDataSource = dataSourceManager.getSourceDataSource(schema);
+        DataSource targetDataSource = dataSourceManager.getTargetDataSource(schema);
+        DatabaseDialect sourceDatabaseDialect = DatabaseDialectFactory.getDatabaseDialect(
+                dataSourceManager.getSourceDataSourceType(schema));
+        DatabaseDialect targetDatabaseDialect = DatabaseDialectFactory.getDatabaseDialect(
+                dataSourceManager.getTargetDataSourceType(schema));
+
+        return new PipelineConfiguration(configuration, table, schema, sourceDataSource, targetDataSource,
+                                         sourceDatabaseDialect, targetDatabaseDialect, schemaCatalog);
     }
 
     private void initiateDataTransformers() {
@@ -100,4 +482,9 @@ public class SyncService {
 
         ddlGenerator.generateScripts(ddlOnly);
     }
+
+    public void generateSyncIdMigrationScripts(boolean ddlOnly) throws SyncClientException {
+
+        ddlGenerator.generateSyncIdMigrationScripts(ddlOnly);
+    }
 }
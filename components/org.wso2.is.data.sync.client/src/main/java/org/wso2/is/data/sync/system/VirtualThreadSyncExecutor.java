@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.is.data.sync.system.exception.SyncClientException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executes each {@link SyncDataTask} on its own virtual thread, available from Java 21 onwards. A virtual thread
+ * blocked on JDBC I/O or sleeping between batches does not hold a platform thread, hence a task per table, table
+ * partition or tenant costs little to schedule. Since each running batch holds a source and a target connection,
+ * the batches executed at once are limited by semaphores, globally and per schema.
+ */
+public class VirtualThreadSyncExecutor implements SyncExecutor {
+
+    private static final Log log = LogFactory.getLog(VirtualThreadSyncExecutor.class);
+
+    private ExecutorService executor;
+    private Semaphore permits;
+    private int concurrencyLimit;
+    private Map<String, Semaphore> schemaPermits = new ConcurrentHashMap<>();
+    private volatile boolean active = true;
+
+    /**
+     * @param concurrencyLimit Maximum number of batches executed at once.
+     * @throws SyncClientException If virtual threads are not supported by the running JVM.
+     */
+    public VirtualThreadSyncExecutor(int concurrencyLimit) throws SyncClientException {
+
+        this.concurrencyLimit = concurrencyLimit;
+        this.permits = new Semaphore(concurrencyLimit, true);
+        this.executor = newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * @return True if the running JVM supports virtual threads.
+     */
+    public static boolean isSupported() {
+
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void setSchemaConcurrencyLimit(String schema, int concurrencyLimit) {
+
+        schemaPermits.put(schema, new Semaphore(Math.max(1, concurrencyLimit), true));
+    }
+
+    @Override
+    public void schedule(SyncDataTask task) {
+
+        if (active && task.isActive()) {
+            executor.execute(() -> execute(task));
+        }
+    }
+
+    @Override
+    public void shutdown() {
+
+        active = false;
+        executor.shutdownNow();
+    }
+
+    private void execute(SyncDataTask task) {
+
+        Semaphore taskSchemaPermits = schemaPermits.computeIfAbsent(task.getSchema(),
+                schema -> new Semaphore(concurrencyLimit, true));
+        try {
+            while (active && task.isActive()) {
+                boolean failed = false;
+                taskSchemaPermits.acquire();
+                try {
+                    permits.acquire();
+                    try {
+                        task.run();
+                    } catch (RuntimeException e) {
+                        // The batch is retried after the sync interval, as done by the sync scheduler.
+                        failed = true;
+                        log.error("Unexpected error occurred while data syncing on table: " + task.getTable(), e);
+                    } finally {
+                        permits.release();
+                    }
+                } finally {
+                    taskSchemaPermits.release();
+                }
+                if (failed || !task.hasBacklog()) {
+                    TimeUnit.MILLISECONDS.sleep(task.getSyncInterval());
+                }
+            }
+        } catch (InterruptedException e) {
+            if (log.isDebugEnabled()) {
+                log.debug("Sync task for table: " + task.getTable() + " interrupted.");
+            }
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() throws SyncClientException {
+
+        // Resolved reflectively since the client is compiled for Java 8.
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new SyncClientException("Virtual threads are not supported by the running JVM.", e);
+        }
+    }
+}
@@ -23,6 +23,7 @@ import org.wso2.is.data.sync.system.database.SchemaInfo;
 import org.wso2.is.data.sync.system.database.SchemaTableMapping;
 import org.wso2.is.data.sync.system.exception.SyncClientException;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -32,16 +33,69 @@ import java.util.Properties;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static org.wso2.is.data.sync.system.util.Constant.DEFAULT_BATCH_SIZE;
+import static org.wso2.is.data.sync.system.util.Constant.DEFAULT_CONNECTION_VALIDATION_INTERVAL;
+import static org.wso2.is.data.sync.system.util.Constant.DEFAULT_CUTOVER_REQUEST_FILE;
+import static org.wso2.is.data.sync.system.util.Constant.DEFAULT_CUTOVER_TIMEOUT;
+import static org.wso2.is.data.sync.system.util.Constant.DEFAULT_JOURNAL_MAINTENANCE_INTERVAL;
+import static org.wso2.is.data.sync.system.util.Constant.DEFAULT_JOURNAL_PARTITION_SIZE;
+import static org.wso2.is.data.sync.system.util.Constant.DEFAULT_LAG_REPORT_INTERVAL;
+import static org.wso2.is.data.sync.system.util.Constant.DEFAULT_LEASE_TIMEOUT;
+import static org.wso2.is.data.sync.system.util.Constant.DEFAULT_METRICS_INTERVAL;
+import static org.wso2.is.data.sync.system.util.Constant.DEFAULT_REPAIR_THREADS;
+import static org.wso2.is.data.sync.system.util.Constant.DEFAULT_SNAPSHOT_CHUNK_SIZE;
+import static org.wso2.is.data.sync.system.util.Constant.DEFAULT_SNAPSHOT_THREADS;
 import static org.wso2.is.data.sync.system.util.Constant.DEFAULT_SYNC_INTERVAL;
+import static org.wso2.is.data.sync.system.util.Constant.DEFAULT_SYNC_THREADS;
+import static org.wso2.is.data.sync.system.util.Constant.DEFAULT_TOKEN_CACHE_SIZE;
+import static org.wso2.is.data.sync.system.util.Constant.DEFAULT_TOKEN_CACHE_TIME_TO_LIVE;
+import static org.wso2.is.data.sync.system.util.Constant.DEFAULT_TRANSFORM_THREADS;
+import static org.wso2.is.data.sync.system.util.Constant.DEFAULT_VERIFICATION_REPORT_FILE;
+import static org.wso2.is.data.sync.system.util.Constant.DEFAULT_VERIFIER_RANGE_SIZE;
+import static org.wso2.is.data.sync.system.util.Constant.DEFAULT_VERIFIER_THREADS;
 import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_BATCH_SIZE;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_CONNECTION_VALIDATION_INTERVAL;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_CUTOVER_REQUEST_FILE;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_CUTOVER_TIMEOUT;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_DROP_TRIGGERS_ON_CUTOVER;
 import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_CONSENT_SCHEMA;
 import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_IDENTITY_SCHEMA;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_JOURNAL_MAINTENANCE_INTERVAL;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_JOURNAL_PARTITION_SIZE;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_LAG_REPORT_INTERVAL;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_LEASE_COORDINATION;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_LEASE_TIMEOUT;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_METRICS_FILE;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_METRICS_HOST;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_METRICS_INTERVAL;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_METRICS_PORT;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_PARTITIONED_JOURNAL;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_PINNED_CONNECTIONS;
 import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_REG_SCHEMA;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_REPAIR_FILE;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_REPAIR_THREADS;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_SCHEMA_CATALOG_FILE;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_SKIP_UNCHANGED_COLUMNS;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_SNAPSHOT_CHUNK_SIZE;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_SNAPSHOT_THREADS;
 import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_SOURCE_VERSION;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_STATEMENT_LEVEL_TRIGGERS;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_STREAMING_BATCHES;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_SYNC_EXECUTOR;
 import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_SYNC_INTERVAL;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_SYNC_NODE_ID;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_SYNC_THREADS;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_SYNC_THREADS_PER_SCHEMA;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_TOKEN_CACHE_SIZE;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_TOKEN_CACHE_TIME_TO_LIVE;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_TRANSFORM_THREADS;
 import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_SYNC_TABLES;
 import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_TARGET_VERSION;
 import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_UM_SCHEMA;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_VERIFICATION_REPORT_FILE;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_VERIFIER_RANGE_SIZE;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_VERIFIER_THREADS;
+import static org.wso2.is.data.sync.system.util.Constant.SYNC_EXECUTOR_PLATFORM;
+import static org.wso2.is.data.sync.system.util.Constant.SYNC_EXECUTOR_VIRTUAL;
 import static org.wso2.is.data.sync.system.util.Constant.SCHEMA_TYPE_CONSENT;
 import static org.wso2.is.data.sync.system.util.Constant.SCHEMA_TYPE_IDENTITY;
 import static org.wso2.is.data.sync.system.util.Constant.SCHEMA_TYPE_REGISTRY;
@@ -59,6 +113,39 @@ public class Configuration {
     private long syncInterval = DEFAULT_SYNC_INTERVAL;
     private List<String> syncTables = new ArrayList<>();
     private List<SchemaInfo> schemaInfoList = new ArrayList<>();
+    private boolean statementLevelTriggers;
+    private boolean partitionedJournal;
+    private long journalPartitionSize = DEFAULT_JOURNAL_PARTITION_SIZE;
+    private long journalMaintenanceInterval = DEFAULT_JOURNAL_MAINTENANCE_INTERVAL;
+    private String schemaCatalogFile;
+    private int snapshotThreads = (int) DEFAULT_SNAPSHOT_THREADS;
+    private long snapshotChunkSize = DEFAULT_SNAPSHOT_CHUNK_SIZE;
+    private int verifierThreads = (int) DEFAULT_VERIFIER_THREADS;
+    private long verifierRangeSize = DEFAULT_VERIFIER_RANGE_SIZE;
+    private String verificationReportFile = DEFAULT_VERIFICATION_REPORT_FILE;
+    private int repairThreads = (int) DEFAULT_REPAIR_THREADS;
+    private String repairFile;
+    private int syncThreads = (int) DEFAULT_SYNC_THREADS;
+    private int syncThreadsPerSchema;
+    private String syncExecutor = SYNC_EXECUTOR_PLATFORM;
+    private boolean pinnedConnections;
+    private long connectionValidationInterval = DEFAULT_CONNECTION_VALIDATION_INTERVAL;
+    private long lagReportInterval = DEFAULT_LAG_REPORT_INTERVAL;
+    private String cutoverRequestFile = DEFAULT_CUTOVER_REQUEST_FILE;
+    private long cutoverTimeout = DEFAULT_CUTOVER_TIMEOUT;
+    private boolean dropTriggersOnCutover;
+    private boolean leaseCoordination;
+    private long leaseTimeout = DEFAULT_LEASE_TIMEOUT;
+    private String syncNodeId = ManagementFactory.getRuntimeMXBean().getName();
+    private int transformThreads = (int) DEFAULT_TRANSFORM_THREADS;
+    private int tokenCacheSize = (int) DEFAULT_TOKEN_CACHE_SIZE;
+    private long tokenCacheTimeToLive = DEFAULT_TOKEN_CACHE_TIME_TO_LIVE;
+    private boolean streamingBatches;
+    private boolean skipUnchangedColumns;
+    private String metricsFile;
+    private int metricsPort;
+    private String metricsHost;
+    private long metricsInterval = DEFAULT_METRICS_INTERVAL;
 
     private Configuration() {
 
@@ -123,6 +210,364 @@ public class Configuration {
         this.schemaInfoList = schemaInfoList;
     }
 
+    public boolean isStatementLevelTriggers() {
+
+        return statementLevelTriggers;
+    }
+
+    private void setStatementLevelTriggers(boolean statementLevelTriggers) {
+
+        this.statementLevelTriggers = statementLevelTriggers;
+    }
+
+    public boolean isPartitionedJournal() {
+
+        return partitionedJournal;
+    }
+
+    private void setPartitionedJournal(boolean partitionedJournal) {
+
+        this.partitionedJournal = partitionedJournal;
+    }
+
+    public long getJournalPartitionSize() {
+
+        return journalPartitionSize;
+    }
+
+    private void setJournalPartitionSize(long journalPartitionSize) {
+
+        this.journalPartitionSize = journalPartitionSize;
+    }
+
+    public long getJournalMaintenanceInterval() {
+
+        return journalMaintenanceInterval;
+    }
+
+    private void setJournalMaintenanceInterval(long journalMaintenanceInterval) {
+
+        this.journalMaintenanceInterval = journalMaintenanceInterval;
+    }
+
+    public String getSchemaCatalogFile() {
+
+        return schemaCatalogFile;
+    }
+
+    private void setSchemaCatalogFile(String schemaCatalogFile) {
+
+        this.schemaCatalogFile = schemaCatalogFile;
+    }
+
+    public int getSnapshotThreads() {
+
+        return snapshotThreads;
+    }
+
+    private void setSnapshotThreads(int snapshotThreads) {
+
+        this.snapshotThreads = snapshotThreads;
+    }
+
+    public long getSnapshotChunkSize() {
+
+        return snapshotChunkSize;
+    }
+
+    private void setSnapshotChunkSize(long snapshotChunkSize) {
+
+        this.snapshotChunkSize = snapshotChunkSize;
+    }
+
+    public int getVerifierThreads() {
+
+        return verifierThreads;
+    }
+
+    private void setVerifierThreads(int verifierThreads) {
+
+        this.verifierThreads = verifierThreads;
+    }
+
+    public long getVerifierRangeSize() {
+
+        return verifierRangeSize;
+    }
+
+    private void setVerifierRangeSize(long verifierRangeSize) {
+
+        this.verifierRangeSize = verifierRangeSize;
+    }
+
+    public String getVerificationReportFile() {
+
+        return verificationReportFile;
+    }
+
+    private void setVerificationReportFile(String verificationReportFile) {
+
+        this.verificationReportFile = verificationReportFile;
+    }
+
+    public int getRepairThreads() {
+
+        return repairThreads;
+    }
+
+    private void setRepairThreads(int repairThreads) {
+
+        this.repairThreads = repairThreads;
+    }
+
+    /**
+     * @return File holding the repair requests. Defaults to the verification report file.
+     */
+    public String getRepairFile() {
+
+        return repairFile == null ? verificationReportFile : repairFile;
+    }
+
+    private void setRepairFile(String repairFile) {
+
+        this.repairFile = repairFile;
+    }
+
+    public int getSyncThreads() {
+
+        return syncThreads;
+    }
+
+    private void setSyncThreads(int syncThreads) {
+
+        this.syncThreads = syncThreads;
+    }
+
+    /**
+     * @return Maximum number of tables of a schema synced at once. Defaults to the number of sync threads.
+     */
+    public int getSyncThreadsPerSchema() {
+
+        return syncThreadsPerSchema > 0 ? syncThreadsPerSchema : syncThreads;
+    }
+
+    private void setSyncThreadsPerSchema(int syncThreadsPerSchema) {
+
+        this.syncThreadsPerSchema = syncThreadsPerSchema;
+    }
+
+    /**
+     * @return Number of threads transforming a batch with the thread safe transformers. 1 transforms the batch on the
+     * sync thread.
+     */
+    public int getTransformThreads() {
+
+        return transformThreads;
+    }
+
+    private void setTransformThreads(int transformThreads) {
+
+        this.transformThreads = transformThreads;
+    }
+
+    /**
+     * @return Maximum number of transformed tokens cached per token type and pipeline. 0 disables the cache.
+     */
+    public int getTokenCacheSize() {
+
+        return tokenCacheSize;
+    }
+
+    private void setTokenCacheSize(int tokenCacheSize) {
+
+        this.tokenCacheSize = tokenCacheSize;
+    }
+
+    public long getTokenCacheTimeToLive() {
+
+        return tokenCacheTimeToLive;
+    }
+
+    private void setTokenCacheTimeToLive(long tokenCacheTimeToLive) {
+
+        this.tokenCacheTimeToLive = tokenCacheTimeToLive;
+    }
+
+    public boolean isStreamingBatches() {
+
+        return streamingBatches;
+    }
+
+    private void setStreamingBatches(boolean streamingBatches) {
+
+        this.streamingBatches = streamingBatches;
+    }
+
+    public boolean isSkipUnchangedColumns() {
+
+        return skipUnchangedColumns;
+    }
+
+    private void setSkipUnchangedColumns(boolean skipUnchangedColumns) {
+
+        this.skipUnchangedColumns = skipUnchangedColumns;
+    }
+
+    public String getMetricsFile() {
+
+        return metricsFile;
+    }
+
+    private void setMetricsFile(String metricsFile) {
+
+        this.metricsFile = metricsFile;
+    }
+
+    public int getMetricsPort() {
+
+        return metricsPort;
+    }
+
+    private void setMetricsPort(int metricsPort) {
+
+        this.metricsPort = metricsPort;
+    }
+
+    public String getMetricsHost() {
+
+        return metricsHost;
+    }
+
+    private void setMetricsHost(String metricsHost) {
+
+        this.metricsHost = metricsHost;
+    }
+
+    public long getMetricsInterval() {
+
+        return metricsInterval;
+    }
+
+    private void setMetricsInterval(long metricsInterval) {
+
+        this.metricsInterval = metricsInterval;
+    }
+
+    /**
+     * @return Executor mode of the sync tasks. Either platform or virtual.
+     */
+    public String getSyncExecutor() {
+
+        return syncExecutor;
+    }
+
+    private void setSyncExecutor(String syncExecutor) {
+
+        this.syncExecutor = syncExecutor;
+    }
+
+    /**
+     * @return True if each sync pipeline holds its source and target connections for its lifetime.
+     */
+    public boolean isPinnedConnections() {
+
+        return pinnedConnections;
+    }
+
+    private void setPinnedConnections(boolean pinnedConnections) {
+
+        this.pinnedConnections = pinnedConnections;
+    }
+
+    public long getConnectionValidationInterval() {
+
+        return connectionValidationInterval;
+    }
+
+    private void setConnectionValidationInterval(long connectionValidationInterval) {
+
+        this.connectionValidationInterval = connectionValidationInterval;
+    }
+
+    public long getLagReportInterval() {
+
+        return lagReportInterval;
+    }
+
+    private void setLagReportInterval(long lagReportInterval) {
+
+        this.lagReportInterval = lagReportInterval;
+    }
+
+    public String getCutoverRequestFile() {
+
+        return cutoverRequestFile;
+    }
+
+    private void setCutoverRequestFile(String cutoverRequestFile) {
+
+        this.cutoverRequestFile = cutoverRequestFile;
+    }
+
+    public long getCutoverTimeout() {
+
+        return cutoverTimeout;
+    }
+
+    private void setCutoverTimeout(long cutoverTimeout) {
+
+        this.cutoverTimeout = cutoverTimeout;
+    }
+
+    /**
+     * @return True if the journal triggers in the source should be dropped once the cutover barrier is reached.
+     */
+    public boolean isDropTriggersOnCutover() {
+
+        return dropTriggersOnCutover;
+    }
+
+    private void setDropTriggersOnCutover(boolean dropTriggersOnCutover) {
+
+        this.dropTriggersOnCutover = dropTriggersOnCutover;
+    }
+
+    /**
+     * @return True if the synced tables are shared with other sync client instances through lease tables.
+     */
+    public boolean isLeaseCoordination() {
+
+        return leaseCoordination;
+    }
+
+    private void setLeaseCoordination(boolean leaseCoordination) {
+
+        this.leaseCoordination = leaseCoordination;
+    }
+
+    public long getLeaseTimeout() {
+
+        return leaseTimeout;
+    }
+
+    private void setLeaseTimeout(long leaseTimeout) {
+
+        this.leaseTimeout = leaseTimeout;
+    }
+
+    /**
+     * @return Identifier of this sync client instance. Defaults to the process identifier and the host name.
+     */
+    public String getSyncNodeId() {
+
+        return syncNodeId;
+    }
+
+    private void setSyncNodeId(String syncNodeId) {
+
+        this.syncNodeId = syncNodeId;
+    }
+
     /**
      *
      * Configuration builder class for the data sync client.
@@ -136,6 +581,39 @@ public class Configuration {
      * -DregSchema={source_jndi,target_jndi} - JNDI names of target and source data sources for a reg schema.
      * -DidentitySchema={source_jndi,target_jndi} - JNDI names of target and source data sources for a identity schema.
      * -DconsentSchema={source_jndi,target_jndi} - JNDI names of target and source data sources for a consent schema.
+     * -DstatementLevelTriggers={true|false} - Use statement level journal triggers where supported (Optional).
+     * -DpartitionedJournal={true|false} - Range partition the journal tables by SYNC_ID (Optional).
+     * -DjournalPartitionSize={size} - Number of SYNC_IDs per journal partition (Optional).
+     * -DjournalMaintenanceInterval={interval} - Interval between journal partition maintenance runs (Optional).
+     * -DschemaCatalogFile={path} - File to persist the table meta data snapshot for warm restarts (Optional).
+     * -DsnapshotThreads={threads} - Number of threads copying the initial data snapshot (Optional).
+     * -DsnapshotChunkSize={size} - Number of rows per initial data snapshot chunk (Optional).
+     * -DverifierThreads={threads} - Number of threads verifying the consistency of the synced tables (Optional).
+     * -DverifierRangeSize={size} - Number of rows per top level verification range (Optional).
+     * -DverificationReportFile={path} - File to write the differences found by the verification (Optional).
+     * -DrepairThreads={threads} - Number of threads repairing rows and ranges of the synced tables (Optional).
+     * -DrepairFile={path} - File holding the rows and ranges to be repaired (Optional).
+     * -DsyncThreads={threads} - Number of threads syncing the tables (Optional).
+     * -DsyncThreadsPerSchema={threads} - Maximum number of tables of a schema synced at once (Optional).
+     * -DsyncExecutor={platform|virtual} - Run the sync tasks on a platform thread pool or virtual threads (Optional).
+     * -DpinnedConnections={true|false} - Hold the connections of a sync pipeline for its lifetime (Optional).
+     * -DconnectionValidationInterval={interval} - Idle time before validating a pinned connection (Optional).
+     * -DlagReportInterval={interval} - Interval between sync lag reports (Optional).
+     * -DcutoverRequestFile={path} - File to be created to request a cutover (Optional).
+     * -DcutoverTimeout={timeout} - Time to wait for the tables to reach the cutover barrier (Optional).
+     * -DdropTriggersOnCutover={true|false} - Drop the source journal triggers once a cutover completes (Optional).
+     * -DleaseCoordination={true|false} - Share the synced tables with other sync client instances (Optional).
+     * -DleaseTimeout={timeout} - Time a lease is held without being renewed (Optional).
+     * -DsyncNodeId={id} - Identifier of the sync client instance (Optional).
+     * -DtransformThreads={threads} - Number of threads transforming a batch in parallel (Optional).
+     * -DtokenCacheSize={size} - Number of transformed tokens cached per token type and table (Optional).
+     * -DtokenCacheTimeToLive={time} - Time a transformed token is cached (Optional).
+     * -DstreamingBatches={true|false} - Transform and persist the journal entries as they are read (Optional).
+     * -DskipUnchangedColumns={true|false} - Only update the target columns whose values differ (Optional).
+     * -DmetricsFile={path} - File to periodically write the sync metrics to (Optional).
+     * -DmetricsPort={port} - Port of the HTTP listener serving the sync metrics (Optional).
+     * -DmetricsHost={host} - Address the HTTP listener serving the sync metrics binds to (Optional).
+     * -DmetricsInterval={interval} - Interval between the writes of the metrics file (Optional).
      */
     public static class ConfigurationBuilder {
 
@@ -178,9 +656,119 @@ public class Configuration {
             }
             configuration.setBatchSize(batchSize);
 
+            String statementLevelTriggers = getProperty(JVM_PROPERTY_STATEMENT_LEVEL_TRIGGERS, false, properties);
+            configuration.setStatementLevelTriggers(Boolean.parseBoolean(StringUtils.trim(statementLevelTriggers)));
+
+            String partitionedJournal = getProperty(JVM_PROPERTY_PARTITIONED_JOURNAL, false, properties);
+            configuration.setPartitionedJournal(Boolean.parseBoolean(StringUtils.trim(partitionedJournal)));
+            configuration.setJournalPartitionSize(getLongProperty(JVM_PROPERTY_JOURNAL_PARTITION_SIZE,
+                                                                  DEFAULT_JOURNAL_PARTITION_SIZE, properties));
+            configuration.setJournalMaintenanceInterval(getLongProperty(JVM_PROPERTY_JOURNAL_MAINTENANCE_INTERVAL,
+                                                                        DEFAULT_JOURNAL_MAINTENANCE_INTERVAL,
+                                                                        properties));
+            configuration.setSchemaCatalogFile(StringUtils.trim(getProperty(JVM_PROPERTY_SCHEMA_CATALOG_FILE, false,
+                                                                            properties)));
+            configuration.setSnapshotThreads((int) Math.min(getLongProperty(JVM_PROPERTY_SNAPSHOT_THREADS,
+                                                                            DEFAULT_SNAPSHOT_THREADS, properties),
+                                                            Integer.MAX_VALUE));
+            configuration.setSnapshotChunkSize(getLongProperty(JVM_PROPERTY_SNAPSHOT_CHUNK_SIZE,
+                                                               DEFAULT_SNAPSHOT_CHUNK_SIZE, properties));
+            configuration.setVerifierThreads((int) Math.min(getLongProperty(JVM_PROPERTY_VERIFIER_THREADS,
+                                                                            DEFAULT_VERIFIER_THREADS, properties),
+                                                            Integer.MAX_VALUE));
+            configuration.setVerifierRangeSize(getLongProperty(JVM_PROPERTY_VERIFIER_RANGE_SIZE,
+                                                               DEFAULT_VERIFIER_RANGE_SIZE, properties));
+            String verificationReportFile = getProperty(JVM_PROPERTY_VERIFICATION_REPORT_FILE, false, properties);
+            if (StringUtils.isNotBlank(verificationReportFile)) {
+                configuration.setVerificationReportFile(verificationReportFile.trim());
+            }
+            configuration.setRepairThreads((int) Math.min(getLongProperty(JVM_PROPERTY_REPAIR_THREADS,
+                                                                          DEFAULT_REPAIR_THREADS, properties),
+                                                          Integer.MAX_VALUE));
+            configuration.setRepairFile(StringUtils.trimToNull(getProperty(JVM_PROPERTY_REPAIR_FILE, false,
+                                                                           properties)));
+            configuration.setSyncThreads((int) Math.min(getLongProperty(JVM_PROPERTY_SYNC_THREADS,
+                                                                        DEFAULT_SYNC_THREADS, properties),
+                                                        Integer.MAX_VALUE));
+            configuration.setSyncThreadsPerSchema((int) Math.min(getLongProperty(
+                    JVM_PROPERTY_SYNC_THREADS_PER_SCHEMA, 0, properties), Integer.MAX_VALUE));
+            String pinnedConnections = getProperty(JVM_PROPERTY_PINNED_CONNECTIONS, false, properties);
+            configuration.setPinnedConnections(Boolean.parseBoolean(StringUtils.trim(pinnedConnections)));
+            configuration.setConnectionValidationInterval(getLongProperty(JVM_PROPERTY_CONNECTION_VALIDATION_INTERVAL,
+                                                                          DEFAULT_CONNECTION_VALIDATION_INTERVAL,
+                                                                          properties));
+            configuration.setLagReportInterval(getLongProperty(JVM_PROPERTY_LAG_REPORT_INTERVAL,
+                                                               DEFAULT_LAG_REPORT_INTERVAL, properties));
+            String cutoverRequestFile = getProperty(JVM_PROPERTY_CUTOVER_REQUEST_FILE, false, properties);
+            if (StringUtils.isNotBlank(cutoverRequestFile)) {
+                configuration.setCutoverRequestFile(cutoverRequestFile.trim());
+            }
+            configuration.setCutoverTimeout(getLongProperty(JVM_PROPERTY_CUTOVER_TIMEOUT, DEFAULT_CUTOVER_TIMEOUT,
+                                                            properties));
+            String dropTriggersOnCutover = getProperty(JVM_PROPERTY_DROP_TRIGGERS_ON_CUTOVER, false, properties);
+            configuration.setDropTriggersOnCutover(Boolean.parseBoolean(StringUtils.trim(dropTriggersOnCutover)));
+            String leaseCoordination = getProperty(JVM_PROPERTY_LEASE_COORDINATION, false, properties);
+            configuration.setLeaseCoordination(Boolean.parseBoolean(StringUtils.trim(leaseCoordination)));
+            configuration.setLeaseTimeout(getLongProperty(JVM_PROPERTY_LEASE_TIMEOUT, DEFAULT_LEASE_TIMEOUT,
+                                                          properties));
+            String syncNodeId = getProperty(JVM_PROPERTY_SYNC_NODE_ID, false, properties);
+            if (StringUtils.isNotBlank(syncNodeId)) {
+                configuration.setSyncNodeId(syncNodeId.trim());
+            }
+            configuration.setTransformThreads((int) Math.min(getLongProperty(JVM_PROPERTY_TRANSFORM_THREADS,
+                                                                             DEFAULT_TRANSFORM_THREADS, properties),
+                                                             Integer.MAX_VALUE));
+            if ("0".equals(StringUtils.trim(getProperty(JVM_PROPERTY_TOKEN_CACHE_SIZE, false, properties)))) {
+                configuration.setTokenCacheSize(0);
+            } else {
+                configuration.setTokenCacheSize((int) Math.min(getLongProperty(JVM_PROPERTY_TOKEN_CACHE_SIZE,
+                                                                               DEFAULT_TOKEN_CACHE_SIZE, properties),
+                                                               Integer.MAX_VALUE));
+            }
+            configuration.setTokenCacheTimeToLive(getLongProperty(JVM_PROPERTY_TOKEN_CACHE_TIME_TO_LIVE,
+                                                                  DEFAULT_TOKEN_CACHE_TIME_TO_LIVE, properties));
+            String streamingBatches = getProperty(JVM_PROPERTY_STREAMING_BATCHES, false, properties);
+            configuration.setStreamingBatches(Boolean.parseBoolean(StringUtils.trim(streamingBatches)));
+            String skipUnchangedColumns = getProperty(JVM_PROPERTY_SKIP_UNCHANGED_COLUMNS, false, properties);
+            configuration.setSkipUnchangedColumns(Boolean.parseBoolean(StringUtils.trim(skipUnchangedColumns)));
+            configuration.setMetricsFile(StringUtils.trimToNull(getProperty(JVM_PROPERTY_METRICS_FILE, false,
+                                                                            properties)));
+            configuration.setMetricsPort((int) Math.min(getLongProperty(JVM_PROPERTY_METRICS_PORT, 0, properties),
+                                                        Integer.MAX_VALUE));
+            configuration.setMetricsHost(StringUtils.trimToNull(getProperty(JVM_PROPERTY_METRICS_HOST, false,
+                                                                            properties)));
+            configuration.setMetricsInterval(getLongProperty(JVM_PROPERTY_METRICS_INTERVAL, DEFAULT_METRICS_INTERVAL,
+                                                             properties));
+            String syncExecutor = StringUtils.trim(getProperty(JVM_PROPERTY_SYNC_EXECUTOR, false, properties));
+            if (SYNC_EXECUTOR_VIRTUAL.equalsIgnoreCase(syncExecutor)) {
+                configuration.setSyncExecutor(SYNC_EXECUTOR_VIRTUAL);
+            } else if (StringUtils.isNotBlank(syncExecutor) && !SYNC_EXECUTOR_PLATFORM.equalsIgnoreCase(syncExecutor)) {
+                log.warn("Invalid input: " + syncExecutor + " for " + JVM_PROPERTY_SYNC_EXECUTOR + ". Using default " +
+                         "value: " + SYNC_EXECUTOR_PLATFORM);
+            }
+
             return configuration;
         }
 
+        private long getLongProperty(String propertyName, long defaultValue, Properties properties)
+                throws SyncClientException {
+
+            String value = getProperty(propertyName, false, properties);
+            if (StringUtils.isBlank(value)) {
+                return defaultValue;
+            }
+            try {
+                long longValue = Long.parseLong(value.trim());
+                if (longValue > 0) {
+                    return longValue;
+                }
+            } catch (NumberFormatException e) {
+                // Fall back to the default value below.
+            }
+            log.warn("Invalid input: " + value + " for " + propertyName + ". Using default value: " + defaultValue);
+            return defaultValue;
+        }
+
         private void setSyncTableList(Configuration configuration, Properties properties) throws SyncClientException {
 
             String syncTables = getProperty(JVM_PROPERTY_SYNC_TABLES, true, properties);
@@ -25,6 +25,7 @@ public class ColumnData {
     private String type;
     private String defaultValue;
     private int size;
+    private int decimalDigits;
     private boolean autoIncrement;
 
     public ColumnData(String name, String type, int size) {
@@ -49,6 +50,16 @@ public class ColumnData {
         return size;
     }
 
+    public int getDecimalDigits() {
+
+        return decimalDigits;
+    }
+
+    public void setDecimalDigits(int decimalDigits) {
+
+        this.decimalDigits = decimalDigits;
+    }
+
     public boolean isAutoIncrement() {
 
         return autoIncrement;
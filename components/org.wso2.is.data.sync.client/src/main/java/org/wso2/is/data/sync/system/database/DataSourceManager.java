@@ -40,11 +40,17 @@ import static org.wso2.is.data.sync.system.util.Constant.DATA_SOURCE_TYPE_POSTGR
 import static org.wso2.is.data.sync.system.util.Constant.DELIMITER;
 import static org.wso2.is.data.sync.system.util.Constant.DELIMITER_COMMA;
 import static org.wso2.is.data.sync.system.util.Constant.DELIMITER_DOUBLE_SLASH;
-import static org.wso2.is.data.sync.system.util.Constant.SQL_DELIMITER_DB2_ORACLE;
+import static org.wso2.is.data.sync.system.util.Constant.DB2_SET_TERMINATOR;
+import static org.wso2.is.data.sync.system.util.Constant.SQL_DELIMITER_DB2;
 import static org.wso2.is.data.sync.system.util.Constant.SQL_DELIMITER_H2_MYSQL_MSSQL_POSGRES;
+import static org.wso2.is.data.sync.system.util.Constant.SQL_DELIMITER_MSSQL;
+import static org.wso2.is.data.sync.system.util.Constant.SQL_DELIMITER_ORACLE;
+import static org.wso2.is.data.sync.system.util.Constant.SQL_DELIMITER_POSTGRESQL;
 
 public class DataSourceManager {
 
+    private static final String[] MAX_CONNECTIONS_METHODS = {"getMaxActive", "getMaximumPoolSize", "getMaxTotal"};
+
     private Map<String, DataSourceEntry> sourceEntryList = new HashMap<>();
     private Map<String, DataSourceEntry> targetEntryList = new HashMap<>();
     private List<SchemaInfo> schemaInfoList = new ArrayList<>();
@@ -79,7 +85,7 @@ public class DataSourceManager {
 
             String targetDataSourceType;
             try {
-                targetDataSourceType = getDataSourceType(sourceDataSource);
+                targetDataSourceType = getDataSourceType(targetDataSource);
             } catch (SQLException e) {
                 throw new SyncClientException("Error while creating connection with data source: " +
                                               targetJndiName + " of schema: " + schemaType);
@@ -160,54 +166,109 @@ public class DataSourceManager {
         return dataSource.getConnection();
     }
 
-    public String getSourceSqlDelimiter(String schema) {
+    /**
+     * Returns the maximum number of connections a schema can be given by both its source and target connection pools.
+     * The pool sizes are read from the data source implementations, eg: maxActive of the Tomcat JDBC pools configured
+     * in master-datasources.xml.
+     *
+     * @param schema Schema type.
+     * @return Smaller of the maximum source and target pool sizes or -1 if the pool sizes are unknown.
+     */
+    public int getMaxConnections(String schema) {
+
+        int sourceMaxConnections = getMaxConnections(getSourceDataSource(schema));
+        int targetMaxConnections = getMaxConnections(getTargetDataSource(schema));
+        if (sourceMaxConnections <= 0) {
+            return targetMaxConnections;
+        } else if (targetMaxConnections <= 0) {
+            return sourceMaxConnections;
+        }
+        return Math.min(sourceMaxConnections, targetMaxConnections);
+    }
+
+    private int getMaxConnections(DataSource dataSource) {
 
-        String dataSourceType = getSourceDataSourceType(schema);
-        if (DATA_SOURCE_TYPE_ORACLE.equals(dataSourceType) || DATA_SOURCE_TYPE_DB2.equals(dataSourceType)) {
-            return SQL_DELIMITER_DB2_ORACLE;
+        // Pool implementations are not visible to this bundle at compile time.
+        for (String methodName : MAX_CONNECTIONS_METHODS) {
+            try {
+                Object maxConnections = dataSource.getClass().getMethod(methodName).invoke(dataSource);
+                if (maxConnections instanceof Integer) {
+                    return (Integer) maxConnections;
+                }
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // Try the next known pool implementation.
+            }
         }
-        return SQL_DELIMITER_H2_MYSQL_MSSQL_POSGRES;
+        return -1;
+    }
+
+    public String getSourceSqlDelimiter(String schema) {
+
+        return getSqlDelimiter(getSourceDataSourceType(schema));
     }
 
     public String getTargetSqlDelimiter(String schema) {
 
-        String dataSourceType = getTargetDataSourceType(schema);
-        if (DATA_SOURCE_TYPE_ORACLE.equals(dataSourceType) || DATA_SOURCE_TYPE_DB2.equals(dataSourceType)) {
-            return SQL_DELIMITER_DB2_ORACLE;
+        return getSqlDelimiter(getTargetDataSourceType(schema));
+    }
+
+    private String getSqlDelimiter(String dataSourceType) {
+
+        if (DATA_SOURCE_TYPE_ORACLE.equals(dataSourceType)) {
+            // SQL*Plus expects the PL/SQL block terminator to be in a line of its own.
+            return System.lineSeparator() + SQL_DELIMITER_ORACLE;
+        } else if (DATA_SOURCE_TYPE_DB2.equals(dataSourceType)) {
+            // Trigger bodies contain semicolons. Hence statements are terminated with "@" which is set as the
+            // terminator in the script prefix.
+            return SQL_DELIMITER_DB2;
+        } else if (DATA_SOURCE_TYPE_POSTGRESQL.equals(dataSourceType)) {
+            // psql terminates statements with semicolons and handles the dollar quoted trigger function bodies.
+            return SQL_DELIMITER_POSTGRESQL;
+        } else if (DATA_SOURCE_TYPE_MSSQL.equals(dataSourceType)) {
+            // sqlcmd expects the batch separator to be in a line of its own.
+            return System.lineSeparator() + SQL_DELIMITER_MSSQL;
         }
         return SQL_DELIMITER_H2_MYSQL_MSSQL_POSGRES;
     }
 
     public String getSourceDDLPrefix(String schema) {
 
-        if (DATA_SOURCE_TYPE_MYSQL.equals(getSourceDataSourceType(schema))) {
-
-            return DELIMITER + " " + DELIMITER_DOUBLE_SLASH + System.lineSeparator() + System.lineSeparator();
-        }
-        return StringUtils.EMPTY;
+        return getDDLPrefix(getSourceDataSourceType(schema));
     }
 
     public String getTargetDDLPrefix(String schema) {
 
-        if (DATA_SOURCE_TYPE_MYSQL.equals(getTargetDataSourceType(schema))) {
-
-            return DELIMITER + " " + DELIMITER_DOUBLE_SLASH + System.lineSeparator() + System.lineSeparator();
-        }
-        return StringUtils.EMPTY;
+        return getDDLPrefix(getTargetDataSourceType(schema));
     }
 
     public String getSourceDDLSuffix(String schema) {
 
-        if (DATA_SOURCE_TYPE_MYSQL.equals(getSourceDataSourceType(schema))) {
-            return System.lineSeparator() + System.lineSeparator() + DELIMITER + " " + DELIMITER_COMMA;
+        return getDDLSuffix(getSourceDataSourceType(schema));
+    }
+
+    public String getTargetDDLSuffix(String schema) {
+
+        return getDDLSuffix(getTargetDataSourceType(schema));
+    }
+
+    private String getDDLPrefix(String dataSourceType) {
+
+        if (DATA_SOURCE_TYPE_MYSQL.equals(dataSourceType)) {
+
+            return DELIMITER + " " + DELIMITER_DOUBLE_SLASH + System.lineSeparator() + System.lineSeparator();
+        } else if (DATA_SOURCE_TYPE_DB2.equals(dataSourceType)) {
+
+            return DB2_SET_TERMINATOR + " " + SQL_DELIMITER_DB2 + System.lineSeparator() + System.lineSeparator();
         }
         return StringUtils.EMPTY;
     }
 
-    public String getTargetDDLSuffix(String schema) {
+    private String getDDLSuffix(String dataSourceType) {
 
-        if (DATA_SOURCE_TYPE_MYSQL.equals(getTargetDataSourceType(schema))) {
+        if (DATA_SOURCE_TYPE_MYSQL.equals(dataSourceType)) {
             return System.lineSeparator() + System.lineSeparator() + DELIMITER + " " + DELIMITER_COMMA;
+        } else if (DATA_SOURCE_TYPE_DB2.equals(dataSourceType)) {
+            return System.lineSeparator() + System.lineSeparator() + DB2_SET_TERMINATOR + " " + DELIMITER_COMMA;
         }
         return StringUtils.EMPTY;
     }
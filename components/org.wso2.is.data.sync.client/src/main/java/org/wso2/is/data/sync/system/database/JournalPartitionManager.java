@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.database;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.is.data.sync.system.database.dialect.DatabaseDialect;
+import org.wso2.is.data.sync.system.database.dialect.DatabaseDialectFactory;
+import org.wso2.is.data.sync.system.exception.SyncClientException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_SELECT_MAX_SYNC_ID_KEY;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_SELECT_SYNC_ID_KEY;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.getQuery;
+import static org.wso2.is.data.sync.system.util.CommonUtil.getSyncTableName;
+import static org.wso2.is.data.sync.system.util.CommonUtil.getSyncVersionTableName;
+import static org.wso2.is.data.sync.system.util.Constant.COLUMN_NAME_SYNC_ID;
+import static org.wso2.is.data.sync.system.util.Constant.JOURNAL_PARTITIONS_AHEAD;
+import static org.wso2.is.data.sync.system.util.Constant.PARTITION_NAME_PREFIX;
+
+/**
+ * Maintains the partitions of SYNC_ID range partitioned journal tables.
+ *
+ * Partitions are rolled forward so that the catch-all partition of a journal stays empty, which keeps adding a
+ * partition a metadata only operation. Partitions whose entries are all applied to the target are dropped instead of
+ * deleting the applied journal entries row by row.
+ */
+public class JournalPartitionManager {
+
+    private static final Log log = LogFactory.getLog(JournalPartitionManager.class);
+
+    // Partitions are named after their exclusive upper bound. eg: P100000, IDN_OAUTH2_ACCESS_TOKEN_S_P100000
+    private static final Pattern PARTITION_NAME_PATTERN = Pattern.compile("(?i).*" + PARTITION_NAME_PREFIX +
+                                                                          "(\\d+)$");
+
+    private DataSourceManager dataSourceManager;
+    private long partitionSize;
+    private Map<String, Long> purgedSyncIds = new ConcurrentHashMap<>();
+    private Map<String, Long> droppedPartitions = new ConcurrentHashMap<>();
+
+    public JournalPartitionManager(DataSourceManager dataSourceManager, long partitionSize) {
+
+        this.dataSourceManager = dataSourceManager;
+        this.partitionSize = partitionSize;
+    }
+
+    /**
+     * Rolls the partitions of the journal of a given table forward and drops the partitions which are fully applied
+     * to the target.
+     *
+     * @param tableName Name of the synced table.
+     * @throws SyncClientException If an error occurs while maintaining the journal partitions.
+     */
+    public void maintainPartitions(String tableName) throws SyncClientException {
+
+        String schema = dataSourceManager.getSchema(tableName);
+        String syncTableName = getSyncTableName(tableName);
+        DatabaseDialect databaseDialect = DatabaseDialectFactory.getDatabaseDialect(
+                dataSourceManager.getSourceDataSourceType(schema));
+
+        long appliedSyncId;
+        try (Connection targetConnection = dataSourceManager.getTargetConnection(schema)) {
+            appliedSyncId = getAppliedSyncId(getSyncVersionTableName(tableName), targetConnection);
+        } catch (SQLException e) {
+            throw new SyncClientException("Error while retrieving the applied sync ID of table: " + tableName, e);
+        }
+
+        try (Connection sourceConnection = dataSourceManager.getSourceConnection(schema)) {
+            sourceConnection.setAutoCommit(true);
+
+            TreeMap<Long, String> partitions = getPartitions(syncTableName, databaseDialect, sourceConnection);
+            if (partitions.isEmpty()) {
+                log.warn("Journal table: " + syncTableName + " is not partitioned. Skipping partition maintenance.");
+                return;
+            }
+
+            long highWaterMark = Math.max(getMaxSyncId(syncTableName, sourceConnection), appliedSyncId);
+            long lastUpperBound = partitions.lastKey();
+            while (lastUpperBound < highWaterMark + JOURNAL_PARTITIONS_AHEAD * partitionSize) {
+                long upperBound = lastUpperBound + partitionSize;
+                log.info("Adding partition with upper bound: " + upperBound + " to journal table: " + syncTableName);
+                execute(databaseDialect.generateAddPartition(syncTableName, lastUpperBound, upperBound),
+                        sourceConnection);
+                lastUpperBound = upperBound;
+            }
+
+            // The partition holding the last applied entry is retained so that the journal is never emptied, which
+            // could reset the auto increment counter of some database flavors on a restart.
+            for (Map.Entry<Long, String> partition : partitions.entrySet()) {
+                if (partition.getKey() > appliedSyncId) {
+                    break;
+                }
+                log.info("Dropping applied partition: " + partition.getValue() + " of journal table: " +
+                         syncTableName);
+                execute(databaseDialect.generateDropPartition(syncTableName, partition.getValue()),
+                        sourceConnection);
+                // Partitions are named after their exclusive upper bound.
+                purgedSyncIds.merge(tableName, partition.getKey() - 1, Math::max);
+                droppedPartitions.merge(tableName, 1L, Long::sum);
+            }
+        } catch (SQLException e) {
+            throw new SyncClientException("Error while maintaining partitions of journal table: " + syncTableName, e);
+        }
+    }
+
+    /**
+     * @param tableName Name of the synced table.
+     * @return Largest SYNC_ID of the journal entries purged by dropping partitions, or 0 if none were dropped.
+     */
+    public long getPurgedSyncId(String tableName) {
+
+        return purgedSyncIds.getOrDefault(tableName, 0L);
+    }
+
+    /**
+     * @param tableName Name of the synced table.
+     * @return Number of journal partitions dropped since the sync started.
+     */
+    public long getDroppedPartitions(String tableName) {
+
+        return droppedPartitions.getOrDefault(tableName, 0L);
+    }
+
+    private TreeMap<Long, String> getPartitions(String syncTableName, DatabaseDialect databaseDialect,
+                                                Connection connection) throws SQLException, SyncClientException {
+
+        TreeMap<Long, String> partitions = new TreeMap<>();
+        try (PreparedStatement ps = connection.prepareStatement(databaseDialect.generateSelectPartitions(
+                syncTableName))) {
+            ps.setString(1, syncTableName);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String partitionName = rs.getString(1);
+                    Matcher matcher = PARTITION_NAME_PATTERN.matcher(partitionName);
+                    // The catch-all partition does not match the pattern.
+                    if (matcher.matches()) {
+                        partitions.put(Long.parseLong(matcher.group(1)), partitionName);
+                    }
+                }
+            }
+        }
+        return partitions;
+    }
+
+    private long getAppliedSyncId(String syncVersionTableName, Connection connection) throws SQLException {
+
+        // SELECT SYNC_ID FROM %s
+        String sql = String.format(getQuery(SQL_TEMPLATE_SELECT_SYNC_ID_KEY), syncVersionTableName);
+        try (PreparedStatement ps = connection.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getLong(COLUMN_NAME_SYNC_ID) : 0;
+        }
+    }
+
+    private long getMaxSyncId(String syncTableName, Connection connection) throws SQLException {
+
+        // SELECT MAX(SYNC_ID) FROM %s
+        String sql = String.format(getQuery(SQL_TEMPLATE_SELECT_MAX_SYNC_ID_KEY), syncTableName);
+        try (PreparedStatement ps = connection.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    private void execute(String sql, Connection connection) throws SQLException {
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.database;
+
+/**
+ * Model of a primary key range of a synced table. The bounds are the string representations of the first primary key
+ * column values. A null bound leaves the range open.
+ */
+public class KeyRange {
+
+    private String tableName;
+    private String lowerBound;
+    private String upperBound;
+
+    /**
+     * Constructor for {@link KeyRange}.
+     *
+     * @param tableName Name of the synced table.
+     * @param lowerBound Exclusive lower bound of the range or null for an open lower bound.
+     * @param upperBound Inclusive upper bound of the range or null for an open upper bound.
+     */
+    public KeyRange(String tableName, String lowerBound, String upperBound) {
+
+        this.tableName = tableName;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+    }
+
+    public String getTableName() {
+
+        return tableName;
+    }
+
+    public String getLowerBound() {
+
+        return lowerBound;
+    }
+
+    public String getUpperBound() {
+
+        return upperBound;
+    }
+
+    @Override
+    public String toString() {
+
+        return tableName + "(" + (lowerBound == null ? "" : lowerBound) + ", " +
+               (upperBound == null ? "" : upperBound) + "]";
+    }
+}
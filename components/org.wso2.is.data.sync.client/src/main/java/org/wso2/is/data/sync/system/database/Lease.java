@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.database;
+
+import org.wso2.is.data.sync.system.exception.SyncClientException;
+
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A lease held by this sync client instance on the tables of a sync task.
+ *
+ * The lease has a local deadline, which is the start time of its last successful acquisition or renewal plus its
+ * validity. The validity is shorter than the lease timeout by a safety margin, hence the deadline passes before the
+ * lease expires in the lease table even if the heartbeat fails. Batches are not started after the deadline, and are
+ * committed only if {@link #fence(Connection)} succeeds within their target transaction.
+ */
+public class Lease {
+
+    private LeaseManager leaseManager;
+    private String schema;
+    private String name;
+    private long validity;
+    private volatile long deadline;
+    private volatile boolean held;
+
+    /**
+     * @param leaseManager Lease manager of the sync client instance.
+     * @param schema Schema type.
+     * @param name Name of the lease.
+     * @param validity Time in milliseconds for which the lease is assumed to be held after it is renewed.
+     */
+    public Lease(LeaseManager leaseManager, String schema, String name, long validity) {
+
+        this.leaseManager = leaseManager;
+        this.schema = schema;
+        this.name = name;
+        this.validity = TimeUnit.MILLISECONDS.toNanos(validity);
+    }
+
+    public String getName() {
+
+        return name;
+    }
+
+    /**
+     * Extends the local deadline after the lease was acquired or renewed.
+     *
+     * @param renewStartTime {@link System#nanoTime()} before the lease was acquired or renewed.
+     */
+    public void renewed(long renewStartTime) {
+
+        deadline = renewStartTime + validity;
+        held = true;
+    }
+
+    /**
+     * Marks the lease as lost or released.
+     */
+    public void lost() {
+
+        held = false;
+    }
+
+    /**
+     * @return True if the lease is held and its local deadline has not passed.
+     */
+    public boolean isValid() {
+
+        return held && System.nanoTime() - deadline < 0;
+    }
+
+    /**
+     * Verifies within the target transaction of a batch that the lease is still held. The transaction should be
+     * rolled back if this returns false.
+     *
+     * @param connection Target connection of the batch.
+     * @return True if the lease is held.
+     * @throws SyncClientException If error occurs while verifying the lease.
+     */
+    public boolean fence(Connection connection) throws SyncClientException {
+
+        return isValid() && leaseManager.fence(connection, schema, name);
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.database;
+
+import org.wso2.is.data.sync.system.database.dialect.DatabaseDialectFactory;
+import org.wso2.is.data.sync.system.database.dialect.Table;
+import org.wso2.is.data.sync.system.exception.SyncClientException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_ACQUIRE_LEASE_KEY;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_FENCE_LEASE_KEY;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_INSERT_LEASE_KEY;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_RELEASE_LEASE_KEY;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_RENEW_LEASE_KEY;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_SELECT_LEASES_KEY;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.getQuery;
+import static org.wso2.is.data.sync.system.util.Constant.COLUMN_TYPE_BIGINT;
+import static org.wso2.is.data.sync.system.util.Constant.COLUMN_TYPE_VARCHAR;
+import static org.wso2.is.data.sync.system.util.Constant.LEASE_TABLE;
+
+/**
+ * Manages the leases held by the sync client instances in the lease table of the target database of a schema.
+ *
+ * A lease is held by an owner until its expiry time, and is renewed by the owner before it expires. Expired leases
+ * can be acquired by any instance. Expiry times are computed and compared with the clock of the target database,
+ * hence they do not depend on the clocks of the instances. A batch synced under a lease is fenced by
+ * {@link #fence(Connection, String, String)} within its target transaction, which fails once the lease has expired or
+ * has been taken over.
+ */
+public class LeaseManager {
+
+    private static final String COLUMN_NAME_LEASE_NAME = "LEASE_NAME";
+    private static final String COLUMN_NAME_OWNER = "OWNER";
+    private static final String COLUMN_NAME_EXPIRY_TIME = "EXPIRY_TIME";
+    private static final int MAX_NAME_SIZE = 255;
+    private static final String SQL_STATE_INTEGRITY_CONSTRAINT_VIOLATION_CLASS = "23";
+
+    private DataSourceManager dataSourceManager;
+    private String owner;
+    private long leaseTimeout;
+
+    public LeaseManager(DataSourceManager dataSourceManager, String owner, long leaseTimeout) {
+
+        this.dataSourceManager = dataSourceManager;
+        this.owner = owner;
+        this.leaseTimeout = leaseTimeout;
+    }
+
+    public String getOwner() {
+
+        return owner;
+    }
+
+    /**
+     * Creates the lease table in the target database of a schema if it does not exist.
+     *
+     * @param schema Schema type.
+     * @throws SyncClientException If error occurs while creating the table.
+     */
+    public void createLeaseTable(String schema) throws SyncClientException {
+
+        List<ColumnData> columnData = new ArrayList<>();
+        columnData.add(new ColumnData(COLUMN_NAME_LEASE_NAME, COLUMN_TYPE_VARCHAR, MAX_NAME_SIZE));
+        columnData.add(new ColumnData(COLUMN_NAME_OWNER, COLUMN_TYPE_VARCHAR, MAX_NAME_SIZE));
+        columnData.add(new ColumnData(COLUMN_NAME_EXPIRY_TIME, COLUMN_TYPE_BIGINT, 0));
+        TableMetaData tableMetaData = new TableMetaData.Builder().setColumnData(columnData)
+                .setPrimaryKeys(Collections.singletonList(COLUMN_NAME_LEASE_NAME))
+                .build();
+
+        List<String> sqlStatements = DatabaseDialectFactory.getDatabaseDialect(
+                dataSourceManager.getTargetDataSourceType(schema)).generateCreateTable(new Table(LEASE_TABLE,
+                                                                                                 tableMetaData));
+        try (Connection connection = dataSourceManager.getTargetConnection(schema)) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                for (String sqlStatement : sqlStatements) {
+                    statement.execute(sqlStatement);
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new SyncClientException("Error while creating lease table of schema: " + schema, e);
+        }
+    }
+
+    /**
+     * @param schema Schema type.
+     * @return Owners of the unexpired leases of the schema, by lease name.
+     * @throws SyncClientException If error occurs while reading the leases.
+     */
+    public Map<String, String> getLeaseOwners(String schema) throws SyncClientException {
+
+        Map<String, String> leaseOwners = new HashMap<>();
+        String sql = String.format(getQuery(SQL_TEMPLATE_SELECT_LEASES_KEY), LEASE_TABLE, getCurrentTimeMillis(schema));
+        try (Connection connection = dataSourceManager.getTargetConnection(schema);
+             PreparedStatement ps = connection.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                leaseOwners.put(rs.getString(COLUMN_NAME_LEASE_NAME), rs.getString(COLUMN_NAME_OWNER));
+            }
+        } catch (SQLException e) {
+            throw new SyncClientException("Error while reading leases of schema: " + schema, e);
+        }
+        return leaseOwners;
+    }
+
+    /**
+     * Acquires a lease if it is not held by another owner, or renews it if it is already held.
+     *
+     * @param schema Schema type.
+     * @param leaseName Name of the lease.
+     * @return True if the lease is held after the operation.
+     * @throws SyncClientException If error occurs while acquiring the lease.
+     */
+    public boolean acquire(String schema, String leaseName) throws SyncClientException {
+
+        String currentTimeMillis = getCurrentTimeMillis(schema);
+        try (Connection connection = dataSourceManager.getTargetConnection(schema)) {
+            connection.setAutoCommit(false);
+            try {
+                boolean acquired;
+                String sql = String.format(getQuery(SQL_TEMPLATE_ACQUIRE_LEASE_KEY), LEASE_TABLE, currentTimeMillis);
+                try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                    ps.setString(1, owner);
+                    ps.setLong(2, leaseTimeout);
+                    ps.setString(3, leaseName);
+                    ps.setString(4, owner);
+                    acquired = ps.executeUpdate() == 1;
+                }
+                if (!acquired) {
+                    acquired = insert(connection, leaseName, currentTimeMillis);
+                }
+                if (acquired) {
+                    connection.commit();
+                } else {
+                    connection.rollback();
+                }
+                return acquired;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new SyncClientException("Error while acquiring lease: " + leaseName + " of schema: " + schema, e);
+        }
+    }
+
+    /**
+     * Extends the expiry time of a lease held by the owner.
+     *
+     * @param schema Schema type.
+     * @param leaseName Name of the lease.
+     * @return True if the lease is still held by the owner.
+     * @throws SyncClientException If error occurs while renewing the lease.
+     */
+    public boolean renew(String schema, String leaseName) throws SyncClientException {
+
+        return executeUpdate(schema, leaseName, String.format(getQuery(SQL_TEMPLATE_RENEW_LEASE_KEY), LEASE_TABLE,
+                                                              getCurrentTimeMillis(schema)), leaseTimeout);
+    }
+
+    /**
+     * Releases a lease held by the owner, so that other instances can acquire it right away.
+     *
+     * @param schema Schema type.
+     * @param leaseName Name of the lease.
+     * @throws SyncClientException If error occurs while releasing the lease.
+     */
+    public void release(String schema, String leaseName) throws SyncClientException {
+
+        executeUpdate(schema, leaseName, String.format(getQuery(SQL_TEMPLATE_RELEASE_LEASE_KEY), LEASE_TABLE), null);
+    }
+
+    /**
+     * Verifies within a transaction on the target database of a schema that a lease is still held by the owner and
+     * has not expired. The lease row is locked until the transaction completes, hence the lease can not be taken over
+     * by another instance before the transaction commits.
+     *
+     * @param connection Target connection of the transaction to be fenced.
+     * @param schema Schema type.
+     * @param leaseName Name of the lease.
+     * @return True if the lease is held, false if the transaction should be rolled back.
+     * @throws SyncClientException If error occurs while verifying the lease.
+     */
+    public boolean fence(Connection connection, String schema, String leaseName) throws SyncClientException {
+
+        String sql = String.format(getQuery(SQL_TEMPLATE_FENCE_LEASE_KEY), LEASE_TABLE, getCurrentTimeMillis(schema));
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, leaseName);
+            ps.setString(2, owner);
+            return ps.executeUpdate() == 1;
+        } catch (SQLException e) {
+            throw new SyncClientException("Error while verifying lease: " + leaseName + " of schema: " + schema, e);
+        }
+    }
+
+    private String getCurrentTimeMillis(String schema) throws SyncClientException {
+
+        return DatabaseDialectFactory.getDatabaseDialect(dataSourceManager.getTargetDataSourceType(schema))
+                .generateCurrentTimeMillis();
+    }
+
+    private boolean insert(Connection connection, String leaseName, String currentTimeMillis) throws SQLException {
+
+        String sql = String.format(getQuery(SQL_TEMPLATE_INSERT_LEASE_KEY), LEASE_TABLE, currentTimeMillis);
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, leaseName);
+            ps.setString(2, owner);
+            ps.setLong(3, leaseTimeout);
+            ps.executeUpdate();
+            return true;
+        } catch (SQLException e) {
+            // The lease was inserted by another instance.
+            if (e instanceof SQLIntegrityConstraintViolationException || (e.getSQLState() != null &&
+                    e.getSQLState().startsWith(SQL_STATE_INTEGRITY_CONSTRAINT_VIOLATION_CLASS))) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    private boolean executeUpdate(String schema, String leaseName, String sql, Long leaseTimeout)
+            throws SyncClientException {
+
+        try (Connection connection = dataSourceManager.getTargetConnection(schema)) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                int index = 1;
+                if (leaseTimeout != null) {
+                    ps.setLong(index++, leaseTimeout);
+                }
+                ps.setString(index++, leaseName);
+                ps.setString(index, owner);
+                boolean updated = ps.executeUpdate() == 1;
+                connection.commit();
+                return updated;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new SyncClientException("Error while updating lease: " + leaseName + " of schema: " + schema, e);
+        }
+    }
+}
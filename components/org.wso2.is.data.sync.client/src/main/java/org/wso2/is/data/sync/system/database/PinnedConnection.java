@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.database;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+
+/**
+ * A connection borrowed from a data source and held by a single pipeline for its lifetime, instead of being borrowed
+ * and returned for every batch. The connection is configured once when it is borrowed, validated when it was not used
+ * for the validation interval and replaced after an error.
+ */
+public class PinnedConnection {
+
+    private static final Log log = LogFactory.getLog(PinnedConnection.class);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+
+    private DataSource dataSource;
+    private boolean readOnly;
+    private long validationInterval;
+    private Connection connection;
+    private long lastUsedTime;
+    private boolean closed;
+
+    /**
+     * Constructor for {@link PinnedConnection}.
+     *
+     * @param dataSource Data source to borrow the connection from.
+     * @param readOnly True if the connection is only used to read data. Otherwise auto commit is disabled.
+     * @param validationInterval Time in milliseconds a connection can be unused before it is validated.
+     */
+    public PinnedConnection(DataSource dataSource, boolean readOnly, long validationInterval) {
+
+        this.dataSource = dataSource;
+        this.readOnly = readOnly;
+        this.validationInterval = validationInterval;
+    }
+
+    /**
+     * Returns the pinned connection, borrowing a new connection if there is no valid one.
+     *
+     * @return Pinned connection.
+     * @throws SQLException If error occurs while borrowing or configuring a connection.
+     */
+    public synchronized Connection getConnection() throws SQLException {
+
+        if (closed) {
+            throw new SQLException("Pinned connection is closed.");
+        }
+        if (connection != null && System.currentTimeMillis() - lastUsedTime > validationInterval &&
+            !isValid(connection)) {
+            log.info("Replacing invalid pinned connection.");
+            recycle();
+        }
+        if (connection == null) {
+            connection = dataSource.getConnection();
+            try {
+                configure(connection);
+            } catch (SQLException e) {
+                recycle();
+                throw e;
+            }
+        }
+        lastUsedTime = System.currentTimeMillis();
+        return connection;
+    }
+
+    /**
+     * Returns the connection to the data source, so that a new connection is borrowed on next use. To be invoked
+     * after an error on the connection.
+     */
+    public synchronized void recycle() {
+
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                log.warn("Error while closing pinned connection.", e);
+            }
+            connection = null;
+        }
+    }
+
+    /**
+     * Returns the connection to the data source. The pinned connection can not be used afterwards.
+     */
+    public synchronized void close() {
+
+        closed = true;
+        recycle();
+    }
+
+    private void configure(Connection connection) throws SQLException {
+
+        connection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        if (readOnly) {
+            connection.setReadOnly(true);
+        } else {
+            connection.setAutoCommit(false);
+        }
+    }
+
+    private boolean isValid(Connection connection) {
+
+        try {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+}
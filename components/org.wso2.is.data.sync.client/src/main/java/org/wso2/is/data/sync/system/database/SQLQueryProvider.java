@@ -33,8 +33,15 @@ public class SQLQueryProvider {
     public static final String SQL_TEMPLATE_SELECT_SOURCE_SYNC_DATA_MYSQL_KEY =
             "SQL_TEMPLATE_SELECT_SOURCE_SYNC_DATA_MYSQL";
     public static final String SQL_TEMPLATE_SELECT_SOURCE_SYNC_DATA_MYSQL = "SELECT SYNC_ID, %s, ACTION " +
-                                                                            "FROM %s WHERE SYNC_ID > ? AND SYNC_ID < " +
-                                                                            "? ORDER BY SYNC_ID ASC";
+                                                                            "FROM %s WHERE SYNC_ID > ? AND SYNC_ID " +
+                                                                            "<= ? ORDER BY SYNC_ID ASC LIMIT %d";
+    public static final String SQL_TEMPLATE_SELECT_SOURCE_SYNC_DATA_ANSI = "SELECT SYNC_ID, %s, ACTION " +
+                                                                           "FROM %s WHERE SYNC_ID > ? AND SYNC_ID " +
+                                                                           "<= ? ORDER BY SYNC_ID ASC FETCH FIRST %d " +
+                                                                           "ROWS ONLY";
+    public static final String SQL_TEMPLATE_SELECT_SOURCE_SYNC_DATA_MSSQL = "SELECT TOP %d SYNC_ID, %s, ACTION " +
+                                                                            "FROM %s WHERE SYNC_ID > ? AND SYNC_ID " +
+                                                                            "<= ? ORDER BY SYNC_ID ASC";
 
     public static final String SQL_TEMPLATE_SELECT_TARGET_SYNC_ENTRY_KEY = "SQL_TEMPLATE_SELECT_TARGET_SYNC_ENTRY";
     public static final String SQL_TEMPLATE_SELECT_TARGET_SYNC_ENTRY = "SELECT %s FROM %s WHERE %s";
@@ -55,13 +62,13 @@ public class SQLQueryProvider {
     public static final String SQL_TEMPLATE_DROP_TABLE_MYSQL = "DROP TABLE IF EXISTS %s";
 
     public static final String SQL_TEMPLATE_CREATE_SYNC_TABLE_MYSQL_KEY = "SQL_TEMPLATE_CREATE_SYNC_TABLE_MYSQL";
-    public static final String SQL_TEMPLATE_CREATE_SYNC_TABLE_MYSQL = "CREATE TABLE %s (SYNC_ID INT NOT NULL " +
+    public static final String SQL_TEMPLATE_CREATE_SYNC_TABLE_MYSQL = "CREATE TABLE %s (SYNC_ID BIGINT NOT NULL " +
                                                                       "AUTO_INCREMENT, %s, PRIMARY KEY (SYNC_ID))";
 
     public static final String SQL_TEMPLATE_CREATE_SYNC_VERSION_TABLE_MYSQL_KEY =
             "SQL_TEMPLATE_CREATE_SYNC_VERSION_TABLE_MYSQL";
     public static final String SQL_TEMPLATE_CREATE_SYNC_VERSION_TABLE_MYSQL = "CREATE TABLE IF NOT EXISTS %s " +
-                                                                              "(SYNC_ID INT)";
+                                                                              "(SYNC_ID BIGINT)";
 
     public static final String SQL_TEMPLATE_CREATE_TRIGGER_MYSQL_KEY = "SQL_TEMPLATE_CREATE_TRIGGER_MYSQL";
     public static final String SQL_TEMPLATE_CREATE_TRIGGER_MYSQL = "CREATE TRIGGER %s %s %s ON %s %s " +
@@ -69,7 +76,191 @@ public class SQLQueryProvider {
 
     public static final String SQL_TEMPLATE_DROP_TRIGGER_MYSQL_KEY = "SQL_TEMPLATE_DROP_TRIGGER_MYSQL";
     public static final String SQL_TEMPLATE_DROP_TRIGGER_MYSQL = "DROP TRIGGER IF EXISTS %s";
-    public static final String SQL_TEMPLATE_DROP_TRIGGER_ORACLE = "DROP TRIGGER %s";
+    public static final String SQL_TEMPLATE_DROP_TRIGGER_ORACLE = "BEGIN EXECUTE IMMEDIATE 'DROP TRIGGER %s'; " +
+                                                                  "EXCEPTION WHEN OTHERS THEN IF SQLCODE != -4080 " +
+                                                                  "THEN RAISE; END IF; END;";
+
+    public static final String SQL_TEMPLATE_CREATE_TABLE_MSSQL = "IF NOT EXISTS (SELECT * FROM SYS.OBJECTS WHERE " +
+                                                                 "OBJECT_ID = OBJECT_ID(N'%s') AND TYPE IN (N'U')) " +
+                                                                 "CREATE TABLE %s (%s)";
+    public static final String SQL_TEMPLATE_CREATE_TRIGGER_MSSQL = "CREATE TRIGGER %s ON %s %s %s AS BEGIN SET " +
+                                                                   "NOCOUNT ON; INSERT INTO %s (%s) SELECT %s FROM " +
+                                                                   "%s; END";
+    public static final String SQL_TEMPLATE_DROP_TRIGGER_MSSQL = "IF OBJECT_ID(N'%s', N'TR') IS NOT NULL DROP " +
+                                                                 "TRIGGER %s";
+    public static final String SQL_TEMPLATE_DROP_TABLE_MSSQL = "IF OBJECT_ID(N'%s', N'U') IS NOT NULL DROP TABLE %s";
+    public static final String SQL_TEMPLATE_UPSERT_MSSQL = "MERGE INTO %s WITH (HOLDLOCK) AS TGT USING (SELECT %s) " +
+                                                           "AS SRC ON (%s)%s WHEN NOT MATCHED THEN INSERT (%s) " +
+                                                           "VALUES (%s);";
+
+    public static final String SQL_TEMPLATE_CREATE_TABLE_DB2 = "BEGIN DECLARE CONTINUE HANDLER FOR SQLSTATE '42710' " +
+                                                               "BEGIN END; EXECUTE IMMEDIATE 'CREATE TABLE %s (%s)'; " +
+                                                               "END";
+    public static final String SQL_TEMPLATE_CREATE_TRIGGER_DB2 = "CREATE OR REPLACE TRIGGER %s %s %s ON %s " +
+                                                                 "REFERENCING %s AS %s %s MODE DB2SQL BEGIN ATOMIC " +
+                                                                 "INSERT INTO %s (%s) %s; END";
+    public static final String SQL_TEMPLATE_DROP_TRIGGER_DB2 = "BEGIN DECLARE CONTINUE HANDLER FOR SQLSTATE '42704' " +
+                                                               "BEGIN END; EXECUTE IMMEDIATE 'DROP TRIGGER %s'; END";
+    public static final String SQL_TEMPLATE_DROP_TABLE_DB2 = "BEGIN DECLARE CONTINUE HANDLER FOR SQLSTATE '42704' " +
+                                                             "BEGIN END; EXECUTE IMMEDIATE 'DROP TABLE %s'; END";
+    public static final String SQL_TEMPLATE_UPSERT_DB2 = "MERGE INTO %s AS TGT USING (VALUES (%s)) AS SRC (%s) ON " +
+                                                         "(%s)%s WHEN NOT MATCHED THEN INSERT (%s) VALUES (%s)";
+
+    public static final String SQL_TEMPLATE_SELECT_SOURCE_SYNC_DATA_ORACLE = "SELECT * FROM (SELECT SYNC_ID, %s, " +
+                                                                             "ACTION FROM %s WHERE SYNC_ID > ? AND " +
+                                                                             "SYNC_ID <= ? ORDER BY SYNC_ID ASC) " +
+                                                                             "WHERE ROWNUM <= %d";
+    public static final String SQL_TEMPLATE_CREATE_TABLE_ORACLE = "BEGIN EXECUTE IMMEDIATE 'CREATE TABLE %s (%s)'; " +
+                                                                  "EXCEPTION WHEN OTHERS THEN IF SQLCODE != -955 " +
+                                                                  "THEN RAISE; END IF; END;";
+    public static final String SQL_TEMPLATE_CREATE_SEQUENCE_ORACLE = "BEGIN EXECUTE IMMEDIATE 'CREATE SEQUENCE %s " +
+                                                                     "START WITH 1 INCREMENT BY 1 NOCYCLE'; " +
+                                                                     "EXCEPTION WHEN OTHERS THEN IF SQLCODE != -955 " +
+                                                                     "THEN RAISE; END IF; END;";
+    public static final String SQL_TEMPLATE_CREATE_TRIGGER_ORACLE = "CREATE OR REPLACE TRIGGER %s %s %s ON %s %s " +
+                                                                    "BEGIN INSERT INTO %s (%s) VALUES (%s); END;";
+    public static final String SQL_TEMPLATE_CREATE_COMPOUND_TRIGGER_ORACLE = "CREATE OR REPLACE TRIGGER %1$s FOR " +
+            "%2$s ON %3$s COMPOUND TRIGGER TYPE JOURNAL_ENTRY_LIST IS TABLE OF %4$s%%ROWTYPE INDEX BY PLS_INTEGER; " +
+            "JOURNAL_ENTRIES JOURNAL_ENTRY_LIST; ENTRY_INDEX PLS_INTEGER; PROCEDURE FLUSH_JOURNAL IS BEGIN FORALL I " +
+            "IN 1 .. JOURNAL_ENTRIES.COUNT INSERT INTO %4$s VALUES JOURNAL_ENTRIES(I); JOURNAL_ENTRIES.DELETE; END " +
+            "FLUSH_JOURNAL; AFTER EACH ROW IS BEGIN ENTRY_INDEX := JOURNAL_ENTRIES.COUNT + 1; %5$s IF " +
+            "JOURNAL_ENTRIES.COUNT >= %6$d THEN FLUSH_JOURNAL; END IF; END AFTER EACH ROW; AFTER STATEMENT IS BEGIN " +
+            "FLUSH_JOURNAL; END AFTER STATEMENT; END %1$s;";
+    public static final String SQL_TEMPLATE_DROP_TABLE_ORACLE = "BEGIN EXECUTE IMMEDIATE 'DROP TABLE %s'; EXCEPTION " +
+                                                                "WHEN OTHERS THEN IF SQLCODE != -942 THEN RAISE; END " +
+                                                                "IF; END;";
+    public static final String SQL_TEMPLATE_DROP_SEQUENCE_ORACLE = "BEGIN EXECUTE IMMEDIATE 'DROP SEQUENCE %s'; " +
+                                                                   "EXCEPTION WHEN OTHERS THEN IF SQLCODE != -2289 " +
+                                                                   "THEN RAISE; END IF; END;";
+    public static final String SQL_TEMPLATE_UPSERT_ORACLE = "MERGE INTO %s TGT USING (SELECT %s FROM DUAL) SRC ON " +
+                                                            "(%s)%s WHEN NOT MATCHED THEN INSERT (%s) VALUES (%s)";
+
+    public static final String SQL_TEMPLATE_CREATE_PARTITIONED_TABLE_MYSQL = "CREATE TABLE IF NOT EXISTS %s (%s) " +
+                                                                             "PARTITION BY RANGE (%s) (%s)";
+    public static final String SQL_TEMPLATE_ADD_PARTITION_MYSQL = "ALTER TABLE %s REORGANIZE PARTITION %s INTO " +
+                                                                  "(PARTITION %s VALUES LESS THAN (%d), PARTITION %s " +
+                                                                  "VALUES LESS THAN MAXVALUE)";
+    public static final String SQL_TEMPLATE_DROP_PARTITION_MYSQL = "ALTER TABLE %s DROP PARTITION %s";
+    public static final String SQL_TEMPLATE_SELECT_PARTITIONS_MYSQL = "SELECT PARTITION_NAME FROM " +
+                                                                      "INFORMATION_SCHEMA.PARTITIONS WHERE " +
+                                                                      "TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? " +
+                                                                      "AND PARTITION_NAME IS NOT NULL";
+
+    public static final String SQL_TEMPLATE_CREATE_PARTITIONED_TABLE_ORACLE = "BEGIN EXECUTE IMMEDIATE 'CREATE " +
+                                                                              "TABLE %s (%s) PARTITION BY RANGE (%s) " +
+                                                                              "(%s)'; EXCEPTION WHEN OTHERS THEN IF " +
+                                                                              "SQLCODE != -955 THEN RAISE; END IF; " +
+                                                                              "END;";
+    public static final String SQL_TEMPLATE_ADD_PARTITION_ORACLE = "ALTER TABLE %s SPLIT PARTITION %s AT (%d) INTO " +
+                                                                   "(PARTITION %s, PARTITION %s)";
+    public static final String SQL_TEMPLATE_DROP_PARTITION_ORACLE = "ALTER TABLE %s DROP PARTITION %s";
+    public static final String SQL_TEMPLATE_SELECT_PARTITIONS_ORACLE = "SELECT PARTITION_NAME FROM " +
+                                                                       "USER_TAB_PARTITIONS WHERE TABLE_NAME = ?";
+
+    public static final String SQL_TEMPLATE_CREATE_TABLE_POSTGRESQL = "CREATE TABLE IF NOT EXISTS %s (%s)";
+    public static final String SQL_TEMPLATE_CREATE_PARTITIONED_TABLE_POSTGRESQL = "CREATE TABLE IF NOT EXISTS %s " +
+                                                                                  "(%s) PARTITION BY RANGE (%s)";
+    public static final String SQL_TEMPLATE_CREATE_PARTITION_POSTGRESQL = "CREATE TABLE IF NOT EXISTS %s " +
+                                                                          "PARTITION OF %s FOR VALUES FROM (%s) TO " +
+                                                                          "(%d)";
+    public static final String SQL_TEMPLATE_CREATE_DEFAULT_PARTITION_POSTGRESQL = "CREATE TABLE IF NOT EXISTS %s " +
+                                                                                  "PARTITION OF %s DEFAULT";
+    public static final String SQL_TEMPLATE_SELECT_PARTITIONS_POSTGRESQL = "SELECT C.RELNAME FROM PG_INHERITS I " +
+                                                                           "JOIN PG_CLASS C ON C.OID = I.INHRELID " +
+                                                                           "JOIN PG_CLASS P ON P.OID = I.INHPARENT " +
+                                                                           "WHERE P.RELNAME = LOWER(?)";
+    public static final String SQL_TEMPLATE_CREATE_TRIGGER_FUNCTION_POSTGRESQL = "CREATE OR REPLACE FUNCTION %s() " +
+                                                                                 "RETURNS TRIGGER AS $$ BEGIN " +
+                                                                                 "INSERT INTO %s (%s) %s; RETURN " +
+                                                                                 "NULL; END; $$ LANGUAGE plpgsql";
+    public static final String SQL_TEMPLATE_CREATE_TRIGGER_POSTGRESQL = "CREATE TRIGGER %s %s %s ON %s %s%s EXECUTE " +
+                                                                        "PROCEDURE %s()";
+    public static final String SQL_TEMPLATE_DROP_TRIGGER_FUNCTION_POSTGRESQL = "DROP FUNCTION IF EXISTS %s() CASCADE";
+    public static final String SQL_TEMPLATE_DROP_TABLE_POSTGRESQL = "DROP TABLE IF EXISTS %s";
+
+    public static final String SQL_TEMPLATE_ALTER_COLUMN_TYPE_ANSI = "ALTER TABLE %s ALTER COLUMN %s SET DATA TYPE %s";
+    public static final String SQL_TEMPLATE_ALTER_COLUMN_TYPE_MYSQL = "ALTER TABLE %s MODIFY %s";
+    public static final String SQL_TEMPLATE_ALTER_COLUMN_TYPE_MSSQL = "ALTER TABLE %s ALTER COLUMN %s";
+    public static final String SQL_TEMPLATE_DROP_CONSTRAINT_MSSQL = "ALTER TABLE %s DROP CONSTRAINT %s";
+    public static final String SQL_TEMPLATE_ADD_PRIMARY_KEY_MSSQL = "ALTER TABLE %s ADD CONSTRAINT %s PRIMARY KEY " +
+                                                                    "(%s)";
+    public static final String SQL_TEMPLATE_REORG_TABLE_DB2 = "CALL SYSPROC.ADMIN_CMD('REORG TABLE %s')";
+    public static final String SQL_TEMPLATE_ALTER_COLUMN_TYPE_ORACLE = "ALTER TABLE %s MODIFY (%s %s)";
+    public static final String SQL_TEMPLATE_ALTER_COLUMN_TYPE_POSTGRESQL = "ALTER TABLE %s ALTER COLUMN %s TYPE %s";
+    public static final String SQL_TEMPLATE_ALTER_SEQUENCE_TYPE_POSTGRESQL = "ALTER SEQUENCE IF EXISTS %s AS %s";
+
+    public static final String SQL_TEMPLATE_SELECT_RANGE_KEYS_KEY = "SQL_TEMPLATE_SELECT_RANGE_KEYS";
+    public static final String SQL_TEMPLATE_SELECT_RANGE_KEYS = "SELECT %s FROM %s%s ORDER BY %s";
+
+    public static final String SQL_TEMPLATE_SELECT_RANGE_ROWS_KEY = "SQL_TEMPLATE_SELECT_RANGE_ROWS";
+    public static final String SQL_TEMPLATE_SELECT_RANGE_ROWS = "SELECT %s FROM %s%s";
+
+    public static final String SQL_TEMPLATE_SELECT_JOURNAL_ROWS_KEY = "SQL_TEMPLATE_SELECT_JOURNAL_ROWS";
+    public static final String SQL_TEMPLATE_SELECT_JOURNAL_ROWS = "SELECT SYNC_ID, %s, ACTION FROM %s WHERE SYNC_ID > ? " +
+                                                                  "AND SYNC_ID <= ?%s ORDER BY SYNC_ID ASC";
+
+    public static final String SQL_TEMPLATE_SELECT_SNAPSHOT_CHUNKS_KEY = "SQL_TEMPLATE_SELECT_SNAPSHOT_CHUNKS";
+    public static final String SQL_TEMPLATE_SELECT_SNAPSHOT_CHUNKS = "SELECT CHUNK_ID, LOWER_BOUND, UPPER_BOUND, " +
+                                                                     "COMPLETED FROM %s WHERE TABLE_NAME = ? ORDER " +
+                                                                     "BY CHUNK_ID";
+
+    public static final String SQL_TEMPLATE_INSERT_SNAPSHOT_CHUNK_KEY = "SQL_TEMPLATE_INSERT_SNAPSHOT_CHUNK";
+    public static final String SQL_TEMPLATE_INSERT_SNAPSHOT_CHUNK = "INSERT INTO %s (TABLE_NAME, CHUNK_ID, " +
+                                                                    "LOWER_BOUND, UPPER_BOUND, COMPLETED) VALUES " +
+                                                                    "(?, ?, ?, ?, 0)";
+
+    public static final String SQL_TEMPLATE_COMPLETE_SNAPSHOT_CHUNK_KEY = "SQL_TEMPLATE_COMPLETE_SNAPSHOT_CHUNK";
+    public static final String SQL_TEMPLATE_COMPLETE_SNAPSHOT_CHUNK = "UPDATE %s SET COMPLETED = 1 WHERE " +
+                                                                      "TABLE_NAME = ? AND CHUNK_ID = ?";
+
+    public static final String SQL_TEMPLATE_SELECT_LEASES_KEY = "SQL_TEMPLATE_SELECT_LEASES";
+    public static final String SQL_TEMPLATE_SELECT_LEASES = "SELECT LEASE_NAME, OWNER FROM %s WHERE EXPIRY_TIME >= %s";
+
+    public static final String SQL_TEMPLATE_INSERT_LEASE_KEY = "SQL_TEMPLATE_INSERT_LEASE";
+    public static final String SQL_TEMPLATE_INSERT_LEASE = "INSERT INTO %s (LEASE_NAME, OWNER, EXPIRY_TIME) VALUES " +
+                                                           "(?, ?, %s + ?)";
+
+    public static final String SQL_TEMPLATE_ACQUIRE_LEASE_KEY = "SQL_TEMPLATE_ACQUIRE_LEASE";
+    public static final String SQL_TEMPLATE_ACQUIRE_LEASE = "UPDATE %1$s SET OWNER = ?, EXPIRY_TIME = %2$s + ? WHERE " +
+                                                            "LEASE_NAME = ? AND (OWNER = ? OR EXPIRY_TIME < %2$s)";
+
+    public static final String SQL_TEMPLATE_RENEW_LEASE_KEY = "SQL_TEMPLATE_RENEW_LEASE";
+    public static final String SQL_TEMPLATE_RENEW_LEASE = "UPDATE %s SET EXPIRY_TIME = %s + ? WHERE LEASE_NAME = ? " +
+                                                          "AND OWNER = ?";
+
+    public static final String SQL_TEMPLATE_FENCE_LEASE_KEY = "SQL_TEMPLATE_FENCE_LEASE";
+    public static final String SQL_TEMPLATE_FENCE_LEASE = "UPDATE %s SET OWNER = OWNER WHERE LEASE_NAME = ? AND " +
+                                                          "OWNER = ? AND EXPIRY_TIME > %s";
+
+    public static final String SQL_TEMPLATE_RELEASE_LEASE_KEY = "SQL_TEMPLATE_RELEASE_LEASE";
+    public static final String SQL_TEMPLATE_RELEASE_LEASE = "DELETE FROM %s WHERE LEASE_NAME = ? AND OWNER = ?";
+
+    public static final String SQL_CURRENT_TIME_MILLIS_ANSI = "CAST(EXTRACT(EPOCH FROM CURRENT_TIMESTAMP) * 1000 AS " +
+                                                              "BIGINT)";
+    public static final String SQL_CURRENT_TIME_MILLIS_POSTGRESQL = "CAST(EXTRACT(EPOCH FROM CLOCK_TIMESTAMP()) * " +
+                                                                    "1000 AS BIGINT)";
+    public static final String SQL_CURRENT_TIME_MILLIS_MYSQL = "CAST(UNIX_TIMESTAMP(CURRENT_TIMESTAMP(3)) * 1000 AS " +
+                                                               "SIGNED)";
+    public static final String SQL_CURRENT_TIME_MILLIS_ORACLE = "ROUND((CAST(SYS_EXTRACT_UTC(SYSTIMESTAMP) AS DATE) " +
+                                                                "- DATE '1970-01-01') * 86400000)";
+    public static final String SQL_CURRENT_TIME_MILLIS_MSSQL = "DATEDIFF_BIG(MILLISECOND, '1970-01-01', " +
+                                                               "SYSUTCDATETIME())";
+    public static final String SQL_CURRENT_TIME_MILLIS_DB2 = "(BIGINT(DAYS(CURRENT TIMESTAMP - CURRENT TIMEZONE)) - " +
+                                                             "DAYS('1970-01-01')) * 86400000 + BIGINT(MIDNIGHT_SECONDS(" +
+                                                             "CURRENT TIMESTAMP - CURRENT TIMEZONE)) * 1000";
+
+    public static final String SQL_TEMPLATE_SELECT_RANGE_CHECKSUM_MYSQL = "SELECT COUNT(*), COALESCE(SUM(CAST(CONV(" +
+                                                                          "SUBSTRING(MD5(CONCAT_WS('#', %s, CONCAT(" +
+                                                                          "%s))), 1, 15), 16, 10) AS UNSIGNED)), 0) " +
+                                                                          "FROM %s%s";
+    public static final String SQL_TEMPLATE_SELECT_RANGE_CHECKSUM_POSTGRESQL = "SELECT COUNT(*), COALESCE(SUM((" +
+                                                                               "'x' || SUBSTR(MD5(ROW(%s)::TEXT), " +
+                                                                               "1, 15))::BIT(60)::BIGINT), 0) FROM " +
+                                                                               "%s%s";
+    public static final String SQL_TEMPLATE_SELECT_RANGE_CHECKSUM_MSSQL = "SELECT COUNT_BIG(*), COALESCE(SUM(CAST(" +
+                                                                          "CAST(SUBSTRING(HASHBYTES('SHA2_256', " +
+                                                                          "CONCAT(%s, '#', %s)), 1, 7) AS BIGINT) AS " +
+                                                                          "DECIMAL(38, 0))), 0) FROM %s%s";
 
     private static Map<String, String> queryHolder = new HashMap<>();
 
@@ -89,6 +280,18 @@ public class SQLQueryProvider {
         queryHolder.put(SQL_TEMPLATE_CREATE_SYNC_VERSION_TABLE_MYSQL_KEY, SQL_TEMPLATE_CREATE_SYNC_VERSION_TABLE_MYSQL);
         queryHolder.put(SQL_TEMPLATE_CREATE_TRIGGER_MYSQL_KEY, SQL_TEMPLATE_CREATE_TRIGGER_MYSQL);
         queryHolder.put(SQL_TEMPLATE_DROP_TRIGGER_MYSQL_KEY, SQL_TEMPLATE_DROP_TRIGGER_MYSQL);
+        queryHolder.put(SQL_TEMPLATE_SELECT_RANGE_KEYS_KEY, SQL_TEMPLATE_SELECT_RANGE_KEYS);
+        queryHolder.put(SQL_TEMPLATE_SELECT_RANGE_ROWS_KEY, SQL_TEMPLATE_SELECT_RANGE_ROWS);
+        queryHolder.put(SQL_TEMPLATE_SELECT_JOURNAL_ROWS_KEY, SQL_TEMPLATE_SELECT_JOURNAL_ROWS);
+        queryHolder.put(SQL_TEMPLATE_SELECT_SNAPSHOT_CHUNKS_KEY, SQL_TEMPLATE_SELECT_SNAPSHOT_CHUNKS);
+        queryHolder.put(SQL_TEMPLATE_INSERT_SNAPSHOT_CHUNK_KEY, SQL_TEMPLATE_INSERT_SNAPSHOT_CHUNK);
+        queryHolder.put(SQL_TEMPLATE_COMPLETE_SNAPSHOT_CHUNK_KEY, SQL_TEMPLATE_COMPLETE_SNAPSHOT_CHUNK);
+        queryHolder.put(SQL_TEMPLATE_SELECT_LEASES_KEY, SQL_TEMPLATE_SELECT_LEASES);
+        queryHolder.put(SQL_TEMPLATE_INSERT_LEASE_KEY, SQL_TEMPLATE_INSERT_LEASE);
+        queryHolder.put(SQL_TEMPLATE_ACQUIRE_LEASE_KEY, SQL_TEMPLATE_ACQUIRE_LEASE);
+        queryHolder.put(SQL_TEMPLATE_RENEW_LEASE_KEY, SQL_TEMPLATE_RENEW_LEASE);
+        queryHolder.put(SQL_TEMPLATE_FENCE_LEASE_KEY, SQL_TEMPLATE_FENCE_LEASE);
+        queryHolder.put(SQL_TEMPLATE_RELEASE_LEASE_KEY, SQL_TEMPLATE_RELEASE_LEASE);
     }
 
     public static String getQuery(String queryKey) {
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.database;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.is.data.sync.system.exception.SyncClientException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.wso2.is.data.sync.system.util.CommonUtil.convertResultToColumnData;
+import static org.wso2.is.data.sync.system.util.CommonUtil.getColumnData;
+import static org.wso2.is.data.sync.system.util.CommonUtil.getPrimaryKeys;
+import static org.wso2.is.data.sync.system.util.Constant.JDBC_META_DATA_COLUMN_NAME;
+import static org.wso2.is.data.sync.system.util.Constant.JDBC_META_DATA_TABLE_NAME;
+import static org.wso2.is.data.sync.system.util.Constant.SQL_STATEMENT_TYPE_SOURCE;
+import static org.wso2.is.data.sync.system.util.Constant.SQL_STATEMENT_TYPE_TARGET;
+
+/**
+ * Snapshot of the table meta data of the synced tables in the source and target databases.
+ *
+ * The meta data of a side is loaded on first use with a single catalog pass per schema instead of querying the
+ * database meta data table by table. Target meta data is loaded lazily since target tables may not exist while
+ * preparing the sync. If a catalog file is configured, loaded meta data is written to it and read back on later runs.
+ * The catalog file should be deleted whenever a synced table is altered.
+ */
+public class SchemaCatalog {
+
+    private static final Log log = LogFactory.getLog(SchemaCatalog.class);
+    private static final String KEY_SEPARATOR = ".";
+    private static final String LIST_SEPARATOR = ",";
+    private static final String KEY_COLUMNS = "columns";
+    private static final String KEY_PRIMARY_KEYS = "primaryKeys";
+    private static final String KEY_TYPE = "type";
+    private static final String KEY_SIZE = "size";
+    private static final String KEY_DECIMAL_DIGITS = "decimalDigits";
+    private static final String KEY_DEFAULT_VALUE = "defaultValue";
+
+    private final DataSourceManager dataSourceManager;
+    private final List<String> syncTables;
+    private final Path catalogFile;
+    private final Map<String, Map<String, TableMetaData>> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for {@link SchemaCatalog}.
+     *
+     * @param dataSourceManager Data source manager of the sync client.
+     * @param syncTables Synced tables.
+     * @param catalogFile Path of the file the snapshot is persisted to or null if the snapshot should not be persisted.
+     */
+    public SchemaCatalog(DataSourceManager dataSourceManager, List<String> syncTables, String catalogFile) {
+
+        this.dataSourceManager = dataSourceManager;
+        this.syncTables = syncTables;
+        this.catalogFile = StringUtils.isBlank(catalogFile) ? null : Paths.get(catalogFile.trim());
+    }
+
+    public TableMetaData getSourceTableMetaData(String tableName) throws SyncClientException {
+
+        return getTableMetaData(SQL_STATEMENT_TYPE_SOURCE, tableName);
+    }
+
+    public TableMetaData getTargetTableMetaData(String tableName) throws SyncClientException {
+
+        return getTableMetaData(SQL_STATEMENT_TYPE_TARGET, tableName);
+    }
+
+    private TableMetaData getTableMetaData(String side, String tableName) throws SyncClientException {
+
+        Map<String, TableMetaData> snapshot = snapshots.get(side);
+        if (snapshot == null) {
+            snapshot = loadSnapshot(side);
+        }
+        TableMetaData tableMetaData = snapshot.get(getKey(tableName));
+        if (tableMetaData == null) {
+            throw new SyncClientException("Table: " + tableName + " is not available in the " + side + " schema " +
+                                          "catalog.");
+        }
+        return tableMetaData;
+    }
+
+    private synchronized Map<String, TableMetaData> loadSnapshot(String side) throws SyncClientException {
+
+        Map<String, TableMetaData> snapshot = snapshots.get(side);
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        Properties cachedCatalog = readCatalogFile();
+        snapshot = readSnapshot(cachedCatalog, side);
+        if (snapshot == null) {
+            long startTime = System.currentTimeMillis();
+            snapshot = loadSnapshotFromDatabase(side);
+            log.info("Loaded " + side + " schema catalog of " + snapshot.size() + " tables in " +
+                     (System.currentTimeMillis() - startTime) + " ms.");
+            writeSnapshot(cachedCatalog, side, snapshot);
+        } else {
+            log.info("Loaded " + side + " schema catalog from: " + catalogFile.toAbsolutePath());
+        }
+        snapshots.put(side, snapshot);
+        return snapshot;
+    }
+
+    private Map<String, TableMetaData> loadSnapshotFromDatabase(String side) throws SyncClientException {
+
+        Map<String, List<String>> schemaTables = new LinkedHashMap<>();
+        for (String tableName : syncTables) {
+            schemaTables.computeIfAbsent(dataSourceManager.getSchema(tableName), k -> new ArrayList<>())
+                        .add(tableName);
+        }
+
+        Map<String, TableMetaData> snapshot = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : schemaTables.entrySet()) {
+            String schema = entry.getKey();
+            try (Connection connection = SQL_STATEMENT_TYPE_SOURCE.equals(side) ?
+                    dataSourceManager.getSourceConnection(schema) : dataSourceManager.getTargetConnection(schema)) {
+                loadSchema(connection, entry.getValue(), snapshot);
+            } catch (SQLException e) {
+                throw new SyncClientException("Error while loading the " + side + " schema catalog of schema: " +
+                                              schema, e);
+            }
+        }
+        return snapshot;
+    }
+
+    private void loadSchema(Connection connection, List<String> tableNames, Map<String, TableMetaData> snapshot)
+            throws SQLException, SyncClientException {
+
+        DatabaseMetaData metaData = connection.getMetaData();
+        String catalog = connection.getCatalog();
+        String schemaPattern = getSchemaPattern(connection);
+
+        Map<String, String> storedTableNames = new HashMap<>();
+        Map<String, List<ColumnData>> tableColumns = new HashMap<>();
+        for (String tableName : tableNames) {
+            tableColumns.put(getKey(tableName), new ArrayList<>());
+        }
+
+        // Without a catalog or a schema to restrict the pass, the columns of every table visible to the user would
+        // be read. Hence fall back to per table lookups.
+        if (catalog != null || schemaPattern != null) {
+            try (ResultSet resultSet = metaData.getColumns(catalog, schemaPattern, null, null)) {
+                while (resultSet.next()) {
+                    String storedTableName = resultSet.getString(JDBC_META_DATA_TABLE_NAME);
+                    List<ColumnData> columnDataList = tableColumns.get(getKey(storedTableName));
+                    if (columnDataList != null) {
+                        storedTableNames.put(getKey(storedTableName), storedTableName);
+                        columnDataList.add(convertResultToColumnData(resultSet));
+                    }
+                }
+            }
+        }
+
+        for (String tableName : tableNames) {
+            String key = getKey(tableName);
+            String storedTableName = storedTableNames.get(key);
+            List<ColumnData> columnDataList;
+            List<String> primaryKeys;
+            if (storedTableName != null) {
+                columnDataList = tableColumns.get(key);
+                primaryKeys = new ArrayList<>();
+                try (ResultSet resultSet = metaData.getPrimaryKeys(catalog, schemaPattern, storedTableName)) {
+                    while (resultSet.next()) {
+                        primaryKeys.add(resultSet.getString(JDBC_META_DATA_COLUMN_NAME));
+                    }
+                }
+            } else {
+                // Tables outside the current schema (eg: synonyms) are resolved individually.
+                columnDataList = getColumnData(tableName, connection);
+                primaryKeys = getPrimaryKeys(tableName, connection);
+            }
+            if (columnDataList.isEmpty()) {
+                log.warn("Could not find the columns of table: " + tableName + " while loading the schema catalog.");
+                continue;
+            }
+            snapshot.put(key, new TableMetaData.Builder().setColumnData(Collections.unmodifiableList(columnDataList))
+                                                         .setPrimaryKeys(primaryKeys).build());
+        }
+    }
+
+    private String getSchemaPattern(Connection connection) {
+
+        try {
+            return connection.getSchema();
+        } catch (SQLException | AbstractMethodError e) {
+            // Drivers prior to JDBC 4.1 do not support retrieving the current schema.
+            if (log.isDebugEnabled()) {
+                log.debug("Could not retrieve the current schema of the connection.", e);
+            }
+            return null;
+        }
+    }
+
+    private Properties readCatalogFile() throws SyncClientException {
+
+        Properties properties = new Properties();
+        if (catalogFile != null && Files.exists(catalogFile)) {
+            try (InputStream inputStream = Files.newInputStream(catalogFile)) {
+                properties.load(inputStream);
+            } catch (IOException e) {
+                throw new SyncClientException("Error while reading schema catalog file: " + catalogFile, e);
+            }
+        }
+        return properties;
+    }
+
+    private Map<String, TableMetaData> readSnapshot(Properties properties, String side) {
+
+        if (catalogFile == null) {
+            return null;
+        }
+        Map<String, TableMetaData> snapshot = new HashMap<>();
+        for (String tableName : syncTables) {
+            String tablePrefix = side + KEY_SEPARATOR + getKey(tableName) + KEY_SEPARATOR;
+            String columns = properties.getProperty(tablePrefix + KEY_COLUMNS);
+            if (StringUtils.isBlank(columns)) {
+                // The snapshot is reloaded from the database if a synced table is missing in the file.
+                return null;
+            }
+            List<ColumnData> columnDataList = new ArrayList<>();
+            for (String columnName : columns.split(LIST_SEPARATOR)) {
+                String columnPrefix = tablePrefix + columnName + KEY_SEPARATOR;
+                ColumnData columnData = new ColumnData(columnName, properties.getProperty(columnPrefix + KEY_TYPE),
+                                                       Integer.parseInt(properties.getProperty(columnPrefix + KEY_SIZE,
+                                                                                               "0")));
+                columnData.setDecimalDigits(Integer.parseInt(properties.getProperty(columnPrefix + KEY_DECIMAL_DIGITS,
+                                                                                    "0")));
+                columnData.setDefaultValue(properties.getProperty(columnPrefix + KEY_DEFAULT_VALUE));
+                columnDataList.add(columnData);
+            }
+            String primaryKeys = properties.getProperty(tablePrefix + KEY_PRIMARY_KEYS, "");
+            List<String> primaryKeyList = StringUtils.isBlank(primaryKeys) ? new ArrayList<>() :
+                    new ArrayList<>(Arrays.asList(primaryKeys.split(LIST_SEPARATOR)));
+            snapshot.put(getKey(tableName), new TableMetaData.Builder()
+                    .setColumnData(Collections.unmodifiableList(columnDataList)).setPrimaryKeys(primaryKeyList)
+                    .build());
+        }
+        return snapshot;
+    }
+
+    private void writeSnapshot(Properties properties, String side, Map<String, TableMetaData> snapshot)
+            throws SyncClientException {
+
+        if (catalogFile == null) {
+            return;
+        }
+        for (Map.Entry<String, TableMetaData> entry : snapshot.entrySet()) {
+            String tablePrefix = side + KEY_SEPARATOR + entry.getKey() + KEY_SEPARATOR;
+            List<String> columnNames = new ArrayList<>();
+            for (ColumnData columnData : entry.getValue().getColumnDataList()) {
+                String columnPrefix = tablePrefix + columnData.getName() + KEY_SEPARATOR;
+                columnNames.add(columnData.getName());
+                properties.setProperty(columnPrefix + KEY_TYPE, columnData.getType());
+                properties.setProperty(columnPrefix + KEY_SIZE, String.valueOf(columnData.getSize()));
+                properties.setProperty(columnPrefix + KEY_DECIMAL_DIGITS,
+                                       String.valueOf(columnData.getDecimalDigits()));
+                if (columnData.getDefaultValue() != null) {
+                    properties.setProperty(columnPrefix + KEY_DEFAULT_VALUE, columnData.getDefaultValue());
+                }
+            }
+            properties.setProperty(tablePrefix + KEY_COLUMNS, String.join(LIST_SEPARATOR, columnNames));
+            properties.setProperty(tablePrefix + KEY_PRIMARY_KEYS,
+                                   String.join(LIST_SEPARATOR, entry.getValue().getPrimaryKeys()));
+        }
+
+        try {
+            Path parent = catalogFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (OutputStream outputStream = Files.newOutputStream(catalogFile)) {
+                properties.store(outputStream, "Schema catalog of the data sync client");
+            }
+            log.info("Written " + side + " schema catalog to: " + catalogFile.toAbsolutePath());
+        } catch (IOException e) {
+            // The catalog file only speeds up later runs. Hence the sync can continue without it.
+            log.warn("Error while writing schema catalog file: " + catalogFile.toAbsolutePath(), e);
+        }
+    }
+
+    private String getKey(String tableName) {
+
+        return tableName.toUpperCase(Locale.ENGLISH);
+    }
+}
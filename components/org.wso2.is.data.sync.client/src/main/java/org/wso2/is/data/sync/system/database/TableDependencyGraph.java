@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.database;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.is.data.sync.system.exception.SyncClientException;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static org.wso2.is.data.sync.system.util.Constant.JDBC_META_DATA_PK_TABLE_NAME;
+
+/**
+ * Foreign key dependencies between the synced tables, read from the target database meta data.
+ *
+ * Synced tables referencing each other, directly or through other synced tables, form a group. The tables of a group
+ * are ordered so that a referenced (parent) table precedes the tables referencing it (children). References to
+ * tables which are not synced and references forming a cycle are ignored.
+ */
+public class TableDependencyGraph {
+
+    private static final Log log = LogFactory.getLog(TableDependencyGraph.class);
+
+    private Map<String, Set<String>> parentTables = new HashMap<>();
+    private List<List<String>> groups = new ArrayList<>();
+
+    private TableDependencyGraph() {
+
+    }
+
+    /**
+     * Builds the dependency graph of the synced tables.
+     *
+     * @param dataSourceManager Data source manager of the sync client.
+     * @param syncTables Synced tables.
+     * @return Dependency graph of the synced tables.
+     * @throws SyncClientException If error occurs while reading the foreign keys of the target tables.
+     */
+    public static TableDependencyGraph build(DataSourceManager dataSourceManager, List<String> syncTables)
+            throws SyncClientException {
+
+        TableDependencyGraph graph = new TableDependencyGraph();
+        Map<String, String> tableNames = new LinkedHashMap<>();
+        Map<String, List<String>> schemaTables = new LinkedHashMap<>();
+        for (String tableName : syncTables) {
+            tableNames.put(getKey(tableName), tableName);
+            schemaTables.computeIfAbsent(dataSourceManager.getSchema(tableName), k -> new ArrayList<>())
+                        .add(tableName);
+        }
+
+        for (Map.Entry<String, List<String>> entry : schemaTables.entrySet()) {
+            try (Connection connection = dataSourceManager.getTargetConnection(entry.getKey())) {
+                for (String tableName : entry.getValue()) {
+                    Set<String> parents = new LinkedHashSet<>();
+                    for (String parentTable : getReferencedTables(connection, tableName)) {
+                        String parent = tableNames.get(getKey(parentTable));
+                        // Dependencies across schemas can not be co-ordinated within a single schema.
+                        if (parent != null && !parent.equals(tableName) && entry.getValue().contains(parent)) {
+                            parents.add(parent);
+                        }
+                    }
+                    graph.parentTables.put(tableName, parents);
+                }
+            } catch (SQLException e) {
+                throw new SyncClientException("Error while reading the foreign keys of schema: " + entry.getKey(),
+                                              e);
+            }
+        }
+        graph.buildGroups(syncTables);
+        return graph;
+    }
+
+    /**
+     * @param tableName Synced table.
+     * @return Synced tables referenced by the given table.
+     */
+    public Set<String> getParentTables(String tableName) {
+
+        return parentTables.getOrDefault(tableName, Collections.emptySet());
+    }
+
+    /**
+     * @return Groups of synced tables related by foreign keys, with each group ordered from parents to children.
+     * Tables without related synced tables form groups of their own.
+     */
+    public List<List<String>> getGroups() {
+
+        return groups;
+    }
+
+    private void buildGroups(List<String> syncTables) {
+
+        Map<String, Set<String>> relatedTables = new HashMap<>();
+        for (String tableName : syncTables) {
+            for (String parent : getParentTables(tableName)) {
+                relatedTables.computeIfAbsent(tableName, k -> new HashSet<>()).add(parent);
+                relatedTables.computeIfAbsent(parent, k -> new HashSet<>()).add(tableName);
+            }
+        }
+
+        Set<String> grouped = new HashSet<>();
+        for (String tableName : syncTables) {
+            if (grouped.contains(tableName)) {
+                continue;
+            }
+            Set<String> group = new LinkedHashSet<>();
+            List<String> pending = new ArrayList<>();
+            pending.add(tableName);
+            while (!pending.isEmpty()) {
+                String table = pending.remove(pending.size() - 1);
+                if (group.add(table)) {
+                    pending.addAll(relatedTables.getOrDefault(table, Collections.emptySet()));
+                }
+            }
+            grouped.addAll(group);
+            groups.add(sort(group));
+        }
+    }
+
+    private List<String> sort(Set<String> group) {
+
+        List<String> sorted = new ArrayList<>();
+        Set<String> visiting = new HashSet<>();
+        for (String tableName : group) {
+            visit(tableName, visiting, sorted);
+        }
+        return sorted;
+    }
+
+    private void visit(String tableName, Set<String> visiting, List<String> sorted) {
+
+        if (sorted.contains(tableName)) {
+            return;
+        }
+        visiting.add(tableName);
+        for (String parent : new ArrayList<>(getParentTables(tableName))) {
+            if (visiting.contains(parent)) {
+                log.warn("Ignoring cyclic foreign key dependency of table: " + tableName + " on table: " + parent);
+                parentTables.get(tableName).remove(parent);
+            } else {
+                visit(parent, visiting, sorted);
+            }
+        }
+        visiting.remove(tableName);
+        sorted.add(tableName);
+    }
+
+    private static List<String> getReferencedTables(Connection connection, String tableName) throws SQLException {
+
+        DatabaseMetaData metaData = connection.getMetaData();
+        String storedTableName = tableName;
+        if (metaData.storesUpperCaseIdentifiers()) {
+            storedTableName = tableName.toUpperCase(Locale.ENGLISH);
+        } else if (metaData.storesLowerCaseIdentifiers()) {
+            storedTableName = tableName.toLowerCase(Locale.ENGLISH);
+        }
+
+        List<String> referencedTables = new ArrayList<>();
+        try (ResultSet resultSet = metaData.getImportedKeys(connection.getCatalog(), null, storedTableName)) {
+            while (resultSet.next()) {
+                referencedTables.add(resultSet.getString(JDBC_META_DATA_PK_TABLE_NAME));
+            }
+        }
+        return referencedTables;
+    }
+
+    private static String getKey(String tableName) {
+
+        return tableName.toUpperCase(Locale.ENGLISH);
+    }
+}
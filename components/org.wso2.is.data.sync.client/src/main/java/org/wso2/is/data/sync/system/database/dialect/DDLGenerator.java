@@ -18,16 +18,12 @@ package org.wso2.is.data.sync.system.database.dialect;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.is.data.sync.system.config.Configuration;
 import org.wso2.is.data.sync.system.database.ColumnData;
 import org.wso2.is.data.sync.system.database.DataSourceManager;
+import org.wso2.is.data.sync.system.database.SchemaCatalog;
 import org.wso2.is.data.sync.system.database.SQLStatement;
 import org.wso2.is.data.sync.system.database.TableMetaData;
-import org.wso2.is.data.sync.system.database.dialect.impl.DB2DatabaseDialect;
-import org.wso2.is.data.sync.system.database.dialect.impl.H2DatabaseDialect;
-import org.wso2.is.data.sync.system.database.dialect.impl.MSSQLDatabaseDialect;
-import org.wso2.is.data.sync.system.database.dialect.impl.MySQLDatabaseDialect;
-import org.wso2.is.data.sync.system.database.dialect.impl.OracleDatabaseDialect;
-import org.wso2.is.data.sync.system.database.dialect.impl.PostgreSQLDatabaseDialect;
 import org.wso2.is.data.sync.system.exception.SyncClientException;
 import org.wso2.is.data.sync.system.util.Constant;
 
@@ -40,35 +36,29 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.StringJoiner;
 
-import static org.wso2.is.data.sync.system.util.CommonUtil.getColumnData;
 import static org.wso2.is.data.sync.system.util.CommonUtil.getDeleteTriggerName;
 import static org.wso2.is.data.sync.system.util.CommonUtil.getInsertTriggerName;
-import static org.wso2.is.data.sync.system.util.CommonUtil.getPrimaryKeys;
 import static org.wso2.is.data.sync.system.util.CommonUtil.getSyncTableName;
 import static org.wso2.is.data.sync.system.util.CommonUtil.getSyncVersionTableName;
 import static org.wso2.is.data.sync.system.util.CommonUtil.getUpdateTriggerName;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_NAME_ACTION;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_NAME_SYNC_ID;
-import static org.wso2.is.data.sync.system.util.Constant.COLUMN_TYPE_INT;
+import static org.wso2.is.data.sync.system.util.Constant.COLUMN_TYPE_BIGINT;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_TYPE_VARCHAR;
-import static org.wso2.is.data.sync.system.util.Constant.DATA_SOURCE_TYPE_DB2;
-import static org.wso2.is.data.sync.system.util.Constant.DATA_SOURCE_TYPE_H2;
-import static org.wso2.is.data.sync.system.util.Constant.DATA_SOURCE_TYPE_MSSQL;
-import static org.wso2.is.data.sync.system.util.Constant.DATA_SOURCE_TYPE_MYSQL;
-import static org.wso2.is.data.sync.system.util.Constant.DATA_SOURCE_TYPE_ORACLE;
-import static org.wso2.is.data.sync.system.util.Constant.DATA_SOURCE_TYPE_POSTGRESQL;
+import static org.wso2.is.data.sync.system.util.Constant.JOURNAL_PARTITIONS_AHEAD;
 import static org.wso2.is.data.sync.system.util.Constant.SELECTION_POLICY_FOR_EACH_ROW;
+import static org.wso2.is.data.sync.system.util.Constant.SELECTION_POLICY_FOR_EACH_STATEMENT;
 import static org.wso2.is.data.sync.system.util.Constant.SQL_STATEMENT_TYPE_SOURCE;
 import static org.wso2.is.data.sync.system.util.Constant.SQL_STATEMENT_TYPE_TARGET;
 import static org.wso2.is.data.sync.system.util.Constant.SYNC_OPERATION_DELETE;
 import static org.wso2.is.data.sync.system.util.Constant.SYNC_OPERATION_INSERT;
+import static org.wso2.is.data.sync.system.util.Constant.SYNC_ID_MIGRATION_SCRIPT_SUFFIX;
 import static org.wso2.is.data.sync.system.util.Constant.SYNC_OPERATION_UPDATE;
 import static org.wso2.is.data.sync.system.util.Constant.TRIGGER_TIMING_AFTER;
 
@@ -79,25 +69,54 @@ public class DDLGenerator {
 
     private List<String> syncTableList;
     private DataSourceManager dataSourceManager;
-    private Map<String, DatabaseDialect> databaseDialectMap = new HashMap<>();
+    private SchemaCatalog schemaCatalog;
+    private String selectionPolicy;
+    private boolean partitionedJournal;
+    private long journalPartitionSize;
     private Log log = LogFactory.getLog(DDLGenerator.class);
 
-    public DDLGenerator(List<String> syncTableList, DataSourceManager dataSourceManager) {
+    public DDLGenerator(Configuration configuration, DataSourceManager dataSourceManager,
+                        SchemaCatalog schemaCatalog) {
 
-        this.syncTableList = syncTableList;
+        this.syncTableList = configuration.getSyncTables();
         this.dataSourceManager = dataSourceManager;
-
-        databaseDialectMap.put(DATA_SOURCE_TYPE_MYSQL, new MySQLDatabaseDialect());
-        databaseDialectMap.put(DATA_SOURCE_TYPE_H2, new H2DatabaseDialect());
-        databaseDialectMap.put(DATA_SOURCE_TYPE_ORACLE, new OracleDatabaseDialect());
-        databaseDialectMap.put(DATA_SOURCE_TYPE_MSSQL, new MSSQLDatabaseDialect());
-        databaseDialectMap.put(DATA_SOURCE_TYPE_DB2, new DB2DatabaseDialect());
-        databaseDialectMap.put(DATA_SOURCE_TYPE_POSTGRESQL, new PostgreSQLDatabaseDialect());
+        this.schemaCatalog = schemaCatalog;
+        this.selectionPolicy = configuration.isStatementLevelTriggers() ? SELECTION_POLICY_FOR_EACH_STATEMENT :
+                SELECTION_POLICY_FOR_EACH_ROW;
+        this.partitionedJournal = configuration.isPartitionedJournal();
+        this.journalPartitionSize = configuration.getJournalPartitionSize();
     }
 
     public void generateScripts(boolean ddlOnly) throws SyncClientException {
 
-        List<SQLStatement> sqlStatementList = generateSyncScripts();
+        processStatements(generateSyncScripts(), ddlOnly, "");
+    }
+
+    /**
+     * Drops the journal triggers of the synced tables in the source, after which changes to the source tables are no
+     * longer journaled.
+     *
+     * @throws SyncClientException If error occurs while dropping the triggers.
+     */
+    public void dropSyncTriggers() throws SyncClientException {
+
+        processStatements(dropTriggers(), false, "");
+    }
+
+    /**
+     * Widens the SYNC_ID columns of existing journal and sync version tables to BIGINT. Journals created before
+     * SYNC_ID was moved to BIGINT are limited to 2^31 entries.
+     *
+     * @param ddlOnly Only write the migration scripts to files instead of executing them.
+     * @throws SyncClientException If error occurs while generating or executing the migration statements.
+     */
+    public void generateSyncIdMigrationScripts(boolean ddlOnly) throws SyncClientException {
+
+        processStatements(generateSyncIdMigrations(), ddlOnly, SYNC_ID_MIGRATION_SCRIPT_SUFFIX);
+    }
+
+    private void processStatements(List<SQLStatement> sqlStatementList, boolean ddlOnly, String scriptSuffix)
+            throws SyncClientException {
 
         Map<String, List<SQLStatement>> sourceStatements = new LinkedHashMap<>();
         Map<String, List<SQLStatement>> targetStatements = new LinkedHashMap<>();
@@ -117,14 +136,16 @@ public class DDLGenerator {
                 String sqlDelimiter = dataSourceManager.getSourceSqlDelimiter(schema);
                 String ddlPrefix = dataSourceManager.getSourceDDLPrefix(schema);
                 String ddlSuffix = dataSourceManager.getSourceDDLSuffix(schema);
-                writeSqlFile(sourceStatements, schema, sqlDelimiter, ddlPrefix, ddlSuffix, SQL_STATEMENT_TYPE_SOURCE);
+                writeSqlFile(sourceStatements, schema, sqlDelimiter, ddlPrefix, ddlSuffix,
+                             SQL_STATEMENT_TYPE_SOURCE + scriptSuffix);
             }
 
             for (String schema : targetStatements.keySet()) {
                 String sqlDelimiter = dataSourceManager.getTargetSqlDelimiter(schema);
                 String ddlPrefix = dataSourceManager.getTargetDDLPrefix(schema);
                 String ddlSuffix = dataSourceManager.getTargetDDLSuffix(schema);
-                writeSqlFile(targetStatements, schema, sqlDelimiter, ddlPrefix, ddlSuffix, SQL_STATEMENT_TYPE_TARGET);
+                writeSqlFile(targetStatements, schema, sqlDelimiter, ddlPrefix, ddlSuffix,
+                             SQL_STATEMENT_TYPE_TARGET + scriptSuffix);
             }
         } else {
 
@@ -155,12 +176,12 @@ public class DDLGenerator {
 
         connection.setAutoCommit(false);
         try (Statement statement = connection.createStatement()) {
+            // Statements are executed one by one since some database flavors (eg: MSSQL) require statements like
+            // CREATE TRIGGER to be the only statement of a batch.
             for (SQLStatement sqlStatement : sqlStatements) {
-                log.info("Queuing " +
-                        sqlStatementType + " statement for batch operation: " + sqlStatement.getStatement());
-                statement.addBatch(sqlStatement.getStatement());
+                log.info("Executing " + sqlStatementType + " statement: " + sqlStatement.getStatement());
+                statement.execute(sqlStatement.getStatement());
             }
-            statement.executeBatch();
             connection.commit();
         } catch (SQLException e) {
             connection.rollback();
@@ -210,8 +231,10 @@ public class DDLGenerator {
 
         List<SQLStatement> scripts = new ArrayList<>();
 
-        scripts.addAll(generateTriggers());
+        // Tables are created first since some database flavors (eg: DB2, Oracle) resolve the journal table and its
+        // sequence while creating the triggers.
         scripts.addAll(generateTables());
+        scripts.addAll(generateTriggers());
 
         return scripts;
     }
@@ -223,46 +246,38 @@ public class DDLGenerator {
 
             String schema = dataSourceManager.getSchema(tableName);
             String dataSourceType = dataSourceManager.getSourceDataSourceType(schema);
-            DatabaseDialect databaseDialect = databaseDialectMap.get(dataSourceType);
-            try (Connection sourceConnection = dataSourceManager.getSourceConnection(schema)) {
-
-                TableMetaData tableMetaData = new TableMetaData.Builder().setColumnData(
-                        getColumnData(tableName, sourceConnection)).setPrimaryKeys(
-                        getPrimaryKeys(tableName, sourceConnection)).build();
-
-                String targetTableName = getSyncTableName(tableName);
-
-                String insertTriggerName = getInsertTriggerName(tableName);
-                String updateTriggerName = getUpdateTriggerName(tableName);
-                String deleteTriggerName = getDeleteTriggerName(tableName);
-
-                Trigger onInsertTrigger = new Trigger(insertTriggerName, tableName, targetTableName,
-                        SYNC_OPERATION_INSERT, tableMetaData,
-                        SELECTION_POLICY_FOR_EACH_ROW, TRIGGER_TIMING_AFTER);
-                Trigger onUpdateTrigger = new Trigger(updateTriggerName, tableName, targetTableName,
-                        SYNC_OPERATION_UPDATE, tableMetaData,
-                        SELECTION_POLICY_FOR_EACH_ROW, TRIGGER_TIMING_AFTER);
-                Trigger onDeleteTrigger = new Trigger(deleteTriggerName, tableName, targetTableName,
-                        SYNC_OPERATION_DELETE, tableMetaData,
-                        SELECTION_POLICY_FOR_EACH_ROW, TRIGGER_TIMING_AFTER);
-
-                List<String> dropInsertTriggerSQL = databaseDialect.generateDropTrigger(insertTriggerName);
-                List<String> dropUpdateTriggerSQL = databaseDialect.generateDropTrigger(updateTriggerName);
-                List<String> dropDeleteTriggerSQL = databaseDialect.generateDropTrigger(deleteTriggerName);
-                List<String> onInsertTriggerSQL = databaseDialect.generateCreateTrigger(onInsertTrigger);
-                List<String> onUpdateTriggerSQL = databaseDialect.generateCreateTrigger(onUpdateTrigger);
-                List<String> onDeleteTriggerSQL = databaseDialect.generateCreateTrigger(onDeleteTrigger);
-
-                addStatementsToStatementList(schema, SQL_STATEMENT_TYPE_SOURCE, sqlStatementList, dropInsertTriggerSQL);
-                addStatementsToStatementList(schema, SQL_STATEMENT_TYPE_SOURCE, sqlStatementList, dropUpdateTriggerSQL);
-                addStatementsToStatementList(schema, SQL_STATEMENT_TYPE_SOURCE, sqlStatementList, dropDeleteTriggerSQL);
-                addStatementsToStatementList(schema, SQL_STATEMENT_TYPE_SOURCE, sqlStatementList, onInsertTriggerSQL);
-                addStatementsToStatementList(schema, SQL_STATEMENT_TYPE_SOURCE, sqlStatementList, onUpdateTriggerSQL);
-                addStatementsToStatementList(schema, SQL_STATEMENT_TYPE_SOURCE, sqlStatementList, onDeleteTriggerSQL);
-
-            } catch (SQLException e) {
-                throw new SyncClientException("Error occurred while creating connection for source schema: " + schema);
-            }
+            DatabaseDialect databaseDialect = DatabaseDialectFactory.getDatabaseDialect(dataSourceType);
+            TableMetaData tableMetaData = schemaCatalog.getSourceTableMetaData(tableName);
+
+            String targetTableName = getSyncTableName(tableName);
+
+            String insertTriggerName = getInsertTriggerName(tableName);
+            String updateTriggerName = getUpdateTriggerName(tableName);
+            String deleteTriggerName = getDeleteTriggerName(tableName);
+
+            Trigger onInsertTrigger = new Trigger(insertTriggerName, tableName, targetTableName,
+                    SYNC_OPERATION_INSERT, tableMetaData,
+                    selectionPolicy, TRIGGER_TIMING_AFTER);
+            Trigger onUpdateTrigger = new Trigger(updateTriggerName, tableName, targetTableName,
+                    SYNC_OPERATION_UPDATE, tableMetaData,
+                    selectionPolicy, TRIGGER_TIMING_AFTER);
+            Trigger onDeleteTrigger = new Trigger(deleteTriggerName, tableName, targetTableName,
+                    SYNC_OPERATION_DELETE, tableMetaData,
+                    selectionPolicy, TRIGGER_TIMING_AFTER);
+
+            List<String> dropInsertTriggerSQL = databaseDialect.generateDropTrigger(insertTriggerName);
+            List<String> dropUpdateTriggerSQL = databaseDialect.generateDropTrigger(updateTriggerName);
+            List<String> dropDeleteTriggerSQL = databaseDialect.generateDropTrigger(deleteTriggerName);
+            List<String> onInsertTriggerSQL = databaseDialect.generateCreateTrigger(onInsertTrigger);
+            List<String> onUpdateTriggerSQL = databaseDialect.generateCreateTrigger(onUpdateTrigger);
+            List<String> onDeleteTriggerSQL = databaseDialect.generateCreateTrigger(onDeleteTrigger);
+
+            addStatementsToStatementList(schema, SQL_STATEMENT_TYPE_SOURCE, sqlStatementList, dropInsertTriggerSQL);
+            addStatementsToStatementList(schema, SQL_STATEMENT_TYPE_SOURCE, sqlStatementList, dropUpdateTriggerSQL);
+            addStatementsToStatementList(schema, SQL_STATEMENT_TYPE_SOURCE, sqlStatementList, dropDeleteTriggerSQL);
+            addStatementsToStatementList(schema, SQL_STATEMENT_TYPE_SOURCE, sqlStatementList, onInsertTriggerSQL);
+            addStatementsToStatementList(schema, SQL_STATEMENT_TYPE_SOURCE, sqlStatementList, onUpdateTriggerSQL);
+            addStatementsToStatementList(schema, SQL_STATEMENT_TYPE_SOURCE, sqlStatementList, onDeleteTriggerSQL);
         }
         return sqlStatementList;
     }
@@ -282,11 +297,14 @@ public class DDLGenerator {
 
             String schema = dataSourceManager.getSchema(tableName);
             String dataSourceType = dataSourceManager.getSourceDataSourceType(schema);
-            DatabaseDialect databaseDialect = databaseDialectMap.get(dataSourceType);
+            DatabaseDialect databaseDialect = DatabaseDialectFactory.getDatabaseDialect(dataSourceType);
 
-            List<String> createSyncTableSQL = getCreateSyncTableStatement(tableName, schema, databaseDialect);
+            DatabaseDialect targetDatabaseDialect = DatabaseDialectFactory.getDatabaseDialect(
+                    dataSourceManager.getTargetDataSourceType(schema));
+
+            List<String> createSyncTableSQL = getCreateSyncTableStatement(tableName, databaseDialect);
             List<String> createSyncVersionTableStatement = getCreateSyncVersionTableStatement(tableName,
-                    databaseDialect);
+                    targetDatabaseDialect);
 
             addStatementsToStatementList(schema, SQL_STATEMENT_TYPE_SOURCE, sqlStatementList, createSyncTableSQL);
             addStatementsToStatementList(schema, SQL_STATEMENT_TYPE_TARGET, sqlStatementList,
@@ -302,7 +320,7 @@ public class DDLGenerator {
 
             String schema = dataSourceManager.getSchema(tableName);
             String dataSourceType = dataSourceManager.getSourceDataSourceType(schema);
-            DatabaseDialect databaseDialect = databaseDialectMap.get(dataSourceType);
+            DatabaseDialect databaseDialect = DatabaseDialectFactory.getDatabaseDialect(dataSourceType);
 
             String insertTriggerName = getInsertTriggerName(tableName);
             String updateTriggerName = getUpdateTriggerName(tableName);
@@ -327,51 +345,100 @@ public class DDLGenerator {
 
             String schema = dataSourceManager.getSchema(tableName);
             String dataSourceType = dataSourceManager.getSourceDataSourceType(schema);
-            DatabaseDialect databaseDialect = databaseDialectMap.get(dataSourceType);
+            DatabaseDialect databaseDialect = DatabaseDialectFactory.getDatabaseDialect(dataSourceType);
             String syncTableName = getSyncTableName(tableName);
             String syncVersionTableName = getSyncVersionTableName(tableName);
 
+            DatabaseDialect targetDatabaseDialect = DatabaseDialectFactory.getDatabaseDialect(
+                    dataSourceManager.getTargetDataSourceType(schema));
+
             List<String> dropSyncTableSQL = databaseDialect.generateDropTable(syncTableName);
-            List<String> dropSyncVersionTableSQL = databaseDialect.generateDropTable(syncVersionTableName);
+            List<String> dropSyncVersionTableSQL = targetDatabaseDialect.generateDropTable(syncVersionTableName);
 
             addStatementsToStatementList(schema, SQL_STATEMENT_TYPE_SOURCE, sqlStatementList, dropSyncTableSQL);
-            addStatementsToStatementList(schema, SQL_STATEMENT_TYPE_SOURCE, sqlStatementList, dropSyncVersionTableSQL);
+            addStatementsToStatementList(schema, SQL_STATEMENT_TYPE_TARGET, sqlStatementList, dropSyncVersionTableSQL);
         }
         return sqlStatementList;
     }
 
-    private List<String> getCreateSyncTableStatement(String tableName, String schema, DatabaseDialect databaseDialect)
-            throws SyncClientException {
+    public List<SQLStatement> generateSyncIdMigrations() throws SyncClientException {
 
-        try (Connection sourceConnection = dataSourceManager.getSourceConnection(schema)) {
+        List<SQLStatement> sqlStatementList = new ArrayList<>();
+        for (String tableName : syncTableList) {
+
+            String schema = dataSourceManager.getSchema(tableName);
+            String dataSourceType = dataSourceManager.getSourceDataSourceType(schema);
+            DatabaseDialect databaseDialect = DatabaseDialectFactory.getDatabaseDialect(dataSourceType);
 
-            List<ColumnData> columnData = getColumnData(tableName, sourceConnection);
-            ColumnData syncIdColumn = new ColumnData(COLUMN_NAME_SYNC_ID, COLUMN_TYPE_INT, 11);
-            syncIdColumn.setAutoIncrement(true);
-            columnData.add(syncIdColumn);
+            DatabaseDialect targetDatabaseDialect = DatabaseDialectFactory.getDatabaseDialect(
+                    dataSourceManager.getTargetDataSourceType(schema));
 
-            ColumnData actionColumn = new ColumnData(COLUMN_NAME_ACTION, COLUMN_TYPE_VARCHAR, 15);
-            actionColumn.setAutoIncrement(false);
-            columnData.add(actionColumn);
+            ColumnData syncTableSyncIdColumn = getSyncIdColumn(true);
+            ColumnData syncVersionTableSyncIdColumn = getSyncIdColumn(false);
+            List<String> alterSyncTableSQL = databaseDialect.generateAlterColumnType(
+                    getSyncIdTable(getSyncTableName(tableName), syncTableSyncIdColumn), syncTableSyncIdColumn);
+            List<String> alterSyncVersionTableSQL = targetDatabaseDialect.generateAlterColumnType(
+                    getSyncIdTable(getSyncVersionTableName(tableName), syncVersionTableSyncIdColumn),
+                    syncVersionTableSyncIdColumn);
 
-            List<String> primaryKeys = Collections.singletonList(COLUMN_NAME_SYNC_ID);
-            TableMetaData tableMetaData = new TableMetaData.Builder().setColumnData(columnData)
-                    .setPrimaryKeys(primaryKeys)
-                    .build();
-            String syncTableName = getSyncTableName(tableName);
-            Table table = new Table(syncTableName, tableMetaData);
-            return databaseDialect.generateCreateTable(table);
-        } catch (SQLException e) {
-            throw new SyncClientException("Error occurred while creating connection for source schema: " + schema);
+            addStatementsToStatementList(schema, SQL_STATEMENT_TYPE_SOURCE, sqlStatementList, alterSyncTableSQL);
+            addStatementsToStatementList(schema, SQL_STATEMENT_TYPE_TARGET, sqlStatementList,
+                    alterSyncVersionTableSQL);
         }
+        return sqlStatementList;
+    }
+
+    private ColumnData getSyncIdColumn(boolean autoIncrement) {
+
+        ColumnData syncIdColumn = new ColumnData(COLUMN_NAME_SYNC_ID, COLUMN_TYPE_BIGINT, 20);
+        syncIdColumn.setAutoIncrement(autoIncrement);
+        return syncIdColumn;
+    }
+
+    private Table getSyncIdTable(String tableName, ColumnData syncIdColumn) {
+
+        // Only the SYNC_ID column and the primary key of the journal tables are required to alter the column.
+        TableMetaData tableMetaData = new TableMetaData.Builder()
+                .setColumnData(new ArrayList<>(Collections.singletonList(syncIdColumn)))
+                .setPrimaryKeys(Collections.singletonList(COLUMN_NAME_SYNC_ID))
+                .build();
+        return new Table(tableName, tableMetaData);
+    }
+
+    private List<String> getCreateSyncTableStatement(String tableName, DatabaseDialect databaseDialect)
+            throws SyncClientException {
+
+        // The column list of the catalog snapshot is shared. Hence the journal columns are added to a copy.
+        List<ColumnData> columnData = new ArrayList<>(schemaCatalog.getSourceTableMetaData(tableName)
+                                                               .getColumnDataList());
+        columnData.add(getSyncIdColumn(true));
+
+        ColumnData actionColumn = new ColumnData(COLUMN_NAME_ACTION, COLUMN_TYPE_VARCHAR, 15);
+        actionColumn.setAutoIncrement(false);
+        columnData.add(actionColumn);
+
+        List<String> primaryKeys = Collections.singletonList(COLUMN_NAME_SYNC_ID);
+        TableMetaData tableMetaData = new TableMetaData.Builder().setColumnData(columnData)
+                .setPrimaryKeys(primaryKeys)
+                .build();
+        String syncTableName = getSyncTableName(tableName);
+        Table table = new Table(syncTableName, tableMetaData);
+        if (partitionedJournal) {
+            // Partitions are rolled forward by the journal maintenance task once the sync is running.
+            List<Long> partitionUpperBounds = new ArrayList<>();
+            for (int i = 1; i <= JOURNAL_PARTITIONS_AHEAD; i++) {
+                partitionUpperBounds.add(journalPartitionSize * i);
+            }
+            return databaseDialect.generateCreatePartitionedTable(table, partitionUpperBounds);
+        }
+        return databaseDialect.generateCreateTable(table);
     }
 
     private List<String> getCreateSyncVersionTableStatement(String tableName, DatabaseDialect databaseDialect)
             throws SyncClientException {
 
         List<ColumnData> columnData = new ArrayList<>();
-        ColumnData syncIdColumn = new ColumnData(COLUMN_NAME_SYNC_ID, COLUMN_TYPE_INT, 11);
-        columnData.add(syncIdColumn);
+        columnData.add(getSyncIdColumn(false));
         List<String> primaryKeys = Collections.singletonList(COLUMN_NAME_SYNC_ID);
         TableMetaData tableMetaData = new TableMetaData.Builder().setColumnData(columnData)
                 .setPrimaryKeys(primaryKeys)
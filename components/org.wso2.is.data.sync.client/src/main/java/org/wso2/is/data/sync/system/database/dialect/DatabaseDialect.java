@@ -16,6 +16,7 @@
 
 package org.wso2.is.data.sync.system.database.dialect;
 
+import org.wso2.is.data.sync.system.database.ColumnData;
 import org.wso2.is.data.sync.system.exception.SyncClientException;
 
 import java.util.List;
@@ -67,4 +68,111 @@ public interface DatabaseDialect {
      * @throws SyncClientException If error occurs while generating SQL statements.
      */
     List<String> generateDropTable(String name) throws SyncClientException;
+
+    /**
+     *
+     * Generate SQL statements for changing the data type of an existing column to the type of the given column model.
+     * Primary key and auto increment attributes of the column are retained.
+     *
+     * @param table Table model containing the name and the primary keys of the table.
+     * @param columnData Column model with the new data type.
+     * @return List of SQL statements related to altering the column.
+     * @throws SyncClientException If error occurs while generating SQL statements.
+     */
+    List<String> generateAlterColumnType(Table table, ColumnData columnData) throws SyncClientException;
+
+    /**
+     *
+     * Generate the SQL query for polling a batch of journal entries. The query should accept two parameters, the last
+     * synced SYNC_ID (exclusive) and the upper SYNC_ID bound (inclusive), and return at most batchSize rows ordered by
+     * SYNC_ID.
+     *
+     * @param syncTableName Name of the journal table.
+     * @param columns Comma separated columns of the synced table.
+     * @param batchSize Maximum number of entries to be returned.
+     * @return SQL query for polling journal entries.
+     */
+    String generateSelectJournalEntries(String syncTableName, String columns, int batchSize);
+
+    /**
+     *
+     * Generate a single SQL statement which inserts a row or updates it if a row with the same primary key exists.
+     * The statement should accept the values of all the columns of the table in the column order of the table.
+     *
+     * @param table Table model containing table information.
+     * @return SQL upsert statement or null if the database flavor does not support a single statement upsert.
+     */
+    String generateUpsert(Table table);
+
+    /**
+     *
+     * Generate the SQL query for computing the number of rows and an order independent checksum of the rows of a
+     * table within the database. The query should return the row count and the checksum as the first and the second
+     * columns of a single row. The checksums of two tables of the same database flavor are equal if the tables hold
+     * the same rows.
+     *
+     * @param tableName Name of the table.
+     * @param columnDataList Columns included in the checksum.
+     * @param filter WHERE clause with a leading space selecting the rows, or an empty string.
+     * @return SQL query for computing the checksum or null if the database flavor does not support computing
+     * checksums within the database.
+     */
+    String generateSelectChecksum(String tableName, List<ColumnData> columnDataList, String filter);
+
+    /**
+     *
+     * Generate an SQL expression evaluating to the current time of the database clock in milliseconds since the
+     * epoch. The expression should be evaluated when the statement is executed rather than when the transaction
+     * started, and should not depend on the time zone of the session.
+     *
+     * @return SQL expression for the current time in milliseconds.
+     */
+    String generateCurrentTimeMillis();
+
+    /**
+     *
+     * Generate SQL statements for creating a table which is range partitioned by SYNC_ID. Partitions are named after
+     * their exclusive upper bound (eg: P100000) and a catch-all partition is created for values above the last bound.
+     *
+     * @param table Table model containing table information.
+     * @param partitionUpperBounds Exclusive upper bounds of the initial partitions in ascending order.
+     * @return List of SQL statements related to table creation.
+     * @throws SyncClientException If the database flavor does not support partitioned journal tables.
+     */
+    List<String> generateCreatePartitionedTable(Table table, List<Long> partitionUpperBounds)
+            throws SyncClientException;
+
+    /**
+     *
+     * Generate the SQL statement for adding a SYNC_ID range partition below the catch-all partition of a table.
+     *
+     * @param tableName Name of the partitioned table.
+     * @param lowerBound Inclusive lower bound of the partition.
+     * @param upperBound Exclusive upper bound of the partition.
+     * @return SQL statement for adding the partition.
+     * @throws SyncClientException If the database flavor does not support partitioned journal tables.
+     */
+    String generateAddPartition(String tableName, long lowerBound, long upperBound) throws SyncClientException;
+
+    /**
+     *
+     * Generate the SQL statement for dropping a partition of a table.
+     *
+     * @param tableName Name of the partitioned table.
+     * @param partitionName Name of the partition as returned by {@link #generateSelectPartitions(String)}.
+     * @return SQL statement for dropping the partition.
+     * @throws SyncClientException If the database flavor does not support partitioned journal tables.
+     */
+    String generateDropPartition(String tableName, String partitionName) throws SyncClientException;
+
+    /**
+     *
+     * Generate the SQL query for listing the partition names of a table. The query should accept the table name as
+     * a parameter.
+     *
+     * @param tableName Name of the partitioned table.
+     * @return SQL query for listing partitions.
+     * @throws SyncClientException If the database flavor does not support partitioned journal tables.
+     */
+    String generateSelectPartitions(String tableName) throws SyncClientException;
 }
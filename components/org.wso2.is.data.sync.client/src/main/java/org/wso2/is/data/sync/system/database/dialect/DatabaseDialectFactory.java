@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.database.dialect;
+
+import org.wso2.is.data.sync.system.database.dialect.impl.DB2DatabaseDialect;
+import org.wso2.is.data.sync.system.database.dialect.impl.H2DatabaseDialect;
+import org.wso2.is.data.sync.system.database.dialect.impl.MSSQLDatabaseDialect;
+import org.wso2.is.data.sync.system.database.dialect.impl.MySQLDatabaseDialect;
+import org.wso2.is.data.sync.system.database.dialect.impl.OracleDatabaseDialect;
+import org.wso2.is.data.sync.system.database.dialect.impl.PostgreSQLDatabaseDialect;
+import org.wso2.is.data.sync.system.exception.SyncClientException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.wso2.is.data.sync.system.util.Constant.DATA_SOURCE_TYPE_DB2;
+import static org.wso2.is.data.sync.system.util.Constant.DATA_SOURCE_TYPE_H2;
+import static org.wso2.is.data.sync.system.util.Constant.DATA_SOURCE_TYPE_MSSQL;
+import static org.wso2.is.data.sync.system.util.Constant.DATA_SOURCE_TYPE_MYSQL;
+import static org.wso2.is.data.sync.system.util.Constant.DATA_SOURCE_TYPE_ORACLE;
+import static org.wso2.is.data.sync.system.util.Constant.DATA_SOURCE_TYPE_POSTGRESQL;
+
+/**
+ * Resolves the {@link DatabaseDialect} of a data source type (eg: mysql, oracle). Both DDL generation and the data
+ * sync pipelines use the dialects resolved from here.
+ */
+public class DatabaseDialectFactory {
+
+    private static Map<String, DatabaseDialect> databaseDialectMap = new HashMap<>();
+
+    static {
+
+        databaseDialectMap.put(DATA_SOURCE_TYPE_MYSQL, new MySQLDatabaseDialect());
+        databaseDialectMap.put(DATA_SOURCE_TYPE_H2, new H2DatabaseDialect());
+        databaseDialectMap.put(DATA_SOURCE_TYPE_ORACLE, new OracleDatabaseDialect());
+        databaseDialectMap.put(DATA_SOURCE_TYPE_MSSQL, new MSSQLDatabaseDialect());
+        databaseDialectMap.put(DATA_SOURCE_TYPE_DB2, new DB2DatabaseDialect());
+        databaseDialectMap.put(DATA_SOURCE_TYPE_POSTGRESQL, new PostgreSQLDatabaseDialect());
+    }
+
+    private DatabaseDialectFactory() {
+
+    }
+
+    public static DatabaseDialect getDatabaseDialect(String dataSourceType) throws SyncClientException {
+
+        DatabaseDialect databaseDialect = databaseDialectMap.get(dataSourceType);
+        if (databaseDialect == null) {
+            throw new SyncClientException("Unsupported data source type: " + dataSourceType);
+        }
+        return databaseDialect;
+    }
+}
@@ -16,7 +16,21 @@
 
 package org.wso2.is.data.sync.system.database.dialect.impl;
 
+import org.wso2.is.data.sync.system.database.ColumnData;
+import org.wso2.is.data.sync.system.database.TableMetaData;
 import org.wso2.is.data.sync.system.database.dialect.DatabaseDialect;
+import org.wso2.is.data.sync.system.database.dialect.Table;
+import org.wso2.is.data.sync.system.exception.SyncClientException;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_CURRENT_TIME_MILLIS_ANSI;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_ALTER_COLUMN_TYPE_ANSI;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_SELECT_SOURCE_SYNC_DATA_ANSI;
+import static org.wso2.is.data.sync.system.util.CommonUtil.getPartitionName;
+import static org.wso2.is.data.sync.system.util.Constant.PARTITION_NAME_MAX;
 
 /**
  * Produces ANSI SQL specific database dialects. Database flavor specific dialects should be written exetending this
@@ -26,5 +40,152 @@ import org.wso2.is.data.sync.system.database.dialect.DatabaseDialect;
  */
 public abstract class ANSIDatabaseDialect implements DatabaseDialect {
 
+    protected static final String MERGE_TARGET_ALIAS = "TGT";
+    protected static final String MERGE_SOURCE_ALIAS = "SRC";
+
+    @Override
+    public List<String> generateAlterColumnType(Table table, ColumnData columnData) throws SyncClientException {
+
+        // ALTER TABLE {tableName} ALTER COLUMN {columnName} SET DATA TYPE {columnType}
+        return Collections.singletonList(String.format(SQL_TEMPLATE_ALTER_COLUMN_TYPE_ANSI, table.getName(),
+                                                       columnData.getName(), columnData.getType()));
+    }
+
+    @Override
+    public String generateSelectJournalEntries(String syncTableName, String columns, int batchSize) {
+
+        // SELECT SYNC_ID, {columns}, ACTION FROM {syncTableName} WHERE SYNC_ID > ? AND SYNC_ID <= ? ORDER BY
+        // SYNC_ID ASC FETCH FIRST {batchSize} ROWS ONLY
+        return String.format(SQL_TEMPLATE_SELECT_SOURCE_SYNC_DATA_ANSI, columns, syncTableName, batchSize);
+    }
+
+    @Override
+    public String generateUpsert(Table table) {
+
+        // Database flavors which support MERGE statements should override this.
+        return null;
+    }
+
+    @Override
+    public String generateSelectChecksum(String tableName, List<ColumnData> columnDataList, String filter) {
+
+        // Database flavors which support hash aggregations should override this.
+        return null;
+    }
+
+    @Override
+    public String generateCurrentTimeMillis() {
+
+        // CAST(EXTRACT(EPOCH FROM CURRENT_TIMESTAMP) * 1000 AS BIGINT)
+        return SQL_CURRENT_TIME_MILLIS_ANSI;
+    }
+
+    @Override
+    public List<String> generateCreatePartitionedTable(Table table, List<Long> partitionUpperBounds)
+            throws SyncClientException {
+
+        throw new SyncClientException("Partitioned journal tables are not supported by: " + getClass().getName());
+    }
+
+    @Override
+    public String generateAddPartition(String tableName, long lowerBound, long upperBound) throws SyncClientException {
+
+        throw new SyncClientException("Partitioned journal tables are not supported by: " + getClass().getName());
+    }
+
+    @Override
+    public String generateDropPartition(String tableName, String partitionName) throws SyncClientException {
+
+        throw new SyncClientException("Partitioned journal tables are not supported by: " + getClass().getName());
+    }
+
+    @Override
+    public String generateSelectPartitions(String tableName) throws SyncClientException {
+
+        throw new SyncClientException("Partitioned journal tables are not supported by: " + getClass().getName());
+    }
+
+    /**
+     * Generates the partition definitions of a SYNC_ID range partitioned table including the catch-all partition.
+     * eg: PARTITION P100000 VALUES LESS THAN (100000), PARTITION PMAX VALUES LESS THAN MAXVALUE
+     *
+     * @param partitionUpperBounds Exclusive upper bounds of the partitions in ascending order.
+     * @param maxValue Upper bound literal of the catch-all partition of the database flavor.
+     * @return Partition definitions.
+     */
+    protected String generateRangePartitions(List<Long> partitionUpperBounds, String maxValue) {
+
+        StringJoiner partitionJoiner = new StringJoiner(", ");
+        for (Long upperBound : partitionUpperBounds) {
+            partitionJoiner.add(String.format("PARTITION %s VALUES LESS THAN (%d)", getPartitionName(upperBound),
+                                              upperBound));
+        }
+        partitionJoiner.add(String.format("PARTITION %s VALUES LESS THAN %s", PARTITION_NAME_MAX, maxValue));
+        return partitionJoiner.toString();
+    }
+
+    /**
+     * Generates the join condition of a MERGE statement on the primary keys of the table.
+     * eg: TGT.ID = SRC.ID AND TGT.TENANT_ID = SRC.TENANT_ID
+     *
+     * @param tableMetaData Meta data of the merged table.
+     * @return Join condition.
+     */
+    protected String generateMergeCondition(TableMetaData tableMetaData) {
+
+        StringJoiner conditionJoiner = new StringJoiner(" AND ");
+        for (String primaryKey : tableMetaData.getPrimaryKeys()) {
+            conditionJoiner.add(String.format("%s.%s = %s.%s", MERGE_TARGET_ALIAS, primaryKey, MERGE_SOURCE_ALIAS,
+                                              primaryKey));
+        }
+        return conditionJoiner.toString();
+    }
+
+    /**
+     * Generates the SET clause of the MERGE update for non primary key columns.
+     * eg: TOKEN = SRC.TOKEN, STATE = SRC.STATE
+     *
+     * @param tableMetaData Meta data of the merged table.
+     * @return SET clause or an empty string if all the columns are primary keys.
+     */
+    protected String generateMergeUpdateSet(TableMetaData tableMetaData) {
+
+        StringJoiner updateJoiner = new StringJoiner(", ");
+        for (String nonPrimaryKey : tableMetaData.getNonPrimaryKeys()) {
+            updateJoiner.add(String.format("%s = %s.%s", nonPrimaryKey, MERGE_SOURCE_ALIAS, nonPrimaryKey));
+        }
+        return updateJoiner.toString();
+    }
+
+    /**
+     * Generates the value list of the MERGE insert.
+     * eg: SRC.ID, SRC.TOKEN, SRC.STATE
+     *
+     * @param tableMetaData Meta data of the merged table.
+     * @return Insert value list.
+     */
+    protected String generateMergeInsertValues(TableMetaData tableMetaData) {
+
+        StringJoiner valueJoiner = new StringJoiner(", ");
+        for (ColumnData columnData : tableMetaData.getColumnDataList()) {
+            valueJoiner.add(MERGE_SOURCE_ALIAS + "." + columnData.getName());
+        }
+        return valueJoiner.toString();
+    }
+
+    /**
+     * Generates a parameterized select list which names each parameter after a table column.
+     * eg: ? AS ID, ? AS TOKEN, ? AS STATE
+     *
+     * @param columnDataList Columns of the table.
+     * @return Parameterized select list.
+     */
+    protected String generateParameterSelectList(List<ColumnData> columnDataList) {
 
+        StringJoiner selectJoiner = new StringJoiner(", ");
+        for (ColumnData columnData : columnDataList) {
+            selectJoiner.add("? AS " + columnData.getName());
+        }
+        return selectJoiner.toString();
+    }
 }
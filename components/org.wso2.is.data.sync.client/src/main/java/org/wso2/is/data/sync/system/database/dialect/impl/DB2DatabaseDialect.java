@@ -16,38 +16,197 @@
 
 package org.wso2.is.data.sync.system.database.dialect.impl;
 
+import org.wso2.is.data.sync.system.database.ColumnData;
+import org.wso2.is.data.sync.system.database.TableMetaData;
 import org.wso2.is.data.sync.system.database.dialect.Table;
 import org.wso2.is.data.sync.system.database.dialect.Trigger;
 import org.wso2.is.data.sync.system.exception.SyncClientException;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_CURRENT_TIME_MILLIS_DB2;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_ALTER_COLUMN_TYPE_ANSI;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_CREATE_TABLE_DB2;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_CREATE_TRIGGER_DB2;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_DROP_TABLE_DB2;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_DROP_TRIGGER_DB2;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_REORG_TABLE_DB2;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_UPSERT_DB2;
+import static org.wso2.is.data.sync.system.util.CommonUtil.getPrimaryKeyConstraintName;
+import static org.wso2.is.data.sync.system.util.Constant.COLUMN_NAME_ACTION;
+import static org.wso2.is.data.sync.system.util.Constant.SELECTION_POLICY_FOR_EACH_STATEMENT;
+import static org.wso2.is.data.sync.system.util.Constant.SYNC_OPERATION_DELETE;
+import static org.wso2.is.data.sync.system.util.Constant.TABLE_ATTRIBUTE_PRIMARY_KEY;
 
 /**
  * Produces DB2 specific database dialects.
+ *
+ * Journal triggers can either be row level triggers or statement level triggers which copy the affected rows from
+ * the transition tables with a single INSERT statement. Journal entries are polled with the ANSI FETCH FIRST clause.
  */
 public class DB2DatabaseDialect extends ANSIDatabaseDialect {
 
+    private static final String TRANSITION_VARIABLE_ROW = "N";
+    private static final String TRANSITION_VARIABLE_TABLE = "NT";
+    private static final String COLUMN_ATTRIBUTE_IDENTITY = "GENERATED ALWAYS AS IDENTITY (START WITH 1, " +
+                                                            "INCREMENT BY 1)";
+    private static final String COLUMN_TYPE_SUFFIX_BIT_DATA = "FOR BIT DATA";
+    private static final List<String> SIZED_COLUMN_TYPES = Arrays.asList("CHAR", "VARCHAR", "GRAPHIC", "VARGRAPHIC",
+                                                                         "BLOB", "CLOB", "DBCLOB");
+    private static final List<String> DECIMAL_COLUMN_TYPES = Arrays.asList("DECIMAL", "NUMERIC");
+
     @Override
     public List<String> generateCreateTrigger(Trigger trigger) throws SyncClientException {
 
-        return null;
+        String triggerEvent = trigger.getTriggerEvent();
+        boolean statementLevel = SELECTION_POLICY_FOR_EACH_STATEMENT.equals(trigger.getSelectionPolicy());
+        String transitionVariable = statementLevel ? TRANSITION_VARIABLE_TABLE : TRANSITION_VARIABLE_ROW;
+
+        StringJoiner columnJoiner = new StringJoiner(", ");
+        StringJoiner columnValueJoiner = new StringJoiner(", ");
+        for (ColumnData columnData : trigger.getTableMetaData().getColumnDataList()) {
+            columnJoiner.add(columnData.getName());
+            columnValueJoiner.add(transitionVariable + "." + columnData.getName());
+        }
+
+        // Add ACTION column to the trigger.
+        columnJoiner.add(COLUMN_NAME_ACTION);
+        columnValueJoiner.add(String.format("'%s'", triggerEvent));
+
+        // Updated rows are journaled with their new values.
+        String transition = SYNC_OPERATION_DELETE.equals(triggerEvent) ? "OLD" : "NEW";
+        String insertSource;
+        if (statementLevel) {
+            transition = transition + " TABLE";
+            insertSource = "SELECT " + columnValueJoiner + " FROM " + TRANSITION_VARIABLE_TABLE;
+        } else {
+            insertSource = "VALUES (" + columnValueJoiner + ")";
+        }
+
+        // CREATE OR REPLACE TRIGGER {triggerName} {triggerType} {triggerEvent} ON {sourceTableName} REFERENCING
+        // {NEW | OLD} [TABLE] AS {transitionVariable} {selectionPolicy} MODE DB2SQL BEGIN ATOMIC INSERT INTO
+        // {targetTableName} ({columnNames}) {VALUES ({values}) | SELECT {values} FROM {transitionVariable}}; END
+        String triggerStatement = String.format(SQL_TEMPLATE_CREATE_TRIGGER_DB2, trigger.getName(),
+                                                trigger.getTriggerTiming(), triggerEvent,
+                                                trigger.getSourceTableName(), transition, transitionVariable,
+                                                trigger.getSelectionPolicy(), trigger.getTargetTableName(),
+                                                columnJoiner, insertSource);
+        return Collections.singletonList(triggerStatement);
     }
 
     @Override
     public List<String> generateCreateTable(Table table) throws SyncClientException {
 
-        return null;
+        String tableName = table.getName();
+        TableMetaData tableMetaData = table.getTableMetaData();
+        List<String> primaryKeys = tableMetaData.getPrimaryKeys();
+
+        StringJoiner columnJoiner = new StringJoiner(", ");
+        for (ColumnData columnData : tableMetaData.getColumnDataList()) {
+            columnJoiner.add(getColumnEntryString(columnData, primaryKeys.contains(columnData.getName())));
+        }
+        if (!primaryKeys.isEmpty()) {
+            columnJoiner.add(String.format("CONSTRAINT %s %s (%s)", getPrimaryKeyConstraintName(tableName),
+                                           TABLE_ATTRIBUTE_PRIMARY_KEY, String.join(", ", primaryKeys)));
+        }
+
+        // DB2 does not support CREATE TABLE IF NOT EXISTS. Hence the "object already exists" error is ignored.
+        // BEGIN ... EXECUTE IMMEDIATE 'CREATE TABLE {tableName} ({columnList})'; END
+        return Collections.singletonList(String.format(SQL_TEMPLATE_CREATE_TABLE_DB2, tableName, columnJoiner));
     }
 
     @Override
     public List<String> generateDropTrigger(String name) throws SyncClientException {
 
-        return null;
+        // BEGIN ... EXECUTE IMMEDIATE 'DROP TRIGGER {name}'; END
+        return Collections.singletonList(String.format(SQL_TEMPLATE_DROP_TRIGGER_DB2, name));
     }
 
     @Override
     public List<String> generateDropTable(String name) throws SyncClientException {
 
-        return null;
+        // BEGIN ... EXECUTE IMMEDIATE 'DROP TABLE {name}'; END
+        return Collections.singletonList(String.format(SQL_TEMPLATE_DROP_TABLE_DB2, name));
+    }
+
+    @Override
+    public List<String> generateAlterColumnType(Table table, ColumnData columnData) throws SyncClientException {
+
+        // Altering the type of a column places the table in the reorg pending state.
+        // ALTER TABLE {tableName} ALTER COLUMN {columnName} SET DATA TYPE {columnType}
+        // CALL SYSPROC.ADMIN_CMD('REORG TABLE {tableName}')
+        return Arrays.asList(String.format(SQL_TEMPLATE_ALTER_COLUMN_TYPE_ANSI, table.getName(), columnData.getName(),
+                                           getColumnType(columnData)),
+                             String.format(SQL_TEMPLATE_REORG_TABLE_DB2, table.getName()));
+    }
+
+    @Override
+    public String generateCurrentTimeMillis() {
+
+        // (DAYS(CURRENT TIMESTAMP - CURRENT TIMEZONE) - DAYS('1970-01-01')) * 86400000 +
+        // MIDNIGHT_SECONDS(CURRENT TIMESTAMP - CURRENT TIMEZONE) * 1000
+        return SQL_CURRENT_TIME_MILLIS_DB2;
+    }
+
+    @Override
+    public String generateUpsert(Table table) {
+
+        TableMetaData tableMetaData = table.getTableMetaData();
+        if (tableMetaData.getPrimaryKeys().isEmpty()) {
+            return null;
+        }
+
+        // DB2 cannot infer the type of an untyped parameter marker in a VALUES clause. Hence each parameter is cast
+        // to the type of the column.
+        StringJoiner valueJoiner = new StringJoiner(", ");
+        for (ColumnData columnData : tableMetaData.getColumnDataList()) {
+            valueJoiner.add("CAST(? AS " + getColumnType(columnData) + ")");
+        }
+        String updateSet = generateMergeUpdateSet(tableMetaData);
+        String matchedClause = updateSet.isEmpty() ? "" : " WHEN MATCHED THEN UPDATE SET " + updateSet;
+
+        // MERGE INTO {tableName} AS TGT USING (VALUES (CAST(? AS {type}), ...)) AS SRC ({columns}) ON ({condition})
+        // WHEN MATCHED THEN UPDATE SET {column} = SRC.{column}, ... WHEN NOT MATCHED THEN INSERT ({columns})
+        // VALUES (SRC.{column}, ...)
+        return String.format(SQL_TEMPLATE_UPSERT_DB2, table.getName(), valueJoiner, tableMetaData.getColumns(),
+                             generateMergeCondition(tableMetaData), matchedClause, tableMetaData.getColumns(),
+                             generateMergeInsertValues(tableMetaData));
+    }
+
+    private String getColumnEntryString(ColumnData columnData, boolean primaryKey) {
+
+        String columnEntryString = columnData.getName() + " " + getColumnType(columnData);
+        if (primaryKey || columnData.isAutoIncrement()) {
+            // DB2 does not allow primary key constraints or identities on nullable columns.
+            columnEntryString = columnEntryString + " NOT NULL";
+        }
+        if (columnData.isAutoIncrement()) {
+            columnEntryString = columnEntryString + " " + COLUMN_ATTRIBUTE_IDENTITY;
+        }
+        return columnEntryString;
+    }
+
+    private String getColumnType(ColumnData columnData) {
+
+        String type = columnData.getType().toUpperCase(Locale.ENGLISH);
+        int size = columnData.getSize();
+
+        // Binary character columns are reported as "{type} () FOR BIT DATA".
+        boolean bitData = type.endsWith(COLUMN_TYPE_SUFFIX_BIT_DATA);
+        if (bitData) {
+            type = type.substring(0, type.indexOf('(') > 0 ? type.indexOf('(') : type.length() -
+                    COLUMN_TYPE_SUFFIX_BIT_DATA.length()).trim();
+        }
+
+        if (SIZED_COLUMN_TYPES.contains(type) && size > 0) {
+            type = type + "(" + size + ")";
+        } else if (DECIMAL_COLUMN_TYPES.contains(type) && size > 0) {
+            type = type + "(" + size + ", " + columnData.getDecimalDigits() + ")";
+        }
+        return bitData ? type + " " + COLUMN_TYPE_SUFFIX_BIT_DATA : type;
     }
 }
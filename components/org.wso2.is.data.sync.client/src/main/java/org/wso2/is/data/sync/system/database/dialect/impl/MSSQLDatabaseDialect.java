@@ -16,38 +16,226 @@
 
 package org.wso2.is.data.sync.system.database.dialect.impl;
 
+import org.wso2.is.data.sync.system.database.ColumnData;
+import org.wso2.is.data.sync.system.database.TableMetaData;
 import org.wso2.is.data.sync.system.database.dialect.Table;
 import org.wso2.is.data.sync.system.database.dialect.Trigger;
 import org.wso2.is.data.sync.system.exception.SyncClientException;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_CURRENT_TIME_MILLIS_MSSQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_ADD_PRIMARY_KEY_MSSQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_ALTER_COLUMN_TYPE_MSSQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_CREATE_TABLE_MSSQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_CREATE_TRIGGER_MSSQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_DROP_CONSTRAINT_MSSQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_DROP_TABLE_MSSQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_DROP_TRIGGER_MSSQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_SELECT_RANGE_CHECKSUM_MSSQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_SELECT_SOURCE_SYNC_DATA_MSSQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_UPSERT_MSSQL;
+import static org.wso2.is.data.sync.system.util.CommonUtil.getPrimaryKeyConstraintName;
+import static org.wso2.is.data.sync.system.util.Constant.COLUMN_NAME_ACTION;
+import static org.wso2.is.data.sync.system.util.Constant.SYNC_OPERATION_DELETE;
+import static org.wso2.is.data.sync.system.util.Constant.TABLE_ATTRIBUTE_PRIMARY_KEY;
 
 /**
  * Produces MSSQL specific database dialects.
+ *
+ * MSSQL triggers fire once per statement. Hence the journal triggers copy all the affected rows from the inserted or
+ * deleted pseudo tables to the journal table with a single set based INSERT statement.
  */
 public class MSSQLDatabaseDialect extends ANSIDatabaseDialect {
 
+    private static final String PSEUDO_TABLE_INSERTED = "inserted";
+    private static final String PSEUDO_TABLE_DELETED = "deleted";
+    private static final String COLUMN_TYPE_SUFFIX_IDENTITY = " IDENTITY";
+    private static final String COLUMN_ATTRIBUTE_IDENTITY = "IDENTITY(1,1)";
+    private static final String COLUMN_SIZE_MAX = "MAX";
+    private static final int MAX_COLUMN_SIZE = 8000;
+    private static final int MAX_UNICODE_COLUMN_SIZE = 4000;
+    private static final List<String> SIZED_COLUMN_TYPES = Arrays.asList("CHAR", "VARCHAR", "BINARY", "VARBINARY");
+    private static final List<String> SIZED_UNICODE_COLUMN_TYPES = Arrays.asList("NCHAR", "NVARCHAR");
+    private static final List<String> DECIMAL_COLUMN_TYPES = Arrays.asList("DECIMAL", "NUMERIC");
+
     @Override
     public List<String> generateCreateTrigger(Trigger trigger) throws SyncClientException {
 
-        return null;
+        String triggerEvent = trigger.getTriggerEvent();
+        TableMetaData tableMetaData = trigger.getTableMetaData();
+
+        StringJoiner columnJoiner = new StringJoiner(", ");
+        StringJoiner columnValueJoiner = new StringJoiner(", ");
+        for (ColumnData columnData : tableMetaData.getColumnDataList()) {
+            columnJoiner.add(columnData.getName());
+            columnValueJoiner.add(columnData.getName());
+        }
+
+        // Add ACTION column to the trigger.
+        columnJoiner.add(COLUMN_NAME_ACTION);
+        columnValueJoiner.add(String.format("'%s'", triggerEvent));
+
+        // Updated rows are journaled with their new values.
+        String pseudoTable = SYNC_OPERATION_DELETE.equals(triggerEvent) ? PSEUDO_TABLE_DELETED :
+                PSEUDO_TABLE_INSERTED;
+
+        // CREATE TRIGGER {triggerName} ON {sourceTableName} {triggerType} {triggerEvent} AS BEGIN SET NOCOUNT ON;
+        // INSERT INTO {targetTableName} ({columnNames}) SELECT {values} FROM {inserted | deleted}; END
+        String triggerStatement = String.format(SQL_TEMPLATE_CREATE_TRIGGER_MSSQL, trigger.getName(),
+                                                trigger.getSourceTableName(), trigger.getTriggerTiming(),
+                                                triggerEvent, trigger.getTargetTableName(), columnJoiner,
+                                                columnValueJoiner, pseudoTable);
+        return Collections.singletonList(triggerStatement);
     }
 
     @Override
     public List<String> generateCreateTable(Table table) throws SyncClientException {
 
-        return null;
+        String tableName = table.getName();
+        TableMetaData tableMetaData = table.getTableMetaData();
+        List<String> primaryKeys = tableMetaData.getPrimaryKeys();
+
+        StringJoiner columnJoiner = new StringJoiner(", ");
+        for (ColumnData columnData : tableMetaData.getColumnDataList()) {
+            columnJoiner.add(getColumnEntryString(columnData, primaryKeys.contains(columnData.getName())));
+        }
+        if (!primaryKeys.isEmpty()) {
+            columnJoiner.add(String.format("CONSTRAINT %s %s (%s)", getPrimaryKeyConstraintName(tableName),
+                                           TABLE_ATTRIBUTE_PRIMARY_KEY, String.join(", ", primaryKeys)));
+        }
+
+        // IF NOT EXISTS (...) CREATE TABLE {tableName} ({columnList})
+        return Collections.singletonList(String.format(SQL_TEMPLATE_CREATE_TABLE_MSSQL, tableName, tableName,
+                                                       columnJoiner));
     }
 
     @Override
     public List<String> generateDropTrigger(String name) throws SyncClientException {
 
-        return null;
+        // IF OBJECT_ID(N'{name}', N'TR') IS NOT NULL DROP TRIGGER {name}
+        return Collections.singletonList(String.format(SQL_TEMPLATE_DROP_TRIGGER_MSSQL, name, name));
     }
 
     @Override
     public List<String> generateDropTable(String name) throws SyncClientException {
 
-        return null;
+        // IF OBJECT_ID(N'{name}', N'U') IS NOT NULL DROP TABLE {name}
+        return Collections.singletonList(String.format(SQL_TEMPLATE_DROP_TABLE_MSSQL, name, name));
+    }
+
+    @Override
+    public List<String> generateAlterColumnType(Table table, ColumnData columnData) throws SyncClientException {
+
+        String tableName = table.getName();
+        List<String> primaryKeys = table.getTableMetaData().getPrimaryKeys();
+        boolean primaryKey = primaryKeys.contains(columnData.getName());
+
+        // The type of a column cannot be changed while it is referenced by a constraint. The identity property of the
+        // column is retained by ALTER COLUMN and cannot be specified again.
+        String columnEntryString = columnData.getName() + " " + getColumnType(columnData);
+        if (primaryKey || columnData.isAutoIncrement()) {
+            columnEntryString = columnEntryString + " NOT NULL";
+        }
+        if (!primaryKey) {
+            return Collections.singletonList(String.format(SQL_TEMPLATE_ALTER_COLUMN_TYPE_MSSQL, tableName,
+                                                           columnEntryString));
+        }
+
+        String constraintName = getPrimaryKeyConstraintName(tableName);
+        // ALTER TABLE {tableName} DROP CONSTRAINT {constraintName}
+        // ALTER TABLE {tableName} ALTER COLUMN {columnName} {columnType} NOT NULL
+        // ALTER TABLE {tableName} ADD CONSTRAINT {constraintName} PRIMARY KEY ({primaryKeys})
+        return Arrays.asList(String.format(SQL_TEMPLATE_DROP_CONSTRAINT_MSSQL, tableName, constraintName),
+                             String.format(SQL_TEMPLATE_ALTER_COLUMN_TYPE_MSSQL, tableName, columnEntryString),
+                             String.format(SQL_TEMPLATE_ADD_PRIMARY_KEY_MSSQL, tableName, constraintName,
+                                           String.join(", ", primaryKeys)));
+    }
+
+    @Override
+    public String generateSelectJournalEntries(String syncTableName, String columns, int batchSize) {
+
+        // SELECT TOP {batchSize} SYNC_ID, {columns}, ACTION FROM {syncTableName} WHERE SYNC_ID > ? AND SYNC_ID <= ?
+        // ORDER BY SYNC_ID ASC
+        return String.format(SQL_TEMPLATE_SELECT_SOURCE_SYNC_DATA_MSSQL, batchSize, columns, syncTableName);
+    }
+
+    @Override
+    public String generateCurrentTimeMillis() {
+
+        // DATEDIFF_BIG(MILLISECOND, '1970-01-01', SYSUTCDATETIME())
+        return SQL_CURRENT_TIME_MILLIS_MSSQL;
+    }
+
+    @Override
+    public String generateSelectChecksum(String tableName, List<ColumnData> columnDataList, String filter) {
+
+        // CONCAT converts null values to empty strings. Hence the null flags of the columns are appended to tell them
+        // apart from empty values. The digests are summed as decimals, as a BIGINT sum would overflow.
+        StringJoiner columns = new StringJoiner(", '#', ");
+        StringJoiner nullFlags = new StringJoiner(", ");
+        for (ColumnData columnData : columnDataList) {
+            columns.add(columnData.getName());
+            nullFlags.add("IIF(" + columnData.getName() + " IS NULL, '1', '0')");
+        }
+        // SELECT COUNT_BIG(*), COALESCE(SUM(CAST(CAST(SUBSTRING(HASHBYTES('SHA2_256', CONCAT({column}, '#', ...,
+        // '#', {nullFlags})), 1, 7) AS BIGINT) AS DECIMAL(38, 0))), 0) FROM {tableName}{filter}
+        return String.format(SQL_TEMPLATE_SELECT_RANGE_CHECKSUM_MSSQL, columns, nullFlags, tableName, filter);
+    }
+
+    @Override
+    public String generateUpsert(Table table) {
+
+        TableMetaData tableMetaData = table.getTableMetaData();
+        if (tableMetaData.getPrimaryKeys().isEmpty()) {
+            return null;
+        }
+        String updateSet = generateMergeUpdateSet(tableMetaData);
+        String matchedClause = updateSet.isEmpty() ? "" : " WHEN MATCHED THEN UPDATE SET " + updateSet;
+
+        // MERGE INTO {tableName} WITH (HOLDLOCK) AS TGT USING (SELECT ? AS {column}, ...) AS SRC ON ({condition})
+        // WHEN MATCHED THEN UPDATE SET {column} = SRC.{column}, ... WHEN NOT MATCHED THEN INSERT ({columns})
+        // VALUES (SRC.{column}, ...);
+        return String.format(SQL_TEMPLATE_UPSERT_MSSQL, table.getName(),
+                             generateParameterSelectList(tableMetaData.getColumnDataList()),
+                             generateMergeCondition(tableMetaData), matchedClause, tableMetaData.getColumns(),
+                             generateMergeInsertValues(tableMetaData));
+    }
+
+    private String getColumnEntryString(ColumnData columnData, boolean primaryKey) {
+
+        String columnEntryString = columnData.getName() + " " + getColumnType(columnData);
+        if (columnData.isAutoIncrement()) {
+            columnEntryString = columnEntryString + " " + COLUMN_ATTRIBUTE_IDENTITY;
+        }
+        if (primaryKey || columnData.isAutoIncrement()) {
+            // MSSQL does not allow primary key constraints on nullable columns.
+            columnEntryString = columnEntryString + " NOT NULL";
+        }
+        return columnEntryString;
+    }
+
+    private String getColumnType(ColumnData columnData) {
+
+        String type = columnData.getType().toUpperCase(Locale.ENGLISH);
+        int size = columnData.getSize();
+
+        // Identity columns are reported as "{type} identity". Journal copies of those columns are plain columns.
+        if (type.endsWith(COLUMN_TYPE_SUFFIX_IDENTITY)) {
+            type = type.substring(0, type.length() - COLUMN_TYPE_SUFFIX_IDENTITY.length()).trim();
+        }
+
+        if (SIZED_COLUMN_TYPES.contains(type)) {
+            return type + "(" + (size <= 0 || size > MAX_COLUMN_SIZE ? COLUMN_SIZE_MAX : size) + ")";
+        } else if (SIZED_UNICODE_COLUMN_TYPES.contains(type)) {
+            return type + "(" + (size <= 0 || size > MAX_UNICODE_COLUMN_SIZE ? COLUMN_SIZE_MAX : size) + ")";
+        } else if (DECIMAL_COLUMN_TYPES.contains(type) && size > 0) {
+            return type + "(" + size + ", " + columnData.getDecimalDigits() + ")";
+        }
+        return type;
     }
 }
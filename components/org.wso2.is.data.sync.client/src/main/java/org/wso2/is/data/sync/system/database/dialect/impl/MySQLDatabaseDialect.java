@@ -27,14 +27,26 @@ import java.util.Collections;
 import java.util.List;
 import java.util.StringJoiner;
 
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_CURRENT_TIME_MILLIS_MYSQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_ADD_PARTITION_MYSQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_ALTER_COLUMN_TYPE_MYSQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_CREATE_PARTITIONED_TABLE_MYSQL;
 import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_CREATE_TRIGGER_MYSQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_DROP_PARTITION_MYSQL;
 import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_DROP_TABLE_MYSQL;
 import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_DROP_TRIGGER_MYSQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_SELECT_PARTITIONS_MYSQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_SELECT_RANGE_CHECKSUM_MYSQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_SELECT_SOURCE_SYNC_DATA_MYSQL;
+import static org.wso2.is.data.sync.system.util.CommonUtil.getPartitionName;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_ATTRIBUTE_AUTO_INCREMENT;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_NAME_ACTION;
+import static org.wso2.is.data.sync.system.util.Constant.COLUMN_NAME_SYNC_ID;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_TYPE_BIGINT;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_TYPE_INT;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_TYPE_TIMESTAMP;
+import static org.wso2.is.data.sync.system.util.Constant.PARTITION_NAME_MAX;
+import static org.wso2.is.data.sync.system.util.Constant.SELECTION_POLICY_FOR_EACH_ROW;
 import static org.wso2.is.data.sync.system.util.Constant.SYNC_OPERATION_DELETE;
 import static org.wso2.is.data.sync.system.util.Constant.TABLE_ATTRIBUTE_PRIMARY_KEY;
 
@@ -43,6 +55,8 @@ import static org.wso2.is.data.sync.system.util.Constant.TABLE_ATTRIBUTE_PRIMARY
  */
 public class MySQLDatabaseDialect extends ANSIDatabaseDialect {
 
+    private static final String PARTITION_VALUE_MAX = "MAXVALUE";
+
     @Override
     public List<String> generateCreateTable(Table table) throws SyncClientException {
 
@@ -50,18 +64,43 @@ public class MySQLDatabaseDialect extends ANSIDatabaseDialect {
         TableMetaData tableMetaData = table.getTableMetaData();
 
         String sql = "CREATE TABLE IF NOT EXISTS %s (%s)";
-        List<ColumnData> columnDataList = tableMetaData.getColumnDataList();
-        String tableColumnList = generateColumnList(columnDataList);
+        return Collections.singletonList(String.format(sql, tableName, generateTableColumnList(tableMetaData)));
+    }
 
-        List<String> primaryKeys = tableMetaData.getPrimaryKeys();
-        if (primaryKeys != null && !primaryKeys.isEmpty()) {
-            StringJoiner joiner = new StringJoiner(", ");
-            for (String primaryKey : primaryKeys) {
-                joiner.add(primaryKey);
-            }
-            tableColumnList = tableColumnList + ", " + TABLE_ATTRIBUTE_PRIMARY_KEY + " (" + joiner + ")";
-        }
-        return Collections.singletonList(String.format(sql, tableName, tableColumnList));
+    @Override
+    public List<String> generateCreatePartitionedTable(Table table, List<Long> partitionUpperBounds)
+            throws SyncClientException {
+
+        // CREATE TABLE IF NOT EXISTS {tableName} ({columnList}) PARTITION BY RANGE (SYNC_ID) (PARTITION P{bound}
+        // VALUES LESS THAN ({bound}), ..., PARTITION PMAX VALUES LESS THAN MAXVALUE)
+        return Collections.singletonList(String.format(SQL_TEMPLATE_CREATE_PARTITIONED_TABLE_MYSQL, table.getName(),
+                                                       generateTableColumnList(table.getTableMetaData()),
+                                                       COLUMN_NAME_SYNC_ID,
+                                                       generateRangePartitions(partitionUpperBounds,
+                                                                               PARTITION_VALUE_MAX)));
+    }
+
+    @Override
+    public String generateAddPartition(String tableName, long lowerBound, long upperBound) {
+
+        // The catch-all partition is expected to be empty. Hence reorganizing it does not move any rows.
+        // ALTER TABLE {tableName} REORGANIZE PARTITION PMAX INTO (PARTITION P{bound} VALUES LESS THAN ({bound}),
+        // PARTITION PMAX VALUES LESS THAN MAXVALUE)
+        return String.format(SQL_TEMPLATE_ADD_PARTITION_MYSQL, tableName, PARTITION_NAME_MAX,
+                             getPartitionName(upperBound), upperBound, PARTITION_NAME_MAX);
+    }
+
+    @Override
+    public String generateDropPartition(String tableName, String partitionName) {
+
+        // ALTER TABLE {tableName} DROP PARTITION {partitionName}
+        return String.format(SQL_TEMPLATE_DROP_PARTITION_MYSQL, tableName, partitionName);
+    }
+
+    @Override
+    public String generateSelectPartitions(String tableName) {
+
+        return SQL_TEMPLATE_SELECT_PARTITIONS_MYSQL;
     }
 
     @Override
@@ -73,7 +112,8 @@ public class MySQLDatabaseDialect extends ANSIDatabaseDialect {
         String targetTableName = trigger.getTargetTableName();
         String triggerType = trigger.getTriggerTiming();
         String triggerEvent = trigger.getTriggerEvent();
-        String selectionPolicy = trigger.getSelectionPolicy();
+        // Statement level triggers are not supported. Hence journal entries are always captured per row.
+        String selectionPolicy = SELECTION_POLICY_FOR_EACH_ROW;
         TableMetaData tableMetaData = trigger.getTableMetaData();
         List<ColumnData> columnDataList = tableMetaData.getColumnDataList();
 
@@ -117,6 +157,61 @@ public class MySQLDatabaseDialect extends ANSIDatabaseDialect {
         return Collections.singletonList(String.format(SQL_TEMPLATE_DROP_TABLE_MYSQL, name));
     }
 
+    @Override
+    public List<String> generateAlterColumnType(Table table, ColumnData columnData) throws SyncClientException {
+
+        // ALTER TABLE {tableName} MODIFY {columnName} {columnType} [AUTO_INCREMENT]
+        return Collections.singletonList(String.format(SQL_TEMPLATE_ALTER_COLUMN_TYPE_MYSQL, table.getName(),
+                                                       getColumnEntryString(columnData)));
+    }
+
+    @Override
+    public String generateSelectJournalEntries(String syncTableName, String columns, int batchSize) {
+
+        // SELECT SYNC_ID, {columns}, ACTION FROM {syncTableName} WHERE SYNC_ID > ? AND SYNC_ID <= ? ORDER BY
+        // SYNC_ID ASC LIMIT {batchSize}
+        return String.format(SQL_TEMPLATE_SELECT_SOURCE_SYNC_DATA_MYSQL, columns, syncTableName, batchSize);
+    }
+
+    @Override
+    public String generateCurrentTimeMillis() {
+
+        // CAST(UNIX_TIMESTAMP(CURRENT_TIMESTAMP(3)) * 1000 AS SIGNED)
+        return SQL_CURRENT_TIME_MILLIS_MYSQL;
+    }
+
+    @Override
+    public String generateSelectChecksum(String tableName, List<ColumnData> columnDataList, String filter) {
+
+        // CONCAT_WS skips null values. Hence the null flags of the columns are appended to tell them apart from
+        // empty values.
+        StringJoiner columns = new StringJoiner(", ");
+        StringJoiner nullFlags = new StringJoiner(", ");
+        for (ColumnData columnData : columnDataList) {
+            columns.add(columnData.getName());
+            nullFlags.add("ISNULL(" + columnData.getName() + ")");
+        }
+        // SELECT COUNT(*), COALESCE(SUM(CAST(CONV(SUBSTRING(MD5(CONCAT_WS('#', {columns}, CONCAT({nullFlags}))), 1,
+        // 15), 16, 10) AS UNSIGNED)), 0) FROM {tableName}{filter}
+        return String.format(SQL_TEMPLATE_SELECT_RANGE_CHECKSUM_MYSQL, columns, nullFlags, tableName, filter);
+    }
+
+    private String generateTableColumnList(TableMetaData tableMetaData) {
+
+        List<ColumnData> columnDataList = tableMetaData.getColumnDataList();
+        String tableColumnList = generateColumnList(columnDataList);
+
+        List<String> primaryKeys = tableMetaData.getPrimaryKeys();
+        if (primaryKeys != null && !primaryKeys.isEmpty()) {
+            StringJoiner joiner = new StringJoiner(", ");
+            for (String primaryKey : primaryKeys) {
+                joiner.add(primaryKey);
+            }
+            tableColumnList = tableColumnList + ", " + TABLE_ATTRIBUTE_PRIMARY_KEY + " (" + joiner + ")";
+        }
+        return tableColumnList;
+    }
+
     public static String generateColumnList(List<ColumnData> columnData) {
 
         StringJoiner columnJoiner = new StringJoiner(", ");
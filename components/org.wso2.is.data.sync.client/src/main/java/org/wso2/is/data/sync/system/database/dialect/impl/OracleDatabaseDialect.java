@@ -23,33 +23,73 @@ import org.wso2.is.data.sync.system.database.dialect.Trigger;
 import org.wso2.is.data.sync.system.exception.SyncClientException;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.StringJoiner;
 
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_CURRENT_TIME_MILLIS_ORACLE;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_ADD_PARTITION_ORACLE;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_ALTER_COLUMN_TYPE_ORACLE;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_CREATE_COMPOUND_TRIGGER_ORACLE;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_CREATE_PARTITIONED_TABLE_ORACLE;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_CREATE_SEQUENCE_ORACLE;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_CREATE_TABLE_ORACLE;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_CREATE_TRIGGER_ORACLE;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_DROP_PARTITION_ORACLE;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_DROP_SEQUENCE_ORACLE;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_DROP_TABLE_ORACLE;
 import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_DROP_TRIGGER_ORACLE;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_SELECT_PARTITIONS_ORACLE;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_SELECT_SOURCE_SYNC_DATA_ORACLE;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_UPSERT_ORACLE;
+import static org.wso2.is.data.sync.system.util.CommonUtil.getPartitionName;
+import static org.wso2.is.data.sync.system.util.CommonUtil.getPrimaryKeyConstraintName;
+import static org.wso2.is.data.sync.system.util.CommonUtil.getSequenceName;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_NAME_ACTION;
+import static org.wso2.is.data.sync.system.util.Constant.COLUMN_NAME_SYNC_ID;
+import static org.wso2.is.data.sync.system.util.Constant.COLUMN_TYPE_BIGINT;
+import static org.wso2.is.data.sync.system.util.Constant.COLUMN_TYPE_INT;
+import static org.wso2.is.data.sync.system.util.Constant.COLUMN_TYPE_VARCHAR;
+import static org.wso2.is.data.sync.system.util.Constant.PARTITION_NAME_MAX;
+import static org.wso2.is.data.sync.system.util.Constant.SELECTION_POLICY_FOR_EACH_ROW;
+import static org.wso2.is.data.sync.system.util.Constant.SELECTION_POLICY_FOR_EACH_STATEMENT;
 import static org.wso2.is.data.sync.system.util.Constant.SYNC_OPERATION_DELETE;
+import static org.wso2.is.data.sync.system.util.Constant.TABLE_ATTRIBUTE_PRIMARY_KEY;
 
 /**
  * Produces Oracle specific database dialects.
+ *
+ * Journal tables are keyed with a sequence which is consumed by the journal triggers. When statement level triggers
+ * are requested, a compound trigger is generated which buffers the journal entries of the affected rows and flushes
+ * them with a FORALL bulk insert at the end of the statement.
  */
 public class OracleDatabaseDialect extends ANSIDatabaseDialect {
 
+    // Number of buffered journal entries after which a compound trigger flushes the buffer before the statement end.
+    private static final int COMPOUND_TRIGGER_FLUSH_SIZE = 1000;
+    private static final String PARTITION_VALUE_MAX = "(MAXVALUE)";
+    private static final String COLUMN_TYPE_NUMBER = "NUMBER";
+    private static final String COLUMN_TYPE_VARCHAR2 = "VARCHAR2";
+    private static final int INT_PRECISION = 10;
+    private static final int BIGINT_PRECISION = 19;
+    private static final List<String> SIZED_COLUMN_TYPES = Arrays.asList("CHAR", "NCHAR", "VARCHAR2", "NVARCHAR2",
+                                                                         "RAW");
+
     @Override
     public List<String> generateCreateTrigger(Trigger trigger) throws SyncClientException {
 
-        // CREATE TRIGGER {triggerName} {triggerType} {triggerEvent} ON {sourceTableName} {selectionPolicy} BEGIN
-        // INSERT INTO {targetTableName} ({columnNames}) VALUES ({values}); END;
+        if (SELECTION_POLICY_FOR_EACH_STATEMENT.equals(trigger.getSelectionPolicy())) {
+            return generateCreateCompoundTrigger(trigger);
+        }
 
         List<String> sqlStatements = new ArrayList<>();
-        String triggerStr = "CREATE OR REPLACE TRIGGER %s %s %s ON %s %s BEGIN INSERT INTO %s (%s) VALUES (%s); END";
-
         String sourceTableName = trigger.getSourceTableName();
         String targetTableName = trigger.getTargetTableName();
         String triggerType = trigger.getTriggerTiming();
         String triggerEvent = trigger.getTriggerEvent();
-        String selectionPolicy = trigger.getSelectionPolicy();
+        String selectionPolicy = SELECTION_POLICY_FOR_EACH_ROW;
         String triggerName = trigger.getName();
         TableMetaData tableMetaData = trigger.getTableMetaData();
         List<ColumnData> columnDataList = tableMetaData.getColumnDataList();
@@ -57,24 +97,24 @@ public class OracleDatabaseDialect extends ANSIDatabaseDialect {
         StringJoiner columnJoiner = new StringJoiner(",");
         StringJoiner columnValueJoiner = new StringJoiner(",");
 
+        // SYNC_ID of the journal entry is taken from the journal sequence.
+        columnJoiner.add(COLUMN_NAME_SYNC_ID);
+        columnValueJoiner.add(getSequenceName(targetTableName) + ".NEXTVAL");
+
         for (ColumnData columnEntry : columnDataList) {
             columnJoiner.add(columnEntry.getName());
-
-            if (SYNC_OPERATION_DELETE.equals(triggerEvent)) {
-                columnValueJoiner.add(":OLD." + columnEntry.getName());
-            } else {
-                columnValueJoiner.add(":NEW." + columnEntry.getName());
-            }
+            columnValueJoiner.add(getTransitionVariable(triggerEvent) + columnEntry.getName());
         }
 
         // Add ACTION column to the trigger.
         columnJoiner.add(COLUMN_NAME_ACTION);
         columnValueJoiner.add(String.format("'%s'", triggerEvent));
 
-        // CREATE TRIGGER {triggerName} {triggerType} {triggerEvent} ON {sourceTableName} {selectionPolicy} BEGIN
-        // INSERT INTO {targetTableName} ({columnNames}) VALUES ({values}); END;
-        String triggerStatement = String.format(triggerStr, triggerName, triggerType, triggerEvent, sourceTableName,
-                             selectionPolicy, targetTableName, columnJoiner, columnValueJoiner);
+        // CREATE OR REPLACE TRIGGER {triggerName} {triggerType} {triggerEvent} ON {sourceTableName}
+        // {selectionPolicy} BEGIN INSERT INTO {targetTableName} ({columnNames}) VALUES ({values}); END;
+        String triggerStatement = String.format(SQL_TEMPLATE_CREATE_TRIGGER_ORACLE, triggerName, triggerType,
+                                                triggerEvent, sourceTableName, selectionPolicy, targetTableName,
+                                                columnJoiner, columnValueJoiner);
         sqlStatements.add(triggerStatement);
         return sqlStatements;
     }
@@ -82,18 +122,203 @@ public class OracleDatabaseDialect extends ANSIDatabaseDialect {
     @Override
     public List<String> generateCreateTable(Table table) throws SyncClientException {
 
-        return null;
+        String tableName = table.getName();
+        List<String> sqlStatements = new ArrayList<>();
+
+        // Oracle does not support CREATE TABLE IF NOT EXISTS. Hence the "name is already used" error is ignored.
+        // BEGIN EXECUTE IMMEDIATE 'CREATE TABLE {tableName} ({columnList})'; EXCEPTION ... END;
+        sqlStatements.add(String.format(SQL_TEMPLATE_CREATE_TABLE_ORACLE, tableName,
+                                        generateTableColumnList(table, false)));
+        addCreateSequenceStatement(table, sqlStatements);
+        return sqlStatements;
+    }
+
+    @Override
+    public List<String> generateCreatePartitionedTable(Table table, List<Long> partitionUpperBounds)
+            throws SyncClientException {
+
+        List<String> sqlStatements = new ArrayList<>();
+
+        // BEGIN EXECUTE IMMEDIATE 'CREATE TABLE {tableName} ({columnList}) PARTITION BY RANGE (SYNC_ID) (PARTITION
+        // P{bound} VALUES LESS THAN ({bound}), ..., PARTITION PMAX VALUES LESS THAN (MAXVALUE))'; EXCEPTION ... END;
+        sqlStatements.add(String.format(SQL_TEMPLATE_CREATE_PARTITIONED_TABLE_ORACLE, table.getName(),
+                                        generateTableColumnList(table, true), COLUMN_NAME_SYNC_ID,
+                                        generateRangePartitions(partitionUpperBounds, PARTITION_VALUE_MAX)));
+        addCreateSequenceStatement(table, sqlStatements);
+        return sqlStatements;
+    }
+
+    @Override
+    public String generateAddPartition(String tableName, long lowerBound, long upperBound) {
+
+        // The catch-all partition is expected to be empty. Hence splitting it does not move any rows.
+        // ALTER TABLE {tableName} SPLIT PARTITION PMAX AT ({bound}) INTO (PARTITION P{bound}, PARTITION PMAX)
+        return String.format(SQL_TEMPLATE_ADD_PARTITION_ORACLE, tableName, PARTITION_NAME_MAX, upperBound,
+                             getPartitionName(upperBound), PARTITION_NAME_MAX);
+    }
+
+    @Override
+    public String generateDropPartition(String tableName, String partitionName) {
+
+        // ALTER TABLE {tableName} DROP PARTITION {partitionName}
+        return String.format(SQL_TEMPLATE_DROP_PARTITION_ORACLE, tableName, partitionName);
+    }
+
+    @Override
+    public String generateSelectPartitions(String tableName) {
+
+        return SQL_TEMPLATE_SELECT_PARTITIONS_ORACLE;
     }
 
     @Override
     public List<String> generateDropTrigger(String name) throws SyncClientException {
 
+        // BEGIN EXECUTE IMMEDIATE 'DROP TRIGGER {name}'; EXCEPTION ... END;
         return Collections.singletonList(String.format(SQL_TEMPLATE_DROP_TRIGGER_ORACLE, name));
     }
 
     @Override
     public List<String> generateDropTable(String name) throws SyncClientException {
 
-        return null;
+        // BEGIN EXECUTE IMMEDIATE 'DROP TABLE {name}'; EXCEPTION ... END;
+        // BEGIN EXECUTE IMMEDIATE 'DROP SEQUENCE {sequenceName}'; EXCEPTION ... END;
+        return Arrays.asList(String.format(SQL_TEMPLATE_DROP_TABLE_ORACLE, name),
+                             String.format(SQL_TEMPLATE_DROP_SEQUENCE_ORACLE, getSequenceName(name)));
+    }
+
+    @Override
+    public List<String> generateAlterColumnType(Table table, ColumnData columnData) throws SyncClientException {
+
+        // The precision of a NUMBER column can be increased without rewriting the existing rows.
+        // ALTER TABLE {tableName} MODIFY ({columnName} {columnType})
+        return Collections.singletonList(String.format(SQL_TEMPLATE_ALTER_COLUMN_TYPE_ORACLE, table.getName(),
+                                                       columnData.getName(), getColumnType(columnData)));
+    }
+
+    @Override
+    public String generateSelectJournalEntries(String syncTableName, String columns, int batchSize) {
+
+        // ROWNUM is used instead of FETCH FIRST to support Oracle versions prior to 12c.
+        // SELECT * FROM (SELECT SYNC_ID, {columns}, ACTION FROM {syncTableName} WHERE SYNC_ID > ? AND SYNC_ID <= ?
+        // ORDER BY SYNC_ID ASC) WHERE ROWNUM <= {batchSize}
+        return String.format(SQL_TEMPLATE_SELECT_SOURCE_SYNC_DATA_ORACLE, columns, syncTableName, batchSize);
+    }
+
+    @Override
+    public String generateCurrentTimeMillis() {
+
+        // ROUND((CAST(SYS_EXTRACT_UTC(SYSTIMESTAMP) AS DATE) - DATE '1970-01-01') * 86400000)
+        return SQL_CURRENT_TIME_MILLIS_ORACLE;
+    }
+
+    @Override
+    public String generateUpsert(Table table) {
+
+        TableMetaData tableMetaData = table.getTableMetaData();
+        if (tableMetaData.getPrimaryKeys().isEmpty()) {
+            return null;
+        }
+        String updateSet = generateMergeUpdateSet(tableMetaData);
+        String matchedClause = updateSet.isEmpty() ? "" : " WHEN MATCHED THEN UPDATE SET " + updateSet;
+
+        // MERGE INTO {tableName} TGT USING (SELECT ? AS {column}, ... FROM DUAL) SRC ON ({condition}) WHEN MATCHED
+        // THEN UPDATE SET {column} = SRC.{column}, ... WHEN NOT MATCHED THEN INSERT ({columns}) VALUES
+        // (SRC.{column}, ...)
+        return String.format(SQL_TEMPLATE_UPSERT_ORACLE, table.getName(),
+                             generateParameterSelectList(tableMetaData.getColumnDataList()),
+                             generateMergeCondition(tableMetaData), matchedClause, tableMetaData.getColumns(),
+                             generateMergeInsertValues(tableMetaData));
+    }
+
+    private List<String> generateCreateCompoundTrigger(Trigger trigger) {
+
+        String targetTableName = trigger.getTargetTableName();
+        String triggerEvent = trigger.getTriggerEvent();
+        String entry = "JOURNAL_ENTRIES(ENTRY_INDEX).";
+
+        StringBuilder assignments = new StringBuilder();
+        assignments.append(entry).append(COLUMN_NAME_SYNC_ID).append(" := ").append(getSequenceName(targetTableName))
+                   .append(".NEXTVAL; ");
+        for (ColumnData columnData : trigger.getTableMetaData().getColumnDataList()) {
+            assignments.append(entry).append(columnData.getName()).append(" := ")
+                       .append(getTransitionVariable(triggerEvent)).append(columnData.getName()).append("; ");
+        }
+        assignments.append(entry).append(COLUMN_NAME_ACTION).append(" := '").append(triggerEvent).append("';");
+
+        // CREATE OR REPLACE TRIGGER {triggerName} FOR {triggerEvent} ON {sourceTableName} COMPOUND TRIGGER ...
+        // ENTRY_INDEX PLS_INTEGER; ... AFTER EACH ROW IS BEGIN ENTRY_INDEX := JOURNAL_ENTRIES.COUNT + 1;
+        // {buffer entry} END AFTER EACH ROW; AFTER STATEMENT IS BEGIN FORALL ... INSERT INTO {targetTableName} ...
+        // END AFTER STATEMENT; END {triggerName};
+        // Timing point sections can not declare variables, hence ENTRY_INDEX is declared by the trigger.
+        return Collections.singletonList(String.format(SQL_TEMPLATE_CREATE_COMPOUND_TRIGGER_ORACLE, trigger.getName(),
+                                                       triggerEvent, trigger.getSourceTableName(), targetTableName,
+                                                       assignments, COMPOUND_TRIGGER_FLUSH_SIZE));
+    }
+
+    private String generateTableColumnList(Table table, boolean partitioned) {
+
+        TableMetaData tableMetaData = table.getTableMetaData();
+        List<String> primaryKeys = tableMetaData.getPrimaryKeys();
+
+        StringJoiner columnJoiner = new StringJoiner(", ");
+        for (ColumnData columnData : tableMetaData.getColumnDataList()) {
+            String columnEntryString = columnData.getName() + " " + getColumnType(columnData);
+            if (primaryKeys.contains(columnData.getName()) || columnData.isAutoIncrement()) {
+                columnEntryString = columnEntryString + " NOT NULL";
+            }
+            columnJoiner.add(columnEntryString);
+        }
+        if (!primaryKeys.isEmpty()) {
+            String primaryKeyConstraint = String.format("CONSTRAINT %s %s (%s)",
+                                                        getPrimaryKeyConstraintName(table.getName()),
+                                                        TABLE_ATTRIBUTE_PRIMARY_KEY, String.join(", ", primaryKeys));
+            if (partitioned) {
+                // A local index keeps dropping a partition from invalidating the primary key index.
+                primaryKeyConstraint = primaryKeyConstraint + " USING INDEX LOCAL";
+            }
+            columnJoiner.add(primaryKeyConstraint);
+        }
+        return columnJoiner.toString();
+    }
+
+    private void addCreateSequenceStatement(Table table, List<String> sqlStatements) {
+
+        for (ColumnData columnData : table.getTableMetaData().getColumnDataList()) {
+            if (columnData.isAutoIncrement()) {
+                // Auto increment columns are populated from a sequence by the journal triggers. A sequence is used
+                // instead of an identity column to support Oracle versions prior to 12c.
+                sqlStatements.add(String.format(SQL_TEMPLATE_CREATE_SEQUENCE_ORACLE, getSequenceName(table.getName())));
+                return;
+            }
+        }
+    }
+
+    private String getTransitionVariable(String triggerEvent) {
+
+        // Updated rows are journaled with their new values.
+        return SYNC_OPERATION_DELETE.equals(triggerEvent) ? ":OLD." : ":NEW.";
+    }
+
+    private String getColumnType(ColumnData columnData) {
+
+        String type = columnData.getType().toUpperCase(Locale.ENGLISH);
+        int size = columnData.getSize();
+
+        if (COLUMN_TYPE_INT.equals(type)) {
+            return COLUMN_TYPE_NUMBER + "(" + INT_PRECISION + ")";
+        } else if (COLUMN_TYPE_BIGINT.equals(type)) {
+            return COLUMN_TYPE_NUMBER + "(" + BIGINT_PRECISION + ")";
+        } else if (COLUMN_TYPE_VARCHAR.equals(type)) {
+            type = COLUMN_TYPE_VARCHAR2;
+        }
+
+        if (SIZED_COLUMN_TYPES.contains(type) && size > 0) {
+            return type + "(" + size + ")";
+        } else if (COLUMN_TYPE_NUMBER.equals(type) && size > 0) {
+            // Scale is reported as a negative value for floating point numbers.
+            int scale = Math.max(columnData.getDecimalDigits(), 0);
+            return type + "(" + size + ", " + scale + ")";
+        }
+        return type;
     }
 }
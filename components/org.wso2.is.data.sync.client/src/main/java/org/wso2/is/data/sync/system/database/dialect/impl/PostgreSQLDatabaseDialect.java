@@ -16,39 +16,270 @@
 
 package org.wso2.is.data.sync.system.database.dialect.impl;
 
+import org.wso2.is.data.sync.system.database.ColumnData;
+import org.wso2.is.data.sync.system.database.TableMetaData;
 import org.wso2.is.data.sync.system.database.dialect.Table;
 import org.wso2.is.data.sync.system.database.dialect.Trigger;
 import org.wso2.is.data.sync.system.exception.SyncClientException;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_CURRENT_TIME_MILLIS_POSTGRESQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_ALTER_COLUMN_TYPE_POSTGRESQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_ALTER_SEQUENCE_TYPE_POSTGRESQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_CREATE_DEFAULT_PARTITION_POSTGRESQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_CREATE_PARTITIONED_TABLE_POSTGRESQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_CREATE_PARTITION_POSTGRESQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_CREATE_TABLE_POSTGRESQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_CREATE_TRIGGER_FUNCTION_POSTGRESQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_CREATE_TRIGGER_POSTGRESQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_DROP_TABLE_POSTGRESQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_DROP_TRIGGER_FUNCTION_POSTGRESQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_SELECT_PARTITIONS_POSTGRESQL;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_SELECT_RANGE_CHECKSUM_POSTGRESQL;
+import static org.wso2.is.data.sync.system.util.CommonUtil.getPartitionName;
+import static org.wso2.is.data.sync.system.util.CommonUtil.getPrimaryKeyConstraintName;
+import static org.wso2.is.data.sync.system.util.CommonUtil.getTriggerFunctionName;
+import static org.wso2.is.data.sync.system.util.Constant.COLUMN_NAME_ACTION;
+import static org.wso2.is.data.sync.system.util.Constant.COLUMN_NAME_SYNC_ID;
+import static org.wso2.is.data.sync.system.util.Constant.COLUMN_TYPE_BIGINT;
+import static org.wso2.is.data.sync.system.util.Constant.PARTITION_NAME_MAX;
+import static org.wso2.is.data.sync.system.util.Constant.SELECTION_POLICY_FOR_EACH_STATEMENT;
+import static org.wso2.is.data.sync.system.util.Constant.SYNC_OPERATION_DELETE;
+import static org.wso2.is.data.sync.system.util.Constant.TABLE_ATTRIBUTE_PRIMARY_KEY;
 
 /**
  * Produces PosgreSQL specific database dialects.
+ *
+ * PostgreSQL triggers execute a trigger function. Hence each journal trigger is created along with a function which
+ * inserts the journal entries. Statement level triggers read the affected rows from the transition tables. Partitions
+ * of a partitioned journal table are tables named {table}_P{bound} with a {table}_PMAX default partition.
  */
 public class PostgreSQLDatabaseDialect extends ANSIDatabaseDialect {
 
+    private static final String TRANSITION_VARIABLE_TABLE = "NT";
+    private static final String COLUMN_TYPE_INTEGER = "INTEGER";
+    private static final String COLUMN_TYPE_SERIAL = "SERIAL";
+    private static final String COLUMN_TYPE_BIGSERIAL = "BIGSERIAL";
+    private static final String PARTITION_VALUE_MIN = "MINVALUE";
+    // Numeric columns without a declared precision are reported with a size above the maximum precision.
+    private static final int MAX_NUMERIC_PRECISION = 1000;
+    private static final List<String> SIZED_COLUMN_TYPES = Arrays.asList("CHAR", "BPCHAR", "VARCHAR");
+    private static final List<String> DECIMAL_COLUMN_TYPES = Arrays.asList("DECIMAL", "NUMERIC");
+    private static final List<String> BIGINT_COLUMN_TYPES = Arrays.asList("BIGINT", "INT8", "BIGSERIAL");
 
     @Override
     public List<String> generateCreateTrigger(Trigger trigger) throws SyncClientException {
 
-        return null;
+        String triggerEvent = trigger.getTriggerEvent();
+        String functionName = getTriggerFunctionName(trigger.getName());
+        boolean statementLevel = SELECTION_POLICY_FOR_EACH_STATEMENT.equals(trigger.getSelectionPolicy());
+        // Updated rows are journaled with their new values.
+        String transition = SYNC_OPERATION_DELETE.equals(triggerEvent) ? "OLD" : "NEW";
+
+        StringJoiner columnJoiner = new StringJoiner(", ");
+        StringJoiner columnValueJoiner = new StringJoiner(", ");
+        for (ColumnData columnData : trigger.getTableMetaData().getColumnDataList()) {
+            columnJoiner.add(columnData.getName());
+            columnValueJoiner.add((statementLevel ? TRANSITION_VARIABLE_TABLE : transition) + "." +
+                                  columnData.getName());
+        }
+
+        // Add ACTION column to the trigger.
+        columnJoiner.add(COLUMN_NAME_ACTION);
+        columnValueJoiner.add(String.format("'%s'", triggerEvent));
+
+        String insertSource;
+        String referencing;
+        if (statementLevel) {
+            insertSource = "SELECT " + columnValueJoiner + " FROM " + TRANSITION_VARIABLE_TABLE;
+            referencing = "REFERENCING " + transition + " TABLE AS " + TRANSITION_VARIABLE_TABLE + " ";
+        } else {
+            insertSource = "VALUES (" + columnValueJoiner + ")";
+            referencing = "";
+        }
+
+        List<String> sqlStatements = new ArrayList<>();
+        // CREATE OR REPLACE FUNCTION {functionName}() RETURNS TRIGGER AS $$ BEGIN INSERT INTO {targetTableName}
+        // ({columnNames}) {VALUES ({values}) | SELECT {values} FROM NT}; RETURN NULL; END; $$ LANGUAGE plpgsql
+        sqlStatements.add(String.format(SQL_TEMPLATE_CREATE_TRIGGER_FUNCTION_POSTGRESQL, functionName,
+                                        trigger.getTargetTableName(), columnJoiner, insertSource));
+        // CREATE TRIGGER {triggerName} {triggerType} {triggerEvent} ON {sourceTableName} [REFERENCING {NEW | OLD}
+        // TABLE AS NT] {selectionPolicy} EXECUTE PROCEDURE {functionName}()
+        sqlStatements.add(String.format(SQL_TEMPLATE_CREATE_TRIGGER_POSTGRESQL, trigger.getName(),
+                                        trigger.getTriggerTiming(), triggerEvent, trigger.getSourceTableName(),
+                                        referencing, trigger.getSelectionPolicy(), functionName));
+        return sqlStatements;
     }
 
     @Override
     public List<String> generateCreateTable(Table table) throws SyncClientException {
 
-        return null;
+        // CREATE TABLE IF NOT EXISTS {tableName} ({columnList})
+        return Collections.singletonList(String.format(SQL_TEMPLATE_CREATE_TABLE_POSTGRESQL, table.getName(),
+                                                       generateTableColumnList(table)));
+    }
+
+    @Override
+    public List<String> generateCreatePartitionedTable(Table table, List<Long> partitionUpperBounds)
+            throws SyncClientException {
+
+        String tableName = table.getName();
+        List<String> sqlStatements = new ArrayList<>();
+
+        // CREATE TABLE IF NOT EXISTS {tableName} ({columnList}) PARTITION BY RANGE (SYNC_ID)
+        sqlStatements.add(String.format(SQL_TEMPLATE_CREATE_PARTITIONED_TABLE_POSTGRESQL, tableName,
+                                        generateTableColumnList(table), COLUMN_NAME_SYNC_ID));
+        String lowerBound = PARTITION_VALUE_MIN;
+        for (Long upperBound : partitionUpperBounds) {
+            // CREATE TABLE IF NOT EXISTS {tableName}_P{bound} PARTITION OF {tableName} FOR VALUES FROM
+            // ({lowerBound}) TO ({bound})
+            sqlStatements.add(String.format(SQL_TEMPLATE_CREATE_PARTITION_POSTGRESQL,
+                                            getPartitionTableName(tableName, getPartitionName(upperBound)), tableName,
+                                            lowerBound, upperBound));
+            lowerBound = String.valueOf(upperBound);
+        }
+        // CREATE TABLE IF NOT EXISTS {tableName}_PMAX PARTITION OF {tableName} DEFAULT
+        sqlStatements.add(String.format(SQL_TEMPLATE_CREATE_DEFAULT_PARTITION_POSTGRESQL,
+                                        getPartitionTableName(tableName, PARTITION_NAME_MAX), tableName));
+        return sqlStatements;
+    }
+
+    @Override
+    public String generateAddPartition(String tableName, long lowerBound, long upperBound) {
+
+        // Attaching a partition scans the default partition which is expected to be empty.
+        // CREATE TABLE IF NOT EXISTS {tableName}_P{bound} PARTITION OF {tableName} FOR VALUES FROM ({lowerBound})
+        // TO ({bound})
+        return String.format(SQL_TEMPLATE_CREATE_PARTITION_POSTGRESQL,
+                             getPartitionTableName(tableName, getPartitionName(upperBound)), tableName,
+                             String.valueOf(lowerBound), upperBound);
+    }
+
+    @Override
+    public String generateDropPartition(String tableName, String partitionName) {
+
+        // Partitions are tables in PostgreSQL.
+        // DROP TABLE IF EXISTS {partitionName}
+        return String.format(SQL_TEMPLATE_DROP_TABLE_POSTGRESQL, partitionName);
+    }
+
+    @Override
+    public String generateSelectPartitions(String tableName) {
+
+        return SQL_TEMPLATE_SELECT_PARTITIONS_POSTGRESQL;
     }
 
     @Override
     public List<String> generateDropTrigger(String name) throws SyncClientException {
 
-        return null;
+        // Dropping the trigger function drops the trigger which depends on it.
+        // DROP FUNCTION IF EXISTS {functionName}() CASCADE
+        return Collections.singletonList(String.format(SQL_TEMPLATE_DROP_TRIGGER_FUNCTION_POSTGRESQL,
+                                                       getTriggerFunctionName(name)));
     }
 
     @Override
     public List<String> generateDropTable(String name) throws SyncClientException {
 
-        return null;
+        // DROP TABLE IF EXISTS {name}
+        return Collections.singletonList(String.format(SQL_TEMPLATE_DROP_TABLE_POSTGRESQL, name));
+    }
+
+    @Override
+    public List<String> generateAlterColumnType(Table table, ColumnData columnData) throws SyncClientException {
+
+        String tableName = table.getName();
+        String columnType = getColumnType(columnData);
+        List<String> sqlStatements = new ArrayList<>();
+
+        if (!columnData.isAutoIncrement()) {
+            // ALTER TABLE {tableName} ALTER COLUMN {columnName} TYPE {columnType}
+            sqlStatements.add(String.format(SQL_TEMPLATE_ALTER_COLUMN_TYPE_POSTGRESQL, tableName, columnData.getName(),
+                                            columnType));
+            return sqlStatements;
+        }
+
+        // Serial types are only valid in column definitions. The owned sequence of a serial column is named
+        // {table}_{column}_seq and has the type of the column from PostgreSQL 10 onwards.
+        String integerType = COLUMN_TYPE_BIGSERIAL.equals(columnType) ? COLUMN_TYPE_BIGINT : COLUMN_TYPE_INTEGER;
+        sqlStatements.add(String.format(SQL_TEMPLATE_ALTER_COLUMN_TYPE_POSTGRESQL, tableName, columnData.getName(),
+                                        integerType));
+        sqlStatements.add(String.format(SQL_TEMPLATE_ALTER_SEQUENCE_TYPE_POSTGRESQL,
+                                        tableName + "_" + columnData.getName() + "_SEQ", integerType));
+        return sqlStatements;
+    }
+
+    @Override
+    public String generateCurrentTimeMillis() {
+
+        // CURRENT_TIMESTAMP is the start time of the transaction in PostgreSQL.
+        // CAST(EXTRACT(EPOCH FROM CLOCK_TIMESTAMP()) * 1000 AS BIGINT)
+        return SQL_CURRENT_TIME_MILLIS_POSTGRESQL;
+    }
+
+    @Override
+    public String generateSelectChecksum(String tableName, List<ColumnData> columnDataList, String filter) {
+
+        StringJoiner columns = new StringJoiner(", ");
+        for (ColumnData columnData : columnDataList) {
+            columns.add(columnData.getName());
+        }
+        // SELECT COUNT(*), COALESCE(SUM(('x' || SUBSTR(MD5(ROW({columns})::TEXT), 1, 15))::BIT(60)::BIGINT), 0) FROM
+        // {tableName}{filter}
+        return String.format(SQL_TEMPLATE_SELECT_RANGE_CHECKSUM_POSTGRESQL, columns, tableName, filter);
+    }
+
+    private String getPartitionTableName(String tableName, String partitionName) {
+
+        return tableName + "_" + partitionName;
+    }
+
+    private String generateTableColumnList(Table table) {
+
+        TableMetaData tableMetaData = table.getTableMetaData();
+        List<String> primaryKeys = tableMetaData.getPrimaryKeys();
+
+        StringJoiner columnJoiner = new StringJoiner(", ");
+        for (ColumnData columnData : tableMetaData.getColumnDataList()) {
+            String columnEntryString = columnData.getName() + " " + getColumnType(columnData);
+            if (primaryKeys.contains(columnData.getName())) {
+                columnEntryString = columnEntryString + " NOT NULL";
+            }
+            columnJoiner.add(columnEntryString);
+        }
+        if (!primaryKeys.isEmpty()) {
+            columnJoiner.add(String.format("CONSTRAINT %s %s (%s)", getPrimaryKeyConstraintName(table.getName()),
+                                           TABLE_ATTRIBUTE_PRIMARY_KEY, String.join(", ", primaryKeys)));
+        }
+        return columnJoiner.toString();
+    }
+
+    private String getColumnType(ColumnData columnData) {
+
+        String type = columnData.getType().toUpperCase(Locale.ENGLISH);
+        int size = columnData.getSize();
+
+        if (columnData.isAutoIncrement()) {
+            return BIGINT_COLUMN_TYPES.contains(type) ? COLUMN_TYPE_BIGSERIAL : COLUMN_TYPE_SERIAL;
+        }
+        // Serial columns of the synced tables are copied to the journal as plain integers.
+        if (COLUMN_TYPE_SERIAL.equals(type)) {
+            return COLUMN_TYPE_INTEGER;
+        } else if (COLUMN_TYPE_BIGSERIAL.equals(type)) {
+            return COLUMN_TYPE_BIGINT;
+        }
+
+        if (SIZED_COLUMN_TYPES.contains(type) && size > 0 && size < Integer.MAX_VALUE) {
+            return type + "(" + size + ")";
+        } else if (DECIMAL_COLUMN_TYPES.contains(type) && size > 0 && size <= MAX_NUMERIC_PRECISION) {
+            return type + "(" + size + ", " + Math.max(columnData.getDecimalDigits(), 0) + ")";
+        }
+        return type;
     }
 }
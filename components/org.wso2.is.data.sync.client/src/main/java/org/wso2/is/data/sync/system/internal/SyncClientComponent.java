@@ -27,22 +27,25 @@ import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.wso2.carbon.identity.core.util.IdentityCoreInitializedEvent;
 import org.wso2.carbon.user.core.service.RealmService;
-import org.wso2.is.data.sync.system.SyncDataTask;
 import org.wso2.is.data.sync.system.SyncService;
 import org.wso2.is.data.sync.system.config.Configuration.ConfigurationBuilder;
+import org.wso2.is.data.sync.system.exception.SyncClientException;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.InputStream;
-import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_CONFIG_FILE_PATH;
 import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_GENERATE_DDL;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_MIGRATE_SYNC_ID;
 import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_PREPARE_SYNC;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_REPAIR_DATA;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_SNAPSHOT_DATA;
 import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_SYNC_DATA;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_VERIFY_DATA;
 
 @Component(
         name = "org.wso2.carbon.is.sync.client",
@@ -58,6 +61,11 @@ public class SyncClientComponent {
      * -DsyncData - Enable data sync related operations.
      * -DprepareSync - creates the sync triggers and tables.
      * -DgenerateDDL - (works with -DprepareSync) only generates DDLs and write to a file.
+     * -DmigrateSyncId - widens the SYNC_ID columns of sync tables created by earlier versions to BIGINT.
+     * -DgenerateDDL also works with -DmigrateSyncId.
+     * -DsnapshotData - (works with -DsyncData) copies the initial data of the sync tables before starting the sync.
+     * -DverifyData - verifies that the target sync tables hold the same rows as the source sync tables.
+     * -DrepairData - repairs the rows and ranges listed in the repair file. Works with -DsyncData to sync in parallel.
      *
      * For additional configurations, see {@link ConfigurationBuilder}
      *
@@ -70,6 +78,10 @@ public class SyncClientComponent {
 
             String dataSync = System.getProperty(JVM_PROPERTY_SYNC_DATA);
             String prepareSync = System.getProperty(JVM_PROPERTY_PREPARE_SYNC);
+            String migrateSyncId = System.getProperty(JVM_PROPERTY_MIGRATE_SYNC_ID);
+            String snapshotData = System.getProperty(JVM_PROPERTY_SNAPSHOT_DATA);
+            String verifyData = System.getProperty(JVM_PROPERTY_VERIFY_DATA);
+            String repairData = System.getProperty(JVM_PROPERTY_REPAIR_DATA);
 
             String configFilePath = System.getProperty(JVM_PROPERTY_CONFIG_FILE_PATH);
 
@@ -85,6 +97,44 @@ public class SyncClientComponent {
                 syncService = new SyncService(properties);
                 String generateDDL = System.getProperty(JVM_PROPERTY_GENERATE_DDL);
                 syncService.generateScripts(generateDDL != null);
+            } else if (migrateSyncId != null) {
+                syncService = new SyncService(properties);
+                String generateDDL = System.getProperty(JVM_PROPERTY_GENERATE_DDL);
+                syncService.generateSyncIdMigrationScripts(generateDDL != null);
+            } else if (verifyData != null) {
+                syncService = new SyncService(properties);
+                Thread thread = new Thread(() -> {
+                    try {
+                        syncService.verify();
+                    } catch (SyncClientException e) {
+                        log.error("Error occurred while verifying sync tables.", e);
+                    }
+                }, "verification-thread");
+                thread.start();
+            } else if (repairData != null) {
+                syncService = new SyncService(properties);
+                if (dataSync != null) {
+                    syncService.run();
+                }
+                // The repairs run on the repair threads of the sync service, which are stopped on deactivation.
+                syncService.repair().whenComplete((repairedRows, e) -> {
+                    if (e != null) {
+                        log.error("Error occurred while repairing sync tables.", e.getCause() != null ?
+                                e.getCause() : e);
+                    }
+                });
+            } else if (dataSync != null && snapshotData != null) {
+                syncService = new SyncService(properties);
+                // The snapshot may take a long time. Hence it is run outside the activation of the component.
+                Thread thread = new Thread(() -> {
+                    try {
+                        syncService.snapshot();
+                        syncService.run();
+                    } catch (SyncClientException e) {
+                        log.error("Error occurred while running data sync client.", e);
+                    }
+                }, "snapshot-thread");
+                thread.start();
             } else if (dataSync != null) {
                 syncService = new SyncService(properties);
                 syncService.run();
@@ -98,10 +148,7 @@ public class SyncClientComponent {
     protected void deactivate(ComponentContext context) {
 
         if (syncService != null) {
-            List<SyncDataTask> syncDataTaskList = syncService.getSyncDataTaskList();
-            for (SyncDataTask syncDataTask : syncDataTaskList) {
-                syncDataTask.shutdown();
-            }
+            syncService.shutdown();
         }
     }
 
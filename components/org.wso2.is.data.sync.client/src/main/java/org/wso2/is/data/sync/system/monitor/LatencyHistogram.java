@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.monitor;
+
+import java.util.Arrays;
+
+/**
+ * Histogram of durations over fixed bucket bounds, in the form exported as an OpenMetrics histogram.
+ */
+public class LatencyHistogram {
+
+    private final double[] bounds;
+    private final long[] counts;
+    private double sum;
+
+    /**
+     * @param bounds Inclusive upper bounds of the buckets in seconds, in ascending order. A bucket without an upper
+     *               bound is added after them.
+     */
+    public LatencyHistogram(double[] bounds) {
+
+        this.bounds = bounds.clone();
+        this.counts = new long[bounds.length + 1];
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos Duration in nanoseconds.
+     */
+    public synchronized void record(long nanos) {
+
+        double seconds = nanos / 1e9;
+        int bucket = 0;
+        while (bucket < bounds.length && seconds > bounds[bucket]) {
+            bucket++;
+        }
+        counts[bucket]++;
+        sum += seconds;
+    }
+
+    public double[] getBounds() {
+
+        return bounds.clone();
+    }
+
+    /**
+     * @return Consistent copy of the recorded durations.
+     */
+    public synchronized Snapshot getSnapshot() {
+
+        long[] cumulativeCounts = Arrays.copyOf(counts, counts.length);
+        for (int i = 1; i < cumulativeCounts.length; i++) {
+            cumulativeCounts[i] += cumulativeCounts[i - 1];
+        }
+        return new Snapshot(cumulativeCounts, sum);
+    }
+
+    /**
+     * Recorded durations of a histogram at a point in time.
+     */
+    public static class Snapshot {
+
+        private final long[] cumulativeCounts;
+        private final double sum;
+
+        private Snapshot(long[] cumulativeCounts, double sum) {
+
+            this.cumulativeCounts = cumulativeCounts;
+            this.sum = sum;
+        }
+
+        /**
+         * @return Number of durations up to the upper bound of each bucket, ending with the total count.
+         */
+        public long[] getCumulativeCounts() {
+
+            return cumulativeCounts.clone();
+        }
+
+        public long getCount() {
+
+            return cumulativeCounts[cumulativeCounts.length - 1];
+        }
+
+        /**
+         * @return Sum of the durations in seconds.
+         */
+        public double getSum() {
+
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.monitor;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.is.data.sync.system.database.JournalPartitionManager;
+import org.wso2.is.data.sync.system.pipeline.DataSyncPipeline;
+import org.wso2.is.data.sync.system.pipeline.SyncProgress;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Exports the sync statistics of the tables in the OpenMetrics text format, without depending on a metrics library.
+ * The metrics are periodically written to a file, eg: for the textfile collector of the node exporter, and served
+ * on the /metrics path of an embedded HTTP listener, if either is configured. The listener binds to the loopback
+ * address unless another address is configured.
+ */
+public class OpenMetricsExporter implements Runnable {
+
+    private static final Log log = LogFactory.getLog(OpenMetricsExporter.class);
+    private static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+    private static final String TYPE_GAUGE = "gauge";
+    private static final String TYPE_COUNTER = "counter";
+
+    private List<DataSyncPipeline> dataSyncPipelines;
+    private JournalPartitionManager journalPartitionManager;
+    private Path metricsFile;
+    private int metricsPort;
+    private String metricsHost;
+    private long exportInterval;
+    private volatile boolean active = true;
+    private HttpServer httpServer;
+
+    /**
+     * @param dataSyncPipelines Pipelines of the synced tables.
+     * @param journalPartitionManager Manager of the journal partitions, or null if the journals are not partitioned.
+     * @param metricsFile File to write the metrics to, or null to not write a file.
+     * @param metricsPort Port of the HTTP listener serving the metrics, or 0 to not start a listener.
+     * @param metricsHost Address the HTTP listener binds to, or null to bind to the loopback address.
+     * @param exportInterval Interval between the writes of the metrics file.
+     */
+    public OpenMetricsExporter(List<DataSyncPipeline> dataSyncPipelines, JournalPartitionManager
+            journalPartitionManager, String metricsFile, int metricsPort, String metricsHost,
+                               long exportInterval) {
+
+        this.dataSyncPipelines = dataSyncPipelines;
+        this.journalPartitionManager = journalPartitionManager;
+        this.metricsFile = metricsFile == null ? null : Paths.get(metricsFile);
+        this.metricsPort = metricsPort;
+        this.metricsHost = metricsHost;
+        this.exportInterval = exportInterval;
+    }
+
+    @Override
+    public void run() {
+
+        if (metricsPort > 0) {
+            startListener();
+        }
+        if (metricsFile == null) {
+            return;
+        }
+        log.info("Writing sync metrics to file: " + metricsFile.toAbsolutePath());
+        while (active) {
+            writeFile();
+            try {
+                TimeUnit.MILLISECONDS.sleep(exportInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    public void shutdown() {
+
+        log.info("Shutting down metrics exporter.");
+        this.active = false;
+        if (httpServer != null) {
+            httpServer.stop(0);
+        }
+    }
+
+    /**
+     * Renders the current statistics of the synced tables.
+     *
+     * @return Metrics in the OpenMetrics text format.
+     */
+    public String scrape() {
+
+        StringBuilder metrics = new StringBuilder();
+        writeFamily(metrics, "sync_source_max_sync_id", TYPE_GAUGE, null,
+                    "Largest SYNC_ID of the source journal read by the last batch.",
+                    progress -> progress.getSourceMaxSyncId());
+        writeFamily(metrics, "sync_committed_sync_id", TYPE_GAUGE, null,
+                    "Largest SYNC_ID committed to the target.", progress -> progress.getSyncedSyncId());
+        writeFamily(metrics, "sync_backlog_entries", TYPE_GAUGE, null,
+                    "Upper bound of the number of journal entries to be synced.", progress -> progress.getBacklog());
+        writeFamily(metrics, "sync_applied_entries", TYPE_COUNTER, null,
+                    "Journal entries committed to the target.", progress -> progress.getAppliedEntries());
+        writeFamily(metrics, "sync_unchanged_entries", TYPE_COUNTER, null,
+                    "Committed journal entries not written since the target held the same values.",
+                    progress -> progress.getUnchangedEntries());
+        writeFamily(metrics, "sync_batches", TYPE_COUNTER, null,
+                    "Committed batches with journal entries.", progress -> progress.getBatches());
+        writeFamily(metrics, "sync_failed_batches", TYPE_COUNTER, null,
+                    "Batches rolled back or failed with an error.", progress -> progress.getFailedBatches());
+        writeFamily(metrics, "sync_rollbacks", TYPE_COUNTER, null,
+                    "Batches rolled back since an entry could not be persisted.",
+                    progress -> progress.getRollbacks());
+        writeFamily(metrics, "sync_last_failure_timestamp_seconds", TYPE_GAUGE, "seconds",
+                    "Time of the last failed batch, or 0 if no batch failed.",
+                    progress -> progress.getLastErrorTime() / 1000.0);
+        writeFamily(metrics, "sync_transform_seconds", TYPE_COUNTER, "seconds",
+                    "Time spent transforming journal entries.", progress -> progress.getTransformNanos() / 1e9);
+        writeFamily(metrics, "sync_write_seconds", TYPE_COUNTER, "seconds",
+                    "Time spent persisting journal entries to the target.",
+                    progress -> progress.getWriteNanos() / 1e9);
+        writeBatchDurations(metrics);
+        writePipelineFamily(metrics, "sync_paused", TYPE_GAUGE, "Whether syncing the table is paused.",
+                            dataSyncPipeline -> dataSyncPipeline.isPaused() ? 1 : 0);
+        writePipelineFamily(metrics, "sync_batch_size", TYPE_GAUGE, "Number of journal entries per batch.",
+                            DataSyncPipeline::getBatchSize);
+        if (journalPartitionManager != null) {
+            writePipelineFamily(metrics, "sync_journal_purged_sync_id", TYPE_GAUGE,
+                                "Largest SYNC_ID purged from the source journal by dropping partitions.",
+                                dataSyncPipeline -> journalPartitionManager.getPurgedSyncId(
+                                        dataSyncPipeline.getTableName()));
+            writePipelineFamily(metrics, "sync_journal_dropped_partitions", TYPE_COUNTER,
+                                "Applied partitions dropped from the source journal.",
+                                dataSyncPipeline -> journalPartitionManager.getDroppedPartitions(
+                                        dataSyncPipeline.getTableName()));
+        }
+        metrics.append("# EOF\n");
+        return metrics.toString();
+    }
+
+    private void writeFamily(StringBuilder metrics, String name, String type, String unit, String help,
+                             Function<SyncProgress, Number> value) {
+
+        writeHeader(metrics, name, type, unit, help);
+        for (DataSyncPipeline dataSyncPipeline : dataSyncPipelines) {
+            writeSample(metrics, name, type, dataSyncPipeline, value.apply(dataSyncPipeline.getSyncProgress()));
+        }
+    }
+
+    private void writePipelineFamily(StringBuilder metrics, String name, String type, String help,
+                                     Function<DataSyncPipeline, Number> value) {
+
+        writeHeader(metrics, name, type, null, help);
+        for (DataSyncPipeline dataSyncPipeline : dataSyncPipelines) {
+            writeSample(metrics, name, type, dataSyncPipeline, value.apply(dataSyncPipeline));
+        }
+    }
+
+    private void writeBatchDurations(StringBuilder metrics) {
+
+        String name = "sync_batch_duration_seconds";
+        writeHeader(metrics, name, "histogram", "seconds",
+                    "Duration of the batches which processed journal entries or failed.");
+        for (DataSyncPipeline dataSyncPipeline : dataSyncPipelines) {
+            LatencyHistogram batchDurations = dataSyncPipeline.getSyncProgress().getBatchDurations();
+            double[] bounds = batchDurations.getBounds();
+            LatencyHistogram.Snapshot snapshot = batchDurations.getSnapshot();
+            long[] cumulativeCounts = snapshot.getCumulativeCounts();
+            String labels = getLabels(dataSyncPipeline);
+            for (int i = 0; i < cumulativeCounts.length; i++) {
+                String bound = i < bounds.length ? String.valueOf(bounds[i]) : "+Inf";
+                metrics.append(name).append("_bucket{").append(labels).append(",le=\"").append(bound)
+                        .append("\"} ").append(cumulativeCounts[i]).append('\n');
+            }
+            metrics.append(name).append("_count{").append(labels).append("} ").append(snapshot.getCount())
+                    .append('\n');
+            metrics.append(name).append("_sum{").append(labels).append("} ").append(snapshot.getSum()).append('\n');
+        }
+    }
+
+    private void writeHeader(StringBuilder metrics, String name, String type, String unit, String help) {
+
+        metrics.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        if (unit != null) {
+            metrics.append("# UNIT ").append(name).append(' ').append(unit).append('\n');
+        }
+        metrics.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    }
+
+    private void writeSample(StringBuilder metrics, String name, String type, DataSyncPipeline dataSyncPipeline,
+                             Number value) {
+
+        metrics.append(name);
+        if (TYPE_COUNTER.equals(type)) {
+            metrics.append("_total");
+        }
+        metrics.append('{').append(getLabels(dataSyncPipeline)).append("} ").append(value).append('\n');
+    }
+
+    private String getLabels(DataSyncPipeline dataSyncPipeline) {
+
+        return "schema=\"" + escape(dataSyncPipeline.getSchema()) + "\",table=\"" +
+               escape(dataSyncPipeline.getTableName()) + "\"";
+    }
+
+    private String escape(String labelValue) {
+
+        if (labelValue == null) {
+            return "";
+        }
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private void startListener() {
+
+        InetSocketAddress address = metricsHost == null ?
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), metricsPort) :
+                new InetSocketAddress(metricsHost, metricsPort);
+        try {
+            httpServer = HttpServer.create(address, 0);
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Error while starting the metrics listener on: " + address, e);
+            return;
+        }
+        httpServer.createContext("/metrics", exchange -> {
+            try {
+                byte[] body = scrape().getBytes(UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(body);
+                }
+            } finally {
+                exchange.close();
+            }
+        });
+        httpServer.start();
+        log.info("Serving sync metrics on: " + address + " at path: /metrics");
+    }
+
+    private void writeFile() {
+
+        // The metrics are written to a temporary file and moved, so that a reader never sees a partial file.
+        Path tempFile = metricsFile.resolveSibling(metricsFile.getFileName() + ".tmp");
+        try {
+            Files.write(tempFile, scrape().getBytes(UTF_8));
+            try {
+                Files.move(tempFile, metricsFile, StandardCopyOption.REPLACE_EXISTING,
+                           StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, metricsFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.error("Error while writing sync metrics to file: " + metricsFile.toAbsolutePath(), e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.monitor;
+
+/**
+ * Management interface of the sync pipeline of a table. An instance is registered per synced table under the
+ * object name org.wso2.is.data.sync:type=SyncPipeline,schema={schema},table={table}.
+ */
+public interface SyncPipelineMXBean {
+
+    String getTableName();
+
+    String getSchema();
+
+    /**
+     * @return Largest SYNC_ID of the source journal read by the last batch.
+     */
+    long getSourceMaxSyncId();
+
+    /**
+     * @return Largest SYNC_ID committed to the target.
+     */
+    long getCommittedSyncId();
+
+    /**
+     * @return Upper bound of the number of journal entries to be synced.
+     */
+    long getBacklog();
+
+    /**
+     * @return Number of journal entries synced since the sync started.
+     */
+    long getAppliedEntries();
+
+    /**
+     * @return Journal entries applied per second over the last minute.
+     */
+    double getRowsPerSecondOneMinute();
+
+    /**
+     * @return Journal entries applied per second over the last five minutes.
+     */
+    double getRowsPerSecondFiveMinutes();
+
+    /**
+     * @return Number of committed batches with journal entries.
+     */
+    long getBatchCount();
+
+    /**
+     * @return Number of batches rolled back or failed with an error.
+     */
+    long getFailedBatchCount();
+
+    /**
+     * @return Reason of the last failed batch, or null if no batch failed.
+     */
+    String getLastError();
+
+    /**
+     * @return Time in milliseconds of the last failed batch, or 0 if no batch failed.
+     */
+    long getLastErrorTime();
+
+    int getBatchSize();
+
+    /**
+     * Changes the number of journal entries per batch of the table from the next batch.
+     *
+     * @param batchSize Number of journal entries per batch.
+     */
+    void setBatchSize(int batchSize);
+
+    boolean isPaused();
+
+    /**
+     * Pauses syncing the table, and the tables synced together with it in foreign key order.
+     */
+    void pause();
+
+    /**
+     * Resumes syncing a paused table.
+     */
+    void resume();
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.monitor;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.is.data.sync.system.pipeline.DataSyncPipeline;
+import org.wso2.is.data.sync.system.pipeline.SyncProgress;
+
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.wso2.is.data.sync.system.util.Constant.MBEAN_DOMAIN;
+
+/**
+ * Exposes the sync progress of a table and the controls of its pipeline through JMX.
+ */
+public class SyncPipelineMonitor implements SyncPipelineMXBean {
+
+    private static final Log log = LogFactory.getLog(SyncPipelineMonitor.class);
+    private DataSyncPipeline dataSyncPipeline;
+    private ObjectName objectName;
+
+    public SyncPipelineMonitor(DataSyncPipeline dataSyncPipeline) {
+
+        this.dataSyncPipeline = dataSyncPipeline;
+    }
+
+    /**
+     * Registers the MBean of the table in the platform MBean server. A failure to register is logged, since
+     * monitoring is not required to sync the table.
+     */
+    public void register() {
+
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(MBEAN_DOMAIN + ":type=SyncPipeline,schema=" +
+                                             ObjectName.quote(getSchema()) + ",table=" +
+                                             ObjectName.quote(getTableName()));
+            mBeanServer.registerMBean(this, name);
+            objectName = name;
+        } catch (JMException e) {
+            log.warn("Error while registering the MBean of table: " + getTableName(), e);
+        }
+    }
+
+    public void unregister() {
+
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            log.warn("Error while unregistering the MBean of table: " + getTableName(), e);
+        }
+        objectName = null;
+    }
+
+    @Override
+    public String getTableName() {
+
+        return dataSyncPipeline.getTableName();
+    }
+
+    @Override
+    public String getSchema() {
+
+        return dataSyncPipeline.getSchema();
+    }
+
+    @Override
+    public long getSourceMaxSyncId() {
+
+        return getSyncProgress().getSourceMaxSyncId();
+    }
+
+    @Override
+    public long getCommittedSyncId() {
+
+        return getSyncProgress().getSyncedSyncId();
+    }
+
+    @Override
+    public long getBacklog() {
+
+        return getSyncProgress().getBacklog();
+    }
+
+    @Override
+    public long getAppliedEntries() {
+
+        return getSyncProgress().getAppliedEntries();
+    }
+
+    @Override
+    public double getRowsPerSecondOneMinute() {
+
+        return getSyncProgress().getApplyRate(60);
+    }
+
+    @Override
+    public double getRowsPerSecondFiveMinutes() {
+
+        return getSyncProgress().getApplyRate(300);
+    }
+
+    @Override
+    public long getBatchCount() {
+
+        return getSyncProgress().getBatches();
+    }
+
+    @Override
+    public long getFailedBatchCount() {
+
+        return getSyncProgress().getFailedBatches();
+    }
+
+    @Override
+    public String getLastError() {
+
+        return getSyncProgress().getLastError();
+    }
+
+    @Override
+    public long getLastErrorTime() {
+
+        return getSyncProgress().getLastErrorTime();
+    }
+
+    @Override
+    public int getBatchSize() {
+
+        return dataSyncPipeline.getBatchSize();
+    }
+
+    @Override
+    public void setBatchSize(int batchSize) {
+
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Invalid batch size: " + batchSize);
+        }
+        dataSyncPipeline.setBatchSize(batchSize);
+        log.info("Batch size of table: " + getTableName() + " is set to: " + batchSize);
+    }
+
+    @Override
+    public boolean isPaused() {
+
+        return dataSyncPipeline.isPaused();
+    }
+
+    @Override
+    public void pause() {
+
+        dataSyncPipeline.pause();
+        log.info("Paused syncing table: " + getTableName());
+    }
+
+    @Override
+    public void resume() {
+
+        dataSyncPipeline.resume();
+        log.info("Resumed syncing table: " + getTableName());
+    }
+
+    private SyncProgress getSyncProgress() {
+
+        return dataSyncPipeline.getSyncProgress();
+    }
+}
@@ -18,19 +18,33 @@ package org.wso2.is.data.sync.system.pipeline;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.is.data.sync.system.database.Lease;
+import org.wso2.is.data.sync.system.database.PinnedConnection;
 import org.wso2.is.data.sync.system.exception.SyncClientException;
 import org.wso2.is.data.sync.system.pipeline.process.BatchProcessor;
 import org.wso2.is.data.sync.system.pipeline.persist.Persistor;
 import org.wso2.is.data.sync.system.pipeline.result.ResultHandler;
 import org.wso2.is.data.sync.system.pipeline.result.TransactionResult;
 import org.wso2.is.data.sync.system.config.Configuration;
+import org.wso2.is.data.sync.system.pipeline.transform.ChainDataTransformer;
 import org.wso2.is.data.sync.system.pipeline.transform.DataTransformer;
 import org.wso2.is.data.sync.system.pipeline.transform.DataTransformerFactory;
+import org.wso2.is.data.sync.system.pipeline.transform.EntryTransformationState;
+import org.wso2.is.data.sync.system.pipeline.transform.EntryTransformer;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
+import static org.wso2.is.data.sync.system.util.CommonUtil.getSyncTableName;
+import static org.wso2.is.data.sync.system.util.CommonUtil.getSyncVersionTableName;
+import static org.wso2.is.data.sync.system.util.Constant.CONTEXT_PROPERTY_LAST_SYNC_ID;
+import static org.wso2.is.data.sync.system.util.Constant.CONTEXT_PROPERTY_MAX_SYNC_ID;
+import static org.wso2.is.data.sync.system.util.Constant.CONTEXT_PROPERTY_SOURCE_MAX_SYNC_ID;
+import static org.wso2.is.data.sync.system.util.Constant.CONTEXT_PROPERTY_TARGET_SYNC_ID;
+import static org.wso2.is.data.sync.system.util.Constant.CONTEXT_PROPERTY_UNCHANGED_ENTRIES;
+
 /**
  * Represent the model for data sync related operation. The modeling is done a four part pipeline.
  * 1. Batch processing of data to be synced.
@@ -39,23 +53,33 @@ import java.util.List;
  * 4. Validating the data persistence results.
  * Once all the steps of the pipeline is completed and the data persistence results are successful, the pipeline will
  * commit the transaction for the processed batch.
+ * With streaming batches, the first three steps run on one journal entry at a time while the batch is read from the
+ * journal, hence the memory used by a batch does not grow with the batch size.
  */
 public class DataSyncPipeline {
 
     private Persistor persistor;
     private DataTransformer dataTransformer;
+    private List<EntryTransformer> entryTransformers;
     private BatchProcessor batchProcessor;
     private ResultHandler resultHandler;
     private DataTransformerFactory dataTransformerFactory;
     private PipelineConfiguration pipelineConfiguration;
     private static final Log log = LogFactory.getLog(DataSyncPipeline.class);
     private boolean active = true;
+    private volatile boolean paused;
+    private boolean lastBatchSuccessful;
+    private PinnedConnection sourcePinnedConnection;
+    private PinnedConnection targetPinnedConnection;
+    private SyncProgress syncProgress;
+    private Lease lease;
 
     public DataSyncPipeline(DataTransformerFactory dataTransformerFactory, PipelineConfiguration
             pipelineConfiguration) {
 
         this.dataTransformerFactory = dataTransformerFactory;
         this.pipelineConfiguration = pipelineConfiguration;
+        this.syncProgress = new SyncProgress(pipelineConfiguration.getTableName());
     }
 
     /**
@@ -86,55 +110,117 @@ public class DataSyncPipeline {
      */
     public boolean processBatch() throws SyncClientException {
 
+        return processBatch(null);
+    }
+
+    /**
+     * Processes a batch of journal entries up to the given SYNC_ID from the source and sync them to the target.
+     *
+     * @param maxSyncId Largest SYNC_ID of the journal entries to be synced or null if the batch is not bounded.
+     * @return True if there are no more data available in the journal to be synced up to the given SYNC_ID.
+     * @throws SyncClientException If an error occurs while syncing data.
+     */
+    public boolean processBatch(Long maxSyncId) throws SyncClientException {
+
+        lastBatchSuccessful = false;
+        if (lease != null && !lease.isValid()) {
+            // The lease may expire before the batch commits. Retry once the lease is renewed.
+            return true;
+        }
+        boolean connectionsHealthy = false;
         String schema = pipelineConfiguration.getSchema();
+        // The batch size may be changed through JMX while the batch is in progress.
+        int batchSize = pipelineConfiguration.getBatchSize();
         Connection sourceConnection = null;
         Connection targetConnection = null;
+        long startTime = System.nanoTime();
+        // Time spent transforming and persisting the entries of the batch.
+        long[] stageNanos = new long[2];
+        int processedEntries = 0;
         try {
             try {
-                sourceConnection = pipelineConfiguration.getSourceDataSource().getConnection();
+                sourceConnection = getSourceConnection();
             } catch (SQLException e) {
                 throw new SyncClientException("Error while creating source connection from data source for schema: "
                         + schema);
             }
             try {
-                targetConnection = pipelineConfiguration.getTargetDataSource().getConnection();
-                targetConnection.setAutoCommit(false);
+                targetConnection = getTargetConnection();
             } catch (SQLException e) {
                 throw new SyncClientException("Error while creating target connection from data source for schema: "
                         + schema);
             }
             PipelineContext context = new PipelineContext(sourceConnection, targetConnection,
                     pipelineConfiguration);
+            if (maxSyncId != null) {
+                context.addProperty(CONTEXT_PROPERTY_MAX_SYNC_ID, maxSyncId);
+            }
 
-            List<JournalEntry> journalEntryBatch = batchProcessor.pollJournal(context);
-            List<JournalEntry> transformedJournalEntryBatch = dataTransformer.transform(journalEntryBatch, context);
-            List<TransactionResult> transactionResults = persistor.persist(transformedJournalEntryBatch, context);
+            List<TransactionResult> transactionResults;
+            if (entryTransformers != null) {
+                transactionResults = new ArrayList<>(1);
+                processedEntries = streamBatch(context, batchSize, transactionResults, stageNanos);
+                observeProgress(context);
+            } else {
+                List<JournalEntry> journalEntryBatch = batchProcessor.pollJournal(context, batchSize);
+                observeProgress(context);
+                long transformStartTime = System.nanoTime();
+                List<JournalEntry> transformedJournalEntryBatch = dataTransformer.transform(journalEntryBatch,
+                                                                                            context);
+                long writeStartTime = System.nanoTime();
+                transactionResults = persistor.persist(transformedJournalEntryBatch, context);
+                stageNanos[0] = writeStartTime - transformStartTime;
+                stageNanos[1] = System.nanoTime() - writeStartTime;
+                processedEntries = transactionResults.size();
+            }
             boolean batchProcessingSuccess = resultHandler.processResults(transactionResults, context);
+            String failure = batchProcessingSuccess ? null : getFailure(transactionResults);
+            if (batchProcessingSuccess && lease != null && !lease.fence(targetConnection)) {
+                // The table may be synced by another sync client instance. Hence the batch is discarded.
+                batchProcessingSuccess = false;
+                failure = "Lease: " + lease.getName() + " is no longer held.";
+                log.warn("Rolling back the batch of table: " + pipelineConfiguration.getTableName() + " since the " +
+                         "lease: " + lease.getName() + " is no longer held.");
+            }
+            connectionsHealthy = true;
 
             if (batchProcessingSuccess) {
                 try {
                     targetConnection.commit();
                     sourceConnection.commit();
+                    Object lastSyncId = context.getProperty(CONTEXT_PROPERTY_LAST_SYNC_ID);
+                    if (lastSyncId != null) {
+                        syncProgress.applied((Long) lastSyncId, processedEntries);
+                    }
+                    Object unchangedEntries = context.getProperty(CONTEXT_PROPERTY_UNCHANGED_ENTRIES);
+                    if (unchangedEntries != null) {
+                        syncProgress.unchanged((Integer) unchangedEntries);
+                    }
                 } catch (SQLException e) {
                     batchProcessingSuccess = false;
+                    connectionsHealthy = false;
+                    syncProgress.failed("Error while committing sync transaction: " + e.getMessage());
                     log.error("Error while committing sync transaction on table: " + pipelineConfiguration
                             .getTableName(), e);
                 }
             } else {
+                syncProgress.failed(failure);
+                syncProgress.rolledBack();
                 try {
                     targetConnection.rollback();
                     sourceConnection.rollback();
                 } catch (SQLException e) {
+                    connectionsHealthy = false;
                     log.error("Error while rolling back sync transaction on table: " + pipelineConfiguration
                             .getTableName(), e);
                 }
             }
-            int batchSize = context.getPipelineConfiguration().getConfiguration().getBatchSize();
+            lastBatchSuccessful = batchProcessingSuccess;
 
             if (!batchProcessingSuccess) {
                 // Processing the batch failed. Hence completing this iteration and retry in the next iteration.
                 return true;
-            } else if (transactionResults.size() < batchSize) {
+            } else if (processedEntries < batchSize) {
                 // Number of processed records are smaller than the batch size. Since there are no more entries to
                 // process completing this iteration.
                 return true;
@@ -142,18 +228,240 @@ public class DataSyncPipeline {
                 // Continue to process the next batch.
                 return false;
             }
+        } catch (SyncClientException e) {
+            syncProgress.failed(e.getMessage());
+            throw e;
         } finally {
-            try {
-                if (sourceConnection != null) {
-                    sourceConnection.close();
+            if (processedEntries > 0 || !lastBatchSuccessful) {
+                syncProgress.timed(System.nanoTime() - startTime, stageNanos[0], stageNanos[1]);
+            }
+            if (sourcePinnedConnection != null) {
+                if (!connectionsHealthy) {
+                    // The transaction state of the connections is unknown after an error. Hence replace them.
+                    sourcePinnedConnection.recycle();
+                    targetPinnedConnection.recycle();
                 }
-                if (targetConnection != null) {
-                    targetConnection.close();
+            } else {
+                try {
+                    if (sourceConnection != null) {
+                        sourceConnection.close();
+                    }
+                    if (targetConnection != null) {
+                        targetConnection.close();
+                    }
+                } catch (SQLException e) {
+                    log.error("Error while closing connection of schema: " + schema, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Streams a batch from the journal cursor through the entry transformers to the target table, one journal entry
+     * at a time. Only the result of the last persisted entry is retained, which is sufficient for the result handler
+     * since persisting stops at the first failure.
+     *
+     * @param context Context of the current data sync pipeline.
+     * @param batchSize Maximum number of journal entries of the batch.
+     * @param transactionResults List to which the result of the last persisted entry is added.
+     * @param stageNanos Array to which the time spent transforming and persisting the entries is added.
+     * @return Number of journal entries processed.
+     * @throws SyncClientException If an error occurs while reading, transforming or persisting an entry.
+     */
+    private int streamBatch(PipelineContext context, int batchSize, List<TransactionResult> transactionResults,
+                            long[] stageNanos) throws SyncClientException {
+
+        TransactionResult[] lastResult = new TransactionResult[1];
+        int processedEntries;
+        try (Persistor.EntryWriter entryWriter = persistor.openWriter(context)) {
+            processedEntries = batchProcessor.streamJournal(context, batchSize, journalEntry -> {
+                long transformStartTime = System.nanoTime();
+                EntryTransformationState state = new EntryTransformationState();
+                for (EntryTransformer entryTransformer : entryTransformers) {
+                    entryTransformer.transform(journalEntry, state, context);
                 }
+                long writeStartTime = System.nanoTime();
+                lastResult[0] = entryWriter.write(journalEntry);
+                stageNanos[0] += writeStartTime - transformStartTime;
+                stageNanos[1] += System.nanoTime() - writeStartTime;
+                return lastResult[0].isSuccess();
+            });
+        }
+        if (lastResult[0] != null) {
+            transactionResults.add(lastResult[0]);
+        }
+        return processedEntries;
+    }
+
+    private String getFailure(List<TransactionResult> transactionResults) {
+
+        for (TransactionResult transactionResult : transactionResults) {
+            if (!transactionResult.isSuccess() && transactionResult.getException() != null) {
+                return "Error while persisting entry: " + transactionResult.getException().getMessage();
+            }
+        }
+        return "Error while persisting entry.";
+    }
+
+    private void observeProgress(PipelineContext context) {
+
+        Object sourceMaxSyncId = context.getProperty(CONTEXT_PROPERTY_SOURCE_MAX_SYNC_ID);
+        Object targetSyncId = context.getProperty(CONTEXT_PROPERTY_TARGET_SYNC_ID);
+        if (sourceMaxSyncId != null && targetSyncId != null) {
+            syncProgress.observe((Long) sourceMaxSyncId, (Long) targetSyncId);
+        }
+    }
+
+    private Connection getSourceConnection() throws SQLException {
+
+        if (sourcePinnedConnection != null) {
+            return sourcePinnedConnection.getConnection();
+        }
+        return pipelineConfiguration.getSourceDataSource().getConnection();
+    }
+
+    private Connection getTargetConnection() throws SQLException {
+
+        if (targetPinnedConnection != null) {
+            return targetPinnedConnection.getConnection();
+        }
+        Connection targetConnection = pipelineConfiguration.getTargetDataSource().getConnection();
+        try {
+            targetConnection.setAutoCommit(false);
+        } catch (SQLException e) {
+            targetConnection.close();
+            throw e;
+        }
+        return targetConnection;
+    }
+
+    /**
+     * Returns the largest SYNC_ID of the source journal. Journal entries up to this SYNC_ID are committed in the
+     * source, hence so are the rows of parent tables they reference if the parent journal is read afterwards.
+     *
+     * @return Largest SYNC_ID of the source journal.
+     * @throws SyncClientException If an error occurs while reading the journal.
+     */
+    public long getSourceMaxSyncId() throws SyncClientException {
+
+        String schema = pipelineConfiguration.getSchema();
+        String syncTableName = getSyncTableName(pipelineConfiguration.getTableName());
+        if (sourcePinnedConnection != null) {
+            try {
+                return batchProcessor.getSourceMaxSyncId(syncTableName, sourcePinnedConnection.getConnection());
             } catch (SQLException e) {
-                log.error("Error while closing connection of schema: " + schema, e);
+                sourcePinnedConnection.recycle();
+                throw new SyncClientException("Error while creating source connection from data source for schema: "
+                        + schema, e);
+            } catch (SyncClientException e) {
+                sourcePinnedConnection.recycle();
+                throw e;
             }
         }
+        return readSourceMaxSyncId();
+    }
+
+    /**
+     * Returns the largest SYNC_ID of the source journal, read on a connection borrowed from the source pool. Unlike
+     * {@link #getSourceMaxSyncId()}, this does not use the pinned connection of the sync task, hence it can be called
+     * from other threads while a batch is in progress.
+     *
+     * @return Largest SYNC_ID of the source journal.
+     * @throws SyncClientException If an error occurs while reading the journal.
+     */
+    public long readSourceMaxSyncId() throws SyncClientException {
+
+        String syncTableName = getSyncTableName(pipelineConfiguration.getTableName());
+        try (Connection sourceConnection = pipelineConfiguration.getSourceDataSource().getConnection()) {
+            return batchProcessor.getSourceMaxSyncId(syncTableName, sourceConnection);
+        } catch (SQLException e) {
+            throw new SyncClientException("Error while creating source connection from data source for schema: "
+                    + pipelineConfiguration.getSchema(), e);
+        }
+    }
+
+    /**
+     * Returns the SYNC_ID committed in the sync version table of the target, read on a connection borrowed from the
+     * target pool. Unlike the {@link SyncProgress}, this reflects batches committed by any sync client instance.
+     *
+     * @return Committed SYNC_ID of the target.
+     * @throws SyncClientException If an error occurs while reading the sync version table.
+     */
+    public long readTargetSyncId() throws SyncClientException {
+
+        String syncVersionTableName = getSyncVersionTableName(pipelineConfiguration.getTableName());
+        try (Connection targetConnection = pipelineConfiguration.getTargetDataSource().getConnection()) {
+            return batchProcessor.getTargetSyncId(syncVersionTableName, targetConnection);
+        } catch (SQLException e) {
+            throw new SyncClientException("Error while creating target connection from data source for schema: "
+                    + pipelineConfiguration.getSchema(), e);
+        }
+    }
+
+    /**
+     * @return True if the last processed batch was committed.
+     */
+    public boolean isLastBatchSuccessful() {
+
+        return lastBatchSuccessful;
+    }
+
+    public SyncProgress getSyncProgress() {
+
+        return syncProgress;
+    }
+
+    public String getTableName() {
+
+        return pipelineConfiguration.getTableName();
+    }
+
+    public String getSchema() {
+
+        return pipelineConfiguration.getSchema();
+    }
+
+    public int getBatchSize() {
+
+        return pipelineConfiguration.getBatchSize();
+    }
+
+    /**
+     * Overrides the batch size of the table from the next batch.
+     *
+     * @param batchSize Number of journal entries per batch.
+     */
+    public void setBatchSize(int batchSize) {
+
+        pipelineConfiguration.setBatchSize(batchSize);
+    }
+
+    /**
+     * Sets the lease which fences the batches of the table when coordinating with other sync client instances.
+     *
+     * @param lease Lease of the sync task of the table.
+     */
+    public void setLease(Lease lease) {
+
+        this.lease = lease;
+    }
+
+    /**
+     * Pauses syncing the table. The batch in progress, if any, is completed.
+     */
+    public void pause() {
+
+        paused = true;
+    }
+
+    public void resume() {
+
+        paused = false;
+    }
+
+    public boolean isPaused() {
+
+        return paused;
     }
 
     /**
@@ -166,12 +474,31 @@ public class DataSyncPipeline {
         dataTransformer = dataTransformerFactory.buildTransformer(pipelineConfiguration.getTableName(),
                 configuration.getSourceVersion(),
                 configuration.getTargetVersion());
-        batchProcessor = new BatchProcessor();
+        batchProcessor = new BatchProcessor(dataTransformer.getAccessedColumns());
+        if (configuration.isStreamingBatches()) {
+            if (dataTransformer instanceof ChainDataTransformer) {
+                entryTransformers = ((ChainDataTransformer) dataTransformer).getEntryTransformers();
+            }
+            if (entryTransformers == null) {
+                log.info("Data transformers of table: " + pipelineConfiguration.getTableName() + " require the " +
+                         "whole batch. Hence the batches of the table are not streamed.");
+            }
+        }
         resultHandler = new ResultHandler();
+        if (configuration.isPinnedConnections()) {
+            sourcePinnedConnection = new PinnedConnection(pipelineConfiguration.getSourceDataSource(), true,
+                                                          configuration.getConnectionValidationInterval());
+            targetPinnedConnection = new PinnedConnection(pipelineConfiguration.getTargetDataSource(), false,
+                                                          configuration.getConnectionValidationInterval());
+        }
     }
 
     public void exit() {
 
         this.active = false;
+        if (sourcePinnedConnection != null) {
+            sourcePinnedConnection.close();
+            targetPinnedConnection.close();
+        }
     }
 }
@@ -17,6 +17,8 @@
 package org.wso2.is.data.sync.system.pipeline;
 
 import org.wso2.is.data.sync.system.config.Configuration;
+import org.wso2.is.data.sync.system.database.SchemaCatalog;
+import org.wso2.is.data.sync.system.database.dialect.DatabaseDialect;
 
 import javax.sql.DataSource;
 
@@ -27,15 +29,24 @@ public class PipelineConfiguration {
     private String schema;
     private DataSource sourceDataSource;
     private DataSource targetDataSource;
+    private DatabaseDialect sourceDatabaseDialect;
+    private DatabaseDialect targetDatabaseDialect;
+    private SchemaCatalog schemaCatalog;
+    private volatile int batchSize;
 
     public PipelineConfiguration(Configuration configuration, String tableName, String schema,
-                                 DataSource sourceDataSource, DataSource targetDataSource) {
+                                 DataSource sourceDataSource, DataSource targetDataSource,
+                                 DatabaseDialect sourceDatabaseDialect, DatabaseDialect targetDatabaseDialect,
+                                 SchemaCatalog schemaCatalog) {
 
         this.configuration = configuration;
         this.tableName = tableName;
         this.schema = schema;
         this.sourceDataSource = sourceDataSource;
         this.targetDataSource = targetDataSource;
+        this.sourceDatabaseDialect = sourceDatabaseDialect;
+        this.targetDatabaseDialect = targetDatabaseDialect;
+        this.schemaCatalog = schemaCatalog;
     }
 
     public Configuration getConfiguration() {
@@ -77,4 +88,37 @@ public class PipelineConfiguration {
 
         return targetDataSource;
     }
+
+    public DatabaseDialect getSourceDatabaseDialect() {
+
+        return sourceDatabaseDialect;
+    }
+
+    public DatabaseDialect getTargetDatabaseDialect() {
+
+        return targetDatabaseDialect;
+    }
+
+    public SchemaCatalog getSchemaCatalog() {
+
+        return schemaCatalog;
+    }
+
+    /**
+     * @return Batch size of the table, which is the configured batch size unless it is overridden for the table.
+     */
+    public int getBatchSize() {
+
+        return batchSize > 0 ? batchSize : configuration.getBatchSize();
+    }
+
+    /**
+     * Overrides the batch size of the table. The new size applies from the next batch.
+     *
+     * @param batchSize Batch size of the table, or 0 to use the configured batch size.
+     */
+    public void setBatchSize(int batchSize) {
+
+        this.batchSize = batchSize;
+    }
 }
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.pipeline;
+
+import org.wso2.is.data.sync.system.monitor.LatencyHistogram;
+
+/**
+ * Sync progress of a table as observed by its pipeline in the last processed batch.
+ */
+public class SyncProgress {
+
+    // Longest window of the apply rate. Entries are counted per second over this window.
+    private static final int RATE_WINDOW_SECONDS = 300;
+    private static final double[] BATCH_DURATION_BOUNDS = {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10,
+                                                           30, 60};
+
+    private String tableName;
+    private long sourceMaxSyncId;
+    private long syncedSyncId;
+    private long appliedEntries;
+    private boolean observed;
+    private long batches;
+    private long failedBatches;
+    private String lastError;
+    private long lastErrorTime;
+    private long startTime = System.currentTimeMillis();
+    private long[] appliedPerSecond = new long[RATE_WINDOW_SECONDS];
+    private long[] appliedSeconds = new long[RATE_WINDOW_SECONDS];
+    private long rollbacks;
+    private long unchangedEntries;
+    private long transformNanos;
+    private long writeNanos;
+    private LatencyHistogram batchDurations = new LatencyHistogram(BATCH_DURATION_BOUNDS);
+
+    public SyncProgress(String tableName) {
+
+        this.tableName = tableName;
+    }
+
+    /**
+     * Records the journal state read by a batch.
+     *
+     * @param sourceMaxSyncId Largest SYNC_ID of the source journal.
+     * @param syncedSyncId Largest SYNC_ID synced to the target.
+     */
+    public synchronized void observe(long sourceMaxSyncId, long syncedSyncId) {
+
+        this.sourceMaxSyncId = Math.max(this.sourceMaxSyncId, sourceMaxSyncId);
+        this.syncedSyncId = Math.max(this.syncedSyncId, syncedSyncId);
+        this.observed = true;
+    }
+
+    /**
+     * Records a committed batch.
+     *
+     * @param lastSyncId Largest SYNC_ID of the batch.
+     * @param entries Number of journal entries of the batch.
+     */
+    public synchronized void applied(long lastSyncId, int entries) {
+
+        this.syncedSyncId = Math.max(this.syncedSyncId, lastSyncId);
+        this.appliedEntries += entries;
+        this.batches++;
+        long second = System.currentTimeMillis() / 1000;
+        int bucket = (int) (second % RATE_WINDOW_SECONDS);
+        if (appliedSeconds[bucket] != second) {
+            appliedSeconds[bucket] = second;
+            appliedPerSecond[bucket] = 0;
+        }
+        appliedPerSecond[bucket] += entries;
+    }
+
+    /**
+     * Records the time spent on a batch which processed journal entries or failed.
+     *
+     * @param durationNanos Duration of the batch in nanoseconds.
+     * @param transformNanos Time spent transforming the entries in nanoseconds.
+     * @param writeNanos Time spent persisting the entries in nanoseconds.
+     */
+    public void timed(long durationNanos, long transformNanos, long writeNanos) {
+
+        batchDurations.record(durationNanos);
+        synchronized (this) {
+            this.transformNanos += transformNanos;
+            this.writeNanos += writeNanos;
+        }
+    }
+
+    /**
+     * Records a batch rolled back on the target and the source.
+     */
+    public synchronized void rolledBack() {
+
+        this.rollbacks++;
+    }
+
+    /**
+     * Records committed journal entries which were not written since the target already held the same values.
+     *
+     * @param entries Number of journal entries.
+     */
+    public synchronized void unchanged(int entries) {
+
+        this.unchangedEntries += entries;
+    }
+
+    /**
+     * Records a batch which was rolled back or could not be processed.
+     *
+     * @param error Reason of the failure.
+     */
+    public synchronized void failed(String error) {
+
+        this.failedBatches++;
+        this.lastError = error;
+        this.lastErrorTime = System.currentTimeMillis();
+    }
+
+    public String getTableName() {
+
+        return tableName;
+    }
+
+    public synchronized long getSourceMaxSyncId() {
+
+        return sourceMaxSyncId;
+    }
+
+    public synchronized long getSyncedSyncId() {
+
+        return syncedSyncId;
+    }
+
+    /**
+     * @return Number of journal entries synced since the sync started.
+     */
+    public synchronized long getAppliedEntries() {
+
+        return appliedEntries;
+    }
+
+    /**
+     * @return Number of committed batches with journal entries.
+     */
+    public synchronized long getBatches() {
+
+        return batches;
+    }
+
+    /**
+     * @return Number of batches rolled back or failed with an error.
+     */
+    public synchronized long getFailedBatches() {
+
+        return failedBatches;
+    }
+
+    /**
+     * @return Reason of the last failed batch, or null if no batch failed.
+     */
+    public synchronized String getLastError() {
+
+        return lastError;
+    }
+
+    /**
+     * @return Time in milliseconds of the last failed batch, or 0 if no batch failed.
+     */
+    public synchronized long getLastErrorTime() {
+
+        return lastErrorTime;
+    }
+
+    public synchronized long getRollbacks() {
+
+        return rollbacks;
+    }
+
+    /**
+     * @return Number of committed journal entries which were not written since the target held the same values.
+     */
+    public synchronized long getUnchangedEntries() {
+
+        return unchangedEntries;
+    }
+
+    /**
+     * @return Time spent transforming journal entries in nanoseconds.
+     */
+    public synchronized long getTransformNanos() {
+
+        return transformNanos;
+    }
+
+    /**
+     * @return Time spent persisting journal entries in nanoseconds.
+     */
+    public synchronized long getWriteNanos() {
+
+        return writeNanos;
+    }
+
+    /**
+     * @return Durations of the batches which processed journal entries or failed.
+     */
+    public LatencyHistogram getBatchDurations() {
+
+        return batchDurations;
+    }
+
+    /**
+     * Returns the average number of journal entries applied per second over a recent window. The window is
+     * shortened to the time since the sync started.
+     *
+     * @param windowSeconds Length of the window in seconds, at most 300.
+     * @return Journal entries applied per second.
+     */
+    public synchronized double getApplyRate(int windowSeconds) {
+
+        int window = Math.min(windowSeconds, RATE_WINDOW_SECONDS);
+        long now = System.currentTimeMillis();
+        long second = now / 1000;
+        long applied = 0;
+        for (int i = 0; i < RATE_WINDOW_SECONDS; i++) {
+            if (second - appliedSeconds[i] < window) {
+                applied += appliedPerSecond[i];
+            }
+        }
+        long elapsedSeconds = Math.max(1, (now - startTime) / 1000);
+        return (double) applied / Math.min(window, elapsedSeconds);
+    }
+
+    /**
+     * @return Upper bound of the number of journal entries to be synced, since SYNC_IDs may contain gaps.
+     */
+    public synchronized long getBacklog() {
+
+        return Math.max(0, sourceMaxSyncId - syncedSyncId);
+    }
+
+    /**
+     * @return True if a batch of the table has read the journal state.
+     */
+    public synchronized boolean isObserved() {
+
+        return observed;
+    }
+}
@@ -20,6 +20,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.is.data.sync.system.database.ColumnData;
 import org.wso2.is.data.sync.system.database.TableMetaData;
+import org.wso2.is.data.sync.system.database.dialect.Table;
 import org.wso2.is.data.sync.system.exception.SyncClientException;
 import org.wso2.is.data.sync.system.pipeline.EntryField;
 import org.wso2.is.data.sync.system.pipeline.JournalEntry;
@@ -27,14 +28,21 @@ import org.wso2.is.data.sync.system.pipeline.PipelineConfiguration;
 import org.wso2.is.data.sync.system.pipeline.PipelineContext;
 import org.wso2.is.data.sync.system.pipeline.result.TransactionResult;
 
+import java.io.InputStream;
+import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLIntegrityConstraintViolationException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TimeZone;
 
 import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_DELETE_TARGET_SYNC_ENTRY_KEY;
 import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_INSERT_TARGET_SYNC_ENTRY_KEY;
@@ -42,8 +50,9 @@ import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLAT
 import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_UPDATE_TARGET_SYNC_ENTRY_KEY;
 import static org.wso2.is.data.sync.system.database.SQLQueryProvider.getQuery;
 import static org.wso2.is.data.sync.system.util.CommonUtil.convertEntryFieldToStatement;
-import static org.wso2.is.data.sync.system.util.CommonUtil.getColumnData;
-import static org.wso2.is.data.sync.system.util.CommonUtil.getPrimaryKeys;
+import static org.wso2.is.data.sync.system.util.Constant.COLUMN_TYPE_BLOB;
+import static org.wso2.is.data.sync.system.util.Constant.COLUMN_TYPE_TIMESTAMP;
+import static org.wso2.is.data.sync.system.util.Constant.CONTEXT_PROPERTY_UNCHANGED_ENTRIES;
 import static org.wso2.is.data.sync.system.util.Constant.ENTRY_FILED_ACTION_DELETE;
 import static org.wso2.is.data.sync.system.util.Constant.ENTRY_FILED_ACTION_INSERT;
 import static org.wso2.is.data.sync.system.util.Constant.ENTRY_FILED_ACTION_UPDATE;
@@ -63,86 +72,278 @@ public class Persistor {
         if (transformedEntryList == null || transformedEntryList.isEmpty()) {
             return transactionResults;
         }
-        try {
-
-            PipelineConfiguration pipelineConfiguration = context.getPipelineConfiguration();
-            String tableName = pipelineConfiguration.getTableName();
+        try (EntryWriter entryWriter = openWriter(context)) {
+            for (JournalEntry entry : transformedEntryList) {
+                TransactionResult result = entryWriter.write(entry);
+                transactionResults.add(result);
+                if (!result.isSuccess()) {
+                    // If there is one failure, there is no need to continue processing the other results.
+                    break;
+                }
+            }
+        }
+        return transactionResults;
+    }
 
-            Connection targetConnection = context.getTargetConnection();
-            TableMetaData tableMetaData = new TableMetaData.Builder().setColumnData(
-                    getColumnData(tableName, targetConnection)).setPrimaryKeys(
-                    getPrimaryKeys(tableName, targetConnection)).build();
-
-            String sqlUpdate = getTargetUpdateQuery(tableName, tableMetaData);
-            String sqlInsert = getTargetInsertQuery(tableName, tableMetaData);
-            String sqlDelete = getTargetDeleteQuery(tableName, tableMetaData);
-
-            try (PreparedStatement psUpdate = targetConnection.prepareStatement(sqlUpdate);
-                 PreparedStatement psInsert = targetConnection.prepareStatement(sqlInsert);
-                 PreparedStatement psDelete = targetConnection.prepareStatement(sqlDelete)) {
-                for (JournalEntry entry : transformedEntryList) {
-                    String sql = getTargetSearchQuery(tableName, tableMetaData);
-
-                    try (PreparedStatement ps = targetConnection.prepareStatement(sql)) {
-
-                        Map<String, EntryField> rowEntry = entry.getRowEntry();
-                        setPSForSelectTarget(tableMetaData, rowEntry, ps);
-                        try (ResultSet rs = ps.executeQuery()) {
-
-                            try {
-                                if (rs.next()) {
-                                    if (ENTRY_FILED_ACTION_DELETE.equals(entry.getOperation())) {
-                                        setPSForDeleteTarget(tableMetaData, rowEntry, psDelete);
-                                        if (log.isDebugEnabled()) {
-                                            log.debug("Deleting entry: " + psUpdate);
-                                        }
-                                    } else if (ENTRY_FILED_ACTION_INSERT.equals(entry.getOperation()) ||
-                                               ENTRY_FILED_ACTION_UPDATE.equals(entry.getOperation())) {
-
-                                        setPSForUpdateTarget(tableMetaData, rowEntry, psUpdate);
-                                        if (log.isDebugEnabled()) {
-                                            log.debug("Updating entry: " + psUpdate);
-                                        }
-                                        psUpdate.executeUpdate();
-                                    }
-                                } else {
-                                    if (ENTRY_FILED_ACTION_DELETE.equals(entry.getOperation())) {
+    /**
+     * Opens a writer persisting the journal entries of a batch one at a time, so that the entries can be streamed
+     * from the journal without materializing the batch. The statements of the writer are prepared on the first
+     * entry.
+     *
+     * @param context Context of the current data sync pipeline.
+     * @return Entry writer to be closed once the batch is persisted.
+     */
+    public EntryWriter openWriter(PipelineContext context) {
+
+        return new EntryWriter(context);
+    }
 
-                                        // Ignore delete operation on none extant target entry.
-                                    } else if (ENTRY_FILED_ACTION_INSERT.equals(entry.getOperation()) ||
-                                               ENTRY_FILED_ACTION_UPDATE.equals(entry.getOperation())) {
+    /**
+     * Persists journal entries to the target table using statements prepared once per batch. If the target dialect
+     * supports upserts, a single upsert statement is executed per insert or update, avoiding the round trip for
+     * searching the target entry. Delete operations are executed directly since deleting a none extant entry is a
+     * no-op. Without upsert support, the target entry is searched first and is deleted, updated or inserted based on
+     * whether it exists. On both paths integrity constraint violations fail the entry, to be recovered by retrying it.
+     */
+    public class EntryWriter implements AutoCloseable {
+
+        private PipelineContext context;
+        private String tableName;
+        private TableMetaData tableMetaData;
+        private PreparedStatement psUpsert;
+        private PreparedStatement psSearch;
+        private PreparedStatement psUpdate;
+        private PreparedStatement psInsert;
+        private PreparedStatement psDelete;
+        private Map<String, PreparedStatement> psPartialUpdates = new HashMap<>();
+        private boolean skipUnchangedColumns;
+        private Calendar utcCalendar;
+        private int unchangedEntries;
+        private boolean prepared;
+
+        private EntryWriter(PipelineContext context) {
+
+            this.context = context;
+        }
 
-                                        setPSForInsertTarget(tableMetaData, rowEntry, psInsert);
-                                        if (log.isDebugEnabled()) {
-                                            log.debug("Inserting entry: " + psInsert);
-                                        }
-                                        psInsert.executeUpdate();
-                                    }
+        /**
+         * Persists a journal entry to the target table.
+         *
+         * @param entry Transformed {@link JournalEntry}.
+         * @return Result of persisting the entry.
+         * @throws SyncClientException If error occurs while preparing the statements or searching the target entry.
+         */
+        public TransactionResult write(JournalEntry entry) throws SyncClientException {
+
+            prepare();
+            if (psUpsert != null) {
+                return writeWithUpsert(entry);
+            }
+            Map<String, EntryField> rowEntry = entry.getRowEntry();
+            try {
+                setPSForSelectTarget(tableMetaData, rowEntry, psSearch);
+                try (ResultSet rs = psSearch.executeQuery()) {
+
+                    try {
+                        if (rs.next()) {
+                            if (ENTRY_FILED_ACTION_DELETE.equals(entry.getOperation())) {
+                                setPSForDeleteTarget(tableMetaData, rowEntry, psDelete);
+                                if (log.isDebugEnabled()) {
+                                    log.debug("Deleting entry: " + psDelete);
                                 }
-                                TransactionResult result = new TransactionResult(entry, true);
-                                transactionResults.add(result);
-                            } catch (SQLException e) {
-                                if (e instanceof SQLIntegrityConstraintViolationException) {
-                                    //ignore. this will be recovered.
+                                psDelete.executeUpdate();
+                            } else if (ENTRY_FILED_ACTION_INSERT.equals(entry.getOperation()) ||
+                                       ENTRY_FILED_ACTION_UPDATE.equals(entry.getOperation())) {
+
+                                if (skipUnchangedColumns) {
+                                    updateChangedColumns(rowEntry, rs);
+                                } else {
+                                    setPSForUpdateTarget(tableMetaData, rowEntry, psUpdate);
                                     if (log.isDebugEnabled()) {
-                                        log.debug("SQL constraint violation occurred while data sync. ", e);
+                                        log.debug("Updating entry: " + psUpdate);
                                     }
-                                } else {
-                                    log.error("Error occurred while data sync. ", e);
+                                    psUpdate.executeUpdate();
                                 }
-                                TransactionResult result = new TransactionResult(entry, false, e);
-                                transactionResults.add(result);
-                                // If there is one failure, there is no need to continue processing the other results.
-                                break;
+                            }
+                        } else {
+                            if (ENTRY_FILED_ACTION_DELETE.equals(entry.getOperation())) {
+
+                                // Ignore delete operation on none extant target entry.
+                            } else if (ENTRY_FILED_ACTION_INSERT.equals(entry.getOperation()) ||
+                                       ENTRY_FILED_ACTION_UPDATE.equals(entry.getOperation())) {
+
+                                setPSForInsertTarget(tableMetaData, rowEntry, psInsert);
+                                if (log.isDebugEnabled()) {
+                                    log.debug("Inserting entry: " + psInsert);
+                                }
+                                psInsert.executeUpdate();
                             }
                         }
+                        return new TransactionResult(entry, true);
+                    } catch (SQLException e) {
+                        return getFailedResult(entry, e);
                     }
                 }
+            } catch (SQLException e) {
+                throw new SyncClientException("Error while obtaining sync data from of target table.", e);
+            }
+        }
+
+        /**
+         * Updates the columns of the target entry whose values differ from the journal entry. The update is skipped
+         * if the target entry already holds the same values.
+         */
+        private void updateChangedColumns(Map<String, EntryField> rowEntry, ResultSet targetRow)
+                throws SQLException, SyncClientException {
+
+            List<String> changedColumns = getChangedColumns(tableMetaData, rowEntry, targetRow, utcCalendar);
+            if (changedColumns.isEmpty()) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Skipping unchanged entry of table: " + tableName);
+                }
+                unchangedEntries++;
+                return;
+            }
+            PreparedStatement ps;
+            if (changedColumns.size() == tableMetaData.getNonPrimaryKeys().size()) {
+                ps = psUpdate;
+            } else {
+                ps = getPartialUpdateStatement(changedColumns);
+            }
+            setPSForUpdateTarget(tableMetaData, changedColumns, rowEntry, ps);
+            if (log.isDebugEnabled()) {
+                log.debug("Updating entry: " + ps);
+            }
+            ps.executeUpdate();
+        }
+
+        private PreparedStatement getPartialUpdateStatement(List<String> changedColumns) throws SQLException {
+
+            StringJoiner updateJoiner = new StringJoiner(", ");
+            for (String changedColumn : changedColumns) {
+                updateJoiner.add(String.format("%s = ?", changedColumn));
+            }
+            String updateFilter = updateJoiner.toString();
+            PreparedStatement ps = psPartialUpdates.get(updateFilter);
+            if (ps == null) {
+                // UPDATE %s SET %s WHERE %s
+                String sqlUpdate = getQuery(SQL_TEMPLATE_UPDATE_TARGET_SYNC_ENTRY_KEY);
+                sqlUpdate = String.format(sqlUpdate, tableName, updateFilter, tableMetaData.getSearchFilter());
+                ps = context.getTargetConnection().prepareStatement(sqlUpdate);
+                psPartialUpdates.put(updateFilter, ps);
+            }
+            return ps;
+        }
+
+        private TransactionResult writeWithUpsert(JournalEntry entry) throws SyncClientException {
+
+            Map<String, EntryField> rowEntry = entry.getRowEntry();
+            try {
+                if (ENTRY_FILED_ACTION_DELETE.equals(entry.getOperation())) {
+                    setPSForDeleteTarget(tableMetaData, rowEntry, psDelete);
+                    if (log.isDebugEnabled()) {
+                        log.debug("Deleting entry: " + psDelete);
+                    }
+                    psDelete.executeUpdate();
+                } else if (ENTRY_FILED_ACTION_INSERT.equals(entry.getOperation()) ||
+                           ENTRY_FILED_ACTION_UPDATE.equals(entry.getOperation())) {
+                    setPSForUpsertTarget(tableMetaData, rowEntry, psUpsert);
+                    if (log.isDebugEnabled()) {
+                        log.debug("Upserting entry: " + psUpsert);
+                    }
+                    psUpsert.executeUpdate();
+                }
+                return new TransactionResult(entry, true);
+            } catch (SQLException e) {
+                return getFailedResult(entry, e);
+            }
+        }
+
+        private TransactionResult getFailedResult(JournalEntry entry, SQLException e) {
+
+            if (e instanceof SQLIntegrityConstraintViolationException) {
+                //ignore. this will be recovered.
+                if (log.isDebugEnabled()) {
+                    log.debug("SQL constraint violation occurred while data sync. ", e);
+                }
+            } else {
+                log.error("Error occurred while data sync. ", e);
+            }
+            return new TransactionResult(entry, false, e);
+        }
+
+        private void prepare() throws SyncClientException {
+
+            if (prepared) {
+                return;
+            }
+            PipelineConfiguration pipelineConfiguration = context.getPipelineConfiguration();
+            tableName = pipelineConfiguration.getTableName();
+            tableMetaData = pipelineConfiguration.getSchemaCatalog().getTargetTableMetaData(tableName);
+            Connection targetConnection = context.getTargetConnection();
+            skipUnchangedColumns = pipelineConfiguration.getConfiguration().isSkipUnchangedColumns();
+            String sqlUpsert = null;
+            if (skipUnchangedColumns) {
+                // The target entry is searched to compare its values, hence upserts are not used.
+                utcCalendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+            } else {
+                sqlUpsert = pipelineConfiguration.getTargetDatabaseDialect().generateUpsert(
+                        new Table(tableName, tableMetaData));
+            }
+            try {
+                psDelete = targetConnection.prepareStatement(getTargetDeleteQuery(tableName, tableMetaData));
+                if (sqlUpsert != null) {
+                    psUpsert = targetConnection.prepareStatement(sqlUpsert);
+                } else {
+                    psSearch = targetConnection.prepareStatement(getTargetSearchQuery(tableName, tableMetaData));
+                    psUpdate = targetConnection.prepareStatement(getTargetUpdateQuery(tableName, tableMetaData));
+                    psInsert = targetConnection.prepareStatement(getTargetInsertQuery(tableName, tableMetaData));
+                }
+            } catch (SQLException e) {
+                close();
+                throw new SyncClientException("Error while obtaining sync data from of target table.", e);
+            }
+            prepared = true;
+        }
+
+        /**
+         * Closes the statements of the writer. The number of entries which were not written since the target
+         * already held the same values is added to the context.
+         */
+        @Override
+        public void close() {
+
+            if (unchangedEntries > 0) {
+                context.addProperty(CONTEXT_PROPERTY_UNCHANGED_ENTRIES, unchangedEntries);
+                unchangedEntries = 0;
+            }
+            closeStatement(psUpsert);
+            closeStatement(psSearch);
+            closeStatement(psUpdate);
+            closeStatement(psInsert);
+            closeStatement(psDelete);
+            for (PreparedStatement psPartialUpdate : psPartialUpdates.values()) {
+                closeStatement(psPartialUpdate);
+            }
+            psPartialUpdates.clear();
+            psUpsert = null;
+            psSearch = null;
+            psUpdate = null;
+            psInsert = null;
+            psDelete = null;
+        }
+
+        private void closeStatement(PreparedStatement preparedStatement) {
+
+            if (preparedStatement == null) {
+                return;
+            }
+            try {
+                preparedStatement.close();
+            } catch (SQLException e) {
+                log.error("Error while closing the statement of target table: " + tableName, e);
             }
-        } catch (SQLException e) {
-            throw new SyncClientException("Error while obtaining sync data from of target table.", e);
         }
-        return transactionResults;
     }
 
     protected String getTargetInsertQuery(String tableName, TableMetaData metaData) {
@@ -205,16 +406,100 @@ public class Persistor {
     protected void setPSForUpdateTarget(TableMetaData metaData, Map<String, EntryField> fields, PreparedStatement
             psTargetUpdate) throws SQLException, SyncClientException {
 
+        setPSForUpdateTarget(metaData, metaData.getNonPrimaryKeys(), fields, psTargetUpdate);
+    }
+
+    /**
+     * Sets the parameters of an update statement which updates the given columns of a target entry.
+     *
+     * @param metaData Meta data of the target table.
+     * @param updatedColumns Non primary key columns set by the statement, in the order of the statement.
+     * @param fields Fields of the journal entry.
+     * @param psTargetUpdate Update statement.
+     * @throws SQLException If error occurs while setting a parameter.
+     */
+    protected void setPSForUpdateTarget(TableMetaData metaData, List<String> updatedColumns,
+                                        Map<String, EntryField> fields, PreparedStatement psTargetUpdate)
+            throws SQLException, SyncClientException {
+
         List<String> primaryKeys = metaData.getPrimaryKeys();
-        List<String> nonPrimaryKeys = metaData.getNonPrimaryKeys();
 
-        for (int i = 0; i < nonPrimaryKeys.size(); i++) {
-            EntryField entryField = fields.get(nonPrimaryKeys.get(i));
+        for (int i = 0; i < updatedColumns.size(); i++) {
+            EntryField entryField = fields.get(updatedColumns.get(i));
             convertEntryFieldToStatement(psTargetUpdate, entryField, i + 1);
         }
         for (int i = 0; i < primaryKeys.size(); i++) {
             EntryField entryField = fields.get(primaryKeys.get(i));
-            convertEntryFieldToStatement(psTargetUpdate, entryField, (nonPrimaryKeys.size() + 1 + i));
+            convertEntryFieldToStatement(psTargetUpdate, entryField, (updatedColumns.size() + 1 + i));
+        }
+    }
+
+    /**
+     * Compares the non primary key columns of a journal entry with the target entry. Binary columns are always
+     * considered changed, since comparing them would consume the streams of the journal entry.
+     *
+     * @param metaData Meta data of the target table.
+     * @param fields Fields of the journal entry.
+     * @param targetRow Result set positioned on the target entry.
+     * @param utcCalendar Calendar in UTC to read the timestamps of the target entry.
+     * @return Non primary key columns whose values differ, in the order of the table columns.
+     * @throws SQLException If error occurs while reading the target entry.
+     */
+    protected List<String> getChangedColumns(TableMetaData metaData, Map<String, EntryField> fields,
+                                             ResultSet targetRow, Calendar utcCalendar) throws SQLException {
+
+        List<String> changedColumns = new ArrayList<>();
+        List<String> primaryKeys = metaData.getPrimaryKeys();
+        for (ColumnData columnData : metaData.getColumnDataList()) {
+            String columnName = columnData.getName();
+            if (primaryKeys.contains(columnName)) {
+                continue;
+            }
+            EntryField entryField = fields.get(columnName);
+            Object value = entryField == null ? null : entryField.getValue();
+            if (COLUMN_TYPE_BLOB.equals(columnData.getType()) || value instanceof InputStream) {
+                changedColumns.add(columnName);
+                continue;
+            }
+            Object targetValue;
+            if (COLUMN_TYPE_TIMESTAMP.equals(columnData.getType())) {
+                targetValue = targetRow.getTimestamp(columnName, utcCalendar);
+            } else {
+                targetValue = targetRow.getObject(columnName);
+            }
+            if (!isSameValue(value, targetValue)) {
+                changedColumns.add(columnName);
+            }
+        }
+        return changedColumns;
+    }
+
+    private static boolean isSameValue(Object value, Object targetValue) {
+
+        if (value == null || targetValue == null) {
+            return value == null && targetValue == null;
+        }
+        if (value instanceof Number && targetValue instanceof Number) {
+            // The journal and the target may be read as different numeric types.
+            try {
+                return new BigDecimal(value.toString()).compareTo(new BigDecimal(targetValue.toString())) == 0;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        if (value instanceof byte[] && targetValue instanceof byte[]) {
+            return Arrays.equals((byte[]) value, (byte[]) targetValue);
+        }
+        return value.getClass() == targetValue.getClass() && value.equals(targetValue);
+    }
+
+    protected void setPSForUpsertTarget(TableMetaData metaData, Map<String, EntryField> fields, PreparedStatement
+            psTargetUpsert) throws SQLException, SyncClientException {
+
+        List<ColumnData> columnDataList = metaData.getColumnDataList();
+        for (int i = 0; i < columnDataList.size(); i++) {
+            EntryField entryField = fields.get(columnDataList.get(i).getName());
+            convertEntryFieldToStatement(psTargetUpsert, entryField, i + 1);
         }
     }
 
@@ -20,6 +20,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.is.data.sync.system.database.ColumnData;
 import org.wso2.is.data.sync.system.database.TableMetaData;
+import org.wso2.is.data.sync.system.database.dialect.DatabaseDialect;
 import org.wso2.is.data.sync.system.exception.SyncClientException;
 import org.wso2.is.data.sync.system.pipeline.EntryField;
 import org.wso2.is.data.sync.system.pipeline.JournalEntry;
@@ -31,34 +32,77 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Calendar;
 import java.util.List;
+import java.util.Set;
+import java.util.TimeZone;
 
 import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_SELECT_SYNC_ID_KEY;
 import static org.wso2.is.data.sync.system.database.SQLQueryProvider.getQuery;
 import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_INSERT_SYNC_ID_KEY;
 import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_SELECT_MAX_SYNC_ID_KEY;
-import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_SELECT_SOURCE_SYNC_DATA_MYSQL_KEY;
 import static org.wso2.is.data.sync.system.util.CommonUtil.convertResultToEntryField;
-import static org.wso2.is.data.sync.system.util.CommonUtil.getColumnData;
-import static org.wso2.is.data.sync.system.util.CommonUtil.getPrimaryKeys;
+import static org.wso2.is.data.sync.system.util.CommonUtil.convertResultToRawEntryField;
 import static org.wso2.is.data.sync.system.util.CommonUtil.getSyncTableName;
 import static org.wso2.is.data.sync.system.util.CommonUtil.getSyncVersionTableName;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_NAME_ACTION;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_NAME_SYNC_ID;
+import static org.wso2.is.data.sync.system.util.Constant.CONTEXT_PROPERTY_MAX_SYNC_ID;
+import static org.wso2.is.data.sync.system.util.Constant.CONTEXT_PROPERTY_SOURCE_MAX_SYNC_ID;
+import static org.wso2.is.data.sync.system.util.Constant.CONTEXT_PROPERTY_TARGET_SYNC_ID;
 
 /**
  * Initial step of the data sync pipeline.
  *
  * The batch processor prepares a list of {@link JournalEntry} by polling a journal instance in the source database.
- *
+ * Alternatively the entries can be streamed to a {@link JournalEntryHandler} as they are read from the journal.
  */
 public class BatchProcessor {
 
     private static final Log log = LogFactory.getLog(BatchProcessor.class);
+    private Set<String> decodedColumns;
+
+    public BatchProcessor() {
+
+    }
 
-    public List<JournalEntry> pollJournal(PipelineContext context) throws SyncClientException {
+    /**
+     * Creates a batch processor which only decodes the given columns into typed values. The other columns are read
+     * in the form returned by the JDBC driver.
+     *
+     * @param decodedColumns Names of the columns accessed by the data transformers, or null to decode all the
+     *                       columns.
+     */
+    public BatchProcessor(Set<String> decodedColumns) {
+
+        this.decodedColumns = decodedColumns;
+    }
+
+    public List<JournalEntry> pollJournal(PipelineContext context, int batchSize) throws SyncClientException {
 
         List<JournalEntry> journalEntryList = new ArrayList<>();
+        streamJournal(context, batchSize, journalEntry -> {
+            journalEntryList.add(journalEntry);
+            return true;
+        });
+        return journalEntryList;
+    }
+
+    /**
+     * Reads a batch of journal entries from the source journal and hands them over to the given handler one at a
+     * time, while the result set of the journal is open. An entry is not retained by the batch processor once it is
+     * handled.
+     *
+     * @param context Context of the current data sync pipeline.
+     * @param batchSize Maximum number of journal entries to be read.
+     * @param handler Handler of the journal entries.
+     * @return Number of journal entries handled.
+     * @throws SyncClientException If error occurs while reading the journal or handling an entry.
+     */
+    public int streamJournal(PipelineContext context, int batchSize, JournalEntryHandler handler)
+            throws SyncClientException {
+
+        int entryCount = 0;
 
         PipelineConfiguration pipelineConfiguration = context.getPipelineConfiguration();
         String tableName = pipelineConfiguration.getTableName();
@@ -66,14 +110,18 @@ public class BatchProcessor {
         String syncTableName = getSyncTableName(tableName);
         Connection sourceConnection = context.getSourceConnection();
         Connection targetConnection = context.getTargetConnection();
-        int batchSize = pipelineConfiguration.getConfiguration().getBatchSize();
 
-        TableMetaData tableMetaData = new TableMetaData.Builder().setColumnData(
-                getColumnData(tableName, sourceConnection)).setPrimaryKeys(
-                getPrimaryKeys(tableName, sourceConnection)).build();
+        TableMetaData tableMetaData = pipelineConfiguration.getSchemaCatalog().getSourceTableMetaData(tableName);
 
-        int targetSyncId = getOrInsertDefaultTargetSyncId(targetConnection, syncVersionTableName);
-        int sourceMaxSyncId = getSourceMaxSyncId(syncTableName, sourceConnection);
+        long targetSyncId = getOrInsertDefaultTargetSyncId(targetConnection, syncVersionTableName);
+        long sourceMaxSyncId = getSourceMaxSyncId(syncTableName, sourceConnection);
+        context.addProperty(CONTEXT_PROPERTY_SOURCE_MAX_SYNC_ID, sourceMaxSyncId);
+        context.addProperty(CONTEXT_PROPERTY_TARGET_SYNC_ID, targetSyncId);
+        Object maxSyncId = context.getProperty(CONTEXT_PROPERTY_MAX_SYNC_ID);
+        if (maxSyncId != null) {
+            // Entries beyond the given SYNC_ID are synced in a later batch, eg: after the entries of a parent table.
+            sourceMaxSyncId = Math.min(sourceMaxSyncId, (Long) maxSyncId);
+        }
 
         if (log.isDebugEnabled()) {
             log.info("For table: " + tableName + " source max sync ID: " + sourceMaxSyncId + " " +
@@ -82,53 +130,91 @@ public class BatchProcessor {
 
         if (sourceMaxSyncId > targetSyncId) {
             log.info("Fetching sync data for table: " + tableName + " from source table: " + syncTableName);
-            journalEntryList = getSyncDataList(syncTableName, tableMetaData,
-                                               targetSyncId, batchSize, sourceConnection);
-            log.info("Fetched: " + journalEntryList.size() + " records for syncing for: " + tableName);
+            entryCount = streamSyncData(syncTableName, tableMetaData, targetSyncId, sourceMaxSyncId, batchSize,
+                                        sourceConnection, pipelineConfiguration.getSourceDatabaseDialect(),
+                                        handler);
+            log.info("Fetched: " + entryCount + " records for syncing for: " + tableName);
         } else {
             log.info("No data to sync for: " + tableName);
         }
-        return journalEntryList;
+        return entryCount;
     }
 
-    private List<JournalEntry> getSyncDataList(String syncTableName, TableMetaData
-            tableMetaData, int targetSyncId, int batchSize, Connection sourceCon) throws SyncClientException {
-
+    private int streamSyncData(String syncTableName, TableMetaData tableMetaData, long targetSyncId,
+                               long sourceMaxSyncId, int batchSize, Connection sourceCon,
+                               DatabaseDialect databaseDialect, JournalEntryHandler handler)
+            throws SyncClientException {
 
-        List<JournalEntry> journalEntryList = new ArrayList<>();
-        // SELECT SYNC_ID, %s FROM %s WHERE SYNC_ID > ? AND SYNC_ID < ? GROUP
-        // BY %s ORDER BY SYNC_ID ASC
-        String sql = getQuery(SQL_TEMPLATE_SELECT_SOURCE_SYNC_DATA_MYSQL_KEY);
-        sql = String.format(sql, tableMetaData.getColumns(), syncTableName);
+        int entryCount = 0;
+        // Journal entries are paged on SYNC_ID and limited by the batch size rather than by a SYNC_ID range, since
+        // the identity columns of the journal may contain gaps.
+        String sql = databaseDialect.generateSelectJournalEntries(syncTableName, tableMetaData.getColumns(),
+                                                                  batchSize);
         try (PreparedStatement ps = sourceCon.prepareStatement(sql)) {
-            ps.setInt(1, targetSyncId);
-            ps.setInt(2, targetSyncId + batchSize +1);
+            ps.setFetchSize(batchSize);
+            ps.setLong(1, targetSyncId);
+            ps.setLong(2, sourceMaxSyncId);
 
             try (ResultSet rs = ps.executeQuery()) {
+                List<ColumnData> columnDataList = tableMetaData.getColumnDataList();
+                int[] rawColumnIndexes = getRawColumnIndexes(rs, columnDataList);
+                Calendar utcCalendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
                 while (rs.next()) {
                     JournalEntry entry = new JournalEntry();
-                    for (ColumnData columnData : tableMetaData.getColumnDataList()) {
-                        EntryField entryField = convertResultToEntryField(rs, columnData);
-                        String columnName = columnData.getName();
-                        entry.addEntryField(columnName, entryField);
+                    for (int i = 0; i < columnDataList.size(); i++) {
+                        ColumnData columnData = columnDataList.get(i);
+                        EntryField entryField;
+                        if (rawColumnIndexes[i] > 0) {
+                            entryField = convertResultToRawEntryField(rs, columnData, rawColumnIndexes[i],
+                                                                      utcCalendar);
+                        } else {
+                            entryField = convertResultToEntryField(rs, columnData);
+                        }
+                        entry.addEntryField(columnData.getName(), entryField);
                     }
-                    EntryField<Integer> syncIdEntry = new EntryField<>(rs.getInt(COLUMN_NAME_SYNC_ID));
+                    EntryField<Long> syncIdEntry = new EntryField<>(rs.getLong(COLUMN_NAME_SYNC_ID));
                     entry.addEntryField(COLUMN_NAME_SYNC_ID, syncIdEntry);
 
                     entry.setOperation(rs.getString(COLUMN_NAME_ACTION));
-                    journalEntryList.add(entry);
+                    entryCount++;
+                    if (!handler.handle(entry)) {
+                        break;
+                    }
                 }
             }
         } catch (SQLException e) {
             throw new SyncClientException("Error while obtaining sync data from table: " + syncTableName, e);
         }
-        return journalEntryList;
+        return entryCount;
+    }
+
+    /**
+     * Resolves the result set indexes of the columns which are not decoded into typed values.
+     *
+     * @param resultSet Result set of the journal entries.
+     * @param columnDataList Columns of the synced table.
+     * @return Result set index of each column, or 0 if the column is decoded.
+     * @throws SQLException If error occurs while resolving a column index.
+     */
+    private int[] getRawColumnIndexes(ResultSet resultSet, List<ColumnData> columnDataList) throws SQLException {
+
+        int[] rawColumnIndexes = new int[columnDataList.size()];
+        if (decodedColumns == null) {
+            return rawColumnIndexes;
+        }
+        for (int i = 0; i < columnDataList.size(); i++) {
+            String columnName = columnDataList.get(i).getName();
+            if (!decodedColumns.contains(columnName)) {
+                rawColumnIndexes[i] = resultSet.findColumn(columnName);
+            }
+        }
+        return rawColumnIndexes;
     }
 
-    protected int getOrInsertDefaultTargetSyncId(Connection connection, String syncVersionTableName)
+    protected long getOrInsertDefaultTargetSyncId(Connection connection, String syncVersionTableName)
             throws SyncClientException {
 
-        int targetSyncId = 0;
+        long targetSyncId = 0;
         try {
 
             // SELECT SYNC_ID FROM %s
@@ -143,11 +229,11 @@ public class BatchProcessor {
                         sql = getQuery(SQL_TEMPLATE_INSERT_SYNC_ID_KEY);
                         sql = String.format(sql, syncVersionTableName);
                         try (PreparedStatement ps2 = connection.prepareStatement(sql)) {
-                            ps2.setInt(1, 0);
+                            ps2.setLong(1, 0);
                             ps2.executeUpdate();
                         }
                     } else {
-                        targetSyncId = rs.getInt("SYNC_ID");
+                        targetSyncId = rs.getLong(COLUMN_NAME_SYNC_ID);
                     }
                 }
             }
@@ -158,9 +244,31 @@ public class BatchProcessor {
         return targetSyncId;
     }
 
-    protected int getSourceMaxSyncId(String syncTableName, Connection connection) throws SyncClientException {
+    /**
+     * Returns the SYNC_ID committed in the sync version table of the target, without inserting the default SYNC_ID
+     * if the table is empty.
+     *
+     * @param syncVersionTableName Name of the sync version table.
+     * @param connection Target connection.
+     * @return Committed SYNC_ID, or 0 if none is committed yet.
+     * @throws SyncClientException If an error occurs while reading the sync version table.
+     */
+    public long getTargetSyncId(String syncVersionTableName, Connection connection) throws SyncClientException {
+
+        // SELECT SYNC_ID FROM %s
+        String sql = String.format(getQuery(SQL_TEMPLATE_SELECT_SYNC_ID_KEY), syncVersionTableName);
+        try (PreparedStatement ps = connection.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getLong(COLUMN_NAME_SYNC_ID) : 0;
+        } catch (SQLException e) {
+            throw new SyncClientException("Error while retrieving the sync ID of target table: " +
+                                          syncVersionTableName, e);
+        }
+    }
+
+    public long getSourceMaxSyncId(String syncTableName, Connection connection) throws SyncClientException {
 
-        int sourceMaxSyncId = 0;
+        long sourceMaxSyncId = 0;
         try {
 
             // SELECT MAX(SYNC_ID) FROM %s
@@ -170,7 +278,7 @@ public class BatchProcessor {
                 try (ResultSet rs = ps1.executeQuery()) {
                     // If the SYNC_VERSION table is empty, set SYNC_ID to 0;
                     if (rs.next()) {
-                        sourceMaxSyncId = rs.getInt(1);
+                        sourceMaxSyncId = rs.getLong(1);
                     }
                 }
             }
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.pipeline.process;
+
+import org.wso2.is.data.sync.system.exception.SyncClientException;
+import org.wso2.is.data.sync.system.pipeline.JournalEntry;
+
+/**
+ * Receives the journal entries of a batch one at a time while the {@link BatchProcessor} reads them from the source
+ * journal, hence the batch does not need to be held in memory.
+ */
+@FunctionalInterface
+public interface JournalEntryHandler {
+
+    /**
+     * Handles a journal entry read from the source journal.
+     *
+     * @param journalEntry {@link JournalEntry} read from the journal.
+     * @return True to continue reading the journal, false to stop reading the batch.
+     * @throws SyncClientException If error occurs while handling the entry.
+     */
+    boolean handle(JournalEntry journalEntry) throws SyncClientException;
+}
@@ -0,0 +1,406 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.pipeline.repair;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.is.data.sync.system.database.ColumnData;
+import org.wso2.is.data.sync.system.database.KeyRange;
+import org.wso2.is.data.sync.system.database.TableMetaData;
+import org.wso2.is.data.sync.system.exception.SyncClientException;
+import org.wso2.is.data.sync.system.pipeline.EntryField;
+import org.wso2.is.data.sync.system.pipeline.JournalEntry;
+import org.wso2.is.data.sync.system.pipeline.PipelineConfiguration;
+import org.wso2.is.data.sync.system.pipeline.PipelineContext;
+import org.wso2.is.data.sync.system.pipeline.persist.Persistor;
+import org.wso2.is.data.sync.system.pipeline.process.BatchProcessor;
+import org.wso2.is.data.sync.system.pipeline.result.TransactionResult;
+import org.wso2.is.data.sync.system.pipeline.transform.DataTransformer;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_SELECT_JOURNAL_ROWS_KEY;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_SELECT_RANGE_ROWS_KEY;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_SELECT_TARGET_SYNC_ENTRY_KEY;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.getQuery;
+import static org.wso2.is.data.sync.system.util.CommonUtil.convertResultToEntryField;
+import static org.wso2.is.data.sync.system.util.CommonUtil.convertResultToJournalEntry;
+import static org.wso2.is.data.sync.system.util.CommonUtil.getSyncTableName;
+import static org.wso2.is.data.sync.system.util.Constant.COLUMN_NAME_ACTION;
+import static org.wso2.is.data.sync.system.util.Constant.ENTRY_FILED_ACTION_DELETE;
+import static org.wso2.is.data.sync.system.util.Constant.ENTRY_FILED_ACTION_INSERT;
+import static org.wso2.is.data.sync.system.util.KeyRangeUtil.getRangeFilter;
+import static org.wso2.is.data.sync.system.util.KeyRangeUtil.isNumericColumn;
+import static org.wso2.is.data.sync.system.util.KeyRangeUtil.setKey;
+import static org.wso2.is.data.sync.system.util.KeyRangeUtil.setRangeBounds;
+
+/**
+ * Repairs rows and primary key ranges of a synced table on the target. The current source rows are re-read, pushed
+ * through the data transformers of the table and upserted on the target. Target rows which no longer exist on the
+ * source are deleted.
+ *
+ * The incremental sync may apply a journal entry of a repaired row after the row was read from the source but before
+ * the repaired row is written, which would leave the older state on the target. Hence the largest SYNC_ID of the
+ * journal is recorded before the source rows are read, and once the repaired rows are written the latest journal
+ * entry above it of each repaired row is applied again.
+ */
+public class DataRepairer {
+
+    private static final Log log = LogFactory.getLog(DataRepairer.class);
+
+    private Persistor persistor = new Persistor();
+    private BatchProcessor batchProcessor = new BatchProcessor();
+
+    /**
+     * Repairs rows of a table.
+     *
+     * @param keys Primary key column values of the rows.
+     * @param pipelineConfiguration Pipeline configuration of the table.
+     * @param dataTransformer Data transformer of the table.
+     * @return Number of repaired rows.
+     * @throws SyncClientException If error occurs while repairing the rows.
+     */
+    public int repair(List<Map<String, String>> keys, PipelineConfiguration pipelineConfiguration,
+                      DataTransformer dataTransformer) throws SyncClientException {
+
+        String tableName = pipelineConfiguration.getTableName();
+        TableMetaData sourceMetaData = pipelineConfiguration.getSchemaCatalog().getSourceTableMetaData(tableName);
+        TableMetaData targetMetaData = pipelineConfiguration.getSchemaCatalog().getTargetTableMetaData(tableName);
+        if (sourceMetaData.getPrimaryKeys().isEmpty()) {
+            throw new SyncClientException("Rows of table: " + tableName + " can not be repaired by key since it does " +
+                                          "not have a primary key.");
+        }
+
+        try (Connection sourceConnection = pipelineConfiguration.getSourceDataSource().getConnection();
+             Connection targetConnection = pipelineConfiguration.getTargetDataSource().getConnection()) {
+
+            targetConnection.setAutoCommit(false);
+            PipelineContext context = new PipelineContext(sourceConnection, targetConnection, pipelineConfiguration);
+            long journalMark = batchProcessor.getSourceMaxSyncId(getSyncTableName(tableName), sourceConnection);
+            List<JournalEntry> upsertEntries = new ArrayList<>();
+            List<JournalEntry> deleteEntries = new ArrayList<>();
+
+            // SELECT {columns} FROM {tableName} WHERE {primaryKey} = ? AND ...
+            String sql = String.format(getQuery(SQL_TEMPLATE_SELECT_TARGET_SYNC_ENTRY_KEY),
+                                       sourceMetaData.getColumns(), tableName, sourceMetaData.getSearchFilter());
+            try (PreparedStatement ps = sourceConnection.prepareStatement(sql)) {
+                for (Map<String, String> key : keys) {
+                    List<String> primaryKeys = sourceMetaData.getPrimaryKeys();
+                    for (int i = 0; i < primaryKeys.size(); i++) {
+                        String value = getKeyValue(key, primaryKeys.get(i), tableName);
+                        setKey(ps, i + 1, value, isNumericColumn(sourceMetaData, primaryKeys.get(i)));
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        if (rs.next()) {
+                            upsertEntries.add(convertResultToJournalEntry(rs, sourceMetaData,
+                                                                          ENTRY_FILED_ACTION_INSERT));
+                        } else {
+                            deleteEntries.add(getDeleteEntry(key, targetMetaData, tableName));
+                        }
+                    }
+                }
+            }
+
+            List<KeyBinder> keyBinders = new ArrayList<>();
+            for (Map<String, String> key : keys) {
+                keyBinders.add((ps, index) -> {
+                    for (String primaryKey : sourceMetaData.getPrimaryKeys()) {
+                        setKey(ps, index++, getKeyValue(key, primaryKey, tableName),
+                               isNumericColumn(sourceMetaData, primaryKey));
+                    }
+                });
+            }
+            try {
+                persist(upsertEntries, deleteEntries, context, dataTransformer, tableName);
+                targetConnection.commit();
+                reapplyJournal(journalMark, " AND " + sourceMetaData.getSearchFilter(), keyBinders, context,
+                               sourceMetaData, dataTransformer);
+            } catch (SQLException | SyncClientException e) {
+                targetConnection.rollback();
+                throw e;
+            }
+            return upsertEntries.size() + deleteEntries.size();
+        } catch (SQLException e) {
+            throw new SyncClientException("Error while repairing rows of table: " + tableName, e);
+        }
+    }
+
+    /**
+     * Repairs a primary key range of a table.
+     *
+     * @param range Key range.
+     * @param pipelineConfiguration Pipeline configuration of the table.
+     * @param dataTransformer Data transformer of the table.
+     * @return Number of repaired rows.
+     * @throws SyncClientException If error occurs while repairing the range.
+     */
+    public long repair(KeyRange range, PipelineConfiguration pipelineConfiguration, DataTransformer dataTransformer)
+            throws SyncClientException {
+
+        String tableName = range.getTableName();
+        TableMetaData sourceMetaData = pipelineConfiguration.getSchemaCatalog().getSourceTableMetaData(tableName);
+        TableMetaData targetMetaData = pipelineConfiguration.getSchemaCatalog().getTargetTableMetaData(tableName);
+        int batchSize = pipelineConfiguration.getConfiguration().getBatchSize();
+        Set<String> sourceKeys = new HashSet<>();
+        long repairedRows = 0;
+
+        try (Connection sourceConnection = pipelineConfiguration.getSourceDataSource().getConnection();
+             Connection targetConnection = pipelineConfiguration.getTargetDataSource().getConnection()) {
+
+            targetConnection.setAutoCommit(false);
+            PipelineContext context = new PipelineContext(sourceConnection, targetConnection, pipelineConfiguration);
+            long journalMark = batchProcessor.getSourceMaxSyncId(getSyncTableName(tableName), sourceConnection);
+            try {
+                String sourceSql = String.format(getQuery(SQL_TEMPLATE_SELECT_RANGE_ROWS_KEY),
+                                                 sourceMetaData.getColumns(), tableName,
+                                                 getRangeFilter(range, sourceMetaData));
+                try (PreparedStatement ps = sourceConnection.prepareStatement(sourceSql)) {
+                    ps.setFetchSize(batchSize);
+                    setRangeBounds(ps, 1, range, sourceMetaData);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        List<JournalEntry> batch = new ArrayList<>();
+                        while (rs.next()) {
+                            JournalEntry entry = convertResultToJournalEntry(rs, sourceMetaData,
+                                                                             ENTRY_FILED_ACTION_INSERT);
+                            sourceKeys.add(getKeyString(entry, sourceMetaData));
+                            batch.add(entry);
+                            if (batch.size() >= batchSize) {
+                                repairedRows += persist(batch, new ArrayList<>(), context, dataTransformer,
+                                                        tableName);
+                                targetConnection.commit();
+                                batch = new ArrayList<>();
+                            }
+                        }
+                        repairedRows += persist(batch, new ArrayList<>(), context, dataTransformer, tableName);
+                        targetConnection.commit();
+                    }
+                }
+
+                if (!targetMetaData.getPrimaryKeys().isEmpty()) {
+                    repairedRows += deleteExtraRows(range, sourceMetaData, targetMetaData, sourceKeys, context,
+                                                    dataTransformer, batchSize);
+                }
+                if (sourceMetaData.getPrimaryKeys().isEmpty()) {
+                    log.warn("Journal entries of table: " + tableName + " written during the repair of range: " +
+                             range + " are not applied again since the table does not have a primary key.");
+                } else {
+                    String filter = getRangeFilter(range, sourceMetaData).replaceFirst("^ WHERE ", " AND ");
+                    reapplyJournal(journalMark, filter, Collections.singletonList(
+                            (ps, index) -> setRangeBounds(ps, index, range, sourceMetaData)), context,
+                                   sourceMetaData, dataTransformer);
+                }
+            } catch (SQLException | SyncClientException e) {
+                targetConnection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new SyncClientException("Error while repairing range: " + range, e);
+        }
+        return repairedRows;
+    }
+
+    private long deleteExtraRows(KeyRange range, TableMetaData sourceMetaData, TableMetaData targetMetaData,
+                                 Set<String> sourceKeys, PipelineContext context, DataTransformer dataTransformer,
+                                 int batchSize) throws SQLException, SyncClientException {
+
+        String tableName = range.getTableName();
+        Connection targetConnection = context.getTargetConnection();
+        List<ColumnData> primaryKeyColumns = new ArrayList<>();
+        for (ColumnData columnData : targetMetaData.getColumnDataList()) {
+            if (targetMetaData.getPrimaryKeys().contains(columnData.getName())) {
+                primaryKeyColumns.add(columnData);
+            }
+        }
+
+        // The deletes are collected before executing them to avoid modifying the rows under the open cursor.
+        List<JournalEntry> deleteEntries = new ArrayList<>();
+        String targetSql = String.format(getQuery(SQL_TEMPLATE_SELECT_RANGE_ROWS_KEY),
+                                         String.join(", ", targetMetaData.getPrimaryKeys()), tableName,
+                                         getRangeFilter(range, sourceMetaData));
+        try (PreparedStatement ps = targetConnection.prepareStatement(targetSql)) {
+            ps.setFetchSize(batchSize);
+            setRangeBounds(ps, 1, range, sourceMetaData);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    JournalEntry entry = new JournalEntry();
+                    for (ColumnData columnData : primaryKeyColumns) {
+                        entry.addEntryField(columnData.getName(), convertResultToEntryField(rs, columnData));
+                    }
+                    entry.setOperation(ENTRY_FILED_ACTION_DELETE);
+                    if (!sourceKeys.contains(getKeyString(entry, targetMetaData))) {
+                        deleteEntries.add(entry);
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < deleteEntries.size(); i += batchSize) {
+            List<JournalEntry> batch = deleteEntries.subList(i, Math.min(i + batchSize, deleteEntries.size()));
+            persist(new ArrayList<>(), batch, context, dataTransformer, tableName);
+            targetConnection.commit();
+        }
+        return deleteEntries.size();
+    }
+
+    /**
+     * Applies the latest journal entry above the given SYNC_ID of each repaired row again. This is repeated with the
+     * largest SYNC_ID of the previous round until the repaired rows have no newer journal entries, since the
+     * incremental sync may apply a newer entry while the entries are being applied.
+     *
+     * @param journalMark Largest SYNC_ID of the journal before the repaired rows were read from the source.
+     * @param filter Condition with a leading AND selecting the journal entries of the repaired rows.
+     * @param keyBinders Binders of the filter parameters. The journal is queried once per binder.
+     * @param context Repair context.
+     * @param sourceMetaData Meta data of the source table.
+     * @param dataTransformer Data transformer of the table.
+     * @return Number of journal entries applied.
+     * @throws SQLException If error occurs while reading the journal or committing the entries.
+     * @throws SyncClientException If error occurs while applying the entries.
+     */
+    private int reapplyJournal(long journalMark, String filter, List<KeyBinder> keyBinders, PipelineContext context,
+                               TableMetaData sourceMetaData, DataTransformer dataTransformer)
+            throws SQLException, SyncClientException {
+
+        String tableName = context.getPipelineConfiguration().getTableName();
+        String syncTableName = getSyncTableName(tableName);
+        Connection sourceConnection = context.getSourceConnection();
+        // SELECT SYNC_ID, {columns}, ACTION FROM {syncTableName} WHERE SYNC_ID > ? AND SYNC_ID <= ?{filter} ORDER BY
+        // SYNC_ID ASC
+        String sql = String.format(getQuery(SQL_TEMPLATE_SELECT_JOURNAL_ROWS_KEY), sourceMetaData.getColumns(),
+                                   syncTableName, filter);
+        int appliedEntries = 0;
+        long mark = journalMark;
+        long nextMark = batchProcessor.getSourceMaxSyncId(syncTableName, sourceConnection);
+        while (nextMark > mark) {
+            Map<String, JournalEntry> latestEntries = new LinkedHashMap<>();
+            try (PreparedStatement ps = sourceConnection.prepareStatement(sql)) {
+                for (KeyBinder keyBinder : keyBinders) {
+                    ps.setLong(1, mark);
+                    ps.setLong(2, nextMark);
+                    keyBinder.bind(ps, 3);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            JournalEntry entry = convertResultToJournalEntry(rs, sourceMetaData,
+                                                                             rs.getString(COLUMN_NAME_ACTION));
+                            latestEntries.put(getKeyString(entry, sourceMetaData), entry);
+                        }
+                    }
+                }
+            }
+            if (latestEntries.isEmpty()) {
+                break;
+            }
+            // Journal entries hold all the columns of the rows, hence deletes are transformed like in the sync.
+            appliedEntries += persist(new ArrayList<>(latestEntries.values()), new ArrayList<>(), context,
+                                      dataTransformer, tableName);
+            context.getTargetConnection().commit();
+            mark = nextMark;
+            nextMark = batchProcessor.getSourceMaxSyncId(syncTableName, sourceConnection);
+        }
+        if (appliedEntries > 0) {
+            log.info("Applied " + appliedEntries + " journal entries of table: " + tableName + " written while " +
+                     "repairing its rows.");
+        }
+        return appliedEntries;
+    }
+
+    private int persist(List<JournalEntry> upsertEntries, List<JournalEntry> deleteEntries, PipelineContext context,
+                        DataTransformer dataTransformer, String tableName) throws SyncClientException {
+
+        List<JournalEntry> entries = new ArrayList<>();
+        if (!upsertEntries.isEmpty()) {
+            entries.addAll(dataTransformer.transform(upsertEntries, context));
+        }
+        // Delete entries only hold the primary key values. Hence they are not passed to the data transformers.
+        entries.addAll(deleteEntries);
+
+        List<TransactionResult> transactionResults = persistor.persist(entries, context);
+        for (TransactionResult transactionResult : transactionResults) {
+            if (!transactionResult.isSuccess()) {
+                throw new SyncClientException("Error while repairing rows of table: " + tableName,
+                                              transactionResult.getException());
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Repaired " + transactionResults.size() + " rows of table: " + tableName);
+        }
+        return transactionResults.size();
+    }
+
+    private JournalEntry getDeleteEntry(Map<String, String> key, TableMetaData targetMetaData, String tableName)
+            throws SyncClientException {
+
+        JournalEntry entry = new JournalEntry();
+        for (String primaryKey : targetMetaData.getPrimaryKeys()) {
+            String value = getKeyValue(key, primaryKey, tableName);
+            if (isNumericColumn(targetMetaData, primaryKey)) {
+                entry.addEntryField(primaryKey, new EntryField<>(new BigDecimal(value)));
+            } else {
+                entry.addEntryField(primaryKey, new EntryField<>(value));
+            }
+        }
+        entry.setOperation(ENTRY_FILED_ACTION_DELETE);
+        return entry;
+    }
+
+    private String getKeyValue(Map<String, String> key, String primaryKey, String tableName)
+            throws SyncClientException {
+
+        for (Map.Entry<String, String> keyEntry : key.entrySet()) {
+            if (keyEntry.getKey().equalsIgnoreCase(primaryKey)) {
+                return keyEntry.getValue();
+            }
+        }
+        throw new SyncClientException("Repair key: " + key + " does not have a value for primary key: " +
+                                      primaryKey + " of table: " + tableName);
+    }
+
+    private String getKeyString(JournalEntry entry, TableMetaData tableMetaData) {
+
+        StringJoiner joiner = new StringJoiner(",", "[", "]");
+        for (String primaryKey : tableMetaData.getPrimaryKeys()) {
+            EntryField entryField = entry.get(primaryKey);
+            Object value = entryField == null ? null : entryField.getValue();
+            if (value instanceof Number) {
+                // Numeric keys are compared regardless of their Java type and scale.
+                value = new BigDecimal(value.toString()).stripTrailingZeros().toPlainString();
+            }
+            joiner.add(String.valueOf(value));
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Binds the parameters selecting the journal entries of repaired rows.
+     */
+    private interface KeyBinder {
+
+        void bind(PreparedStatement ps, int index) throws SQLException, SyncClientException;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.pipeline.repair;
+
+import org.apache.commons.lang.StringUtils;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.wso2.is.data.sync.system.database.KeyRange;
+import org.wso2.is.data.sync.system.exception.SyncClientException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Model of a row or a primary key range of a synced table to be repaired on the target.
+ *
+ * Repair requests are read from a file with one JSON object per line. Rows are given in the format of the
+ * verification report, {"table": "{tableName}", "key": {"{primaryKey}": "{value}", ...}}, and ranges of the first
+ * primary key column in the format {"table": "{tableName}", "lowerBound": "{exclusive}", "upperBound": "{inclusive}"}
+ * where a missing bound leaves the range open.
+ */
+public class RepairRequest {
+
+    private static final String PROPERTY_NAME_TABLE = "table";
+    private static final String PROPERTY_NAME_KEY = "key";
+    private static final String PROPERTY_NAME_LOWER_BOUND = "lowerBound";
+    private static final String PROPERTY_NAME_UPPER_BOUND = "upperBound";
+
+    private String tableName;
+    private Map<String, String> key;
+    private KeyRange range;
+
+    private RepairRequest(String tableName, Map<String, String> key, KeyRange range) {
+
+        this.tableName = tableName;
+        this.key = key;
+        this.range = range;
+    }
+
+    public String getTableName() {
+
+        return tableName;
+    }
+
+    /**
+     * @return Primary key column values of the row or null if the request is for a range.
+     */
+    public Map<String, String> getKey() {
+
+        return key;
+    }
+
+    /**
+     * @return Key range or null if the request is for a row.
+     */
+    public KeyRange getRange() {
+
+        return range;
+    }
+
+    /**
+     * Reads the repair requests from a file.
+     *
+     * @param requestFile Path of the file.
+     * @return Repair requests in the order of the file.
+     * @throws SyncClientException If the file can not be read or contains an invalid request.
+     */
+    public static List<RepairRequest> read(String requestFile) throws SyncClientException {
+
+        List<RepairRequest> requests = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(requestFile), StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (StringUtils.isBlank(line)) {
+                    continue;
+                }
+                try {
+                    requests.add(parse(new JSONObject(line)));
+                } catch (JSONException e) {
+                    throw new SyncClientException("Invalid repair request at line: " + lineNumber + " of: " +
+                                                  requestFile, e);
+                }
+            }
+        } catch (IOException e) {
+            throw new SyncClientException("Error while reading repair requests from: " + requestFile, e);
+        }
+        return requests;
+    }
+
+    private static RepairRequest parse(JSONObject request) {
+
+        String tableName = request.getString(PROPERTY_NAME_TABLE);
+        if (request.has(PROPERTY_NAME_KEY)) {
+            JSONObject keyObject = request.getJSONObject(PROPERTY_NAME_KEY);
+            Map<String, String> key = new LinkedHashMap<>();
+            Iterator<String> columns = keyObject.keys();
+            while (columns.hasNext()) {
+                String column = columns.next();
+                key.put(column, keyObject.getString(column));
+            }
+            return new RepairRequest(tableName, key, null);
+        }
+        String lowerBound = request.has(PROPERTY_NAME_LOWER_BOUND) ? request.getString(PROPERTY_NAME_LOWER_BOUND) :
+                null;
+        String upperBound = request.has(PROPERTY_NAME_UPPER_BOUND) ? request.getString(PROPERTY_NAME_UPPER_BOUND) :
+                null;
+        return new RepairRequest(tableName, null, new KeyRange(tableName, lowerBound, upperBound));
+    }
+}
@@ -47,8 +47,7 @@ public class ResultHandler {
             for (TransactionResult transactionResult : transactionResults) {
                 if (!transactionResult.isSuccess()) {
                     if (log.isDebugEnabled()) {
-                        Integer syncId = (Integer) transactionResult.getJournalEntry().get(Constant.COLUMN_NAME_SYNC_ID)
-                                .getValue();
+                        long syncId = getSyncId(transactionResult);
                         log.debug(String.format("Error while syncing data from source table: %s to target table: %s " +
                                 "with SYNC_ID: %s", syncTableName, tableName, syncId));
                     }
@@ -59,10 +58,10 @@ public class ResultHandler {
 
             if (transactionSuccess) {
                 TransactionResult lastResult = transactionResults.get(transactionResults.size() - 1);
-                Integer lastSyncId = (Integer) lastResult.getJournalEntry().get(Constant.COLUMN_NAME_SYNC_ID)
-                                                         .getValue();
+                long lastSyncId = getSyncId(lastResult);
                 try {
                     updateSyncVersion(syncVersionTableName, context.getTargetConnection(), lastSyncId);
+                    context.addProperty(Constant.CONTEXT_PROPERTY_LAST_SYNC_ID, lastSyncId);
                 } catch (SQLException e) {
                     log.error("Error while updating the last sync ID to: " + lastSyncId + " in table: " +
                               syncVersionTableName);
@@ -72,7 +71,7 @@ public class ResultHandler {
         return transactionSuccess;
     }
 
-    protected void updateSyncVersion(String syncVersionTable, Connection targetCon, int lastSyncId)
+    protected void updateSyncVersion(String syncVersionTable, Connection targetCon, long lastSyncId)
             throws SQLException {
 
         // UPDATE %s SET SYNC_ID = ?
@@ -80,8 +79,15 @@ public class ResultHandler {
         updateSyncVersion = String.format(updateSyncVersion, syncVersionTable);
         try (PreparedStatement ps = targetCon.prepareStatement
                 (updateSyncVersion)) {
-            ps.setInt(1, lastSyncId);
+            ps.setLong(1, lastSyncId);
             ps.executeUpdate();
         }
     }
+
+    private long getSyncId(TransactionResult transactionResult) {
+
+        // SYNC_ID is read as a long by the batch processor. The value is widened to support entries created by custom
+        // batch processors which read it as an integer.
+        return ((Number) transactionResult.getJournalEntry().get(Constant.COLUMN_NAME_SYNC_ID).getValue()).longValue();
+    }
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.pipeline.snapshot;
+
+import org.wso2.is.data.sync.system.database.KeyRange;
+
+/**
+ * Model of a primary key range of a synced table which is copied as a unit of the initial data snapshot.
+ */
+public class SnapshotChunk extends KeyRange {
+
+    private int chunkId;
+    private boolean completed;
+
+    /**
+     * Constructor for {@link SnapshotChunk}.
+     *
+     * @param tableName Name of the synced table.
+     * @param chunkId Sequence number of the chunk within the table.
+     * @param lowerBound Exclusive lower bound of the chunk or null for the first chunk.
+     * @param upperBound Inclusive upper bound of the chunk or null for the last chunk.
+     * @param completed Whether the chunk is already copied.
+     */
+    public SnapshotChunk(String tableName, int chunkId, String lowerBound, String upperBound, boolean completed) {
+
+        super(tableName, lowerBound, upperBound);
+        this.chunkId = chunkId;
+        this.completed = completed;
+    }
+
+    public int getChunkId() {
+
+        return chunkId;
+    }
+
+    public boolean isCompleted() {
+
+        return completed;
+    }
+
+    @Override
+    public String toString() {
+
+        return getTableName() + "[" + chunkId + "]";
+    }
+}
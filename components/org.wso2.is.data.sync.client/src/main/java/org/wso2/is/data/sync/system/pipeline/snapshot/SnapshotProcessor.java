@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.pipeline.snapshot;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.is.data.sync.system.database.ColumnData;
+import org.wso2.is.data.sync.system.database.KeyRange;
+import org.wso2.is.data.sync.system.database.TableMetaData;
+import org.wso2.is.data.sync.system.database.dialect.Table;
+import org.wso2.is.data.sync.system.exception.SyncClientException;
+import org.wso2.is.data.sync.system.pipeline.JournalEntry;
+import org.wso2.is.data.sync.system.pipeline.PipelineConfiguration;
+import org.wso2.is.data.sync.system.pipeline.PipelineContext;
+import org.wso2.is.data.sync.system.pipeline.persist.Persistor;
+import org.wso2.is.data.sync.system.pipeline.result.TransactionResult;
+import org.wso2.is.data.sync.system.pipeline.transform.DataTransformer;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_COMPLETE_SNAPSHOT_CHUNK_KEY;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_INSERT_SNAPSHOT_CHUNK_KEY;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_INSERT_SYNC_ID_KEY;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_SELECT_MAX_SYNC_ID_KEY;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_SELECT_RANGE_ROWS_KEY;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_SELECT_SNAPSHOT_CHUNKS_KEY;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_SELECT_SYNC_ID_KEY;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_UPDATE_SYNC_VERSION_KEY;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.getQuery;
+import static org.wso2.is.data.sync.system.util.CommonUtil.convertResultToJournalEntry;
+import static org.wso2.is.data.sync.system.util.CommonUtil.getSyncTableName;
+import static org.wso2.is.data.sync.system.util.CommonUtil.getSyncVersionTableName;
+import static org.wso2.is.data.sync.system.util.Constant.COLUMN_TYPE_INT;
+import static org.wso2.is.data.sync.system.util.Constant.COLUMN_TYPE_VARCHAR;
+import static org.wso2.is.data.sync.system.util.Constant.ENTRY_FILED_ACTION_INSERT;
+import static org.wso2.is.data.sync.system.util.Constant.SNAPSHOT_CHECKPOINT_TABLE;
+import static org.wso2.is.data.sync.system.util.KeyRangeUtil.getKeyColumn;
+import static org.wso2.is.data.sync.system.util.KeyRangeUtil.getRangeFilter;
+import static org.wso2.is.data.sync.system.util.KeyRangeUtil.setRangeBounds;
+import static org.wso2.is.data.sync.system.util.KeyRangeUtil.splitRange;
+
+/**
+ * Copies the initial data of the synced tables from the source to the target, replacing the database dump and
+ * restore step.
+ *
+ * Before copying a table, the current maximum SYNC_ID of its journal is recorded as the last synced SYNC_ID of the
+ * target. Then the table is split into primary key range chunks which are copied through the data transformers of
+ * the table. Each chunk is marked as completed in the checkpoint table within the transaction which persists its
+ * rows, so an interrupted snapshot resumes from the pending chunks. Once the snapshot completes, the incremental sync
+ * replays the journal entries created after the recorded SYNC_ID. Since the journal entries carry the full rows, the
+ * entries which overlap with the copied rows are applied idempotently.
+ */
+public class SnapshotProcessor {
+
+    private static final Log log = LogFactory.getLog(SnapshotProcessor.class);
+    private static final String COLUMN_NAME_TABLE_NAME = "TABLE_NAME";
+    private static final String COLUMN_NAME_CHUNK_ID = "CHUNK_ID";
+    private static final String COLUMN_NAME_LOWER_BOUND = "LOWER_BOUND";
+    private static final String COLUMN_NAME_UPPER_BOUND = "UPPER_BOUND";
+    private static final String COLUMN_NAME_COMPLETED = "COMPLETED";
+    private static final int MAX_BOUND_SIZE = 255;
+
+    private long chunkSize;
+    private Persistor persistor = new Persistor();
+
+    public SnapshotProcessor(long chunkSize) {
+
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Prepares the snapshot of a table. If the table does not have a snapshot in progress, records the journal
+     * watermark and plans the chunks of the table.
+     *
+     * @param pipelineConfiguration Pipeline configuration of the table.
+     * @return Chunks of the table which are not copied yet.
+     * @throws SyncClientException If error occurs while preparing the snapshot.
+     */
+    public List<SnapshotChunk> prepare(PipelineConfiguration pipelineConfiguration) throws SyncClientException {
+
+        String tableName = pipelineConfiguration.getTableName();
+        try (Connection sourceConnection = pipelineConfiguration.getSourceDataSource().getConnection();
+             Connection targetConnection = pipelineConfiguration.getTargetDataSource().getConnection()) {
+
+            createCheckpointTable(targetConnection, pipelineConfiguration);
+            targetConnection.setAutoCommit(false);
+            try {
+                List<SnapshotChunk> chunks = getChunks(targetConnection, tableName);
+                if (chunks.isEmpty()) {
+                    // The watermark is read before planning and copying the chunks. Rows changed afterwards are
+                    // copied by the snapshot as well as replayed from the journal.
+                    long watermark = getSourceMaxSyncId(sourceConnection, getSyncTableName(tableName));
+                    TableMetaData tableMetaData = pipelineConfiguration.getSchemaCatalog().getSourceTableMetaData(
+                            tableName);
+                    chunks = planChunks(sourceConnection, tableName, tableMetaData);
+                    updateSyncVersion(targetConnection, getSyncVersionTableName(tableName), watermark);
+                    insertChunks(targetConnection, chunks);
+                    targetConnection.commit();
+                    log.info("Planned " + chunks.size() + " snapshot chunks for table: " + tableName + " from " +
+                             "journal SYNC_ID: " + watermark);
+                } else {
+                    log.info("Resuming snapshot of table: " + tableName + " with " + chunks.size() + " chunks.");
+                }
+
+                List<SnapshotChunk> pendingChunks = new ArrayList<>();
+                for (SnapshotChunk chunk : chunks) {
+                    if (!chunk.isCompleted()) {
+                        pendingChunks.add(chunk);
+                    }
+                }
+                return pendingChunks;
+            } catch (SQLException | SyncClientException e) {
+                targetConnection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new SyncClientException("Error while preparing the snapshot of table: " + tableName, e);
+        }
+    }
+
+    /**
+     * Copies the rows of a chunk to the target through the given data transformer and marks the chunk as completed.
+     *
+     * @param chunk Chunk to be copied.
+     * @param pipelineConfiguration Pipeline configuration of the table of the chunk.
+     * @param dataTransformer Data transformer of the table of the chunk.
+     * @throws SyncClientException If error occurs while copying the chunk.
+     */
+    public void copy(SnapshotChunk chunk, PipelineConfiguration pipelineConfiguration,
+                     DataTransformer dataTransformer) throws SyncClientException {
+
+        String tableName = chunk.getTableName();
+        TableMetaData tableMetaData = pipelineConfiguration.getSchemaCatalog().getSourceTableMetaData(tableName);
+        int batchSize = pipelineConfiguration.getConfiguration().getBatchSize();
+        long copiedRows = 0;
+
+        try (Connection sourceConnection = pipelineConfiguration.getSourceDataSource().getConnection();
+             Connection targetConnection = pipelineConfiguration.getTargetDataSource().getConnection()) {
+
+            targetConnection.setAutoCommit(false);
+            PipelineContext context = new PipelineContext(sourceConnection, targetConnection, pipelineConfiguration);
+            String sql = String.format(getQuery(SQL_TEMPLATE_SELECT_RANGE_ROWS_KEY), tableMetaData.getColumns(),
+                                       tableName, getRangeFilter(chunk, tableMetaData));
+            try (PreparedStatement ps = sourceConnection.prepareStatement(sql)) {
+                ps.setFetchSize(batchSize);
+                setRangeBounds(ps, 1, chunk, tableMetaData);
+                try (ResultSet rs = ps.executeQuery()) {
+                    List<JournalEntry> batch = new ArrayList<>();
+                    while (rs.next()) {
+                        batch.add(convertResultToJournalEntry(rs, tableMetaData, ENTRY_FILED_ACTION_INSERT));
+                        if (batch.size() >= batchSize) {
+                            copiedRows += persist(batch, context, dataTransformer, chunk);
+                            batch = new ArrayList<>();
+                        }
+                    }
+                    copiedRows += persist(batch, context, dataTransformer, chunk);
+                }
+                completeChunk(targetConnection, chunk);
+                targetConnection.commit();
+            } catch (SQLException | SyncClientException e) {
+                targetConnection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new SyncClientException("Error while copying snapshot chunk: " + chunk, e);
+        }
+        log.info("Copied " + copiedRows + " rows of snapshot chunk: " + chunk);
+    }
+
+    private int persist(List<JournalEntry> batch, PipelineContext context, DataTransformer dataTransformer,
+                        SnapshotChunk chunk) throws SyncClientException {
+
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<JournalEntry> transformedBatch = dataTransformer.transform(batch, context);
+        List<TransactionResult> transactionResults = persistor.persist(transformedBatch, context);
+        for (TransactionResult transactionResult : transactionResults) {
+            if (!transactionResult.isSuccess()) {
+                throw new SyncClientException("Error while persisting snapshot chunk: " + chunk,
+                                              transactionResult.getException());
+            }
+        }
+        return transactionResults.size();
+    }
+
+    private List<SnapshotChunk> planChunks(Connection sourceConnection, String tableName, TableMetaData tableMetaData)
+            throws SQLException {
+
+        if (getKeyColumn(tableMetaData) == null) {
+            log.warn("Table: " + tableName + " does not have a primary key. Hence copying it as a single chunk.");
+        }
+        List<SnapshotChunk> chunks = new ArrayList<>();
+        for (KeyRange range : splitRange(sourceConnection, new KeyRange(tableName, null, null), tableMetaData,
+                                         chunkSize)) {
+            chunks.add(new SnapshotChunk(tableName, chunks.size(), range.getLowerBound(), range.getUpperBound(),
+                                         false));
+        }
+        return chunks;
+    }
+
+    private void createCheckpointTable(Connection targetConnection, PipelineConfiguration pipelineConfiguration)
+            throws SQLException, SyncClientException {
+
+        List<ColumnData> columnData = new ArrayList<>();
+        columnData.add(new ColumnData(COLUMN_NAME_TABLE_NAME, COLUMN_TYPE_VARCHAR, 64));
+        columnData.add(new ColumnData(COLUMN_NAME_CHUNK_ID, COLUMN_TYPE_INT, 11));
+        columnData.add(new ColumnData(COLUMN_NAME_LOWER_BOUND, COLUMN_TYPE_VARCHAR, MAX_BOUND_SIZE));
+        columnData.add(new ColumnData(COLUMN_NAME_UPPER_BOUND, COLUMN_TYPE_VARCHAR, MAX_BOUND_SIZE));
+        columnData.add(new ColumnData(COLUMN_NAME_COMPLETED, COLUMN_TYPE_INT, 11));
+        TableMetaData tableMetaData = new TableMetaData.Builder().setColumnData(columnData)
+                .setPrimaryKeys(Arrays.asList(COLUMN_NAME_TABLE_NAME, COLUMN_NAME_CHUNK_ID))
+                .build();
+
+        List<String> sqlStatements = pipelineConfiguration.getTargetDatabaseDialect().generateCreateTable(
+                new Table(SNAPSHOT_CHECKPOINT_TABLE, tableMetaData));
+        try (Statement statement = targetConnection.createStatement()) {
+            for (String sqlStatement : sqlStatements) {
+                statement.execute(sqlStatement);
+            }
+        }
+    }
+
+    private List<SnapshotChunk> getChunks(Connection targetConnection, String tableName) throws SQLException {
+
+        List<SnapshotChunk> chunks = new ArrayList<>();
+        String sql = String.format(getQuery(SQL_TEMPLATE_SELECT_SNAPSHOT_CHUNKS_KEY), SNAPSHOT_CHECKPOINT_TABLE);
+        try (PreparedStatement ps = targetConnection.prepareStatement(sql)) {
+            ps.setString(1, tableName);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    chunks.add(new SnapshotChunk(tableName, rs.getInt(COLUMN_NAME_CHUNK_ID),
+                                                 rs.getString(COLUMN_NAME_LOWER_BOUND),
+                                                 rs.getString(COLUMN_NAME_UPPER_BOUND),
+                                                 rs.getInt(COLUMN_NAME_COMPLETED) == 1));
+                }
+            }
+        }
+        return chunks;
+    }
+
+    private void insertChunks(Connection targetConnection, List<SnapshotChunk> chunks) throws SQLException,
+            SyncClientException {
+
+        String sql = String.format(getQuery(SQL_TEMPLATE_INSERT_SNAPSHOT_CHUNK_KEY), SNAPSHOT_CHECKPOINT_TABLE);
+        try (PreparedStatement ps = targetConnection.prepareStatement(sql)) {
+            for (SnapshotChunk chunk : chunks) {
+                if (isTooLong(chunk.getLowerBound()) || isTooLong(chunk.getUpperBound())) {
+                    throw new SyncClientException("Primary key values of table: " + chunk.getTableName() + " are " +
+                                                  "too long to be used as snapshot chunk bounds.");
+                }
+                ps.setString(1, chunk.getTableName());
+                ps.setInt(2, chunk.getChunkId());
+                ps.setString(3, chunk.getLowerBound());
+                ps.setString(4, chunk.getUpperBound());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    private boolean isTooLong(String bound) {
+
+        return bound != null && bound.length() > MAX_BOUND_SIZE;
+    }
+
+    private void completeChunk(Connection targetConnection, SnapshotChunk chunk) throws SQLException {
+
+        String sql = String.format(getQuery(SQL_TEMPLATE_COMPLETE_SNAPSHOT_CHUNK_KEY), SNAPSHOT_CHECKPOINT_TABLE);
+        try (PreparedStatement ps = targetConnection.prepareStatement(sql)) {
+            ps.setString(1, chunk.getTableName());
+            ps.setInt(2, chunk.getChunkId());
+            ps.executeUpdate();
+        }
+    }
+
+    private long getSourceMaxSyncId(Connection sourceConnection, String syncTableName) throws SQLException {
+
+        // SELECT MAX(SYNC_ID) FROM %s
+        String sql = String.format(getQuery(SQL_TEMPLATE_SELECT_MAX_SYNC_ID_KEY), syncTableName);
+        try (PreparedStatement ps = sourceConnection.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    private void updateSyncVersion(Connection targetConnection, String syncVersionTableName, long syncId)
+            throws SQLException {
+
+        // SELECT SYNC_ID FROM %s
+        boolean exists;
+        String sql = String.format(getQuery(SQL_TEMPLATE_SELECT_SYNC_ID_KEY), syncVersionTableName);
+        try (PreparedStatement ps = targetConnection.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            exists = rs.next();
+        }
+
+        // UPDATE %s SET SYNC_ID = ? or INSERT INTO %s (SYNC_ID) VALUES (?)
+        String key = exists ? SQL_TEMPLATE_UPDATE_SYNC_VERSION_KEY : SQL_TEMPLATE_INSERT_SYNC_ID_KEY;
+        try (PreparedStatement ps = targetConnection.prepareStatement(String.format(getQuery(key),
+                                                                                    syncVersionTableName))) {
+            ps.setLong(1, syncId);
+            ps.executeUpdate();
+        }
+    }
+}
@@ -22,6 +22,8 @@ import org.wso2.is.data.sync.system.pipeline.PipelineContext;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  *
@@ -42,6 +44,18 @@ public class ChainDataTransformer implements DataTransformer {
         return nextResult;
     }
 
+    @Override
+    public Set<String> getAccessedColumns() {
+
+        return getAccessedColumns(dataTransformers);
+    }
+
+    @Override
+    public Set<String> getEncryptedColumns() {
+
+        return getEncryptedColumns(dataTransformers);
+    }
+
     public void add(DataTransformer dataTransformer) {
 
         dataTransformers.add(dataTransformer);
@@ -51,4 +65,90 @@ public class ChainDataTransformer implements DataTransformer {
 
         this.dataTransformers = dataTransformers;
     }
+
+    /**
+     * Checks whether the chain returns the journal entries without transforming them.
+     *
+     * @return True if the chain only contains {@link PassThroughDataTransformer}s.
+     */
+    public boolean isPassThrough() {
+
+        for (DataTransformer dataTransformer : dataTransformers) {
+            if (!(dataTransformer instanceof PassThroughDataTransformer)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the steps of the chain as transformers of single journal entries, so that a batch can be transformed
+     * while it is streamed from the journal. Pass through transformers are omitted, and fused and parallel
+     * transformers are replaced by the entry transformers they run.
+     *
+     * @return Entry transformers of the chain in order, or null if the chain contains a transformer which needs the
+     * whole batch.
+     */
+    public List<EntryTransformer> getEntryTransformers() {
+
+        List<EntryTransformer> entryTransformers = new ArrayList<>();
+        for (DataTransformer dataTransformer : dataTransformers) {
+            if (!addEntryTransformers(dataTransformer, entryTransformers)) {
+                return null;
+            }
+        }
+        return entryTransformers;
+    }
+
+    private static boolean addEntryTransformers(DataTransformer dataTransformer,
+                                                List<EntryTransformer> entryTransformers) {
+
+        if (dataTransformer instanceof PassThroughDataTransformer) {
+            return true;
+        } else if (dataTransformer instanceof ParallelDataTransformer) {
+            return addEntryTransformers(((ParallelDataTransformer) dataTransformer).getDataTransformer(),
+                                        entryTransformers);
+        } else if (dataTransformer instanceof FusedDataTransformer) {
+            entryTransformers.addAll(((FusedDataTransformer) dataTransformer).getEntryTransformers());
+            return true;
+        } else if (dataTransformer instanceof EntryTransformer) {
+            entryTransformers.add((EntryTransformer) dataTransformer);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Merges the columns accessed by a list of transformers.
+     *
+     * @param dataTransformers Data transformers.
+     * @return Names of the columns accessed by any of the transformers, or null if any column may be accessed.
+     */
+    static Set<String> getAccessedColumns(List<? extends DataTransformer> dataTransformers) {
+
+        Set<String> columns = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (DataTransformer dataTransformer : dataTransformers) {
+            Set<String> accessedColumns = dataTransformer.getAccessedColumns();
+            if (accessedColumns == null) {
+                return null;
+            }
+            columns.addAll(accessedColumns);
+        }
+        return columns;
+    }
+
+    /**
+     * Merges the columns re-encrypted by a list of transformers.
+     *
+     * @param dataTransformers Data transformers.
+     * @return Names of the columns re-encrypted by any of the transformers.
+     */
+    static Set<String> getEncryptedColumns(List<? extends DataTransformer> dataTransformers) {
+
+        Set<String> columns = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (DataTransformer dataTransformer : dataTransformers) {
+            columns.addAll(dataTransformer.getEncryptedColumns());
+        }
+        return columns;
+    }
 }
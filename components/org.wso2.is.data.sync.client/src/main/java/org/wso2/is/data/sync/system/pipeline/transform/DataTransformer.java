@@ -20,7 +20,10 @@ import org.wso2.is.data.sync.system.exception.SyncClientException;
 import org.wso2.is.data.sync.system.pipeline.JournalEntry;
 import org.wso2.is.data.sync.system.pipeline.PipelineContext;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * This interface represents a data transformer between two product versions. The implementations of this class will
@@ -39,4 +42,41 @@ public interface DataTransformer {
     List<JournalEntry> transform(List<JournalEntry> journalEntryList, PipelineContext context)
             throws SyncClientException;
 
+    /**
+     * Returns the columns read or written by the transformer, as declared by its {@link VersionAdvice}s. The
+     * remaining columns of the journal entries are passed to the target as read from the source.
+     *
+     * @return Names of the accessed columns, or null if the transformer may access any column.
+     */
+    default Set<String> getAccessedColumns() {
+
+        VersionAdvice[] versionAdvices = getClass().getAnnotationsByType(VersionAdvice.class);
+        if (versionAdvices.length == 0) {
+            return null;
+        }
+        Set<String> columns = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (VersionAdvice versionAdvice : versionAdvices) {
+            if (versionAdvice.columns().length == 0) {
+                return null;
+            }
+            columns.addAll(Arrays.asList(versionAdvice.columns()));
+        }
+        return columns;
+    }
+
+    /**
+     * Returns the columns holding cipher texts which the transformer may re-encrypt, as declared by its
+     * {@link VersionAdvice}s.
+     *
+     * @return Names of the re-encrypted columns.
+     */
+    default Set<String> getEncryptedColumns() {
+
+        Set<String> columns = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (VersionAdvice versionAdvice : getClass().getAnnotationsByType(VersionAdvice.class)) {
+            columns.addAll(Arrays.asList(versionAdvice.encryptedColumns()));
+        }
+        return columns;
+    }
+
 }
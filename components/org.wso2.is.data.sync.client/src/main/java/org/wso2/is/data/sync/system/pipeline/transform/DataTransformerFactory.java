@@ -22,6 +22,9 @@ import org.apache.commons.logging.LogFactory;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.wso2.is.data.sync.system.util.Constant.TRANSFORM_MIN_CHUNK_SIZE;
 
 /**
  * The factory class for building {@link DataTransformer} instances associates for a sync pipeline based on the sync
@@ -31,12 +34,29 @@ public class DataTransformerFactory {
 
     private Log log = LogFactory.getLog(DataTransformerFactory.class);
     private List<DataTransformer> dataTransformers = new ArrayList<>();
+    private ExecutorService transformExecutor;
+    private int transformThreads;
 
     public DataTransformerFactory(List<DataTransformer> dataTransformers) {
 
         this.dataTransformers = dataTransformers;
     }
 
+    /**
+     * Creates a factory which transforms the batches in parallel with the {@link ThreadSafe} transformers.
+     *
+     * @param dataTransformers Available data transformers.
+     * @param transformExecutor Executor shared by the parallel transformers.
+     * @param transformThreads Maximum number of parts a batch is split into.
+     */
+    public DataTransformerFactory(List<DataTransformer> dataTransformers, ExecutorService transformExecutor,
+                                  int transformThreads) {
+
+        this.dataTransformers = dataTransformers;
+        this.transformExecutor = transformExecutor;
+        this.transformThreads = transformThreads;
+    }
+
     /**
      * Builds and return an instance of {@link ChainDataTransformer} which contains an ordered list of data
      * transformers required for the data sync pipeline.
@@ -79,7 +99,11 @@ public class DataTransformerFactory {
             chainDataTransformer.add(new PassThroughDataTransformer());
         } else {
             tempDataTransformers.sort(Comparator.comparingInt(transformer -> getVersion(tableName, transformer)));
-            chainDataTransformer.setDataTransformers(tempDataTransformers);
+            List<DataTransformer> chainedTransformers = new ArrayList<>();
+            for (DataTransformer dataTransformer : fuseEntryTransformers(tempDataTransformers)) {
+                chainedTransformers.add(wrapParallel(dataTransformer));
+            }
+            chainDataTransformer.setDataTransformers(chainedTransformers);
         }
         return chainDataTransformer;
     }
@@ -124,6 +148,52 @@ public class DataTransformerFactory {
         return dataTransformer;
     }
 
+    /**
+     * Replaces each run of consecutive {@link EntryTransformer}s with a {@link FusedDataTransformer}, so that the
+     * version steps of an entry are applied in a single pass sharing their intermediate results.
+     *
+     * @param orderedTransformers Data transformers ordered by their product versions.
+     * @return Data transformers with the entry transformers fused.
+     */
+    private List<DataTransformer> fuseEntryTransformers(List<DataTransformer> orderedTransformers) {
+
+        List<DataTransformer> fusedTransformers = new ArrayList<>();
+        List<EntryTransformer> entryTransformers = new ArrayList<>();
+        for (DataTransformer dataTransformer : orderedTransformers) {
+            if (dataTransformer instanceof EntryTransformer) {
+                entryTransformers.add((EntryTransformer) dataTransformer);
+                continue;
+            }
+            addEntryTransformers(fusedTransformers, entryTransformers);
+            entryTransformers = new ArrayList<>();
+            fusedTransformers.add(dataTransformer);
+        }
+        addEntryTransformers(fusedTransformers, entryTransformers);
+        return fusedTransformers;
+    }
+
+    private void addEntryTransformers(List<DataTransformer> dataTransformers,
+                                      List<EntryTransformer> entryTransformers) {
+
+        if (entryTransformers.size() == 1) {
+            dataTransformers.add(entryTransformers.get(0));
+        } else if (entryTransformers.size() > 1) {
+            dataTransformers.add(new FusedDataTransformer(entryTransformers));
+        }
+    }
+
+    private DataTransformer wrapParallel(DataTransformer dataTransformer) {
+
+        boolean threadSafe = dataTransformer instanceof FusedDataTransformer ?
+                ((FusedDataTransformer) dataTransformer).isThreadSafe() :
+                dataTransformer.getClass().isAnnotationPresent(ThreadSafe.class);
+        if (transformExecutor == null || transformThreads < 2 || !threadSafe) {
+            return dataTransformer;
+        }
+        return new ParallelDataTransformer(dataTransformer, transformExecutor, transformThreads,
+                                           TRANSFORM_MIN_CHUNK_SIZE);
+    }
+
     private int getVersion(String tableName, DataTransformer dataTransformer) {
 
         int version = 0;
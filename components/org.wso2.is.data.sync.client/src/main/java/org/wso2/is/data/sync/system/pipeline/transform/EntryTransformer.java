@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.pipeline.transform;
+
+import org.wso2.is.data.sync.system.exception.SyncClientException;
+import org.wso2.is.data.sync.system.pipeline.JournalEntry;
+import org.wso2.is.data.sync.system.pipeline.PipelineContext;
+
+import java.util.List;
+
+/**
+ * A {@link DataTransformer} which transforms the journal entries one at a time. Consecutive entry transformers of a
+ * transformer chain are fused into a {@link FusedDataTransformer}, which runs every version step on an entry in a
+ * single pass. The steps share the intermediate results of the entry, such as decrypted tokens and computed hashes,
+ * through an {@link EntryTransformationState}.
+ */
+public interface EntryTransformer extends DataTransformer {
+
+    /**
+     * Transform a journal entry in place.
+     *
+     * @param journalEntry {@link JournalEntry} to be transformed.
+     * @param state Intermediate results of the previous steps on the same entry.
+     * @param context Context of the current data sync pipeline
+     * @throws SyncClientException If error occurs while data transformation.
+     */
+    void transform(JournalEntry journalEntry, EntryTransformationState state, PipelineContext context)
+            throws SyncClientException;
+
+    @Override
+    default List<JournalEntry> transform(List<JournalEntry> journalEntryList, PipelineContext context)
+            throws SyncClientException {
+
+        for (JournalEntry journalEntry : journalEntryList) {
+            transform(journalEntry, new EntryTransformationState(), context);
+        }
+        return journalEntryList;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.pipeline.transform;
+
+import org.wso2.is.data.sync.system.exception.SyncClientException;
+import org.wso2.is.data.sync.system.pipeline.JournalEntry;
+import org.wso2.is.data.sync.system.pipeline.PipelineContext;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Runs a sequence of {@link EntryTransformer}s on each journal entry in a single pass over the batch. The steps of
+ * an entry share an {@link EntryTransformationState}, hence a step can reuse the work done by the previous steps.
+ */
+public class FusedDataTransformer implements DataTransformer {
+
+    private List<EntryTransformer> entryTransformers;
+
+    public FusedDataTransformer(List<EntryTransformer> entryTransformers) {
+
+        this.entryTransformers = entryTransformers;
+    }
+
+    @Override
+    public List<JournalEntry> transform(List<JournalEntry> journalEntryList, PipelineContext context)
+            throws SyncClientException {
+
+        for (JournalEntry journalEntry : journalEntryList) {
+            EntryTransformationState state = new EntryTransformationState();
+            for (EntryTransformer entryTransformer : entryTransformers) {
+                entryTransformer.transform(journalEntry, state, context);
+            }
+        }
+        return journalEntryList;
+    }
+
+    @Override
+    public Set<String> getAccessedColumns() {
+
+        return ChainDataTransformer.getAccessedColumns(entryTransformers);
+    }
+
+    @Override
+    public Set<String> getEncryptedColumns() {
+
+        return ChainDataTransformer.getEncryptedColumns(entryTransformers);
+    }
+
+    public List<EntryTransformer> getEntryTransformers() {
+
+        return entryTransformers;
+    }
+
+    /**
+     * @return True if every fused step is a {@link ThreadSafe} transformer.
+     */
+    public boolean isThreadSafe() {
+
+        for (EntryTransformer entryTransformer : entryTransformers) {
+            if (!entryTransformer.getClass().isAnnotationPresent(ThreadSafe.class)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.pipeline.transform;
+
+import org.wso2.is.data.sync.system.exception.SyncClientException;
+import org.wso2.is.data.sync.system.pipeline.JournalEntry;
+import org.wso2.is.data.sync.system.pipeline.PipelineContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Wraps a {@link ThreadSafe} {@link DataTransformer} and transforms a batch of journal entries in parallel. The batch
+ * is split into consecutive chunks which are transformed on a shared bounded executor. The transformed chunks are
+ * joined in their original order. The first failing chunk fails the batch and cancels the pending chunks.
+ */
+public class ParallelDataTransformer implements DataTransformer {
+
+    private DataTransformer dataTransformer;
+    private ExecutorService executorService;
+    private int parallelism;
+    private int minChunkSize;
+
+    public ParallelDataTransformer(DataTransformer dataTransformer, ExecutorService executorService,
+                                   int parallelism, int minChunkSize) {
+
+        this.dataTransformer = dataTransformer;
+        this.executorService = executorService;
+        this.parallelism = parallelism;
+        this.minChunkSize = Math.max(1, minChunkSize);
+    }
+
+    @Override
+    public List<JournalEntry> transform(List<JournalEntry> journalEntryList, PipelineContext context)
+            throws SyncClientException {
+
+        int chunkCount = Math.min(parallelism, journalEntryList.size() / minChunkSize);
+        if (chunkCount < 2) {
+            return dataTransformer.transform(journalEntryList, context);
+        }
+
+        CompletionService<List<JournalEntry>> completionService = new ExecutorCompletionService<>(executorService);
+        List<Future<List<JournalEntry>>> futures = new ArrayList<>(chunkCount);
+        int size = journalEntryList.size();
+        for (int i = 0; i < chunkCount; i++) {
+            List<JournalEntry> chunk = new ArrayList<>(journalEntryList.subList(i * size / chunkCount,
+                                                                                (i + 1) * size / chunkCount));
+            futures.add(completionService.submit(() -> dataTransformer.transform(chunk, context)));
+        }
+
+        try {
+            for (int i = 0; i < chunkCount; i++) {
+                completionService.take().get();
+            }
+            List<JournalEntry> transformedEntries = new ArrayList<>(size);
+            for (Future<List<JournalEntry>> future : futures) {
+                transformedEntries.addAll(future.get());
+            }
+            return transformedEntries;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SyncClientException) {
+                throw (SyncClientException) cause;
+            }
+            throw new SyncClientException("Error while transforming journal entries with: " +
+                                          dataTransformer.getClass().getName(), cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SyncClientException("Interrupted while transforming journal entries with: " +
+                                          dataTransformer.getClass().getName(), e);
+        } finally {
+            for (Future<List<JournalEntry>> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    @Override
+    public Set<String> getAccessedColumns() {
+
+        return dataTransformer.getAccessedColumns();
+    }
+
+    @Override
+    public Set<String> getEncryptedColumns() {
+
+        return dataTransformer.getEncryptedColumns();
+    }
+
+    public DataTransformer getDataTransformer() {
+
+        return dataTransformer;
+    }
+}
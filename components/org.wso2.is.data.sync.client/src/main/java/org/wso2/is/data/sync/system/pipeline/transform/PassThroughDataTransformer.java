@@ -22,7 +22,9 @@ import org.wso2.is.data.sync.system.exception.SyncClientException;
 import org.wso2.is.data.sync.system.pipeline.JournalEntry;
 import org.wso2.is.data.sync.system.pipeline.PipelineContext;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 /**
  * This data transformer will be used when there are no custom {@link DataTransformer} instances are registered for a
@@ -42,4 +44,10 @@ public class PassThroughDataTransformer implements DataTransformer {
         }
         return journalEntryList;
     }
+
+    @Override
+    public Set<String> getAccessedColumns() {
+
+        return Collections.emptySet();
+    }
 }
@@ -31,4 +31,16 @@ public @interface VersionAdvice {
     String version();
     String tableName();
 
+    /**
+     * Columns read or written by the transformer. Columns not accessed by any transformer of a table are synced
+     * without being decoded into typed values. Empty if the transformer may access any column.
+     */
+    String[] columns() default {};
+
+    /**
+     * Columns holding cipher texts which the transformer may re-encrypt. The same plain text is stored as different
+     * cipher texts in the source and the target, hence these columns are not compared when verifying the target.
+     */
+    String[] encryptedColumns() default {};
+
 }
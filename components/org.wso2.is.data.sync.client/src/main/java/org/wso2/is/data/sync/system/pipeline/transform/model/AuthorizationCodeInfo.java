@@ -19,8 +19,9 @@ package org.wso2.is.data.sync.system.pipeline.transform.model;
 public class AuthorizationCodeInfo {
 
     private String authorizationCode;
-    private String decryptedAuthorizationCode;
+    private String decryptedAuthorizationCodeHash;
     private String authorizationCodeHash;
+    private String sourceAuthorizationCode;
 
     public AuthorizationCodeInfo(String authorizationCode) {
 
@@ -43,14 +44,17 @@ public class AuthorizationCodeInfo {
         this.authorizationCode = authorizationCode;
     }
 
-    public String getDecryptedAuthorizationCode() {
+    /**
+     * @return Hash of the decrypted authorization code, or null if the code was not decrypted.
+     */
+    public String getDecryptedAuthorizationCodeHash() {
 
-        return decryptedAuthorizationCode;
+        return decryptedAuthorizationCodeHash;
     }
 
-    public void setDecryptedAuthorizationCode(String decryptedAuthorizationCode) {
+    public void setDecryptedAuthorizationCodeHash(String decryptedAuthorizationCodeHash) {
 
-        this.decryptedAuthorizationCode = decryptedAuthorizationCode;
+        this.decryptedAuthorizationCodeHash = decryptedAuthorizationCodeHash;
     }
 
     public String getAuthorizationCodeHash() {
@@ -62,4 +66,17 @@ public class AuthorizationCodeInfo {
 
         this.authorizationCodeHash = authorizationCodeHash;
     }
+
+    /**
+     * @return Authorization code cipher text read from the source, or null if the code was not decrypted.
+     */
+    public String getSourceAuthorizationCode() {
+
+        return sourceAuthorizationCode;
+    }
+
+    public void setSourceAuthorizationCode(String sourceAuthorizationCode) {
+
+        this.sourceAuthorizationCode = sourceAuthorizationCode;
+    }
 }
@@ -20,10 +20,12 @@ public class TokenInfo {
 
     private String accessToken;
     private String refreshToken;
-    private String decryptedAccessToken;
-    private String decryptedRefreshToken;
+    private String decryptedAccessTokenHash;
+    private String decryptedRefreshTokenHash;
     private String accessTokenHash;
     private String refreshTokenHash;
+    private String sourceAccessToken;
+    private String sourceRefreshToken;
 
     public TokenInfo(String accessToken, String refreshToken) {
 
@@ -79,23 +81,55 @@ public class TokenInfo {
         this.refreshTokenHash = refreshTokenHash;
     }
 
-    public String getDecryptedAccessToken() {
+    /**
+     * @return Hash of the decrypted access token, or null if the access token was not decrypted.
+     */
+    public String getDecryptedAccessTokenHash() {
 
-        return decryptedAccessToken;
+        return decryptedAccessTokenHash;
     }
 
-    public void setDecryptedAccessToken(String decryptedAccessToken) {
+    public void setDecryptedAccessTokenHash(String decryptedAccessTokenHash) {
 
-        this.decryptedAccessToken = decryptedAccessToken;
+        this.decryptedAccessTokenHash = decryptedAccessTokenHash;
     }
 
-    public String getDecryptedRefreshToken() {
+    /**
+     * @return Hash of the decrypted refresh token, or null if the refresh token was not decrypted.
+     */
+    public String getDecryptedRefreshTokenHash() {
 
-        return decryptedRefreshToken;
+        return decryptedRefreshTokenHash;
     }
 
-    public void setDecryptedRefreshToken(String decryptedRefreshToken) {
+    public void setDecryptedRefreshTokenHash(String decryptedRefreshTokenHash) {
 
-        this.decryptedRefreshToken = decryptedRefreshToken;
+        this.decryptedRefreshTokenHash = decryptedRefreshTokenHash;
+    }
+
+    /**
+     * @return Access token cipher text read from the source, or null if the access token was not decrypted.
+     */
+    public String getSourceAccessToken() {
+
+        return sourceAccessToken;
+    }
+
+    public void setSourceAccessToken(String sourceAccessToken) {
+
+        this.sourceAccessToken = sourceAccessToken;
+    }
+
+    /**
+     * @return Refresh token cipher text read from the source, or null if the refresh token was not decrypted.
+     */
+    public String getSourceRefreshToken() {
+
+        return sourceRefreshToken;
+    }
+
+    public void setSourceRefreshToken(String sourceRefreshToken) {
+
+        this.sourceRefreshToken = sourceRefreshToken;
     }
 }
@@ -22,60 +22,57 @@ import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.is.data.sync.system.exception.SyncClientException;
 import org.wso2.is.data.sync.system.pipeline.JournalEntry;
 import org.wso2.is.data.sync.system.pipeline.PipelineContext;
-import org.wso2.is.data.sync.system.pipeline.transform.DataTransformer;
+import org.wso2.is.data.sync.system.pipeline.transform.EntryTransformationState;
+import org.wso2.is.data.sync.system.pipeline.transform.EntryTransformer;
+import org.wso2.is.data.sync.system.pipeline.transform.ThreadSafe;
 import org.wso2.is.data.sync.system.pipeline.transform.VersionAdvice;
 import org.wso2.is.data.sync.system.pipeline.transform.model.AuthorizationCodeInfo;
-import org.wso2.is.data.sync.system.util.OAuth2Util;
+import org.wso2.is.data.sync.system.util.TransformationCryptoContext;
 
-import java.util.List;
-
-import static org.wso2.is.data.sync.system.util.CommonUtil.getObjectValueFromEntry;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_AUTHORIZATION_CODE;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_AUTHORIZATION_CODE_HASH;
+import static org.wso2.is.data.sync.system.util.OAuth2Util.getAuthorizationCodeInfo;
 import static org.wso2.is.data.sync.system.util.OAuth2Util.hashAuthorizationCode;
 import static org.wso2.is.data.sync.system.util.OAuth2Util.transformEncryptedAuthorizationCode;
 import static org.wso2.is.data.sync.system.util.OAuth2Util.updateJournalEntryForCode;
 
-@VersionAdvice(version = "5.5.0", tableName = "IDN_OAUTH2_AUTHORIZATION_CODE")
-public class AuthorizationCodeDataTransformerV550 implements DataTransformer {
+@VersionAdvice(version = "5.5.0", tableName = "IDN_OAUTH2_AUTHORIZATION_CODE",
+               columns = {COLUMN_AUTHORIZATION_CODE, COLUMN_AUTHORIZATION_CODE_HASH},
+               encryptedColumns = {COLUMN_AUTHORIZATION_CODE})
+@ThreadSafe
+public class AuthorizationCodeDataTransformerV550 implements EntryTransformer {
+
+    private final TransformationCryptoContext cryptoContext = new TransformationCryptoContext();
 
     @Override
-    public List<JournalEntry> transform(List<JournalEntry> journalEntryList, PipelineContext context)
+    public void transform(JournalEntry entry, EntryTransformationState state, PipelineContext context)
             throws SyncClientException {
 
+        cryptoContext.configure(context.getPipelineConfiguration().getConfiguration());
         try {
-            boolean encryptionWithTransformationEnabled = OAuth2Util.isEncryptionWithTransformationEnabled();
-            boolean tokenEncryptionEnabled = OAuth2Util.isTokenEncryptionEnabled();
-
-            for (JournalEntry entry : journalEntryList) {
+            AuthorizationCodeInfo authorizationCodeInfo = getAuthorizationCodeInfo(entry, state);
 
-                String authorizationCode = (String) getObjectValueFromEntry(entry, COLUMN_AUTHORIZATION_CODE);
-                String authorizationCodeHash = (String) getObjectValueFromEntry(entry, COLUMN_AUTHORIZATION_CODE_HASH);
-
-                AuthorizationCodeInfo authorizationCodeInfo = new AuthorizationCodeInfo(authorizationCode,
-                                                                                        authorizationCodeHash);
-
-                if (encryptionWithTransformationEnabled) {
-                    try {
-                        transformEncryptedAuthorizationCode(authorizationCodeInfo);
-                        if (StringUtils.isBlank(authorizationCodeHash)) {
-                            hashAuthorizationCode(authorizationCodeInfo);
-                        }
-                        updateJournalEntryForCode(entry, authorizationCodeInfo);
-                    } catch (CryptoException e) {
-                        throw new SyncClientException("Error while transforming encrypted authorization codes", e);
+            if (cryptoContext.isEncryptionWithTransformationEnabled()) {
+                try {
+                    if (authorizationCodeInfo.getDecryptedAuthorizationCodeHash() == null) {
+                        transformEncryptedAuthorizationCode(authorizationCodeInfo, cryptoContext);
                     }
-                } else if (!tokenEncryptionEnabled) {
-                    if (StringUtils.isBlank(authorizationCodeHash)) {
-                        hashAuthorizationCode(authorizationCodeInfo);
-                        updateJournalEntryForCode(entry, authorizationCodeInfo);
+                    if (StringUtils.isBlank(authorizationCodeInfo.getAuthorizationCodeHash())) {
+                        hashAuthorizationCode(authorizationCodeInfo, cryptoContext);
                     }
+                    updateJournalEntryForCode(entry, authorizationCodeInfo);
+                } catch (CryptoException e) {
+                    throw new SyncClientException("Error while transforming encrypted authorization codes", e);
+                }
+            } else if (!cryptoContext.isTokenEncryptionEnabled()) {
+                if (StringUtils.isBlank(authorizationCodeInfo.getAuthorizationCodeHash())) {
+                    hashAuthorizationCode(authorizationCodeInfo, cryptoContext);
+                    updateJournalEntryForCode(entry, authorizationCodeInfo);
                 }
             }
         } catch (IdentityOAuth2Exception e) {
             throw new SyncClientException("Error while checking authorization code encryption server configurations",
                                           e);
         }
-        return journalEntryList;
     }
 }
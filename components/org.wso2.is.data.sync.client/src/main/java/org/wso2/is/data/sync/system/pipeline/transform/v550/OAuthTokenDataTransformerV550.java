@@ -24,64 +24,60 @@ import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.is.data.sync.system.exception.SyncClientException;
 import org.wso2.is.data.sync.system.pipeline.JournalEntry;
 import org.wso2.is.data.sync.system.pipeline.PipelineContext;
-import org.wso2.is.data.sync.system.pipeline.transform.DataTransformer;
+import org.wso2.is.data.sync.system.pipeline.transform.EntryTransformationState;
+import org.wso2.is.data.sync.system.pipeline.transform.EntryTransformer;
+import org.wso2.is.data.sync.system.pipeline.transform.ThreadSafe;
 import org.wso2.is.data.sync.system.pipeline.transform.VersionAdvice;
 import org.wso2.is.data.sync.system.pipeline.transform.model.TokenInfo;
-import org.wso2.is.data.sync.system.util.OAuth2Util;
+import org.wso2.is.data.sync.system.util.TransformationCryptoContext;
 
-import java.util.List;
-
-import static org.wso2.is.data.sync.system.util.CommonUtil.getObjectValueFromEntry;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_ACCESS_TOKEN;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_ACCESS_TOKEN_HASH;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_REFRESH_TOKEN;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_REFRESH_TOKEN_HASH;
+import static org.wso2.is.data.sync.system.util.OAuth2Util.getTokenInfo;
 import static org.wso2.is.data.sync.system.util.OAuth2Util.hashTokens;
 import static org.wso2.is.data.sync.system.util.OAuth2Util.transformEncryptedTokens;
 import static org.wso2.is.data.sync.system.util.OAuth2Util.updateJournalEntryForToken;
 
-@VersionAdvice(version = "5.5.0", tableName = "IDN_OAUTH2_ACCESS_TOKEN")
-public class OAuthTokenDataTransformerV550 implements DataTransformer {
+@VersionAdvice(version = "5.5.0", tableName = "IDN_OAUTH2_ACCESS_TOKEN",
+               columns = {COLUMN_ACCESS_TOKEN, COLUMN_REFRESH_TOKEN,
+                          COLUMN_ACCESS_TOKEN_HASH, COLUMN_REFRESH_TOKEN_HASH},
+               encryptedColumns = {COLUMN_ACCESS_TOKEN, COLUMN_REFRESH_TOKEN})
+@ThreadSafe
+public class OAuthTokenDataTransformerV550 implements EntryTransformer {
 
     private Log log = LogFactory.getLog(OAuthTokenDataTransformerV550.class);
+    private final TransformationCryptoContext cryptoContext = new TransformationCryptoContext();
 
     @Override
-    public List<JournalEntry> transform(List<JournalEntry> journalEntryList, PipelineContext context)
+    public void transform(JournalEntry entry, EntryTransformationState state, PipelineContext context)
             throws SyncClientException {
 
+        cryptoContext.configure(context.getPipelineConfiguration().getConfiguration());
         try {
-            boolean encryptionWithTransformationEnabled = OAuth2Util.isEncryptionWithTransformationEnabled();
-            boolean tokenEncryptionEnabled = OAuth2Util.isTokenEncryptionEnabled();
-
-            for (JournalEntry entry : journalEntryList) {
-
-                String accessToken = (String) getObjectValueFromEntry(entry, COLUMN_ACCESS_TOKEN);
-                String refreshToken = (String) getObjectValueFromEntry(entry, COLUMN_REFRESH_TOKEN);
-                String accessTokenHash = (String) getObjectValueFromEntry(entry, COLUMN_ACCESS_TOKEN_HASH);
-                String refreshTokenHash = (String) getObjectValueFromEntry(entry, COLUMN_REFRESH_TOKEN_HASH);
+            TokenInfo tokenInfo = getTokenInfo(entry, state);
 
-                TokenInfo tokenInfo = new TokenInfo(accessToken, refreshToken, accessTokenHash, refreshTokenHash);
-
-                if (encryptionWithTransformationEnabled) {
-                    try {
-                        transformEncryptedTokens(tokenInfo);
-                        if (StringUtils.isBlank(accessTokenHash)) {
-                            hashTokens(tokenInfo);
-                        }
-                        updateJournalEntryForToken(entry, tokenInfo);
-                    } catch (CryptoException e) {
-                        throw new SyncClientException("Error while transforming encrypted tokens", e);
+            if (cryptoContext.isEncryptionWithTransformationEnabled()) {
+                try {
+                    if (tokenInfo.getDecryptedAccessTokenHash() == null) {
+                        transformEncryptedTokens(tokenInfo, cryptoContext);
                     }
-                } else if (!tokenEncryptionEnabled) {
-                    if (StringUtils.isBlank(accessTokenHash)) {
-                        hashTokens(tokenInfo);
-                        updateJournalEntryForToken(entry, tokenInfo);
+                    if (StringUtils.isBlank(tokenInfo.getAccessTokenHash())) {
+                        hashTokens(tokenInfo, cryptoContext);
                     }
+                    updateJournalEntryForToken(entry, tokenInfo);
+                } catch (CryptoException e) {
+                    throw new SyncClientException("Error while transforming encrypted tokens", e);
+                }
+            } else if (!cryptoContext.isTokenEncryptionEnabled()) {
+                if (StringUtils.isBlank(tokenInfo.getAccessTokenHash())) {
+                    hashTokens(tokenInfo, cryptoContext);
+                    updateJournalEntryForToken(entry, tokenInfo);
                 }
             }
         } catch (IdentityOAuth2Exception e) {
             throw new SyncClientException("Error while checking token encryption server configurations", e);
         }
-        return journalEntryList;
     }
 }
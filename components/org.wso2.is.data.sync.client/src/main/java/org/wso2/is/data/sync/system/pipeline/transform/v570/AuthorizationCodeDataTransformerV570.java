@@ -17,98 +17,81 @@
 package org.wso2.is.data.sync.system.pipeline.transform.v570;
 
 import org.apache.commons.lang.StringUtils;
-import org.json.JSONException;
-import org.json.JSONObject;
 import org.wso2.carbon.core.util.CryptoException;
 import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.is.data.sync.system.exception.SyncClientException;
 import org.wso2.is.data.sync.system.pipeline.JournalEntry;
 import org.wso2.is.data.sync.system.pipeline.PipelineContext;
-import org.wso2.is.data.sync.system.pipeline.transform.DataTransformer;
+import org.wso2.is.data.sync.system.pipeline.transform.EntryTransformationState;
+import org.wso2.is.data.sync.system.pipeline.transform.EntryTransformer;
+import org.wso2.is.data.sync.system.pipeline.transform.ThreadSafe;
 import org.wso2.is.data.sync.system.pipeline.transform.VersionAdvice;
 import org.wso2.is.data.sync.system.pipeline.transform.model.AuthorizationCodeInfo;
-import org.wso2.is.data.sync.system.util.OAuth2Util;
+import org.wso2.is.data.sync.system.util.TransformationCryptoContext;
 
-import java.util.List;
-
-import static org.wso2.is.data.sync.system.util.CommonUtil.getObjectValueFromEntry;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_AUTHORIZATION_CODE;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_AUTHORIZATION_CODE_HASH;
-import static org.wso2.is.data.sync.system.util.Constant.PROPERTY_NAME_ALGORITHM;
-import static org.wso2.is.data.sync.system.util.Constant.PROPERTY_NAME_HASH;
+import static org.wso2.is.data.sync.system.util.OAuth2Util.getAuthorizationCodeInfo;
 import static org.wso2.is.data.sync.system.util.OAuth2Util.hashAuthorizationCode;
+import static org.wso2.is.data.sync.system.util.OAuth2Util.isJsonEncodedHash;
+import static org.wso2.is.data.sync.system.util.OAuth2Util.toJsonEncodedHash;
 import static org.wso2.is.data.sync.system.util.OAuth2Util.transformEncryptedAuthorizationCode;
 import static org.wso2.is.data.sync.system.util.OAuth2Util.updateJournalEntryForCode;
 
-@VersionAdvice(version = "5.7.0", tableName = "IDN_OAUTH2_AUTHORIZATION_CODE")
-public class AuthorizationCodeDataTransformerV570 implements DataTransformer {
+@VersionAdvice(version = "5.7.0", tableName = "IDN_OAUTH2_AUTHORIZATION_CODE",
+               columns = {COLUMN_AUTHORIZATION_CODE, COLUMN_AUTHORIZATION_CODE_HASH},
+               encryptedColumns = {COLUMN_AUTHORIZATION_CODE})
+@ThreadSafe
+public class AuthorizationCodeDataTransformerV570 implements EntryTransformer {
 
     private static String hashingAlgorithm = OAuthServerConfiguration.getInstance().getHashAlgorithm();
+    private final TransformationCryptoContext cryptoContext = new TransformationCryptoContext();
 
     @Override
-    public List<JournalEntry> transform(List<JournalEntry> journalEntryList, PipelineContext context)
+    public void transform(JournalEntry entry, EntryTransformationState state, PipelineContext context)
             throws SyncClientException {
 
+        cryptoContext.configure(context.getPipelineConfiguration().getConfiguration());
         try {
-            boolean encryptionWithTransformationEnabled = OAuth2Util.isEncryptionWithTransformationEnabled();
-            boolean tokenEncryptionEnabled = OAuth2Util.isTokenEncryptionEnabled();
-
-            for (JournalEntry entry : journalEntryList) {
+            AuthorizationCodeInfo authorizationCodeInfo = getAuthorizationCodeInfo(entry, state);
 
-                String authorizationCode = (String) getObjectValueFromEntry(entry, COLUMN_AUTHORIZATION_CODE);
-                String authorizationCodeHash = (String) getObjectValueFromEntry(entry, COLUMN_AUTHORIZATION_CODE_HASH);
-
-                AuthorizationCodeInfo authorizationCodeInfo = new AuthorizationCodeInfo(authorizationCode,
-                                                                                        authorizationCodeHash);
-                if (encryptionWithTransformationEnabled) {
-                    try {
-                        transformEncryptedAuthorizationCode(authorizationCodeInfo);
-                        if (StringUtils.isBlank(authorizationCodeHash)) {
-                            hashAuthorizationCode(authorizationCodeInfo);
-                        } else {
-                            reHashWithHashingAlgorithm(authorizationCodeInfo, hashingAlgorithm);
-                        }
-                        updateJournalEntryForCode(entry, authorizationCodeInfo);
-                    } catch (CryptoException e) {
-                        throw new SyncClientException("Error while transforming encrypted authorization code.", e);
+            if (cryptoContext.isEncryptionWithTransformationEnabled()) {
+                try {
+                    // Codes already decrypted by a previous version step are not decrypted again.
+                    if (authorizationCodeInfo.getDecryptedAuthorizationCodeHash() == null) {
+                        transformEncryptedAuthorizationCode(authorizationCodeInfo, cryptoContext);
                     }
-                } else if (!tokenEncryptionEnabled) {
-                    if (StringUtils.isBlank(authorizationCodeHash)) {
-                        hashAuthorizationCode(authorizationCodeInfo);
-                        updateJournalEntryForCode(entry, authorizationCodeInfo);
+                    if (StringUtils.isBlank(authorizationCodeInfo.getAuthorizationCodeHash())) {
+                        hashAuthorizationCode(authorizationCodeInfo, cryptoContext);
                     } else {
                         reHashWithHashingAlgorithm(authorizationCodeInfo, hashingAlgorithm);
                     }
+                    updateJournalEntryForCode(entry, authorizationCodeInfo);
+                } catch (CryptoException e) {
+                    throw new SyncClientException("Error while transforming encrypted authorization code.", e);
+                }
+            } else if (!cryptoContext.isTokenEncryptionEnabled()) {
+                if (StringUtils.isBlank(authorizationCodeInfo.getAuthorizationCodeHash())) {
+                    hashAuthorizationCode(authorizationCodeInfo, cryptoContext);
+                } else {
+                    reHashWithHashingAlgorithm(authorizationCodeInfo, hashingAlgorithm);
                 }
+                updateJournalEntryForCode(entry, authorizationCodeInfo);
             }
         } catch (IdentityOAuth2Exception e) {
             throw new SyncClientException("Error while checking authorization code encryption server configurations",
                                           e);
         }
-        return journalEntryList;
     }
 
     private void reHashWithHashingAlgorithm(AuthorizationCodeInfo authorizationCodeInfo, String hashAlgorithm) {
 
-        JSONObject authorizationCOdeHashObject;
-        String authorizationCode = authorizationCodeInfo.getAuthorizationCode();
+        String authorizationCodeHash = authorizationCodeInfo.getAuthorizationCodeHash();
 
-        try {
-            //If hash column already is a JSON value, no need to update the record
-            new JSONObject(authorizationCode);
-        } catch (JSONException e) {
-            //Exception is thrown because the hash value is not a json
-            authorizationCOdeHashObject = getJsonObjectWithHash(hashAlgorithm, authorizationCode);
-            authorizationCodeInfo.setAuthorizationCodeHash(authorizationCOdeHashObject.toString());
+        //If hash column already is a JSON value, no need to update the record
+        if (!isJsonEncodedHash(authorizationCodeHash)) {
+            authorizationCodeInfo.setAuthorizationCodeHash(toJsonEncodedHash(hashAlgorithm, authorizationCodeHash));
         }
     }
-
-    private JSONObject getJsonObjectWithHash(String hashAlgorithm, String authorizationCodeHash) {
-
-        JSONObject codeHashObject = new JSONObject();
-        codeHashObject.put(PROPERTY_NAME_ALGORITHM, hashAlgorithm);
-        codeHashObject.put(PROPERTY_NAME_HASH, authorizationCodeHash);
-        return codeHashObject;
-    }
 }
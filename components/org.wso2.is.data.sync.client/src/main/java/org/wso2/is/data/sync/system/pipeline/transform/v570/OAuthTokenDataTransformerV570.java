@@ -17,105 +17,82 @@
 package org.wso2.is.data.sync.system.pipeline.transform.v570;
 
 import org.apache.commons.lang.StringUtils;
-import org.json.JSONException;
-import org.json.JSONObject;
 import org.wso2.carbon.core.util.CryptoException;
 import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.is.data.sync.system.exception.SyncClientException;
 import org.wso2.is.data.sync.system.pipeline.JournalEntry;
 import org.wso2.is.data.sync.system.pipeline.PipelineContext;
-import org.wso2.is.data.sync.system.pipeline.transform.DataTransformer;
+import org.wso2.is.data.sync.system.pipeline.transform.EntryTransformationState;
+import org.wso2.is.data.sync.system.pipeline.transform.EntryTransformer;
+import org.wso2.is.data.sync.system.pipeline.transform.ThreadSafe;
 import org.wso2.is.data.sync.system.pipeline.transform.VersionAdvice;
 import org.wso2.is.data.sync.system.pipeline.transform.model.TokenInfo;
-import org.wso2.is.data.sync.system.util.OAuth2Util;
+import org.wso2.is.data.sync.system.util.TransformationCryptoContext;
 
-import java.util.List;
-
-import static org.wso2.is.data.sync.system.util.CommonUtil.getObjectValueFromEntry;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_ACCESS_TOKEN;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_ACCESS_TOKEN_HASH;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_REFRESH_TOKEN;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_REFRESH_TOKEN_HASH;
-import static org.wso2.is.data.sync.system.util.Constant.PROPERTY_NAME_ALGORITHM;
-import static org.wso2.is.data.sync.system.util.Constant.PROPERTY_NAME_HASH;
+import static org.wso2.is.data.sync.system.util.OAuth2Util.getTokenInfo;
 import static org.wso2.is.data.sync.system.util.OAuth2Util.hashTokens;
+import static org.wso2.is.data.sync.system.util.OAuth2Util.isJsonEncodedHash;
+import static org.wso2.is.data.sync.system.util.OAuth2Util.toJsonEncodedHash;
 import static org.wso2.is.data.sync.system.util.OAuth2Util.transformEncryptedTokens;
 import static org.wso2.is.data.sync.system.util.OAuth2Util.updateJournalEntryForToken;
 
-@VersionAdvice(version = "5.7.0", tableName = "IDN_OAUTH2_ACCESS_TOKEN")
-public class OAuthTokenDataTransformerV570 implements DataTransformer {
+@VersionAdvice(version = "5.7.0", tableName = "IDN_OAUTH2_ACCESS_TOKEN",
+               columns = {COLUMN_ACCESS_TOKEN, COLUMN_REFRESH_TOKEN,
+                          COLUMN_ACCESS_TOKEN_HASH, COLUMN_REFRESH_TOKEN_HASH},
+               encryptedColumns = {COLUMN_ACCESS_TOKEN, COLUMN_REFRESH_TOKEN})
+@ThreadSafe
+public class OAuthTokenDataTransformerV570 implements EntryTransformer {
 
     private static String hashingAlgorithm = OAuthServerConfiguration.getInstance().getHashAlgorithm();
+    private final TransformationCryptoContext cryptoContext = new TransformationCryptoContext();
 
     @Override
-    public List<JournalEntry> transform(List<JournalEntry> journalEntryList, PipelineContext context)
+    public void transform(JournalEntry entry, EntryTransformationState state, PipelineContext context)
             throws SyncClientException {
 
+        cryptoContext.configure(context.getPipelineConfiguration().getConfiguration());
         try {
-            boolean encryptionWithTransformationEnabled = OAuth2Util.isEncryptionWithTransformationEnabled();
-            boolean tokenEncryptionEnabled = OAuth2Util.isTokenEncryptionEnabled();
-
-            for (JournalEntry entry : journalEntryList) {
-
-                String accessToken = (String) getObjectValueFromEntry(entry, COLUMN_ACCESS_TOKEN);
-                String refreshToken = (String) getObjectValueFromEntry(entry, COLUMN_REFRESH_TOKEN);
-                String accessTokenHash = (String) getObjectValueFromEntry(entry, COLUMN_ACCESS_TOKEN_HASH);
-                String refreshTokenHash = (String) getObjectValueFromEntry(entry, COLUMN_REFRESH_TOKEN_HASH);
+            TokenInfo tokenInfo = getTokenInfo(entry, state);
 
-                TokenInfo tokenInfo = new TokenInfo(accessToken, refreshToken, accessTokenHash, refreshTokenHash);
-                if (encryptionWithTransformationEnabled) {
-                    try {
-                        transformEncryptedTokens(tokenInfo);
-                        if (StringUtils.isBlank(accessTokenHash)) {
-                            hashTokens(tokenInfo);
-                        } else {
-                            reHashWithHashingAlgorithm(tokenInfo, hashingAlgorithm);
-                        }
-                        updateJournalEntryForToken(entry, tokenInfo);
-                    } catch (CryptoException e) {
-                        throw new SyncClientException("Error while transforming encrypted tokens", e);
+            if (cryptoContext.isEncryptionWithTransformationEnabled()) {
+                try {
+                    // Tokens already decrypted by a previous version step are not decrypted again.
+                    if (tokenInfo.getDecryptedAccessTokenHash() == null) {
+                        transformEncryptedTokens(tokenInfo, cryptoContext);
                     }
-                } else if (!tokenEncryptionEnabled) {
-                    if (StringUtils.isBlank(accessTokenHash)) {
-                        hashTokens(tokenInfo);
-                        updateJournalEntryForToken(entry, tokenInfo);
+                    if (StringUtils.isBlank(tokenInfo.getAccessTokenHash())) {
+                        hashTokens(tokenInfo, cryptoContext);
                     } else {
                         reHashWithHashingAlgorithm(tokenInfo, hashingAlgorithm);
                     }
+                    updateJournalEntryForToken(entry, tokenInfo);
+                } catch (CryptoException e) {
+                    throw new SyncClientException("Error while transforming encrypted tokens", e);
                 }
+            } else if (!cryptoContext.isTokenEncryptionEnabled()) {
+                if (StringUtils.isBlank(tokenInfo.getAccessTokenHash())) {
+                    hashTokens(tokenInfo, cryptoContext);
+                } else {
+                    reHashWithHashingAlgorithm(tokenInfo, hashingAlgorithm);
+                }
+                updateJournalEntryForToken(entry, tokenInfo);
             }
         } catch (IdentityOAuth2Exception e) {
             throw new SyncClientException("Error while checking token encryption server configurations", e);
         }
-        return journalEntryList;
     }
 
     private void reHashWithHashingAlgorithm(TokenInfo tokenInfo, String hashAlgorithm) {
 
-        JSONObject accessTokenHashObject;
-        JSONObject refreshTokenHashObject;
-        String accessTokenHash = tokenInfo.getAccessTokenHash();
-        String refreshTokenHash = tokenInfo.getRefreshTokenHash();
-
-        try {
-            //If hash column already is a JSON value, no need to update the record
-            new JSONObject(accessTokenHash);
-        } catch (JSONException e) {
-            //Exception is thrown because the hash value is not a json
-            accessTokenHashObject = getJsonObjectWithHash(hashAlgorithm, accessTokenHash);
-            tokenInfo.setAccessTokenHash(accessTokenHashObject.toString());
-
-            refreshTokenHashObject = getJsonObjectWithHash(hashAlgorithm, refreshTokenHash);
-            tokenInfo.setRefreshTokenHash(refreshTokenHashObject.toString());
+        //If hash column already is a JSON value, no need to update the record
+        if (!isJsonEncodedHash(tokenInfo.getAccessTokenHash())) {
+            tokenInfo.setAccessTokenHash(toJsonEncodedHash(hashAlgorithm, tokenInfo.getAccessTokenHash()));
+            tokenInfo.setRefreshTokenHash(toJsonEncodedHash(hashAlgorithm, tokenInfo.getRefreshTokenHash()));
         }
     }
-
-    private JSONObject getJsonObjectWithHash(String hashAlgorithm, String accessTokenHash) {
-
-        JSONObject tokenHashObject = new JSONObject();
-        tokenHashObject.put(PROPERTY_NAME_ALGORITHM, hashAlgorithm);
-        tokenHashObject.put(PROPERTY_NAME_HASH, accessTokenHash);
-        return tokenHashObject;
-    }
 }
@@ -0,0 +1,452 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.pipeline.verify;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.is.data.sync.system.database.ColumnData;
+import org.wso2.is.data.sync.system.database.KeyRange;
+import org.wso2.is.data.sync.system.database.TableMetaData;
+import org.wso2.is.data.sync.system.database.dialect.DatabaseDialect;
+import org.wso2.is.data.sync.system.exception.SyncClientException;
+import org.wso2.is.data.sync.system.pipeline.EntryField;
+import org.wso2.is.data.sync.system.pipeline.JournalEntry;
+import org.wso2.is.data.sync.system.pipeline.PipelineConfiguration;
+import org.wso2.is.data.sync.system.pipeline.PipelineContext;
+import org.wso2.is.data.sync.system.pipeline.transform.ChainDataTransformer;
+import org.wso2.is.data.sync.system.pipeline.transform.DataTransformer;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_SELECT_RANGE_ROWS_KEY;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.getQuery;
+import static org.wso2.is.data.sync.system.util.CommonUtil.convertResultToJournalEntry;
+import static org.wso2.is.data.sync.system.util.CommonUtil.readBytes;
+import static org.wso2.is.data.sync.system.util.Constant.ENTRY_FILED_ACTION_DELETE;
+import static org.wso2.is.data.sync.system.util.Constant.ENTRY_FILED_ACTION_INSERT;
+import static org.wso2.is.data.sync.system.util.Constant.VERIFICATION_DIFFERENCE_EXTRA;
+import static org.wso2.is.data.sync.system.util.Constant.VERIFICATION_DIFFERENCE_MISMATCH;
+import static org.wso2.is.data.sync.system.util.Constant.VERIFICATION_DIFFERENCE_MISSING;
+import static org.wso2.is.data.sync.system.util.Constant.VERIFIER_FANOUT;
+import static org.wso2.is.data.sync.system.util.Constant.VERIFIER_LEAF_SIZE;
+import static org.wso2.is.data.sync.system.util.KeyRangeUtil.getKeyColumn;
+import static org.wso2.is.data.sync.system.util.KeyRangeUtil.getRangeFilter;
+import static org.wso2.is.data.sync.system.util.KeyRangeUtil.setRangeBounds;
+import static org.wso2.is.data.sync.system.util.KeyRangeUtil.splitRange;
+
+/**
+ * Verifies that the target of a synced table holds the same rows as the source.
+ *
+ * A table is split into primary key ranges which are verified independently. When the source and the target use the
+ * same database flavor and the table does not have custom data transformers, the row count and a checksum of a range
+ * are computed within both databases in parallel. Ranges with matching checksums are skipped and the others are split
+ * further until they are small enough to compare row by row. Otherwise the ranges are compared row by row, after
+ * applying the data transformers of the table to the source rows. Row by row comparisons report the keys of the
+ * missing, extra and mismatching rows of the target. Rows of a table without a primary key are keyed by the digest of
+ * their content, so that only missing and extra rows are reported for such tables. Columns re-encrypted by the data
+ * transformers are not compared, as the same plain text is stored as different cipher texts in the source and the
+ * target. The hash columns written along with them still verify the transformed values.
+ */
+public class ConsistencyVerifier {
+
+    private static final Log log = LogFactory.getLog(ConsistencyVerifier.class);
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final byte NULL_MARKER = 0;
+    private static final byte VALUE_MARKER = 1;
+    private static final String KEY_ROW_DIGEST = "ROW_DIGEST";
+    private static final String KEY_OCCURRENCE = "OCCURRENCE";
+
+    private long rangeSize;
+    private ExecutorService checksumExecutor;
+
+    /**
+     * Constructor for {@link ConsistencyVerifier}.
+     *
+     * @param rangeSize Number of rows in a top level range.
+     * @param threads Number of threads computing the source checksums in parallel with the target checksums.
+     */
+    public ConsistencyVerifier(long rangeSize, int threads) {
+
+        this.rangeSize = rangeSize;
+        this.checksumExecutor = Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * Splits a table into the top level ranges to be verified.
+     *
+     * @param pipelineConfiguration Pipeline configuration of the table.
+     * @return Ranges covering the table.
+     * @throws SyncClientException If error occurs while reading the keys of the table.
+     */
+    public List<KeyRange> planRanges(PipelineConfiguration pipelineConfiguration) throws SyncClientException {
+
+        String tableName = pipelineConfiguration.getTableName();
+        TableMetaData tableMetaData = pipelineConfiguration.getSchemaCatalog().getSourceTableMetaData(tableName);
+        try (Connection sourceConnection = pipelineConfiguration.getSourceDataSource().getConnection()) {
+            return splitRange(sourceConnection, new KeyRange(tableName, null, null), tableMetaData, rangeSize);
+        } catch (SQLException e) {
+            throw new SyncClientException("Error while planning verification ranges of table: " + tableName, e);
+        }
+    }
+
+    /**
+     * Verifies a range of a table and adds the results to the report.
+     *
+     * @param range Range to be verified.
+     * @param pipelineConfiguration Pipeline configuration of the table.
+     * @param dataTransformer Data transformer of the table.
+     * @param report Verification report.
+     * @throws SyncClientException If error occurs while verifying the range.
+     */
+    public void verify(KeyRange range, PipelineConfiguration pipelineConfiguration, DataTransformer dataTransformer,
+                       VerificationReport report) throws SyncClientException {
+
+        String tableName = pipelineConfiguration.getTableName();
+        TableMetaData sourceMetaData = pipelineConfiguration.getSchemaCatalog().getSourceTableMetaData(tableName);
+        TableMetaData targetMetaData = pipelineConfiguration.getSchemaCatalog().getTargetTableMetaData(tableName);
+
+        try {
+            String sourceChecksumSql = null;
+            String targetChecksumSql = null;
+            if (canComputeChecksums(pipelineConfiguration, dataTransformer, sourceMetaData, targetMetaData)) {
+                String filter = getRangeFilter(range, sourceMetaData);
+                List<ColumnData> columnDataList = sourceMetaData.getColumnDataList();
+                sourceChecksumSql = pipelineConfiguration.getSourceDatabaseDialect().generateSelectChecksum(
+                        tableName, columnDataList, filter);
+                targetChecksumSql = pipelineConfiguration.getTargetDatabaseDialect().generateSelectChecksum(
+                        tableName, columnDataList, filter);
+            }
+            if (sourceChecksumSql == null || targetChecksumSql == null) {
+                compareRows(range, pipelineConfiguration, dataTransformer, sourceMetaData, targetMetaData, report);
+            } else {
+                verifyChecksums(range, pipelineConfiguration, dataTransformer, sourceMetaData, targetMetaData, report,
+                                sourceChecksumSql, targetChecksumSql);
+            }
+        } catch (SQLException e) {
+            throw new SyncClientException("Error while verifying range: " + range, e);
+        }
+    }
+
+    /**
+     * Stops the threads computing the checksums.
+     */
+    public void shutdown() {
+
+        checksumExecutor.shutdownNow();
+    }
+
+    private void verifyChecksums(KeyRange range, PipelineConfiguration pipelineConfiguration,
+                                 DataTransformer dataTransformer, TableMetaData sourceMetaData,
+                                 TableMetaData targetMetaData, VerificationReport report, String sourceChecksumSql,
+                                 String targetChecksumSql) throws SQLException, SyncClientException {
+
+        CompletableFuture<String[]> sourceFuture = CompletableFuture.supplyAsync(() -> {
+            try (Connection sourceConnection = pipelineConfiguration.getSourceDataSource().getConnection()) {
+                return getChecksum(sourceConnection, sourceChecksumSql, range, sourceMetaData);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, checksumExecutor);
+
+        String[] targetChecksum;
+        String[] sourceChecksum;
+        try (Connection targetConnection = pipelineConfiguration.getTargetDataSource().getConnection()) {
+            targetChecksum = getChecksum(targetConnection, targetChecksumSql, range, sourceMetaData);
+        }
+        try {
+            sourceChecksum = sourceFuture.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SyncClientException("Error while computing the source checksum of range: " + range, e);
+        }
+
+        long sourceCount = Long.parseLong(sourceChecksum[0]);
+        long targetCount = Long.parseLong(targetChecksum[0]);
+        if (sourceCount == targetCount && Objects.equals(sourceChecksum[1], targetChecksum[1])) {
+            report.addVerifiedRows(range.getTableName(), sourceCount);
+            return;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Checksums differ for range: " + range + " with source rows: " + sourceCount +
+                      " and target rows: " + targetCount);
+        }
+
+        if (Math.max(sourceCount, targetCount) > VERIFIER_LEAF_SIZE && getKeyColumn(sourceMetaData) != null) {
+            long subRangeSize = Math.max(VERIFIER_LEAF_SIZE, sourceCount / VERIFIER_FANOUT);
+            List<KeyRange> subRanges;
+            try (Connection sourceConnection = pipelineConfiguration.getSourceDataSource().getConnection()) {
+                subRanges = splitRange(sourceConnection, range, sourceMetaData, subRangeSize);
+            }
+            // A range which can not be split further, such as a range of extra target rows, is compared row by row.
+            if (subRanges.size() > 1) {
+                for (KeyRange subRange : subRanges) {
+                    verify(subRange, pipelineConfiguration, dataTransformer, report);
+                }
+                return;
+            }
+        }
+        compareRows(range, pipelineConfiguration, dataTransformer, sourceMetaData, targetMetaData, report);
+    }
+
+    private String[] getChecksum(Connection connection, String sql, KeyRange range, TableMetaData tableMetaData)
+            throws SQLException {
+
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            setRangeBounds(ps, 1, range, tableMetaData);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                BigDecimal checksum = rs.getBigDecimal(2);
+                return new String[]{String.valueOf(rs.getLong(1)),
+                                    checksum == null ? null : checksum.toBigInteger().toString()};
+            }
+        }
+    }
+
+    private boolean canComputeChecksums(PipelineConfiguration pipelineConfiguration, DataTransformer dataTransformer,
+                                        TableMetaData sourceMetaData, TableMetaData targetMetaData) {
+
+        DatabaseDialect sourceDatabaseDialect = pipelineConfiguration.getSourceDatabaseDialect();
+        DatabaseDialect targetDatabaseDialect = pipelineConfiguration.getTargetDatabaseDialect();
+        if (!sourceDatabaseDialect.getClass().equals(targetDatabaseDialect.getClass())) {
+            return false;
+        }
+        if (!(dataTransformer instanceof ChainDataTransformer) ||
+            !((ChainDataTransformer) dataTransformer).isPassThrough()) {
+            return false;
+        }
+        List<ColumnData> sourceColumns = sourceMetaData.getColumnDataList();
+        List<ColumnData> targetColumns = targetMetaData.getColumnDataList();
+        if (sourceColumns.size() != targetColumns.size()) {
+            return false;
+        }
+        for (int i = 0; i < sourceColumns.size(); i++) {
+            if (!sourceColumns.get(i).getName().equalsIgnoreCase(targetColumns.get(i).getName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void compareRows(KeyRange range, PipelineConfiguration pipelineConfiguration,
+                             DataTransformer dataTransformer, TableMetaData sourceMetaData,
+                             TableMetaData targetMetaData, VerificationReport report)
+            throws SQLException, SyncClientException {
+
+        String tableName = range.getTableName();
+        int batchSize = pipelineConfiguration.getConfiguration().getBatchSize();
+        Map<String, RowDigest> sourceRows = new HashMap<>();
+        Set<String> excludedColumns = dataTransformer.getEncryptedColumns();
+        if (targetMetaData.getPrimaryKeys().isEmpty()) {
+            log.warn("Table: " + tableName + " does not have a primary key. The differing rows of the table are " +
+                     "reported by the digest of their content.");
+        }
+
+        try (Connection sourceConnection = pipelineConfiguration.getSourceDataSource().getConnection();
+             Connection targetConnection = pipelineConfiguration.getTargetDataSource().getConnection()) {
+
+            PipelineContext context = new PipelineContext(sourceConnection, targetConnection, pipelineConfiguration);
+            String sourceSql = String.format(getQuery(SQL_TEMPLATE_SELECT_RANGE_ROWS_KEY), sourceMetaData.getColumns(),
+                                             tableName, getRangeFilter(range, sourceMetaData));
+            try (PreparedStatement ps = sourceConnection.prepareStatement(sourceSql)) {
+                ps.setFetchSize(batchSize);
+                setRangeBounds(ps, 1, range, sourceMetaData);
+                try (ResultSet rs = ps.executeQuery()) {
+                    List<JournalEntry> batch = new ArrayList<>();
+                    Map<String, Integer> occurrences = new HashMap<>();
+                    while (rs.next()) {
+                        batch.add(convertResultToJournalEntry(rs, sourceMetaData, ENTRY_FILED_ACTION_INSERT));
+                        if (batch.size() >= batchSize) {
+                            addSourceRows(batch, context, dataTransformer, targetMetaData, excludedColumns,
+                                          occurrences, sourceRows);
+                            batch = new ArrayList<>();
+                        }
+                    }
+                    addSourceRows(batch, context, dataTransformer, targetMetaData, excludedColumns, occurrences,
+                                  sourceRows);
+                }
+            }
+
+            // The range bounds are values of the source key column which is expected to be the key column of the
+            // target as well.
+            String targetSql = String.format(getQuery(SQL_TEMPLATE_SELECT_RANGE_ROWS_KEY), targetMetaData.getColumns(),
+                                             tableName, getRangeFilter(range, sourceMetaData));
+            long matchedRows = 0;
+            try (PreparedStatement ps = targetConnection.prepareStatement(targetSql)) {
+                ps.setFetchSize(batchSize);
+                setRangeBounds(ps, 1, range, sourceMetaData);
+                try (ResultSet rs = ps.executeQuery()) {
+                    Map<String, Integer> occurrences = new HashMap<>();
+                    while (rs.next()) {
+                        RowDigest targetRow = getRowDigest(convertResultToJournalEntry(rs, targetMetaData,
+                                ENTRY_FILED_ACTION_INSERT), targetMetaData, excludedColumns, occurrences);
+                        RowDigest sourceRow = sourceRows.remove(targetRow.getKeyString());
+                        if (sourceRow == null) {
+                            report.addDifference(new KeyDifference(tableName, VERIFICATION_DIFFERENCE_EXTRA,
+                                                                   targetRow.getKey()));
+                        } else if (sourceRow.getDigest() != targetRow.getDigest()) {
+                            report.addDifference(new KeyDifference(tableName, VERIFICATION_DIFFERENCE_MISMATCH,
+                                                                   targetRow.getKey()));
+                        } else {
+                            matchedRows++;
+                        }
+                    }
+                }
+            }
+            for (RowDigest sourceRow : sourceRows.values()) {
+                report.addDifference(new KeyDifference(tableName, VERIFICATION_DIFFERENCE_MISSING,
+                                                       sourceRow.getKey()));
+            }
+            report.addVerifiedRows(tableName, matchedRows);
+        }
+    }
+
+    private void addSourceRows(List<JournalEntry> batch, PipelineContext context, DataTransformer dataTransformer,
+                               TableMetaData targetMetaData, Set<String> excludedColumns,
+                               Map<String, Integer> occurrences, Map<String, RowDigest> sourceRows)
+            throws SyncClientException {
+
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (JournalEntry entry : dataTransformer.transform(batch, context)) {
+            if (ENTRY_FILED_ACTION_DELETE.equals(entry.getOperation())) {
+                continue;
+            }
+            RowDigest rowDigest = getRowDigest(entry, targetMetaData, excludedColumns, occurrences);
+            sourceRows.put(rowDigest.getKeyString(), rowDigest);
+        }
+    }
+
+    private RowDigest getRowDigest(JournalEntry entry, TableMetaData tableMetaData, Set<String> excludedColumns,
+                                   Map<String, Integer> occurrences) throws SyncClientException {
+
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new SyncClientException("Error while creating message digest for algorithm: " + DIGEST_ALGORITHM,
+                                          e);
+        }
+        for (ColumnData columnData : tableMetaData.getColumnDataList()) {
+            if (excludedColumns.contains(columnData.getName())) {
+                continue;
+            }
+            String value = normalize(entry.get(columnData.getName()));
+            if (value == null) {
+                messageDigest.update(NULL_MARKER);
+            } else {
+                messageDigest.update(VALUE_MARKER);
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                messageDigest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+                messageDigest.update(bytes);
+            }
+        }
+        byte[] digest = messageDigest.digest();
+
+        Map<String, String> key = new LinkedHashMap<>();
+        if (tableMetaData.getPrimaryKeys().isEmpty()) {
+            // Duplicate rows of a table without a primary key are told apart by their occurrence within the range.
+            String rowDigest = Base64.getEncoder().encodeToString(digest);
+            key.put(KEY_ROW_DIGEST, rowDigest);
+            int occurrence = occurrences.merge(rowDigest, 1, Integer::sum);
+            if (occurrence > 1) {
+                key.put(KEY_OCCURRENCE, String.valueOf(occurrence));
+            }
+        } else {
+            for (String primaryKey : tableMetaData.getPrimaryKeys()) {
+                key.put(primaryKey, normalize(entry.get(primaryKey)));
+            }
+        }
+        return new RowDigest(key, ByteBuffer.wrap(digest).getLong());
+    }
+
+    private String normalize(EntryField entryField) throws SyncClientException {
+
+        Object value = entryField == null ? null : entryField.getValue();
+        if (value == null) {
+            return null;
+        } else if (value instanceof Number) {
+            // Numeric values are compared regardless of their Java type and scale.
+            return new BigDecimal(value.toString()).stripTrailingZeros().toPlainString();
+        } else if (value instanceof byte[]) {
+            return Base64.getEncoder().encodeToString((byte[]) value);
+        } else if (value instanceof InputStream) {
+            InputStream inputStream = (InputStream) value;
+            byte[] bytes = readBytes(inputStream);
+            if (inputStream instanceof ByteArrayInputStream) {
+                // Rewinds the buffered value for the persistor or the next comparison.
+                ((ByteArrayInputStream) inputStream).reset();
+            }
+            return Base64.getEncoder().encodeToString(bytes);
+        }
+        return value.toString();
+    }
+
+    /**
+     * Primary key and content digest of a row.
+     */
+    private static class RowDigest {
+
+        private Map<String, String> key;
+        private long digest;
+
+        RowDigest(Map<String, String> key, long digest) {
+
+            this.key = key;
+            this.digest = digest;
+        }
+
+        Map<String, String> getKey() {
+
+            return key;
+        }
+
+        String getKeyString() {
+
+            return key.toString();
+        }
+
+        long getDigest() {
+
+            return digest;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.pipeline.verify;
+
+import java.util.Map;
+
+/**
+ * Model of a row which differs between the source and the target of a synced table.
+ */
+public class KeyDifference {
+
+    private String tableName;
+    private String type;
+    private Map<String, String> key;
+
+    /**
+     * Constructor for {@link KeyDifference}.
+     *
+     * @param tableName Name of the synced table.
+     * @param type Type of the difference. One of MISSING, EXTRA or MISMATCH.
+     * @param key Primary key column values of the row in the primary key order.
+     */
+    public KeyDifference(String tableName, String type, Map<String, String> key) {
+
+        this.tableName = tableName;
+        this.type = type;
+        this.key = key;
+    }
+
+    public String getTableName() {
+
+        return tableName;
+    }
+
+    public String getType() {
+
+        return type;
+    }
+
+    public Map<String, String> getKey() {
+
+        return key;
+    }
+
+    @Override
+    public String toString() {
+
+        return type + " " + tableName + key;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.pipeline.verify;
+
+import org.json.JSONObject;
+import org.wso2.is.data.sync.system.exception.SyncClientException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the results of a consistency verification. Results of the ranges of a table may be added concurrently.
+ *
+ * The differences are written to the report file as one JSON object per line in the format:
+ * {"table": "{tableName}", "type": "{MISSING|EXTRA|MISMATCH}", "key": {"{primaryKey}": "{value}", ...}}
+ */
+public class VerificationReport {
+
+    private static final String PROPERTY_NAME_TABLE = "table";
+    private static final String PROPERTY_NAME_TYPE = "type";
+    private static final String PROPERTY_NAME_KEY = "key";
+
+    private Map<String, Long> verifiedRows = new LinkedHashMap<>();
+    private List<KeyDifference> differences = new ArrayList<>();
+
+    public synchronized void addVerifiedRows(String tableName, long rowCount) {
+
+        verifiedRows.merge(tableName, rowCount, Long::sum);
+    }
+
+    public synchronized void addDifference(KeyDifference difference) {
+
+        differences.add(difference);
+    }
+
+    public synchronized long getVerifiedRows(String tableName) {
+
+        return verifiedRows.getOrDefault(tableName, 0L);
+    }
+
+    public synchronized List<KeyDifference> getDifferences() {
+
+        return new ArrayList<>(differences);
+    }
+
+    public synchronized List<KeyDifference> getDifferences(String tableName) {
+
+        List<KeyDifference> tableDifferences = new ArrayList<>();
+        for (KeyDifference difference : differences) {
+            if (difference.getTableName().equals(tableName)) {
+                tableDifferences.add(difference);
+            }
+        }
+        return tableDifferences;
+    }
+
+    public synchronized boolean hasDifferences() {
+
+        return !differences.isEmpty();
+    }
+
+    /**
+     * Writes the differences to a file.
+     *
+     * @param reportFile Path of the report file.
+     * @throws SyncClientException If error occurs while writing the file.
+     */
+    public synchronized void write(String reportFile) throws SyncClientException {
+
+        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(reportFile), StandardCharsets.UTF_8)) {
+            for (KeyDifference difference : differences) {
+                JSONObject key = new JSONObject();
+                for (Map.Entry<String, String> keyEntry : difference.getKey().entrySet()) {
+                    key.put(keyEntry.getKey(), keyEntry.getValue());
+                }
+                JSONObject entry = new JSONObject();
+                entry.put(PROPERTY_NAME_TABLE, difference.getTableName());
+                entry.put(PROPERTY_NAME_TYPE, difference.getType());
+                entry.put(PROPERTY_NAME_KEY, key);
+                writer.write(entry.toString());
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new SyncClientException("Error while writing verification report to: " + reportFile, e);
+        }
+    }
+}
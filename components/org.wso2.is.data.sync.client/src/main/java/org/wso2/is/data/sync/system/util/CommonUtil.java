@@ -18,10 +18,14 @@ package org.wso2.is.data.sync.system.util;
 
 import org.apache.commons.lang.StringUtils;
 import org.wso2.is.data.sync.system.database.ColumnData;
+import org.wso2.is.data.sync.system.database.TableMetaData;
 import org.wso2.is.data.sync.system.exception.SyncClientException;
 import org.wso2.is.data.sync.system.pipeline.EntryField;
 import org.wso2.is.data.sync.system.pipeline.JournalEntry;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
@@ -41,6 +45,10 @@ import static org.wso2.is.data.sync.system.util.Constant.COLUMN_TYPE_CHAR;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_TYPE_INT;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_TYPE_TIMESTAMP;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_TYPE_VARCHAR;
+import static org.wso2.is.data.sync.system.util.Constant.CONSTRAINT_NAME_SUFFIX_PRIMARY_KEY;
+import static org.wso2.is.data.sync.system.util.Constant.PARTITION_NAME_PREFIX;
+import static org.wso2.is.data.sync.system.util.Constant.SEQUENCE_NAME_SUFFIX;
+import static org.wso2.is.data.sync.system.util.Constant.TRIGGER_FUNCTION_NAME_SUFFIX;
 import static org.wso2.is.data.sync.system.util.Constant.JDBC_META_DATA_COLUMN_DEF;
 import static org.wso2.is.data.sync.system.util.Constant.TABLE_NAME_SUFFIX_SYNC;
 import static org.wso2.is.data.sync.system.util.Constant.TABLE_NAME_SUFFIX_SYNC_VERSION;
@@ -49,6 +57,7 @@ import static org.wso2.is.data.sync.system.util.Constant.TRIGGER_NAME_SUFFIX_INS
 import static org.wso2.is.data.sync.system.util.Constant.TRIGGER_NAME_SUFFIX_UPDATE;
 import static org.wso2.is.data.sync.system.util.Constant.JDBC_META_DATA_COLUMN_NAME;
 import static org.wso2.is.data.sync.system.util.Constant.JDBC_META_DATA_COLUMN_SIZE;
+import static org.wso2.is.data.sync.system.util.Constant.JDBC_META_DATA_DECIMAL_DIGITS;
 import static org.wso2.is.data.sync.system.util.Constant.JDBC_META_DATA_TYPE_NAME;
 
 public class CommonUtil {
@@ -83,6 +92,26 @@ public class CommonUtil {
         return getFormattedName(tableName, TRIGGER_NAME_SUFFIX_DELETE);
     }
 
+    public static String getPrimaryKeyConstraintName(String tableName) {
+
+        return getFormattedName(tableName, CONSTRAINT_NAME_SUFFIX_PRIMARY_KEY);
+    }
+
+    public static String getSequenceName(String tableName) {
+
+        return getFormattedName(tableName, SEQUENCE_NAME_SUFFIX);
+    }
+
+    public static String getTriggerFunctionName(String triggerName) {
+
+        return getFormattedName(triggerName, TRIGGER_FUNCTION_NAME_SUFFIX);
+    }
+
+    public static String getPartitionName(long upperBound) {
+
+        return PARTITION_NAME_PREFIX + upperBound;
+    }
+
     public static String getScripId(String scheme, String type) {
 
         return String.join("_", scheme, type);
@@ -148,6 +177,73 @@ public class CommonUtil {
         return entryField;
     }
 
+    /**
+     * Reads a column value which is not accessed by any data transformer. The value is kept in the form returned by
+     * the JDBC driver and is bound to the target statement as is. Timestamps are still read in UTC, so that a
+     * local time not existing in the default time zone is not shifted.
+     *
+     * @param resultSet Result set positioned on a row.
+     * @param columnData Meta data of the column.
+     * @param columnIndex Index of the column in the result set.
+     * @param utcCalendar Calendar in UTC reused across the columns of a batch.
+     * @return Entry field holding the value of the column.
+     * @throws SQLException If error occurs while reading the column.
+     */
+    public static EntryField convertResultToRawEntryField(ResultSet resultSet, ColumnData columnData, int columnIndex,
+                                                          Calendar utcCalendar) throws SQLException {
+
+        String columnType = columnData.getType();
+        if (COLUMN_TYPE_TIMESTAMP.equals(columnType)) {
+            return new EntryField<>(resultSet.getTimestamp(columnIndex, utcCalendar));
+        } else if (COLUMN_TYPE_BLOB.equals(columnType)) {
+            return new EntryField<>(resultSet.getBinaryStream(columnIndex));
+        }
+        return new EntryField<>(resultSet.getObject(columnIndex));
+    }
+
+    /**
+     * Converts the current row of a result set to a {@link JournalEntry}. Binary streams are buffered since they are
+     * only readable until the result set moves to the next row.
+     *
+     * @param resultSet Result set positioned on a row.
+     * @param tableMetaData Meta data of the columns of the row.
+     * @param operation Operation of the journal entry.
+     * @return Journal entry holding the values of the row.
+     * @throws SQLException If error occurs while reading the row.
+     * @throws SyncClientException If error occurs while reading a binary stream.
+     */
+    public static JournalEntry convertResultToJournalEntry(ResultSet resultSet, TableMetaData tableMetaData,
+                                                           String operation) throws SQLException,
+            SyncClientException {
+
+        JournalEntry entry = new JournalEntry();
+        for (ColumnData columnData : tableMetaData.getColumnDataList()) {
+            EntryField entryField = convertResultToEntryField(resultSet, columnData);
+            if (entryField.getValue() instanceof InputStream) {
+                entryField = new EntryField<>(new ByteArrayInputStream(readBytes((InputStream) entryField
+                        .getValue())));
+            }
+            entry.addEntryField(columnData.getName(), entryField);
+        }
+        entry.setOperation(operation);
+        return entry;
+    }
+
+    public static byte[] readBytes(InputStream inputStream) throws SyncClientException {
+
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int length;
+            while ((length = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, length);
+            }
+            return outputStream.toByteArray();
+        } catch (IOException e) {
+            throw new SyncClientException("Error while reading binary column value.", e);
+        }
+    }
+
     public static void convertEntryFieldToStatement(PreparedStatement ps, EntryField entryField, int index) throws
             SQLException {
 
@@ -181,14 +277,7 @@ public class CommonUtil {
 
             try(ResultSet resultSet = metaData.getColumns(null, null, tableName, null)) {
                 while (resultSet.next()) {
-                    String name = resultSet.getString(JDBC_META_DATA_COLUMN_NAME);
-                    String type = resultSet.getString(JDBC_META_DATA_TYPE_NAME);
-                    int size = resultSet.getInt(JDBC_META_DATA_COLUMN_SIZE);
-                    String columnDefaultVal =  resultSet.getString(JDBC_META_DATA_COLUMN_DEF);
-
-                    ColumnData columnData = new ColumnData(name, type, size);
-                    columnData.setDefaultValue(columnDefaultVal);
-                    columnDataList.add(columnData);
+                    columnDataList.add(convertResultToColumnData(resultSet));
                 }
             }
             return columnDataList;
@@ -197,6 +286,27 @@ public class CommonUtil {
         }
     }
 
+    /**
+     * Converts the current row of a {@link DatabaseMetaData#getColumns} result set to a {@link ColumnData}.
+     *
+     * @param resultSet Column meta data result set positioned on a row.
+     * @return Column model.
+     * @throws SQLException If error occurs while reading the result set.
+     */
+    public static ColumnData convertResultToColumnData(ResultSet resultSet) throws SQLException {
+
+        String name = resultSet.getString(JDBC_META_DATA_COLUMN_NAME);
+        String type = resultSet.getString(JDBC_META_DATA_TYPE_NAME);
+        int size = resultSet.getInt(JDBC_META_DATA_COLUMN_SIZE);
+        int decimalDigits = resultSet.getInt(JDBC_META_DATA_DECIMAL_DIGITS);
+        String columnDefaultVal =  resultSet.getString(JDBC_META_DATA_COLUMN_DEF);
+
+        ColumnData columnData = new ColumnData(name, type, size);
+        columnData.setDecimalDigits(decimalDigits);
+        columnData.setDefaultValue(columnDefaultVal);
+        return columnData;
+    }
+
     public static List<String> getPrimaryKeys(String tableName, Connection connection) throws SyncClientException {
 
         try {
@@ -43,11 +43,15 @@ public class Constant {
     public static final String TRIGGER_TIMING_AFTER = "AFTER";
     public static final String TRIGGER_TIMING_BEFORE = "BEFORE";
     public static final String SELECTION_POLICY_FOR_EACH_ROW = "FOR EACH ROW";
+    public static final String SELECTION_POLICY_FOR_EACH_STATEMENT = "FOR EACH STATEMENT";
 
+    public static final String JDBC_META_DATA_TABLE_NAME = "TABLE_NAME";
     public static final String JDBC_META_DATA_COLUMN_NAME = "COLUMN_NAME";
     public static final String JDBC_META_DATA_TYPE_NAME = "TYPE_NAME";
     public static final String JDBC_META_DATA_COLUMN_DEF = "COLUMN_DEF";
     public static final String JDBC_META_DATA_COLUMN_SIZE = "COLUMN_SIZE";
+    public static final String JDBC_META_DATA_DECIMAL_DIGITS = "DECIMAL_DIGITS";
+    public static final String JDBC_META_DATA_PK_TABLE_NAME = "PKTABLE_NAME";
     public static final String COLUMN_TYPE_TIMESTAMP = "TIMESTAMP";
     public static final String COLUMN_TYPE_CHAR = "CHAR";
     public static final String COLUMN_TYPE_VARCHAR = "VARCHAR";
@@ -59,13 +63,22 @@ public class Constant {
     public static final String COLUMN_NAME_ACTION = "ACTION";
 
     public static final String TABLE_ATTRIBUTE_PRIMARY_KEY = "PRIMARY KEY";
+    public static final String CONSTRAINT_NAME_SUFFIX_PRIMARY_KEY = "_PK";
+    public static final String SEQUENCE_NAME_SUFFIX = "_SEQ";
+    public static final String TRIGGER_FUNCTION_NAME_SUFFIX = "_F";
+    public static final String PARTITION_NAME_PREFIX = "P";
+    public static final String PARTITION_NAME_MAX = "PMAX";
 
     public static final String PRODUCT_VERSION_V530 = "5.3.0";
     public static final String PRODUCT_VERSION_V560 = "5.6.0";
     public static final String PRODUCT_VERSION_V570 = "5.7.0";
 
     public static final String SQL_DELIMITER_H2_MYSQL_MSSQL_POSGRES = "//";
-    public static final String SQL_DELIMITER_DB2_ORACLE = "/";
+    public static final String SQL_DELIMITER_ORACLE = "/";
+    public static final String SQL_DELIMITER_MSSQL = "GO";
+    public static final String SQL_DELIMITER_DB2 = "@";
+    public static final String DB2_SET_TERMINATOR = "--#SET TERMINATOR";
+    public static final String SQL_DELIMITER_POSTGRESQL = ";";
 
     public static final String ENTRY_FILED_ACTION_INSERT = "INSERT";
     public static final String ENTRY_FILED_ACTION_UPDATE = "UPDATE";
@@ -89,7 +102,11 @@ public class Constant {
     public static final String JVM_PROPERTY_CONFIG_FILE_PATH = "configFile";
     public static final String JVM_PROPERTY_PREPARE_SYNC = "prepareSync";
     public static final String JVM_PROPERTY_GENERATE_DDL = "generateDDL";
+    public static final String JVM_PROPERTY_MIGRATE_SYNC_ID = "migrateSyncId";
     public static final String JVM_PROPERTY_SYNC_DATA = "syncData";
+    public static final String JVM_PROPERTY_SNAPSHOT_DATA = "snapshotData";
+    public static final String JVM_PROPERTY_VERIFY_DATA = "verifyData";
+    public static final String JVM_PROPERTY_REPAIR_DATA = "repairData";
     public static final String JVM_PROPERTY_SOURCE_VERSION = "sourceVersion";
     public static final String JVM_PROPERTY_TARGET_VERSION = "targetVersion";
     public static final String JVM_PROPERTY_SYNC_TABLES = "syncTables";
@@ -99,9 +116,86 @@ public class Constant {
     public static final String JVM_PROPERTY_CONSENT_SCHEMA = "consentSchema";
     public static final String JVM_PROPERTY_SYNC_INTERVAL = "syncInterval";
     public static final String JVM_PROPERTY_BATCH_SIZE = "batchSize";
+    public static final String JVM_PROPERTY_STATEMENT_LEVEL_TRIGGERS = "statementLevelTriggers";
+    public static final String JVM_PROPERTY_PARTITIONED_JOURNAL = "partitionedJournal";
+    public static final String JVM_PROPERTY_JOURNAL_PARTITION_SIZE = "journalPartitionSize";
+    public static final String JVM_PROPERTY_JOURNAL_MAINTENANCE_INTERVAL = "journalMaintenanceInterval";
+    public static final String JVM_PROPERTY_SCHEMA_CATALOG_FILE = "schemaCatalogFile";
+    public static final String JVM_PROPERTY_SNAPSHOT_THREADS = "snapshotThreads";
+    public static final String JVM_PROPERTY_SNAPSHOT_CHUNK_SIZE = "snapshotChunkSize";
+    public static final String JVM_PROPERTY_VERIFIER_THREADS = "verifierThreads";
+    public static final String JVM_PROPERTY_VERIFIER_RANGE_SIZE = "verifierRangeSize";
+    public static final String JVM_PROPERTY_VERIFICATION_REPORT_FILE = "verificationReportFile";
+    public static final String JVM_PROPERTY_REPAIR_THREADS = "repairThreads";
+    public static final String JVM_PROPERTY_REPAIR_FILE = "repairFile";
+    public static final String JVM_PROPERTY_SYNC_THREADS = "syncThreads";
+    public static final String JVM_PROPERTY_SYNC_THREADS_PER_SCHEMA = "syncThreadsPerSchema";
+    public static final String JVM_PROPERTY_SYNC_EXECUTOR = "syncExecutor";
+    public static final String JVM_PROPERTY_PINNED_CONNECTIONS = "pinnedConnections";
+    public static final String JVM_PROPERTY_CONNECTION_VALIDATION_INTERVAL = "connectionValidationInterval";
+    public static final String JVM_PROPERTY_LAG_REPORT_INTERVAL = "lagReportInterval";
+    public static final String JVM_PROPERTY_CUTOVER_REQUEST_FILE = "cutoverRequestFile";
+    public static final String JVM_PROPERTY_CUTOVER_TIMEOUT = "cutoverTimeout";
+    public static final String JVM_PROPERTY_DROP_TRIGGERS_ON_CUTOVER = "dropTriggersOnCutover";
+    public static final String JVM_PROPERTY_LEASE_COORDINATION = "leaseCoordination";
+    public static final String JVM_PROPERTY_LEASE_TIMEOUT = "leaseTimeout";
+    public static final String JVM_PROPERTY_SYNC_NODE_ID = "syncNodeId";
+    public static final String JVM_PROPERTY_TRANSFORM_THREADS = "transformThreads";
+    public static final String JVM_PROPERTY_TOKEN_CACHE_SIZE = "tokenCacheSize";
+    public static final String JVM_PROPERTY_TOKEN_CACHE_TIME_TO_LIVE = "tokenCacheTimeToLive";
+    public static final String JVM_PROPERTY_STREAMING_BATCHES = "streamingBatches";
+    public static final String JVM_PROPERTY_SKIP_UNCHANGED_COLUMNS = "skipUnchangedColumns";
+    public static final String JVM_PROPERTY_METRICS_FILE = "metricsFile";
+    public static final String JVM_PROPERTY_METRICS_PORT = "metricsPort";
+    public static final String JVM_PROPERTY_METRICS_HOST = "metricsHost";
+    public static final String JVM_PROPERTY_METRICS_INTERVAL = "metricsInterval";
 
     public static final long DEFAULT_SYNC_INTERVAL = 5000;
     public static final int DEFAULT_BATCH_SIZE = 100;
+    public static final long DEFAULT_JOURNAL_PARTITION_SIZE = 100000;
+    public static final long DEFAULT_JOURNAL_MAINTENANCE_INTERVAL = 60000;
+    public static final int JOURNAL_PARTITIONS_AHEAD = 2;
+    public static final long DEFAULT_SNAPSHOT_THREADS = 4;
+    public static final long DEFAULT_SNAPSHOT_CHUNK_SIZE = 10000;
+    public static final long DEFAULT_VERIFIER_THREADS = 4;
+    public static final long DEFAULT_VERIFIER_RANGE_SIZE = 100000;
+    public static final String DEFAULT_VERIFICATION_REPORT_FILE = "sync-verification-report.json";
+    public static final long VERIFIER_LEAF_SIZE = 1000;
+    public static final long VERIFIER_FANOUT = 16;
+    public static final long DEFAULT_REPAIR_THREADS = 4;
+    public static final long DEFAULT_SYNC_THREADS = 8;
+    public static final long DEFAULT_CONNECTION_VALIDATION_INTERVAL = 30000;
+    public static final long DEFAULT_LAG_REPORT_INTERVAL = 60000;
+    public static final String DEFAULT_CUTOVER_REQUEST_FILE = "sync-cutover.request";
+    public static final long DEFAULT_CUTOVER_TIMEOUT = 600000;
+    public static final long DEFAULT_LEASE_TIMEOUT = 30000;
+    public static final long DEFAULT_TRANSFORM_THREADS = 1;
+    public static final int TRANSFORM_MIN_CHUNK_SIZE = 8;
+    public static final long DEFAULT_TOKEN_CACHE_SIZE = 10000;
+    public static final long DEFAULT_TOKEN_CACHE_TIME_TO_LIVE = 600000;
+    public static final long DEFAULT_METRICS_INTERVAL = 15000;
+
+    public static final String MBEAN_DOMAIN = "org.wso2.is.data.sync";
+
+    public static final String CONTEXT_PROPERTY_MAX_SYNC_ID = "maxSyncId";
+    public static final String CONTEXT_PROPERTY_SOURCE_MAX_SYNC_ID = "sourceMaxSyncId";
+    public static final String CONTEXT_PROPERTY_TARGET_SYNC_ID = "targetSyncId";
+    public static final String CONTEXT_PROPERTY_LAST_SYNC_ID = "lastSyncId";
+    public static final String CONTEXT_PROPERTY_UNCHANGED_ENTRIES = "unchangedEntries";
+
+    public static final String STATE_ATTRIBUTE_TOKEN_INFO = "tokenInfo";
+    public static final String STATE_ATTRIBUTE_AUTHORIZATION_CODE_INFO = "authorizationCodeInfo";
+
+    public static final String SYNC_EXECUTOR_PLATFORM = "platform";
+    public static final String SYNC_EXECUTOR_VIRTUAL = "virtual";
+
+    public static final String SNAPSHOT_CHECKPOINT_TABLE = "SYNC_SNAPSHOT_CHECKPOINT";
+    public static final String LEASE_TABLE = "SYNC_LEASE";
+    public static final String NODE_LEASE_PREFIX = "NODE:";
+
+    public static final String VERIFICATION_DIFFERENCE_MISSING = "MISSING";
+    public static final String VERIFICATION_DIFFERENCE_EXTRA = "EXTRA";
+    public static final String VERIFICATION_DIFFERENCE_MISMATCH = "MISMATCH";
 
     public static final String DELIMITER = "DELIMITER";
     public static final String DELIMITER_DOUBLE_SLASH = "//";
@@ -109,4 +203,5 @@ public class Constant {
     public static final String DBSCRIPTS_LOCATION = "dbscripts";
     public static final String SYNC_TOOL_SCRIPT_LOCATION = "sync-tool";
     public static final String SQL_FILE_EXTENSION = ".sql";
+    public static final String SYNC_ID_MIGRATION_SCRIPT_SUFFIX = "_migrate_sync_id";
 }
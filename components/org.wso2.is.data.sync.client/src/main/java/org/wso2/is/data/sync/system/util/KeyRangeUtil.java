@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.util;
+
+import org.wso2.is.data.sync.system.database.ColumnData;
+import org.wso2.is.data.sync.system.database.KeyRange;
+import org.wso2.is.data.sync.system.database.TableMetaData;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.SQL_TEMPLATE_SELECT_RANGE_KEYS_KEY;
+import static org.wso2.is.data.sync.system.database.SQLQueryProvider.getQuery;
+
+/**
+ * Utility methods for splitting synced tables into {@link KeyRange}s over the first primary key column and for
+ * querying the rows of a range.
+ */
+public class KeyRangeUtil {
+
+    private static final List<String> NUMERIC_COLUMN_TYPES = Arrays.asList("TINYINT", "SMALLINT", "MEDIUMINT", "INT",
+                                                                           "INTEGER", "BIGINT", "INT2", "INT4",
+                                                                           "INT8", "SERIAL", "BIGSERIAL", "NUMBER",
+                                                                           "NUMERIC", "DECIMAL");
+
+    private KeyRangeUtil() {
+
+    }
+
+    /**
+     * Returns the column used to split a table into ranges.
+     *
+     * @param tableMetaData Meta data of the table.
+     * @return First primary key column of the table or null if the table does not have a primary key.
+     */
+    public static String getKeyColumn(TableMetaData tableMetaData) {
+
+        List<String> primaryKeys = tableMetaData.getPrimaryKeys();
+        return primaryKeys.isEmpty() ? null : primaryKeys.get(0);
+    }
+
+    /**
+     * Splits a range of a table into sub ranges of the given number of rows. The boundaries are taken from the ordered
+     * key column, hence the ranges are evenly sized regardless of the distribution of the keys. Rows sharing a key
+     * value always fall into the same range.
+     *
+     * @param connection Connection to the database holding the table.
+     * @param range Range to be split.
+     * @param tableMetaData Meta data of the table.
+     * @param rangeSize Maximum number of rows in a sub range unless the rows share the key value.
+     * @return Consecutive sub ranges covering the given range.
+     * @throws SQLException If error occurs while reading the keys.
+     */
+    public static List<KeyRange> splitRange(Connection connection, KeyRange range, TableMetaData tableMetaData,
+                                            long rangeSize) throws SQLException {
+
+        List<KeyRange> ranges = new ArrayList<>();
+        String keyColumn = getKeyColumn(tableMetaData);
+        if (keyColumn == null) {
+            ranges.add(range);
+            return ranges;
+        }
+
+        String tableName = range.getTableName();
+        String sql = String.format(getQuery(SQL_TEMPLATE_SELECT_RANGE_KEYS_KEY), keyColumn, tableName,
+                                   getRangeFilter(range, tableMetaData), keyColumn);
+        String lowerBound = range.getLowerBound();
+        String previousKey = null;
+        long rowCount = 0;
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setFetchSize((int) Math.min(rangeSize, Integer.MAX_VALUE));
+            setRangeBounds(ps, 1, range, tableMetaData);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String key = rs.getString(1);
+                    if (rowCount >= rangeSize && !key.equals(previousKey)) {
+                        ranges.add(new KeyRange(tableName, lowerBound, previousKey));
+                        lowerBound = previousKey;
+                        rowCount = 0;
+                    }
+                    previousKey = key;
+                    rowCount++;
+                }
+            }
+        }
+        ranges.add(new KeyRange(tableName, lowerBound, range.getUpperBound()));
+        return ranges;
+    }
+
+    /**
+     * Returns the WHERE clause selecting the rows of a range. The clause has a parameter for each bound of the range
+     * which should be set with {@link #setRangeBounds}.
+     *
+     * @param range Key range.
+     * @param tableMetaData Meta data of the table of the range.
+     * @return WHERE clause with a leading space or an empty string if the range is not bounded.
+     */
+    public static String getRangeFilter(KeyRange range, TableMetaData tableMetaData) {
+
+        String keyColumn = getKeyColumn(tableMetaData);
+        if (keyColumn == null) {
+            return "";
+        }
+        if (range.getLowerBound() != null && range.getUpperBound() != null) {
+            return " WHERE " + keyColumn + " > ? AND " + keyColumn + " <= ?";
+        } else if (range.getLowerBound() != null) {
+            return " WHERE " + keyColumn + " > ?";
+        } else if (range.getUpperBound() != null) {
+            return " WHERE " + keyColumn + " <= ?";
+        }
+        return "";
+    }
+
+    /**
+     * Sets the bounds of a range to the parameters of the clause returned by {@link #getRangeFilter}.
+     *
+     * @param ps Prepared statement.
+     * @param index Index of the first bound parameter.
+     * @param range Key range.
+     * @param tableMetaData Meta data of the table of the range.
+     * @return Index of the parameter following the bounds.
+     * @throws SQLException If error occurs while setting the parameters.
+     */
+    public static int setRangeBounds(PreparedStatement ps, int index, KeyRange range, TableMetaData tableMetaData)
+            throws SQLException {
+
+        if (getKeyColumn(tableMetaData) == null) {
+            return index;
+        }
+        // Bounds are kept as strings. Numeric keys are bound as numbers since some database flavors do not compare
+        // numeric columns with string parameters.
+        boolean numericKey = isNumericKey(tableMetaData);
+        if (range.getLowerBound() != null) {
+            setKey(ps, index++, range.getLowerBound(), numericKey);
+        }
+        if (range.getUpperBound() != null) {
+            setKey(ps, index++, range.getUpperBound(), numericKey);
+        }
+        return index;
+    }
+
+    /**
+     * Sets the string representation of a key column value to a statement parameter.
+     *
+     * @param ps Prepared statement.
+     * @param index Index of the parameter.
+     * @param key String representation of the key.
+     * @param numericKey Whether the key column is numeric.
+     * @throws SQLException If error occurs while setting the parameter.
+     */
+    public static void setKey(PreparedStatement ps, int index, String key, boolean numericKey) throws SQLException {
+
+        if (numericKey) {
+            ps.setBigDecimal(index, new BigDecimal(key));
+        } else {
+            ps.setString(index, key);
+        }
+    }
+
+    /**
+     * Checks whether the key column of a table is numeric.
+     *
+     * @param tableMetaData Meta data of the table.
+     * @return True if the key column is numeric.
+     */
+    public static boolean isNumericKey(TableMetaData tableMetaData) {
+
+        return isNumericColumn(tableMetaData, getKeyColumn(tableMetaData));
+    }
+
+    /**
+     * Checks whether a column of a table is numeric.
+     *
+     * @param tableMetaData Meta data of the table.
+     * @param columnName Name of the column.
+     * @return True if the column is numeric.
+     */
+    public static boolean isNumericColumn(TableMetaData tableMetaData, String columnName) {
+
+        for (ColumnData columnData : tableMetaData.getColumnDataList()) {
+            if (columnData.getName().equalsIgnoreCase(columnName)) {
+                return NUMERIC_COLUMN_TYPES.contains(columnData.getType().toUpperCase(Locale.ENGLISH));
+            }
+        }
+        return false;
+    }
+}
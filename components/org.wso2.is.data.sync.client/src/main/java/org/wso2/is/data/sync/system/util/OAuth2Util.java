@@ -19,23 +19,27 @@ package org.wso2.is.data.sync.system.util;
 import org.wso2.carbon.core.util.CryptoException;
 import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
 import org.wso2.carbon.identity.oauth.tokenprocessor.EncryptionDecryptionPersistenceProcessor;
-import org.wso2.carbon.identity.oauth.tokenprocessor.HashingPersistenceProcessor;
 import org.wso2.carbon.identity.oauth.tokenprocessor.TokenPersistenceProcessor;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.is.data.sync.system.exception.SyncClientException;
 import org.wso2.is.data.sync.system.pipeline.EntryField;
 import org.wso2.is.data.sync.system.pipeline.JournalEntry;
+import org.wso2.is.data.sync.system.pipeline.transform.EntryTransformationState;
 import org.wso2.is.data.sync.system.pipeline.transform.model.AuthorizationCodeInfo;
 import org.wso2.is.data.sync.system.pipeline.transform.model.TokenInfo;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.wso2.carbon.core.util.CryptoUtil.getDefaultCryptoUtil;
+import static org.wso2.is.data.sync.system.util.CommonUtil.getObjectValueFromEntry;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_ACCESS_TOKEN;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_ACCESS_TOKEN_HASH;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_AUTHORIZATION_CODE;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_AUTHORIZATION_CODE_HASH;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_REFRESH_TOKEN;
 import static org.wso2.is.data.sync.system.util.Constant.COLUMN_REFRESH_TOKEN_HASH;
+import static org.wso2.is.data.sync.system.util.Constant.PROPERTY_NAME_ALGORITHM;
+import static org.wso2.is.data.sync.system.util.Constant.PROPERTY_NAME_HASH;
+import static org.wso2.is.data.sync.system.util.Constant.STATE_ATTRIBUTE_AUTHORIZATION_CODE_INFO;
+import static org.wso2.is.data.sync.system.util.Constant.STATE_ATTRIBUTE_TOKEN_INFO;
 
 public class OAuth2Util {
 
@@ -66,27 +70,21 @@ public class OAuth2Util {
 
     public static TokenInfo hashTokens(TokenInfo tokenInfo) throws SyncClientException {
 
-        TokenPersistenceProcessor tokenPersistenceProcessor = new HashingPersistenceProcessor();
-        String accessToken;
+        return hashTokens(tokenInfo, new TransformationCryptoContext());
+    }
 
-        String decryptedAccessToken = tokenInfo.getDecryptedAccessToken();
-        if (decryptedAccessToken != null) {
-            accessToken = decryptedAccessToken;
-        } else {
-            accessToken = tokenInfo.getAccessToken();
-        }
-        String refreshToken;
-        String decryptedRefreshToken = tokenInfo.getDecryptedRefreshToken();
-        if (decryptedRefreshToken != null) {
-            refreshToken = decryptedRefreshToken;
-        } else {
-            refreshToken = tokenInfo.getRefreshToken();
-        }
+    public static TokenInfo hashTokens(TokenInfo tokenInfo, TransformationCryptoContext cryptoContext)
+            throws SyncClientException {
+
+        // Decrypted tokens were hashed while they were transformed.
         try {
-            String accessTokenHash = tokenPersistenceProcessor.getProcessedAccessTokenIdentifier(accessToken);
-            String refreshTokenHash = null;
-            if (refreshToken != null) {
-                refreshTokenHash = tokenPersistenceProcessor.getProcessedRefreshToken(refreshToken);
+            String accessTokenHash = tokenInfo.getDecryptedAccessTokenHash();
+            if (accessTokenHash == null) {
+                accessTokenHash = cryptoContext.hashAccessToken(tokenInfo.getAccessToken());
+            }
+            String refreshTokenHash = tokenInfo.getDecryptedRefreshTokenHash();
+            if (refreshTokenHash == null && tokenInfo.getRefreshToken() != null) {
+                refreshTokenHash = cryptoContext.hashRefreshToken(tokenInfo.getRefreshToken());
             }
             tokenInfo.setAccessTokenHash(accessTokenHash);
             tokenInfo.setRefreshTokenHash(refreshTokenHash);
@@ -100,18 +98,20 @@ public class OAuth2Util {
     public static AuthorizationCodeInfo hashAuthorizationCode(AuthorizationCodeInfo authorizationCodeInfo) throws
             SyncClientException {
 
-        TokenPersistenceProcessor tokenPersistenceProcessor = new HashingPersistenceProcessor();
-        String authorizationCode;
+        return hashAuthorizationCode(authorizationCodeInfo, new TransformationCryptoContext());
+    }
 
-        String decryptedAuthorizationCode = authorizationCodeInfo.getDecryptedAuthorizationCode();
-        if (decryptedAuthorizationCode != null) {
-            authorizationCode = decryptedAuthorizationCode;
-        } else {
-            authorizationCode = authorizationCodeInfo.getAuthorizationCode();
-        }
+    public static AuthorizationCodeInfo hashAuthorizationCode(AuthorizationCodeInfo authorizationCodeInfo,
+                                                              TransformationCryptoContext cryptoContext)
+            throws SyncClientException {
 
+        // Decrypted authorization codes were hashed while they were transformed.
         try {
-            String authorizationCodeHash = tokenPersistenceProcessor.getProcessedAuthzCode(authorizationCode);
+            String authorizationCodeHash = authorizationCodeInfo.getDecryptedAuthorizationCodeHash();
+            if (authorizationCodeHash == null) {
+                authorizationCodeHash = cryptoContext.hashAuthorizationCode(
+                        authorizationCodeInfo.getAuthorizationCode());
+            }
             authorizationCodeInfo.setAuthorizationCodeHash(authorizationCodeHash);
         } catch (IdentityOAuth2Exception e) {
             throw new SyncClientException("Error while hashing access/refresh token with " +
@@ -122,43 +122,38 @@ public class OAuth2Util {
 
     public static TokenInfo transformEncryptedTokens(TokenInfo tokenInfo) throws CryptoException, SyncClientException {
 
+        return transformEncryptedTokens(tokenInfo, new TransformationCryptoContext());
+    }
+
+    public static TokenInfo transformEncryptedTokens(TokenInfo tokenInfo, TransformationCryptoContext cryptoContext)
+            throws CryptoException, SyncClientException {
+
         String accessToken = tokenInfo.getAccessToken();
         String refreshToken = tokenInfo.getRefreshToken();
-        if (!isBase64DecodeAndIsSelfContainedCipherText(accessToken)) {
-            byte[] decryptedAccessToken = getDefaultCryptoUtil().base64DecodeAndDecrypt(accessToken, "RSA");
-            String newEncryptedAccessToken = getDefaultCryptoUtil().encryptAndBase64Encode
-                    (decryptedAccessToken);
-            byte[] decryptedRefreshToken = null;
-            String newEncryptedRefreshToken = null;
-            if (refreshToken != null) {
-                decryptedRefreshToken = getDefaultCryptoUtil().base64DecodeAndDecrypt(refreshToken, "RSA");
-                newEncryptedRefreshToken = getDefaultCryptoUtil().encryptAndBase64Encode(decryptedRefreshToken);
-            }
-
-            String decryptedAccessTokenStr = new String(decryptedAccessToken, UTF_8);
-            String decryptedRefreshTokenStr = null;
+        TransformedToken transformedAccessToken;
+        TransformedToken transformedRefreshToken = null;
+        try {
+            // The refresh token is encrypted in the same way as the access token.
+            transformedAccessToken = cryptoContext.transformAccessToken(accessToken, null);
             if (refreshToken != null) {
-                decryptedRefreshTokenStr = new String(decryptedRefreshToken, UTF_8);
+                transformedRefreshToken = cryptoContext.transformRefreshToken(refreshToken,
+                                                                              transformedAccessToken.isSelfContained());
             }
-            tokenInfo.setAccessToken(newEncryptedAccessToken);
-            tokenInfo.setRefreshToken(newEncryptedRefreshToken);
-            tokenInfo.setDecryptedAccessToken(decryptedAccessTokenStr);
-            tokenInfo.setDecryptedRefreshToken(decryptedRefreshTokenStr);
-
-        } else if (isBase64DecodeAndIsSelfContainedCipherText(accessToken)) {
+        } catch (IdentityOAuth2Exception e) {
+            throw new SyncClientException("Error while hashing access/refresh token with " +
+                                          "HashingPersistenceProcessor.", e);
+        }
 
-            byte[] decryptedAccessToken = getDefaultCryptoUtil().base64DecodeAndDecrypt(accessToken);
-            byte[] decryptedRefreshToken = null;
-            if (refreshToken != null) {
-                decryptedRefreshToken = getDefaultCryptoUtil().base64DecodeAndDecrypt(refreshToken);
-            }
-            String decryptedAccessTokenStr = new String(decryptedAccessToken, UTF_8);
-            String decryptedRefreshTokenStr = refreshToken != null ? new String(decryptedRefreshToken, UTF_8) :
-                    null;
-            tokenInfo.setAccessToken(accessToken);
-            tokenInfo.setRefreshToken(refreshToken);
-            tokenInfo.setDecryptedAccessToken(decryptedAccessTokenStr);
-            tokenInfo.setDecryptedRefreshToken(decryptedRefreshTokenStr);
+        tokenInfo.setSourceAccessToken(accessToken);
+        tokenInfo.setSourceRefreshToken(refreshToken);
+        tokenInfo.setAccessToken(transformedAccessToken.getCipherText());
+        tokenInfo.setDecryptedAccessTokenHash(transformedAccessToken.getHash());
+        if (transformedRefreshToken != null) {
+            tokenInfo.setRefreshToken(transformedRefreshToken.getCipherText());
+            tokenInfo.setDecryptedRefreshTokenHash(transformedRefreshToken.getHash());
+        } else {
+            tokenInfo.setRefreshToken(null);
+            tokenInfo.setDecryptedRefreshTokenHash(null);
         }
         return tokenInfo;
     }
@@ -166,24 +161,66 @@ public class OAuth2Util {
     public static AuthorizationCodeInfo transformEncryptedAuthorizationCode(AuthorizationCodeInfo authorizationCodeInfo)
             throws CryptoException, SyncClientException {
 
-        String authorizationCode = authorizationCodeInfo.getAuthorizationCode();
-        if (!isBase64DecodeAndIsSelfContainedCipherText(authorizationCode)) {
-            byte[] decryptedAuthorizationCode = getDefaultCryptoUtil().base64DecodeAndDecrypt(authorizationCode, "RSA");
-            String newEncryptedAuthorizationCode = getDefaultCryptoUtil().encryptAndBase64Encode
-                    (decryptedAuthorizationCode);
+        return transformEncryptedAuthorizationCode(authorizationCodeInfo, new TransformationCryptoContext());
+    }
 
-            String decryptedAuthorizationCodeStr = new String(decryptedAuthorizationCode, UTF_8);
+    public static AuthorizationCodeInfo transformEncryptedAuthorizationCode(AuthorizationCodeInfo authorizationCodeInfo,
+                                                                            TransformationCryptoContext cryptoContext)
+            throws CryptoException, SyncClientException {
 
-            authorizationCodeInfo.setAuthorizationCode(newEncryptedAuthorizationCode);
-            authorizationCodeInfo.setDecryptedAuthorizationCode(decryptedAuthorizationCodeStr);
+        String authorizationCode = authorizationCodeInfo.getAuthorizationCode();
+        TransformedToken transformedAuthorizationCode;
+        try {
+            transformedAuthorizationCode = cryptoContext.transformAuthorizationCode(authorizationCode, null);
+        } catch (IdentityOAuth2Exception e) {
+            throw new SyncClientException("Error while hashing authorization code with HashingPersistenceProcessor.",
+                                          e);
+        }
 
-        } else if (isBase64DecodeAndIsSelfContainedCipherText(authorizationCode)) {
+        authorizationCodeInfo.setSourceAuthorizationCode(authorizationCode);
+        authorizationCodeInfo.setAuthorizationCode(transformedAuthorizationCode.getCipherText());
+        authorizationCodeInfo.setDecryptedAuthorizationCodeHash(transformedAuthorizationCode.getHash());
+        return authorizationCodeInfo;
+    }
 
-            byte[] decryptedAccessToken = getDefaultCryptoUtil().base64DecodeAndDecrypt(authorizationCode);
+    /**
+     * Returns the token info of a journal entry shared by the transformation steps of the entry. The token info is
+     * read from the entry by the first step.
+     *
+     * @param entry Journal entry of a token.
+     * @param state Transformation state of the entry.
+     * @return Token info of the entry.
+     */
+    public static TokenInfo getTokenInfo(JournalEntry entry, EntryTransformationState state) {
+
+        TokenInfo tokenInfo = (TokenInfo) state.getAttribute(STATE_ATTRIBUTE_TOKEN_INFO);
+        if (tokenInfo == null) {
+            tokenInfo = new TokenInfo((String) getObjectValueFromEntry(entry, COLUMN_ACCESS_TOKEN),
+                                      (String) getObjectValueFromEntry(entry, COLUMN_REFRESH_TOKEN),
+                                      (String) getObjectValueFromEntry(entry, COLUMN_ACCESS_TOKEN_HASH),
+                                      (String) getObjectValueFromEntry(entry, COLUMN_REFRESH_TOKEN_HASH));
+            state.setAttribute(STATE_ATTRIBUTE_TOKEN_INFO, tokenInfo);
+        }
+        return tokenInfo;
+    }
 
-            String decryptedAuthorizationCodeStr = new String(decryptedAccessToken, UTF_8);
-            authorizationCodeInfo.setAuthorizationCode(authorizationCode);
-            authorizationCodeInfo.setDecryptedAuthorizationCode(decryptedAuthorizationCodeStr);
+    /**
+     * Returns the authorization code info of a journal entry shared by the transformation steps of the entry. The
+     * authorization code info is read from the entry by the first step.
+     *
+     * @param entry Journal entry of an authorization code.
+     * @param state Transformation state of the entry.
+     * @return Authorization code info of the entry.
+     */
+    public static AuthorizationCodeInfo getAuthorizationCodeInfo(JournalEntry entry, EntryTransformationState state) {
+
+        AuthorizationCodeInfo authorizationCodeInfo = (AuthorizationCodeInfo) state.getAttribute(
+                STATE_ATTRIBUTE_AUTHORIZATION_CODE_INFO);
+        if (authorizationCodeInfo == null) {
+            authorizationCodeInfo = new AuthorizationCodeInfo(
+                    (String) getObjectValueFromEntry(entry, COLUMN_AUTHORIZATION_CODE),
+                    (String) getObjectValueFromEntry(entry, COLUMN_AUTHORIZATION_CODE_HASH));
+            state.setAttribute(STATE_ATTRIBUTE_AUTHORIZATION_CODE_INFO, authorizationCodeInfo);
         }
         return authorizationCodeInfo;
     }
@@ -202,5 +239,98 @@ public class OAuth2Util {
         entry.addEntryField(COLUMN_AUTHORIZATION_CODE_HASH, new EntryField<>(authorizationCodeInfo
                                                                                  .getAuthorizationCodeHash()));
     }
-}
 
+    /**
+     * Checks whether a hash column value is already encoded as a JSON object holding the hashing algorithm. Hashes
+     * are hex or base64 encoded, hence only a JSON object starts and ends with braces.
+     *
+     * @param hash Value of the hash column.
+     * @return True if the value is a JSON encoded hash.
+     */
+    public static boolean isJsonEncodedHash(String hash) {
+
+        if (hash == null) {
+            return false;
+        }
+        int start = 0;
+        int end = hash.length() - 1;
+        while (start <= end && Character.isWhitespace(hash.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(hash.charAt(end))) {
+            end--;
+        }
+        return start < end && hash.charAt(start) == '{' && hash.charAt(end) == '}';
+    }
+
+    /**
+     * Encodes a hash with its hashing algorithm as the JSON object stored in the hash columns, in the same form
+     * written by {@link org.json.JSONObject#toString()}. A null hash is left out of the object.
+     *
+     * @param hashAlgorithm Hashing algorithm of the hash.
+     * @param hash Hash value.
+     * @return JSON encoded hash.
+     */
+    public static String toJsonEncodedHash(String hashAlgorithm, String hash) {
+
+        StringBuilder builder = new StringBuilder(32 + (hash == null ? 0 : hash.length()));
+        builder.append('{');
+        if (hash != null) {
+            appendJsonString(builder, PROPERTY_NAME_HASH).append(':');
+            appendJsonString(builder, hash);
+        }
+        if (hashAlgorithm != null) {
+            if (hash != null) {
+                builder.append(',');
+            }
+            appendJsonString(builder, PROPERTY_NAME_ALGORITHM).append(':');
+            appendJsonString(builder, hashAlgorithm);
+        }
+        return builder.append('}').toString();
+    }
+
+    private static StringBuilder appendJsonString(StringBuilder builder, String value) {
+
+        builder.append('"');
+        char previous = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                case '"':
+                    builder.append('\\').append(c);
+                    break;
+                case '/':
+                    if (previous == '<') {
+                        builder.append('\\');
+                    }
+                    builder.append(c);
+                    break;
+                case '\b':
+                    builder.append("\\b");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\f':
+                    builder.append("\\f");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                default:
+                    if (c < ' ' || (c >= '\u0080' && c < '\u00a0') || (c >= '\u2000' && c < '\u2100')) {
+                        String hex = Integer.toHexString(c);
+                        builder.append("\\u").append("0000", 0, 4 - hex.length()).append(hex);
+                    } else {
+                        builder.append(c);
+                    }
+            }
+            previous = c;
+        }
+        return builder.append('"');
+    }
+}
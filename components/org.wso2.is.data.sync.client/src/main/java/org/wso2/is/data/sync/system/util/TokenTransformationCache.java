@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.util;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of the transformed tokens of a sync pipeline, keyed by the source cipher text. A token is
+ * journaled for each of its inserts and updates, hence the cache avoids decrypting, encrypting and hashing the same
+ * token again. Only the transformed cipher text and the hash of the decrypted value are cached, never the decrypted
+ * value. Entries expire after the configured time to live.
+ */
+public class TokenTransformationCache {
+
+    private static final Log log = LogFactory.getLog(TokenTransformationCache.class);
+    private static final long STATISTICS_LOG_INTERVAL = 10000;
+
+    private final String name;
+    private final int maxSize;
+    private final long timeToLive;
+    private final Map<String, CacheEntry> entries;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public TokenTransformationCache(String name, int maxSize, long timeToLive) {
+
+        this.name = name;
+        this.maxSize = maxSize;
+        this.timeToLive = timeToLive;
+        this.entries = new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+
+                if (size() > TokenTransformationCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the transformed token of a source cipher text.
+     *
+     * @param cipherText Source cipher text.
+     * @return Transformed token or null if not cached or expired.
+     */
+    public synchronized TransformedToken get(String cipherText) {
+
+        CacheEntry entry = entries.get(cipherText);
+        if (entry != null && timeToLive > 0 && System.currentTimeMillis() - entry.createdTime > timeToLive) {
+            entries.remove(cipherText);
+            evictions++;
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        if (log.isDebugEnabled() && (hits + misses) % STATISTICS_LOG_INTERVAL == 0) {
+            log.debug("Token transformation cache: " + name + " hit rate: " + getHitRate() + " size: " +
+                      entries.size() + " evictions: " + evictions);
+        }
+        return entry == null ? null : entry.toTransformedToken();
+    }
+
+    public synchronized void put(String cipherText, TransformedToken transformedToken) {
+
+        entries.put(cipherText, new CacheEntry(transformedToken));
+    }
+
+    public synchronized void clear() {
+
+        entries.clear();
+    }
+
+    public synchronized long getHits() {
+
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+
+        return evictions;
+    }
+
+    public synchronized int getSize() {
+
+        return entries.size();
+    }
+
+    /**
+     * @return Ratio of the lookups served from the cache.
+     */
+    public synchronized double getHitRate() {
+
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    private static class CacheEntry {
+
+        private final String cipherText;
+        private final boolean selfContained;
+        private final String hash;
+        private final long createdTime = System.currentTimeMillis();
+
+        private CacheEntry(TransformedToken transformedToken) {
+
+            this.cipherText = transformedToken.getCipherText();
+            this.selfContained = transformedToken.isSelfContained();
+            this.hash = transformedToken.getHash();
+        }
+
+        private TransformedToken toTransformedToken() {
+
+            return new TransformedToken(cipherText, selfContained, hash);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.util;
+
+import org.wso2.carbon.core.util.CryptoException;
+import org.wso2.carbon.core.util.CryptoUtil;
+import org.wso2.carbon.identity.oauth.tokenprocessor.HashingPersistenceProcessor;
+import org.wso2.carbon.identity.oauth.tokenprocessor.TokenPersistenceProcessor;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.is.data.sync.system.config.Configuration;
+
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Holds the crypto and hashing primitives used to transform the tokens and authorization codes of a sync pipeline.
+ * The primitives are resolved once and shared by the batches of the pipeline, including the parts of a batch
+ * transformed in parallel. Transformed tokens are cached by the source cipher text when the token cache is enabled.
+ * Decrypted values are only held while they are hashed. The Cipher and MessageDigest objects are still created per
+ * operation within the carbon CryptoUtil and HashingPersistenceProcessor.
+ */
+public class TransformationCryptoContext {
+
+    private final CryptoUtil cryptoUtil;
+    private final TokenPersistenceProcessor hashingPersistenceProcessor;
+    private volatile Boolean encryptionWithTransformationEnabled;
+    private volatile Boolean tokenEncryptionEnabled;
+    private volatile boolean configured;
+    private TokenTransformationCache accessTokenCache;
+    private TokenTransformationCache refreshTokenCache;
+    private TokenTransformationCache authorizationCodeCache;
+
+    public TransformationCryptoContext() {
+
+        this.cryptoUtil = CryptoUtil.getDefaultCryptoUtil();
+        this.hashingPersistenceProcessor = new HashingPersistenceProcessor();
+    }
+
+    /**
+     * Creates the token caches from the sync configuration. Only the first invocation takes effect.
+     *
+     * @param configuration Sync configuration.
+     */
+    public void configure(Configuration configuration) {
+
+        if (configured) {
+            return;
+        }
+        synchronized (this) {
+            if (!configured) {
+                int cacheSize = configuration.getTokenCacheSize();
+                long timeToLive = configuration.getTokenCacheTimeToLive();
+                if (cacheSize > 0) {
+                    accessTokenCache = new TokenTransformationCache("access token", cacheSize, timeToLive);
+                    refreshTokenCache = new TokenTransformationCache("refresh token", cacheSize, timeToLive);
+                    authorizationCodeCache = new TokenTransformationCache("authorization code", cacheSize,
+                                                                          timeToLive);
+                }
+                configured = true;
+            }
+        }
+    }
+
+    public TokenTransformationCache getAccessTokenCache() {
+
+        return accessTokenCache;
+    }
+
+    public TokenTransformationCache getRefreshTokenCache() {
+
+        return refreshTokenCache;
+    }
+
+    public TokenTransformationCache getAuthorizationCodeCache() {
+
+        return authorizationCodeCache;
+    }
+
+    /**
+     * Transforms the cipher text of an access token and hashes the decrypted value.
+     *
+     * @param cipherText Source cipher text.
+     * @param selfContained Whether the cipher text is self contained, or null to check it.
+     * @return Transformed access token.
+     * @throws CryptoException If error occurs while decrypting or encrypting the cipher text.
+     * @throws IdentityOAuth2Exception If error occurs while hashing the access token.
+     */
+    public TransformedToken transformAccessToken(String cipherText, Boolean selfContained)
+            throws CryptoException, IdentityOAuth2Exception {
+
+        return transform(accessTokenCache, cipherText, selfContained, this::hashAccessToken);
+    }
+
+    /**
+     * Transforms the cipher text of a refresh token and hashes the decrypted value.
+     *
+     * @param cipherText Source cipher text.
+     * @param selfContained Whether the cipher text is self contained, or null to check it.
+     * @return Transformed refresh token.
+     * @throws CryptoException If error occurs while decrypting or encrypting the cipher text.
+     * @throws IdentityOAuth2Exception If error occurs while hashing the refresh token.
+     */
+    public TransformedToken transformRefreshToken(String cipherText, Boolean selfContained)
+            throws CryptoException, IdentityOAuth2Exception {
+
+        return transform(refreshTokenCache, cipherText, selfContained, this::hashRefreshToken);
+    }
+
+    /**
+     * Transforms the cipher text of an authorization code and hashes the decrypted value.
+     *
+     * @param cipherText Source cipher text.
+     * @param selfContained Whether the cipher text is self contained, or null to check it.
+     * @return Transformed authorization code.
+     * @throws CryptoException If error occurs while decrypting or encrypting the cipher text.
+     * @throws IdentityOAuth2Exception If error occurs while hashing the authorization code.
+     */
+    public TransformedToken transformAuthorizationCode(String cipherText, Boolean selfContained)
+            throws CryptoException, IdentityOAuth2Exception {
+
+        return transform(authorizationCodeCache, cipherText, selfContained, this::hashAuthorizationCode);
+    }
+
+    /**
+     * @return Whether the tokens are encrypted with a cipher transformation. Resolved once from the server
+     * configuration.
+     * @throws IdentityOAuth2Exception If error occurs while reading the server configuration.
+     */
+    public boolean isEncryptionWithTransformationEnabled() throws IdentityOAuth2Exception {
+
+        if (encryptionWithTransformationEnabled == null) {
+            encryptionWithTransformationEnabled = OAuth2Util.isEncryptionWithTransformationEnabled();
+        }
+        return encryptionWithTransformationEnabled;
+    }
+
+    /**
+     * @return Whether the tokens are encrypted. Resolved once from the server configuration.
+     * @throws IdentityOAuth2Exception If error occurs while reading the server configuration.
+     */
+    public boolean isTokenEncryptionEnabled() throws IdentityOAuth2Exception {
+
+        if (tokenEncryptionEnabled == null) {
+            tokenEncryptionEnabled = OAuth2Util.isTokenEncryptionEnabled();
+        }
+        return tokenEncryptionEnabled;
+    }
+
+    public boolean isSelfContainedCipherText(String cipherText) throws CryptoException {
+
+        return cryptoUtil.base64DecodeAndIsSelfContainedCipherText(cipherText);
+    }
+
+    public byte[] decrypt(String cipherText) throws CryptoException {
+
+        return cryptoUtil.base64DecodeAndDecrypt(cipherText);
+    }
+
+    public byte[] decrypt(String cipherText, String algorithm) throws CryptoException {
+
+        return cryptoUtil.base64DecodeAndDecrypt(cipherText, algorithm);
+    }
+
+    public String encrypt(byte[] plainText) throws CryptoException {
+
+        return cryptoUtil.encryptAndBase64Encode(plainText);
+    }
+
+    public String hashAccessToken(String accessToken) throws IdentityOAuth2Exception {
+
+        return hashingPersistenceProcessor.getProcessedAccessTokenIdentifier(accessToken);
+    }
+
+    public String hashRefreshToken(String refreshToken) throws IdentityOAuth2Exception {
+
+        return hashingPersistenceProcessor.getProcessedRefreshToken(refreshToken);
+    }
+
+    public String hashAuthorizationCode(String authorizationCode) throws IdentityOAuth2Exception {
+
+        return hashingPersistenceProcessor.getProcessedAuthzCode(authorizationCode);
+    }
+
+    /**
+     * Decrypts a source cipher text and encrypts the value again with a self contained cipher text if the source is
+     * not self contained. The decrypted value is hashed right away, so that only the cipher text and the hash are
+     * kept. The result is served from the cache if the cipher text was transformed before.
+     */
+    private TransformedToken transform(TokenTransformationCache cache, String cipherText, Boolean selfContained,
+                                       TokenHasher hasher) throws CryptoException, IdentityOAuth2Exception {
+
+        TransformedToken transformedToken = cache == null ? null : cache.get(cipherText);
+        if (transformedToken != null) {
+            return transformedToken;
+        }
+        boolean isSelfContained = selfContained != null ? selfContained : isSelfContainedCipherText(cipherText);
+        byte[] plainText;
+        String transformedCipherText;
+        if (isSelfContained) {
+            plainText = decrypt(cipherText);
+            transformedCipherText = cipherText;
+        } else {
+            plainText = decrypt(cipherText, "RSA");
+            transformedCipherText = encrypt(plainText);
+        }
+        try {
+            transformedToken = new TransformedToken(transformedCipherText, isSelfContained,
+                                                    hasher.hash(new String(plainText, UTF_8)));
+        } finally {
+            Arrays.fill(plainText, (byte) 0);
+        }
+        if (cache != null) {
+            cache.put(cipherText, transformedToken);
+        }
+        return transformedToken;
+    }
+
+    /**
+     * Hashes the decrypted value of a token type.
+     */
+    @FunctionalInterface
+    private interface TokenHasher {
+
+        String hash(String value) throws IdentityOAuth2Exception;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.util;
+
+/**
+ * Result of transforming an encrypted token or authorization code. Holds the cipher text to be synced to the target
+ * and the hash of the decrypted value. The decrypted value itself is not kept.
+ */
+public class TransformedToken {
+
+    private final String cipherText;
+    private final boolean selfContained;
+    private final String hash;
+
+    public TransformedToken(String cipherText, boolean selfContained, String hash) {
+
+        this.cipherText = cipherText;
+        this.selfContained = selfContained;
+        this.hash = hash;
+    }
+
+    public String getCipherText() {
+
+        return cipherText;
+    }
+
+    /**
+     * @return True if the source cipher text was a self contained cipher text.
+     */
+    public boolean isSelfContained() {
+
+        return selfContained;
+    }
+
+    /**
+     * @return Hash of the decrypted value.
+     */
+    public String getHash() {
+
+        return hash;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system;
+
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests that the sync executors keep running a task after an unexpected error of a batch.
+ */
+public class SyncExecutorTest {
+
+    private static final long SYNC_INTERVAL = 10;
+    private static final long TIMEOUT = 5000;
+
+    @Test
+    public void testVirtualThreadSyncExecutorRunsAfterError() throws Exception {
+
+        if (!VirtualThreadSyncExecutor.isSupported()) {
+            throw new SkipException("Virtual threads are not supported by the running JVM.");
+        }
+        assertRunsAfterError(new VirtualThreadSyncExecutor(1));
+    }
+
+    @Test
+    public void testSyncSchedulerRunsAfterError() throws Exception {
+
+        assertRunsAfterError(new SyncScheduler(1));
+    }
+
+    private void assertRunsAfterError(SyncExecutor syncExecutor) throws InterruptedException {
+
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch nextRun = new CountDownLatch(1);
+        SyncDataTask task = new SyncDataTask(Collections.emptyList(), Collections.emptyMap(), "identity",
+                                             SYNC_INTERVAL) {
+
+            @Override
+            public void run() {
+
+                if (runs.incrementAndGet() == 1) {
+                    throw new IllegalStateException("Unexpected error of the first batch.");
+                }
+                nextRun.countDown();
+            }
+        };
+        try {
+            syncExecutor.schedule(task);
+            assertTrue(nextRun.await(TIMEOUT, TimeUnit.MILLISECONDS), "The task was not run after an error.");
+        } finally {
+            syncExecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.pipeline.persist;
+
+import org.testng.annotations.Test;
+import org.wso2.is.data.sync.system.config.Configuration;
+import org.wso2.is.data.sync.system.database.ColumnData;
+import org.wso2.is.data.sync.system.database.SchemaCatalog;
+import org.wso2.is.data.sync.system.database.TableMetaData;
+import org.wso2.is.data.sync.system.database.dialect.DatabaseDialect;
+import org.wso2.is.data.sync.system.database.dialect.Table;
+import org.wso2.is.data.sync.system.database.dialect.impl.H2DatabaseDialect;
+import org.wso2.is.data.sync.system.exception.SyncClientException;
+import org.wso2.is.data.sync.system.pipeline.EntryField;
+import org.wso2.is.data.sync.system.pipeline.JournalEntry;
+import org.wso2.is.data.sync.system.pipeline.PipelineConfiguration;
+import org.wso2.is.data.sync.system.pipeline.PipelineContext;
+import org.wso2.is.data.sync.system.pipeline.result.TransactionResult;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Properties;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.wso2.is.data.sync.system.util.Constant.ENTRY_FILED_ACTION_DELETE;
+import static org.wso2.is.data.sync.system.util.Constant.ENTRY_FILED_ACTION_INSERT;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_IDENTITY_SCHEMA;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_SOURCE_VERSION;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_SYNC_TABLES;
+import static org.wso2.is.data.sync.system.util.Constant.JVM_PROPERTY_TARGET_VERSION;
+
+/**
+ * Tests that the entry writer executes deletes on the search path and handles integrity constraint violations the
+ * same way with and without upserts.
+ */
+public class PersistorTest {
+
+    private static final String TABLE_NAME = "IDN_OAUTH2_ACCESS_TOKEN";
+    private static final String SQL_UPSERT = "MERGE INTO " + TABLE_NAME + " KEY (TOKEN_ID) VALUES (?, ?)";
+
+    @Test
+    public void testDeleteExistingTargetEntry() throws Exception {
+
+        TargetDatabase target = new TargetDatabase(true);
+        TransactionResult result = write(target, new H2DatabaseDialect(), ENTRY_FILED_ACTION_DELETE);
+
+        assertTrue(result.isSuccess());
+        assertEquals(target.executedUpdates.size(), 1);
+        assertTrue(target.executedUpdates.get(0).startsWith("DELETE"), "The target entry was not deleted.");
+    }
+
+    @Test
+    public void testDeleteNoneExtantTargetEntry() throws Exception {
+
+        TargetDatabase target = new TargetDatabase(false);
+        TransactionResult result = write(target, new H2DatabaseDialect(), ENTRY_FILED_ACTION_DELETE);
+
+        assertTrue(result.isSuccess());
+        assertTrue(target.executedUpdates.isEmpty(), "A statement was executed for a none extant target entry.");
+    }
+
+    @Test
+    public void testIntegrityConstraintViolationOnSearchPath() throws Exception {
+
+        TargetDatabase target = new TargetDatabase(false);
+        target.failingStatement = "INSERT";
+        TransactionResult result = write(target, new H2DatabaseDialect(), ENTRY_FILED_ACTION_INSERT);
+
+        assertFalse(result.isSuccess());
+        assertTrue(result.getException() instanceof SQLIntegrityConstraintViolationException);
+    }
+
+    @Test
+    public void testIntegrityConstraintViolationOnUpsertPath() throws Exception {
+
+        TargetDatabase target = new TargetDatabase(false);
+        target.failingStatement = "MERGE";
+        DatabaseDialect upsertDialect = new H2DatabaseDialect() {
+
+            @Override
+            public String generateUpsert(Table table) {
+
+                return SQL_UPSERT;
+            }
+        };
+        TransactionResult result = write(target, upsertDialect, ENTRY_FILED_ACTION_INSERT);
+
+        assertFalse(result.isSuccess());
+        assertTrue(result.getException() instanceof SQLIntegrityConstraintViolationException);
+        assertEquals(target.executedUpdates, Collections.singletonList(SQL_UPSERT));
+    }
+
+    private TransactionResult write(TargetDatabase target, DatabaseDialect targetDialect, String operation)
+            throws SyncClientException {
+
+        TableMetaData tableMetaData = new TableMetaData.Builder()
+                .setColumnData(Arrays.asList(new ColumnData("TOKEN_ID", "VARCHAR", 255),
+                                             new ColumnData("ACCESS_TOKEN", "VARCHAR", 2048)))
+                .setPrimaryKeys(Collections.singletonList("TOKEN_ID"))
+                .build();
+        SchemaCatalog schemaCatalog = new SchemaCatalog(null, Collections.singletonList(TABLE_NAME), null) {
+
+            @Override
+            public TableMetaData getTargetTableMetaData(String tableName) {
+
+                return tableMetaData;
+            }
+        };
+        Properties properties = new Properties();
+        properties.setProperty(JVM_PROPERTY_SOURCE_VERSION, "5.6.0");
+        properties.setProperty(JVM_PROPERTY_TARGET_VERSION, "5.7.0");
+        properties.setProperty(JVM_PROPERTY_IDENTITY_SCHEMA, "jdbc/SOURCE_DB,jdbc/TARGET_DB");
+        properties.setProperty(JVM_PROPERTY_SYNC_TABLES, TABLE_NAME);
+        Configuration configuration = new Configuration.ConfigurationBuilder().build(properties);
+        PipelineConfiguration pipelineConfiguration = new PipelineConfiguration(configuration, TABLE_NAME, "identity",
+                                                                                null, null, null, targetDialect,
+                                                                                schemaCatalog);
+        PipelineContext context = new PipelineContext(null, target.connection, pipelineConfiguration);
+
+        JournalEntry entry = new JournalEntry();
+        entry.setRowEntry(new HashMap<>());
+        entry.addEntryField("TOKEN_ID", new EntryField<>("token-id"));
+        entry.addEntryField("ACCESS_TOKEN", new EntryField<>("access-token"));
+        entry.setOperation(operation);
+
+        try (Persistor.EntryWriter entryWriter = new Persistor().openWriter(context)) {
+            return entryWriter.write(entry);
+        }
+    }
+
+    /**
+     * Target database connection recording the executed updates. The searched target entry exists if requested,
+     * and updates starting with the failing statement violate an integrity constraint.
+     */
+    private static class TargetDatabase {
+
+        private final List<String> executedUpdates = new ArrayList<>();
+        private final Connection connection;
+        private String failingStatement;
+
+        private TargetDatabase(boolean entryExists) {
+
+            connection = proxy(Connection.class, (connectionProxy, connectionMethod, connectionArgs) -> {
+                if (!"prepareStatement".equals(connectionMethod.getName())) {
+                    return defaultValue(connectionMethod.getReturnType());
+                }
+                String sql = (String) connectionArgs[0];
+                return proxy(PreparedStatement.class, (statementProxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "executeQuery":
+                            boolean[] hasNext = {entryExists};
+                            return proxy(ResultSet.class, (resultSetProxy, resultSetMethod, resultSetArgs) -> {
+                                if ("next".equals(resultSetMethod.getName())) {
+                                    boolean next = hasNext[0];
+                                    hasNext[0] = false;
+                                    return next;
+                                }
+                                return defaultValue(resultSetMethod.getReturnType());
+                            });
+                        case "executeUpdate":
+                            executedUpdates.add(sql);
+                            if (failingStatement != null && sql.startsWith(failingStatement)) {
+                                throw new SQLIntegrityConstraintViolationException("Duplicate entry.");
+                            }
+                            return 1;
+                        case "toString":
+                            return sql;
+                        default:
+                            return defaultValue(method.getReturnType());
+                    }
+                });
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+
+            return type.cast(Proxy.newProxyInstance(PersistorTest.class.getClassLoader(), new Class<?>[]{type},
+                                                    handler));
+        }
+
+        private static Object defaultValue(Class<?> type) {
+
+            if (type == boolean.class) {
+                return false;
+            } else if (type == int.class) {
+                return 0;
+            } else if (type == long.class) {
+                return 0L;
+            }
+            return null;
+        }
+    }
+}
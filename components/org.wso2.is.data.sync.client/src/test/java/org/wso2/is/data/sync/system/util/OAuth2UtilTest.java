@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wso2.is.data.sync.system.util;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.wso2.is.data.sync.system.util.Constant.PROPERTY_NAME_ALGORITHM;
+import static org.wso2.is.data.sync.system.util.Constant.PROPERTY_NAME_HASH;
+
+/**
+ * Tests the JSON encoded hashes of {@link OAuth2Util} against the {@link JSONObject} based encoding and parsing they
+ * replace.
+ */
+public class OAuth2UtilTest {
+
+    @DataProvider(name = "hashes")
+    public Object[][] getHashes() {
+
+        return new Object[][]{
+                {"SHA-256", "3f786850e387550fdab836ed7e6dc881de23001b"},
+                {"SHA-256", "P3hoUOOHVQ/auDbtfm3IgY4jABs="},
+                {"SHA-256", null},
+                {"SHA-512", "</script><script>alert(1)</script>"},
+                {"SHA-256", "a/b</c"},
+                {"SHA-256", "quote\"back\\slash"},
+                {"SHA-256", "\b\t\n\f\r"},
+                {"SHA-256", "\u0000\u0001\u001f\u007f"},
+                {"SHA-256", "\u0080\u009f\u00a0\u2000\u2028\u20ff\u2100"},
+                {"SHA-256", ""}
+        };
+    }
+
+    @Test(dataProvider = "hashes")
+    public void testToJsonEncodedHash(String hashAlgorithm, String hash) {
+
+        String expected = new JSONObject().put(PROPERTY_NAME_ALGORITHM, hashAlgorithm).put(PROPERTY_NAME_HASH, hash)
+                                          .toString();
+        assertEquals(OAuth2Util.toJsonEncodedHash(hashAlgorithm, hash), expected);
+
+        // The order of the keys written by JSONObject does not depend on the order they were put.
+        String reversed = new JSONObject().put(PROPERTY_NAME_HASH, hash).put(PROPERTY_NAME_ALGORITHM, hashAlgorithm)
+                                          .toString();
+        assertEquals(OAuth2Util.toJsonEncodedHash(hashAlgorithm, hash), reversed);
+    }
+
+    @Test(dataProvider = "hashes")
+    public void testToJsonEncodedHashRoundTrip(String hashAlgorithm, String hash) {
+
+        String encodedHash = OAuth2Util.toJsonEncodedHash(hashAlgorithm, hash);
+        JSONObject jsonObject = new JSONObject(encodedHash);
+        assertEquals(jsonObject.optString(PROPERTY_NAME_ALGORITHM, null), hashAlgorithm);
+        assertEquals(jsonObject.optString(PROPERTY_NAME_HASH, null), hash);
+        assertEquals(OAuth2Util.isJsonEncodedHash(encodedHash), true);
+    }
+
+    @DataProvider(name = "hashColumnValues")
+    public Object[][] getHashColumnValues() {
+
+        return new Object[][]{
+                {"3f786850e387550fdab836ed7e6dc881de23001b"},
+                {"P3hoUOOHVQ/auDbtfm3IgY4jABs="},
+                {"{\"hash\":\"3f786850e387550fdab836ed7e6dc881de23001b\",\"algorithm\":\"SHA-256\"}"},
+                {"  {\"hash\":\"3f786850e387550fdab836ed7e6dc881de23001b\",\"algorithm\":\"SHA-256\"}\n"},
+                {"{}"},
+                {" { } "},
+                {"{"},
+                {"}"},
+                {""},
+                {"   "}
+        };
+    }
+
+    @Test(dataProvider = "hashColumnValues")
+    public void testIsJsonEncodedHash(String hash) {
+
+        assertEquals(OAuth2Util.isJsonEncodedHash(hash), isJsonObject(hash));
+    }
+
+    @Test
+    public void testIsJsonEncodedHashWithNull() {
+
+        assertFalse(OAuth2Util.isJsonEncodedHash(null));
+    }
+
+    private boolean isJsonObject(String value) {
+
+        try {
+            new JSONObject(value);
+            return true;
+        } catch (JSONException e) {
+            return false;
+        }
+    }
+}